@@ -0,0 +1,263 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A pair of a primitive {@code int} left element and a primitive {@code int}
+ * right element updated atomically, as a whole.
+ *
+ * <p>
+ * Both elements are packed into a single {@code long}, the left element in the
+ * high half, so an update is a single compare-and-set of that long and, but for
+ * the functional updates, allocates nothing. Reads of single elements do not
+ * allocate either.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class AtomicIntIntPair implements Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -4739106829215483160L;
+
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      VALUE = MethodHandles.lookup().findVarHandle(AtomicIntIntPair.class, "value", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile long value;
+
+  /**
+   * Creates an atomic pair of two {@code 0} elements.
+   */
+  public AtomicIntIntPair() {
+  }
+
+  public AtomicIntIntPair(final int left, final int right) {
+    this.value = pack(left, right);
+  }
+
+  /**
+   * Gets both elements, with volatile memory semantics.
+   *
+   * @return the current pair, not null
+   */
+  public IntIntPair get() {
+    return unpack(value);
+  }
+
+  /**
+   * Gets both elements packed into a long, the left element in the high half.
+   */
+  public long getPacked() {
+    return value;
+  }
+
+  public int getLeft() {
+    return left(value);
+  }
+
+  public int getRight() {
+    return right(value);
+  }
+
+  /**
+   * Gets the left element, with acquire memory semantics.
+   */
+  public int getLeftAcquire() {
+    return left((long) VALUE.getAcquire(this));
+  }
+
+  /**
+   * Gets the right element, with acquire memory semantics.
+   */
+  public int getRightAcquire() {
+    return right((long) VALUE.getAcquire(this));
+  }
+
+  /**
+   * Sets both elements, with volatile memory semantics.
+   */
+  public void set(final int left, final int right) {
+    value = pack(left, right);
+  }
+
+  /**
+   * Sets both elements, with release memory semantics.
+   */
+  public void setRelease(final int left, final int right) {
+    VALUE.setRelease(this, pack(left, right));
+  }
+
+  /**
+   * Sets the left element with release memory semantics, keeping the right
+   * element of the same update.
+   */
+  public void setLeftRelease(final int left) {
+    long current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, pack(left, right(current))));
+  }
+
+  /**
+   * Sets the right element with release memory semantics, keeping the left
+   * element of the same update.
+   */
+  public void setRightRelease(final int right) {
+    long current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, pack(left(current), right)));
+  }
+
+  /**
+   * Sets both elements, returning the previous ones.
+   *
+   * @return the previous pair, not null
+   */
+  public IntIntPair getAndSet(final int left, final int right) {
+    return unpack((long) VALUE.getAndSet(this, pack(left, right)));
+  }
+
+  /**
+   * Sets both elements if the current elements are the expected ones.
+   *
+   * @return true if successful, false if an element was not the expected one
+   */
+  public boolean compareAndSet(final int expectedLeft, final int expectedRight, final int newLeft, final int newRight) {
+    return VALUE.compareAndSet(this, pack(expectedLeft, expectedRight), pack(newLeft, newRight));
+  }
+
+  /**
+   * Adds to both elements, without carrying from the right element to the left one.
+   *
+   * @return the updated elements packed into a long, the left element in the high half
+   */
+  public long addAndGetPacked(final int leftDelta, final int rightDelta) {
+    long current;
+    long update;
+    do {
+      current = value;
+      update = pack(left(current) + leftDelta, right(current) + rightDelta);
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the previous pair
+   */
+  public IntIntPair getAndUpdate(final UnaryOperator<IntIntPair> function) {
+    long current;
+    IntIntPair previous;
+    IntIntPair update;
+    do {
+      current = value;
+      previous = unpack(current);
+      update = Objects.requireNonNull(function.apply(previous), "update");
+    } while (!VALUE.compareAndSet(this, current, pack(update.left, update.right)));
+    return previous;
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the updated pair
+   */
+  public IntIntPair updateAndGet(final UnaryOperator<IntIntPair> function) {
+    long current;
+    IntIntPair update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(function.apply(unpack(current)), "update");
+    } while (!VALUE.compareAndSet(this, current, pack(update.left, update.right)));
+    return update;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the previous pair
+   */
+  public IntIntPair getAndAccumulate(final IntIntPair x, final BinaryOperator<IntIntPair> accumulator) {
+    long current;
+    IntIntPair previous;
+    IntIntPair update;
+    do {
+      current = value;
+      previous = unpack(current);
+      update = Objects.requireNonNull(accumulator.apply(previous, x), "update");
+    } while (!VALUE.compareAndSet(this, current, pack(update.left, update.right)));
+    return previous;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the updated pair
+   */
+  public IntIntPair accumulateAndGet(final IntIntPair x, final BinaryOperator<IntIntPair> accumulator) {
+    long current;
+    IntIntPair update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(accumulator.apply(unpack(current), x), "update");
+    } while (!VALUE.compareAndSet(this, current, pack(update.left, update.right)));
+    return update;
+  }
+
+  @Override
+  public String toString() {
+    return get().toString();
+  }
+
+  /**
+   * Packs two ints into a long, the left element in the high half.
+   */
+  public static long pack(final int left, final int right) {
+    return ((long) left << 32) | (right & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Gets the left element of two packed ints.
+   */
+  public static int left(final long packed) {
+    return (int) (packed >>> 32);
+  }
+
+  /**
+   * Gets the right element of two packed ints.
+   */
+  public static int right(final long packed) {
+    return (int) packed;
+  }
+
+  private static IntIntPair unpack(final long packed) {
+    return IntIntPair.of(left(packed), right(packed));
+  }
+
+}
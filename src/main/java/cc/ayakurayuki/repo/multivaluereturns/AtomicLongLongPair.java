@@ -0,0 +1,247 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A pair of a primitive {@code long} left element and a primitive {@code long}
+ * right element updated atomically, as a whole.
+ *
+ * <p>
+ * Two longs do not fit a single compare-and-set, so the elements are held by an
+ * immutable {@link LongLongPair}, replaced by a single compare-and-set on each
+ * update as in {@link AtomicPair}. Reads do not allocate. Unlike
+ * {@link AtomicPair}, the compare-and-set methods compare the elements by value.
+ * A pair of two ints is packed into a single long by {@link AtomicIntIntPair},
+ * which does not allocate on updates either.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class AtomicLongLongPair implements Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 3056478113952096271L;
+
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      VALUE = MethodHandles.lookup().findVarHandle(AtomicLongLongPair.class, "value", LongLongPair.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile LongLongPair value;
+
+  /**
+   * Creates an atomic pair of two {@code 0L} elements.
+   */
+  public AtomicLongLongPair() {
+    this(0L, 0L);
+  }
+
+  public AtomicLongLongPair(final long left, final long right) {
+    this.value = LongLongPair.of(left, right);
+  }
+
+  /**
+   * Gets both elements, with volatile memory semantics.
+   *
+   * @return the current pair, not null
+   */
+  public LongLongPair get() {
+    return value;
+  }
+
+  /**
+   * Gets both elements, with acquire memory semantics.
+   *
+   * @return the current pair, not null
+   */
+  public LongLongPair getAcquire() {
+    return (LongLongPair) VALUE.getAcquire(this);
+  }
+
+  public long getLeft() {
+    return value.left;
+  }
+
+  public long getRight() {
+    return value.right;
+  }
+
+  /**
+   * Gets the left element, with acquire memory semantics.
+   */
+  public long getLeftAcquire() {
+    return getAcquire().left;
+  }
+
+  /**
+   * Gets the right element, with acquire memory semantics.
+   */
+  public long getRightAcquire() {
+    return getAcquire().right;
+  }
+
+  /**
+   * Sets both elements, with volatile memory semantics.
+   */
+  public void set(final long left, final long right) {
+    value = LongLongPair.of(left, right);
+  }
+
+  /**
+   * Sets both elements, with release memory semantics.
+   */
+  public void setRelease(final long left, final long right) {
+    VALUE.setRelease(this, LongLongPair.of(left, right));
+  }
+
+  /**
+   * Sets the left element with release memory semantics, keeping the right
+   * element of the same update.
+   */
+  public void setLeftRelease(final long left) {
+    LongLongPair current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, LongLongPair.of(left, current.right)));
+  }
+
+  /**
+   * Sets the right element with release memory semantics, keeping the left
+   * element of the same update.
+   */
+  public void setRightRelease(final long right) {
+    LongLongPair current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, LongLongPair.of(current.left, right)));
+  }
+
+  /**
+   * Sets both elements, returning the previous ones.
+   *
+   * @return the previous pair, not null
+   */
+  public LongLongPair getAndSet(final long left, final long right) {
+    return (LongLongPair) VALUE.getAndSet(this, LongLongPair.of(left, right));
+  }
+
+  /**
+   * Sets both elements if the current elements are the expected ones.
+   *
+   * @return true if successful, false if an element was not the expected one
+   */
+  public boolean compareAndSet(final long expectedLeft, final long expectedRight, final long newLeft, final long newRight) {
+    LongLongPair update = null;
+    while (true) {
+      final LongLongPair current = value;
+      if (current.left != expectedLeft || current.right != expectedRight) {
+        return false;
+      }
+      if (update == null) {
+        update = LongLongPair.of(newLeft, newRight);
+      }
+      if (VALUE.compareAndSet(this, current, update)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Adds to both elements.
+   *
+   * @return the updated pair
+   */
+  public LongLongPair addAndGet(final long leftDelta, final long rightDelta) {
+    LongLongPair current;
+    LongLongPair update;
+    do {
+      current = value;
+      update = LongLongPair.of(current.left + leftDelta, current.right + rightDelta);
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the previous pair
+   */
+  public LongLongPair getAndUpdate(final UnaryOperator<LongLongPair> function) {
+    LongLongPair current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(function.apply(current), "update")));
+    return current;
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the updated pair
+   */
+  public LongLongPair updateAndGet(final UnaryOperator<LongLongPair> function) {
+    LongLongPair current;
+    LongLongPair update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(function.apply(current), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the previous pair
+   */
+  public LongLongPair getAndAccumulate(final LongLongPair x, final BinaryOperator<LongLongPair> accumulator) {
+    LongLongPair current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(accumulator.apply(current, x), "update")));
+    return current;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the updated pair
+   */
+  public LongLongPair accumulateAndGet(final LongLongPair x, final BinaryOperator<LongLongPair> accumulator) {
+    LongLongPair current;
+    LongLongPair update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(accumulator.apply(current, x), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  @Override
+  public String toString() {
+    return value.toString();
+  }
+
+}
@@ -0,0 +1,288 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A pair of two elements updated atomically, as a whole.
+ *
+ * <pre>
+ * AtomicPair&lt;Long, Snapshot&gt; state = new AtomicPair&lt;&gt;(0L, Snapshot.EMPTY);
+ *
+ * state.updateAndGet(p -&gt; Pair.of(p.left + 1, p.right.with(change)));
+ * Pair&lt;Long, Snapshot&gt; current = state.get(); // version and snapshot always match
+ * </pre>
+ *
+ * <p>
+ * The elements are held by an immutable {@link Pair}, replaced by a single
+ * compare-and-set on each update, the way an {@code AtomicReference<Pair>} is
+ * used. A read returns both elements of one update, never the left element of
+ * one and the right element of another, and the update publishing them
+ * happens-before the read, unlike the plain fields of a {@link MutPair}.
+ * </p>
+ *
+ * <p>
+ * Like {@link java.util.concurrent.atomic.AtomicReference}, the compare-and-set
+ * methods compare the expected elements by identity, {@code ==}, not by
+ * {@code equals}: compare the elements read from this pair, not boxed copies.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class AtomicPair<L, R> implements Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 7407812094358218426L;
+
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      VALUE = MethodHandles.lookup().findVarHandle(AtomicPair.class, "value", Pair.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile Pair<L, R> value;
+
+  /**
+   * Creates an atomic pair of two null elements.
+   */
+  public AtomicPair() {
+    this.value = Pair.nullPair();
+  }
+
+  public AtomicPair(final L left, final R right) {
+    this.value = Pair.of(left, right);
+  }
+
+  /**
+   * Gets both elements, with volatile memory semantics.
+   *
+   * @return the current pair, not null
+   */
+  public Pair<L, R> get() {
+    return value;
+  }
+
+  /**
+   * Gets both elements, with acquire memory semantics.
+   *
+   * @return the current pair, not null
+   */
+  @SuppressWarnings("unchecked")
+  public Pair<L, R> getAcquire() {
+    return (Pair<L, R>) VALUE.getAcquire(this);
+  }
+
+  public L getLeft() {
+    return value.left;
+  }
+
+  public R getRight() {
+    return value.right;
+  }
+
+  /**
+   * Gets the left element, with acquire memory semantics.
+   */
+  public L getLeftAcquire() {
+    return getAcquire().left;
+  }
+
+  /**
+   * Gets the right element, with acquire memory semantics.
+   */
+  public R getRightAcquire() {
+    return getAcquire().right;
+  }
+
+  /**
+   * Sets both elements, with volatile memory semantics.
+   */
+  public void set(final L left, final R right) {
+    value = Pair.of(left, right);
+  }
+
+  /**
+   * Sets both elements, with release memory semantics.
+   */
+  public void setRelease(final L left, final R right) {
+    VALUE.setRelease(this, Pair.of(left, right));
+  }
+
+  /**
+   * Sets the left element with release memory semantics, keeping the right
+   * element of the same update.
+   */
+  public void setLeftRelease(final L left) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, Pair.of(left, current.right)));
+  }
+
+  /**
+   * Sets the right element with release memory semantics, keeping the left
+   * element of the same update.
+   */
+  public void setRightRelease(final R right) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, Pair.of(current.left, right)));
+  }
+
+  /**
+   * Sets both elements, returning the previous ones.
+   *
+   * @return the previous pair, not null
+   */
+  @SuppressWarnings("unchecked")
+  public Pair<L, R> getAndSet(final L left, final R right) {
+    return (Pair<L, R>) VALUE.getAndSet(this, Pair.of(left, right));
+  }
+
+  /**
+   * Sets the left element, keeping the right element of the same update.
+   *
+   * @return the previous left element
+   */
+  public L getAndSetLeft(final L left) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Pair.of(left, current.right)));
+    return current.left;
+  }
+
+  /**
+   * Sets the right element, keeping the left element of the same update.
+   *
+   * @return the previous right element
+   */
+  public R getAndSetRight(final R right) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Pair.of(current.left, right)));
+    return current.right;
+  }
+
+  /**
+   * Sets both elements if the current elements are the expected ones.
+   *
+   * @param expectedLeft  the expected left element, compared by identity
+   * @param expectedRight the expected right element, compared by identity
+   * @param newLeft       the new left element
+   * @param newRight      the new right element
+   *
+   * @return true if successful, false if an element was not the expected one
+   */
+  public boolean compareAndSet(final L expectedLeft, final R expectedRight, final L newLeft, final R newRight) {
+    final Pair<L, R> update = Pair.of(newLeft, newRight);
+    while (true) {
+      final Pair<L, R> current = value;
+      if (current.left != expectedLeft || current.right != expectedRight) {
+        return false;
+      }
+      if (VALUE.compareAndSet(this, current, update)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Replaces the current pair if it is the one expected.
+   *
+   * @param expected the expected pair, as returned by {@link #get()}, compared by identity
+   * @param update   the new pair, not null
+   *
+   * @return true if successful, false if the current pair was not the expected one
+   */
+  public boolean compareAndSet(final Pair<L, R> expected, final Pair<L, R> update) {
+    return VALUE.compareAndSet(this, expected, Objects.requireNonNull(update, "update"));
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the previous pair
+   */
+  public Pair<L, R> getAndUpdate(final UnaryOperator<Pair<L, R>> function) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(function.apply(current), "update")));
+    return current;
+  }
+
+  /**
+   * Updates the pair with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new pair, returning no null
+   *
+   * @return the updated pair
+   */
+  public Pair<L, R> updateAndGet(final UnaryOperator<Pair<L, R>> function) {
+    Pair<L, R> current;
+    Pair<L, R> update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(function.apply(current), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the previous pair
+   */
+  public Pair<L, R> getAndAccumulate(final Pair<L, R> x, final BinaryOperator<Pair<L, R>> accumulator) {
+    Pair<L, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(accumulator.apply(current, x), "update")));
+    return current;
+  }
+
+  /**
+   * Combines the pair with a given pair, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given pair
+   * @param accumulator the side-effect-free function combining the current and the given pairs, returning no null
+   *
+   * @return the updated pair
+   */
+  public Pair<L, R> accumulateAndGet(final Pair<L, R> x, final BinaryOperator<Pair<L, R>> accumulator) {
+    Pair<L, R> current;
+    Pair<L, R> update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(accumulator.apply(current, x), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  @Override
+  public String toString() {
+    return value.toString();
+  }
+
+}
@@ -0,0 +1,318 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A triple of three elements updated atomically, as a whole.
+ *
+ * <p>
+ * The elements are held by an immutable {@link Triple}, replaced by a single
+ * compare-and-set on each update, as in {@link AtomicPair}. A read returns the
+ * three elements of one update, published with a happens-before relation,
+ * unlike the plain fields of a {@link MutTriple}.
+ * </p>
+ *
+ * <p>
+ * Like {@link java.util.concurrent.atomic.AtomicReference}, the compare-and-set
+ * methods compare the expected elements by identity, {@code ==}, not by
+ * {@code equals}: compare the elements read from this pair, not boxed copies.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <M> the middle element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class AtomicTriple<L, M, R> implements Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -2861559206380335012L;
+
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      VALUE = MethodHandles.lookup().findVarHandle(AtomicTriple.class, "value", Triple.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile Triple<L, M, R> value;
+
+  /**
+   * Creates an atomic triple of three null elements.
+   */
+  public AtomicTriple() {
+    this.value = Triple.nullTriple();
+  }
+
+  public AtomicTriple(final L left, final M middle, final R right) {
+    this.value = Triple.of(left, middle, right);
+  }
+
+  /**
+   * Gets all the elements, with volatile memory semantics.
+   *
+   * @return the current triple, not null
+   */
+  public Triple<L, M, R> get() {
+    return value;
+  }
+
+  /**
+   * Gets all the elements, with acquire memory semantics.
+   *
+   * @return the current triple, not null
+   */
+  @SuppressWarnings("unchecked")
+  public Triple<L, M, R> getAcquire() {
+    return (Triple<L, M, R>) VALUE.getAcquire(this);
+  }
+
+  public L getLeft() {
+    return value.left;
+  }
+
+  public M getMiddle() {
+    return value.middle;
+  }
+
+  public R getRight() {
+    return value.right;
+  }
+
+  /**
+   * Gets the left element, with acquire memory semantics.
+   */
+  public L getLeftAcquire() {
+    return getAcquire().left;
+  }
+
+  /**
+   * Gets the middle element, with acquire memory semantics.
+   */
+  public M getMiddleAcquire() {
+    return getAcquire().middle;
+  }
+
+  /**
+   * Gets the right element, with acquire memory semantics.
+   */
+  public R getRightAcquire() {
+    return getAcquire().right;
+  }
+
+  /**
+   * Sets all the elements, with volatile memory semantics.
+   */
+  public void set(final L left, final M middle, final R right) {
+    value = Triple.of(left, middle, right);
+  }
+
+  /**
+   * Sets all the elements, with release memory semantics.
+   */
+  public void setRelease(final L left, final M middle, final R right) {
+    VALUE.setRelease(this, Triple.of(left, middle, right));
+  }
+
+  /**
+   * Sets the left element with release memory semantics, keeping the other
+   * elements of the same update.
+   */
+  public void setLeftRelease(final L left) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, Triple.of(left, current.middle, current.right)));
+  }
+
+  /**
+   * Sets the middle element with release memory semantics, keeping the other
+   * elements of the same update.
+   */
+  public void setMiddleRelease(final M middle) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, Triple.of(current.left, middle, current.right)));
+  }
+
+  /**
+   * Sets the right element with release memory semantics, keeping the other
+   * elements of the same update.
+   */
+  public void setRightRelease(final R right) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.weakCompareAndSetRelease(this, current, Triple.of(current.left, current.middle, right)));
+  }
+
+  /**
+   * Sets all the elements, returning the previous ones.
+   *
+   * @return the previous triple, not null
+   */
+  @SuppressWarnings("unchecked")
+  public Triple<L, M, R> getAndSet(final L left, final M middle, final R right) {
+    return (Triple<L, M, R>) VALUE.getAndSet(this, Triple.of(left, middle, right));
+  }
+
+  /**
+   * Sets the left element, keeping the other elements of the same update.
+   *
+   * @return the previous left element
+   */
+  public L getAndSetLeft(final L left) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Triple.of(left, current.middle, current.right)));
+    return current.left;
+  }
+
+  /**
+   * Sets the middle element, keeping the other elements of the same update.
+   *
+   * @return the previous middle element
+   */
+  public M getAndSetMiddle(final M middle) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Triple.of(current.left, middle, current.right)));
+    return current.middle;
+  }
+
+  /**
+   * Sets the right element, keeping the other elements of the same update.
+   *
+   * @return the previous right element
+   */
+  public R getAndSetRight(final R right) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Triple.of(current.left, current.middle, right)));
+    return current.right;
+  }
+
+  /**
+   * Sets all the elements if the current elements are the expected ones.
+   *
+   * @param expectedLeft   the expected left element, compared by identity
+   * @param expectedMiddle the expected middle element, compared by identity
+   * @param expectedRight  the expected right element, compared by identity
+   * @param newLeft        the new left element
+   * @param newMiddle      the new middle element
+   * @param newRight       the new right element
+   *
+   * @return true if successful, false if an element was not the expected one
+   */
+  public boolean compareAndSet(final L expectedLeft, final M expectedMiddle, final R expectedRight, final L newLeft, final M newMiddle, final R newRight) {
+    final Triple<L, M, R> update = Triple.of(newLeft, newMiddle, newRight);
+    while (true) {
+      final Triple<L, M, R> current = value;
+      if (current.left != expectedLeft || current.middle != expectedMiddle || current.right != expectedRight) {
+        return false;
+      }
+      if (VALUE.compareAndSet(this, current, update)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Replaces the current triple if it is the one expected.
+   *
+   * @param expected the expected triple, as returned by {@link #get()}, compared by identity
+   * @param update   the new triple, not null
+   *
+   * @return true if successful, false if the current triple was not the expected one
+   */
+  public boolean compareAndSet(final Triple<L, M, R> expected, final Triple<L, M, R> update) {
+    return VALUE.compareAndSet(this, expected, Objects.requireNonNull(update, "update"));
+  }
+
+  /**
+   * Updates the triple with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new triple, returning no null
+   *
+   * @return the previous triple
+   */
+  public Triple<L, M, R> getAndUpdate(final UnaryOperator<Triple<L, M, R>> function) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(function.apply(current), "update")));
+    return current;
+  }
+
+  /**
+   * Updates the triple with a function, which may be applied again when other updates interfere.
+   *
+   * @param function the side-effect-free function computing the new triple, returning no null
+   *
+   * @return the updated triple
+   */
+  public Triple<L, M, R> updateAndGet(final UnaryOperator<Triple<L, M, R>> function) {
+    Triple<L, M, R> current;
+    Triple<L, M, R> update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(function.apply(current), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  /**
+   * Combines the triple with a given triple, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given triple
+   * @param accumulator the side-effect-free function combining the current and the given triples, returning no null
+   *
+   * @return the previous triple
+   */
+  public Triple<L, M, R> getAndAccumulate(final Triple<L, M, R> x, final BinaryOperator<Triple<L, M, R>> accumulator) {
+    Triple<L, M, R> current;
+    do {
+      current = value;
+    } while (!VALUE.compareAndSet(this, current, Objects.requireNonNull(accumulator.apply(current, x), "update")));
+    return current;
+  }
+
+  /**
+   * Combines the triple with a given triple, the combination may be applied again when other updates interfere.
+   *
+   * @param x           the given triple
+   * @param accumulator the side-effect-free function combining the current and the given triples, returning no null
+   *
+   * @return the updated triple
+   */
+  public Triple<L, M, R> accumulateAndGet(final Triple<L, M, R> x, final BinaryOperator<Triple<L, M, R>> accumulator) {
+    Triple<L, M, R> current;
+    Triple<L, M, R> update;
+    do {
+      current = value;
+      update = Objects.requireNonNull(accumulator.apply(current, x), "update");
+    } while (!VALUE.compareAndSet(this, current, update));
+    return update;
+  }
+
+  @Override
+  public String toString() {
+    return value.toString();
+  }
+
+}
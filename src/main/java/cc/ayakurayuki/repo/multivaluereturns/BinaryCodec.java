@@ -0,0 +1,38 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.IOException;
+
+/**
+ * An encoder and decoder of values in a compact binary format.
+ *
+ * <p>
+ * Unlike Java serialization, the format carries no class descriptors nor type
+ * information: the reader must use the same codec as the writer. Codecs of
+ * tuples and results are composed from the codecs of their components, see
+ * {@link BinaryCodecs}.
+ * </p>
+ *
+ * @param <T> the type of the values
+ *
+ * @author Ayakura Yuki
+ */
+public interface BinaryCodec<T> {
+
+  /**
+   * Encodes a value.
+   *
+   * @param out   the writer to encode into, not null
+   * @param value the value to encode
+   */
+  void write(BinaryWriter out, T value) throws IOException;
+
+  /**
+   * Decodes a value.
+   *
+   * @param in the reader to decode from, not null
+   *
+   * @return the decoded value
+   */
+  T read(BinaryReader in) throws IOException;
+
+}
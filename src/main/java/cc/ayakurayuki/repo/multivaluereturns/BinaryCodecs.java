@@ -0,0 +1,500 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Codecs of components, tuples, results and collections in the compact binary
+ * format of {@link BinaryWriter} and {@link BinaryReader}.
+ *
+ * <p>
+ * The codecs of components do not accept null, wrap them with {@link #nullable(BinaryCodec)}
+ * for components that can be null. Codecs of tuples and results are composed
+ * from the codecs of their components:
+ * </p>
+ *
+ * <pre>
+ * BinaryCodec&lt;Triple&lt;String, Long, Double&gt;&gt; codec = BinaryCodecs.triple(BinaryCodecs.STRING, BinaryCodecs.LONG, BinaryCodecs.DOUBLE);
+ * try (BinaryWriter out = new BinaryWriter(channel)) {
+ *   out.write(BinaryCodecs.list(codec), triples);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Collections are prefixed by their number of elements. {@link PairList}s and
+ * {@link TripleList}s are written as one column per component, like they are
+ * stored, which also keeps similar values together.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class BinaryCodecs {
+
+  /**
+   * Booleans as one byte
+   */
+  public static final BinaryCodec<Boolean> BOOLEAN = new BinaryCodec<Boolean>() {
+    @Override
+    public void write(final BinaryWriter out, final Boolean value) throws IOException {
+      out.writeBoolean(value);
+    }
+
+    @Override
+    public Boolean read(final BinaryReader in) throws IOException {
+      return in.readBoolean();
+    }
+  };
+
+  /**
+   * Ints as zig-zag varints of 1 to 5 bytes
+   */
+  public static final BinaryCodec<Integer> INT = new BinaryCodec<Integer>() {
+    @Override
+    public void write(final BinaryWriter out, final Integer value) throws IOException {
+      out.writeZigZagInt(value);
+    }
+
+    @Override
+    public Integer read(final BinaryReader in) throws IOException {
+      return in.readZigZagInt();
+    }
+  };
+
+  /**
+   * Longs as zig-zag varints of 1 to 10 bytes
+   */
+  public static final BinaryCodec<Long> LONG = new BinaryCodec<Long>() {
+    @Override
+    public void write(final BinaryWriter out, final Long value) throws IOException {
+      out.writeZigZagLong(value);
+    }
+
+    @Override
+    public Long read(final BinaryReader in) throws IOException {
+      return in.readZigZagLong();
+    }
+  };
+
+  /**
+   * Longs as 8 bytes, for values such as hashes or random ids which would take more as varints
+   */
+  public static final BinaryCodec<Long> FIXED_LONG = new BinaryCodec<Long>() {
+    @Override
+    public void write(final BinaryWriter out, final Long value) throws IOException {
+      out.writeLong(value);
+    }
+
+    @Override
+    public Long read(final BinaryReader in) throws IOException {
+      return in.readLong();
+    }
+  };
+
+  /**
+   * Doubles as 8 bytes
+   */
+  public static final BinaryCodec<Double> DOUBLE = new BinaryCodec<Double>() {
+    @Override
+    public void write(final BinaryWriter out, final Double value) throws IOException {
+      out.writeDouble(value);
+    }
+
+    @Override
+    public Double read(final BinaryReader in) throws IOException {
+      return in.readDouble();
+    }
+  };
+
+  /**
+   * Strings as the varint length of their UTF-8 encoding followed by the encoding
+   */
+  public static final BinaryCodec<String> STRING = new BinaryCodec<String>() {
+    @Override
+    public void write(final BinaryWriter out, final String value) throws IOException {
+      out.writeString(value);
+    }
+
+    @Override
+    public String read(final BinaryReader in) throws IOException {
+      return in.readString();
+    }
+  };
+
+  /**
+   * Tags of results and pair results
+   */
+  private static final int OK   = 0;
+  private static final int ERR  = 1;
+  private static final int BOTH = 2;
+
+  /**
+   * Upper bound of the initial capacity of decoded collections, so that a
+   * corrupted count does not allocate a huge collection upfront
+   */
+  private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+  private BinaryCodecs() {
+  }
+
+  /**
+   * Gets a codec of values that can be null, writing a presence byte before non-null values.
+   *
+   * @param codec the codec of the non-null values, not null
+   *
+   * @return a codec of nullable values
+   */
+  public static <T> BinaryCodec<T> nullable(final BinaryCodec<T> codec) {
+    Objects.requireNonNull(codec, "codec");
+    return new BinaryCodec<T>() {
+      @Override
+      public void write(final BinaryWriter out, final T value) throws IOException {
+        if (value == null) {
+          out.writeBoolean(false);
+        } else {
+          out.writeBoolean(true);
+          codec.write(out, value);
+        }
+      }
+
+      @Override
+      public T read(final BinaryReader in) throws IOException {
+        return in.readBoolean() ? codec.read(in) : null;
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of errors writing only their message, which is nullable.
+   *
+   * @param factory the factory of the decoded errors from their message, such as {@code StacklessException::new}
+   *
+   * @return a codec of errors
+   */
+  public static <Err extends Throwable> BinaryCodec<Err> errorMessage(final Function<String, ? extends Err> factory) {
+    Objects.requireNonNull(factory, "factory");
+    final BinaryCodec<String> message = nullable(STRING);
+    return new BinaryCodec<Err>() {
+      @Override
+      public void write(final BinaryWriter out, final Err value) throws IOException {
+        message.write(out, value.getMessage());
+      }
+
+      @Override
+      public Err read(final BinaryReader in) throws IOException {
+        return factory.apply(message.read(in));
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of pairs.
+   *
+   * @param left  the codec of the left elements, not null
+   * @param right the codec of the right elements, not null
+   *
+   * @return a codec of non-null pairs
+   */
+  public static <L, R> BinaryCodec<Pair<L, R>> pair(final BinaryCodec<L> left, final BinaryCodec<R> right) {
+    Objects.requireNonNull(left, "left");
+    Objects.requireNonNull(right, "right");
+    return new BinaryCodec<Pair<L, R>>() {
+      @Override
+      public void write(final BinaryWriter out, final Pair<L, R> value) throws IOException {
+        left.write(out, value.getLeft());
+        right.write(out, value.getRight());
+      }
+
+      @Override
+      public Pair<L, R> read(final BinaryReader in) throws IOException {
+        final L l = left.read(in);
+        return Pair.of(l, right.read(in));
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of triples.
+   *
+   * @param left   the codec of the left elements, not null
+   * @param middle the codec of the middle elements, not null
+   * @param right  the codec of the right elements, not null
+   *
+   * @return a codec of non-null triples
+   */
+  public static <L, M, R> BinaryCodec<Triple<L, M, R>> triple(final BinaryCodec<L> left, final BinaryCodec<M> middle, final BinaryCodec<R> right) {
+    Objects.requireNonNull(left, "left");
+    Objects.requireNonNull(middle, "middle");
+    Objects.requireNonNull(right, "right");
+    return new BinaryCodec<Triple<L, M, R>>() {
+      @Override
+      public void write(final BinaryWriter out, final Triple<L, M, R> value) throws IOException {
+        left.write(out, value.getLeft());
+        middle.write(out, value.getMiddle());
+        right.write(out, value.getRight());
+      }
+
+      @Override
+      public Triple<L, M, R> read(final BinaryReader in) throws IOException {
+        final L l = left.read(in);
+        final M m = middle.read(in);
+        return Triple.of(l, m, right.read(in));
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of results, writing a tag byte followed by the returned object, the error or both.
+   *
+   * @param ok  the codec of the returned objects, not null, wrap it with {@link #nullable(BinaryCodec)} for null returned objects
+   * @param err the codec of the errors, not null
+   *
+   * @return a codec of non-null results
+   */
+  public static <T, Err extends Throwable> BinaryCodec<Result<T, Err>> result(final BinaryCodec<T> ok, final BinaryCodec<Err> err) {
+    Objects.requireNonNull(ok, "ok");
+    Objects.requireNonNull(err, "err");
+    return new BinaryCodec<Result<T, Err>>() {
+      @Override
+      public void write(final BinaryWriter out, final Result<T, Err> value) throws IOException {
+        if (!value.isError()) {
+          out.writeByte(OK);
+          ok.write(out, value.ok());
+        } else if (value.ok() == null) {
+          out.writeByte(ERR);
+          err.write(out, value.err());
+        } else {
+          out.writeByte(BOTH);
+          ok.write(out, value.ok());
+          err.write(out, value.err());
+        }
+      }
+
+      @Override
+      public Result<T, Err> read(final BinaryReader in) throws IOException {
+        final int tag = in.readByte();
+        switch (tag) {
+          case OK:
+            return Result.ok(ok.read(in));
+          case ERR:
+            return Result.err(err.read(in));
+          case BOTH:
+            final T value = ok.read(in);
+            return Result.create(value, err.read(in));
+          default:
+            throw new StreamCorruptedException("Unknown result tag: " + tag);
+        }
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of pair results, writing a tag byte followed by the elements, the error or both.
+   *
+   * @param left  the codec of the left elements, not null
+   * @param right the codec of the right elements, not null
+   * @param err   the codec of the errors, not null
+   *
+   * @return a codec of non-null pair results
+   */
+  public static <L, R, Err extends Throwable> BinaryCodec<PairResult<L, R, Err>> pairResult(final BinaryCodec<L> left, final BinaryCodec<R> right,
+                                                                                          final BinaryCodec<Err> err) {
+    Objects.requireNonNull(left, "left");
+    Objects.requireNonNull(right, "right");
+    Objects.requireNonNull(err, "err");
+    return new BinaryCodec<PairResult<L, R, Err>>() {
+      @Override
+      public void write(final BinaryWriter out, final PairResult<L, R, Err> value) throws IOException {
+        if (!value.isError()) {
+          out.writeByte(OK);
+          left.write(out, value.getLeft());
+          right.write(out, value.getRight());
+        } else if (value.getLeft() == null && value.getRight() == null) {
+          out.writeByte(ERR);
+          err.write(out, value.err());
+        } else {
+          out.writeByte(BOTH);
+          left.write(out, value.getLeft());
+          right.write(out, value.getRight());
+          err.write(out, value.err());
+        }
+      }
+
+      @Override
+      public PairResult<L, R, Err> read(final BinaryReader in) throws IOException {
+        final int tag = in.readByte();
+        switch (tag) {
+          case OK: {
+            final L l = left.read(in);
+            return PairResult.of(l, right.read(in), null);
+          }
+          case ERR:
+            return PairResult.err(err.read(in));
+          case BOTH: {
+            final L l = left.read(in);
+            final R r = right.read(in);
+            return PairResult.of(l, r, err.read(in));
+          }
+          default:
+            throw new StreamCorruptedException("Unknown pair result tag: " + tag);
+        }
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of lists, writing the varint number of elements followed by the elements.
+   *
+   * @param element the codec of the elements, not null
+   *
+   * @return a codec of non-null lists, decoded as {@link ArrayList}s
+   */
+  public static <T> BinaryCodec<List<T>> list(final BinaryCodec<T> element) {
+    Objects.requireNonNull(element, "element");
+    return new BinaryCodec<List<T>>() {
+      @Override
+      public void write(final BinaryWriter out, final List<T> value) throws IOException {
+        out.writeVarInt(value.size());
+        for (final T t : value) {
+          element.write(out, t);
+        }
+      }
+
+      @Override
+      public List<T> read(final BinaryReader in) throws IOException {
+        return readElements(element, in.readLength(), in);
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of arrays, writing the varint number of elements followed by the elements.
+   *
+   * @param element   the codec of the elements, not null
+   * @param generator the generator of arrays of a length, such as {@code Pair[]::new}
+   *
+   * @return a codec of non-null arrays
+   */
+  public static <T> BinaryCodec<T[]> array(final BinaryCodec<T> element, final IntFunction<T[]> generator) {
+    Objects.requireNonNull(element, "element");
+    Objects.requireNonNull(generator, "generator");
+    return new BinaryCodec<T[]>() {
+      @Override
+      public void write(final BinaryWriter out, final T[] value) throws IOException {
+        out.writeVarInt(value.length);
+        for (final T t : value) {
+          element.write(out, t);
+        }
+      }
+
+      @Override
+      public T[] read(final BinaryReader in) throws IOException {
+        final int length = in.readLength();
+        if (length > MAX_INITIAL_CAPACITY) {
+          // decode in a list first, in case the length is corrupted
+          return readElements(element, length, in).toArray(generator.apply(0));
+        }
+        final T[] array = generator.apply(length);
+        for (int i = 0; i < length; i++) {
+          array[i] = element.read(in);
+        }
+        return array;
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of pair lists, writing the varint number of pairs followed by
+   * the column of left elements and the column of right elements.
+   *
+   * @param left  the codec of the left elements, not null
+   * @param right the codec of the right elements, not null
+   *
+   * @return a codec of non-null pair lists
+   */
+  public static <L, R> BinaryCodec<PairList<L, R>> pairList(final BinaryCodec<L> left, final BinaryCodec<R> right) {
+    Objects.requireNonNull(left, "left");
+    Objects.requireNonNull(right, "right");
+    return new BinaryCodec<PairList<L, R>>() {
+      @Override
+      public void write(final BinaryWriter out, final PairList<L, R> value) throws IOException {
+        final int size = value.size();
+        out.writeVarInt(size);
+        for (int i = 0; i < size; i++) {
+          left.write(out, value.getLeft(i));
+        }
+        for (int i = 0; i < size; i++) {
+          right.write(out, value.getRight(i));
+        }
+      }
+
+      @Override
+      public PairList<L, R> read(final BinaryReader in) throws IOException {
+        final int size = in.readLength();
+        final List<L> lefts = readElements(left, size, in);
+        final PairList<L, R> list = new PairList<>(size);
+        for (final L l : lefts) {
+          list.add(l, right.read(in));
+        }
+        return list;
+      }
+    };
+  }
+
+  /**
+   * Gets a codec of triple lists, writing the varint number of triples followed
+   * by the columns of left, middle and right elements.
+   *
+   * @param left   the codec of the left elements, not null
+   * @param middle the codec of the middle elements, not null
+   * @param right  the codec of the right elements, not null
+   *
+   * @return a codec of non-null triple lists
+   */
+  public static <L, M, R> BinaryCodec<TripleList<L, M, R>> tripleList(final BinaryCodec<L> left, final BinaryCodec<M> middle, final BinaryCodec<R> right) {
+    Objects.requireNonNull(left, "left");
+    Objects.requireNonNull(middle, "middle");
+    Objects.requireNonNull(right, "right");
+    return new BinaryCodec<TripleList<L, M, R>>() {
+      @Override
+      public void write(final BinaryWriter out, final TripleList<L, M, R> value) throws IOException {
+        final int size = value.size();
+        out.writeVarInt(size);
+        for (int i = 0; i < size; i++) {
+          left.write(out, value.getLeft(i));
+        }
+        for (int i = 0; i < size; i++) {
+          middle.write(out, value.getMiddle(i));
+        }
+        for (int i = 0; i < size; i++) {
+          right.write(out, value.getRight(i));
+        }
+      }
+
+      @Override
+      public TripleList<L, M, R> read(final BinaryReader in) throws IOException {
+        final int size = in.readLength();
+        final List<L> lefts = readElements(left, size, in);
+        final List<M> middles = readElements(middle, size, in);
+        final TripleList<L, M, R> list = new TripleList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(lefts.get(i), middles.get(i), right.read(in));
+        }
+        return list;
+      }
+    };
+  }
+
+  private static <T> List<T> readElements(final BinaryCodec<T> element, final int size, final BinaryReader in) throws IOException {
+    final List<T> list = new ArrayList<>(Math.min(size, MAX_INITIAL_CAPACITY));
+    for (int i = 0; i < size; i++) {
+      list.add(element.read(in));
+    }
+    return list;
+  }
+
+}
@@ -0,0 +1,271 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A buffered reader of the compact binary format of {@link BinaryCodec}s from a channel.
+ *
+ * <p>
+ * The counterpart of {@link BinaryWriter}: the channel is read into a buffer,
+ * preferably direct, which can be supplied by the caller to be reused from one
+ * reader to the next.
+ * </p>
+ *
+ * <p>A reader is not thread-safe.</p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class BinaryReader implements Closeable {
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer          buffer;
+  private       long                consumed;
+  private       byte[]              bytes = new byte[64];
+
+  /**
+   * Creates a reader from a channel with a new direct buffer of the default size.
+   *
+   * @param channel the channel to read from, not null
+   */
+  public BinaryReader(final ReadableByteChannel channel) {
+    this(channel, ByteBuffer.allocateDirect(BinaryWriter.DEFAULT_BUFFER_SIZE));
+  }
+
+  /**
+   * Creates a reader from a channel with a buffer to reuse.
+   *
+   * <p>The buffer is cleared, its content and byte order are overwritten.</p>
+   *
+   * @param channel the channel to read from, not null
+   * @param buffer  the buffer to read into, of at least 16 bytes
+   */
+  public BinaryReader(final ReadableByteChannel channel, final ByteBuffer buffer) {
+    this.channel = Objects.requireNonNull(channel, "channel");
+    if (buffer.capacity() < BinaryWriter.MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("Buffer too small: " + buffer.capacity());
+    }
+    this.buffer = buffer;
+    // empty, ready to be read from
+    buffer.clear().order(ByteOrder.LITTLE_ENDIAN).flip();
+  }
+
+  /**
+   * Gets the number of bytes read so far.
+   */
+  public long position() {
+    return consumed + buffer.position();
+  }
+
+  /**
+   * Whether there is anything left to read, reading from the channel if needed.
+   *
+   * @return false at the end of the channel
+   */
+  public boolean hasMore() throws IOException {
+    return buffer.hasRemaining() || fill(1);
+  }
+
+  public byte readByte() throws IOException {
+    require(1);
+    return buffer.get();
+  }
+
+  public boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  public int readInt() throws IOException {
+    require(Integer.BYTES);
+    return buffer.getInt();
+  }
+
+  public long readLong() throws IOException {
+    require(Long.BYTES);
+    return buffer.getLong();
+  }
+
+  public double readDouble() throws IOException {
+    require(Double.BYTES);
+    return buffer.getDouble();
+  }
+
+  /**
+   * Reads an unsigned varint of at most 5 bytes.
+   */
+  public int readVarInt() throws IOException {
+    final long value = readVarLong();
+    if ((value & ~0xFFFFFFFFL) != 0) {
+      throw new StreamCorruptedException("Varint overflows an int");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads a length or a count written as a varint, such as the one of a string,
+   * a frame or a collection.
+   *
+   * @return the length, not negative
+   *
+   * @throws StreamCorruptedException if the varint does not fit in a non-negative int
+   */
+  public int readLength() throws IOException {
+    final int length = readVarInt();
+    if (length < 0) {
+      throw new StreamCorruptedException("Negative length: " + (length & 0xFFFFFFFFL));
+    }
+    return length;
+  }
+
+  /**
+   * Reads an unsigned varint of at most 10 bytes.
+   */
+  public long readVarLong() throws IOException {
+    // no need to check each byte when the longest varint is buffered
+    final boolean buffered = buffer.remaining() >= 10;
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = buffered ? buffer.get() : readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed varint");
+  }
+
+  /**
+   * Reads a zig-zag varint int.
+   */
+  public int readZigZagInt() throws IOException {
+    final int value = readVarInt();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads a zig-zag varint long.
+   */
+  public long readZigZagLong() throws IOException {
+    final long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads a string written by {@link BinaryWriter#writeString(String)}.
+   */
+  public String readString() throws IOException {
+    final int length = readLength();
+    readFully(length);
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads bytes written by {@link BinaryWriter#writeBytes(byte[])}.
+   */
+  public byte[] readBytes() throws IOException {
+    final int length = readLength();
+    final byte[] value = new byte[length];
+    read(value, length);
+    return value;
+  }
+
+  /**
+   * Reads a value.
+   *
+   * @param codec the codec of the value, not null
+   *
+   * @return the value
+   */
+  public <T> T read(final BinaryCodec<T> codec) throws IOException {
+    return codec.read(this);
+  }
+
+  /**
+   * Reads a value written by {@link BinaryWriter#writeFrame(BinaryCodec, Object)}.
+   *
+   * @param codec the codec of the value, not null
+   *
+   * @return the value
+   *
+   * @throws StreamCorruptedException if the value does not take the length of the frame
+   */
+  public <T> T readFrame(final BinaryCodec<T> codec) throws IOException {
+    final int length = readLength();
+    final long start = position();
+    final T value = codec.read(this);
+    if (position() - start != length) {
+      throw new StreamCorruptedException("Frame of " + length + " bytes decoded from " + (position() - start) + " bytes");
+    }
+    return value;
+  }
+
+  /**
+   * Skips a frame written by {@link BinaryWriter#writeFrame(BinaryCodec, Object)} without decoding it.
+   */
+  public void skipFrame() throws IOException {
+    long remaining = readLength();
+    while (remaining > 0) {
+      require(1);
+      final int skipped = (int) Math.min(remaining, buffer.remaining());
+      buffer.position(buffer.position() + skipped);
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Closes the channel.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void readFully(final int length) throws IOException {
+    if (bytes.length < length) {
+      bytes = new byte[Math.max(length, bytes.length * 2)];
+    }
+    read(bytes, length);
+  }
+
+  private void read(final byte[] dest, final int length) throws IOException {
+    int offset = 0;
+    while (offset < length) {
+      require(1);
+      final int n = Math.min(buffer.remaining(), length - offset);
+      buffer.get(dest, offset, n);
+      offset += n;
+    }
+  }
+
+  /**
+   * Makes a number of bytes available, up to {@link BinaryWriter#MIN_BUFFER_SIZE}.
+   */
+  private void require(final int bytes) throws IOException {
+    if (buffer.remaining() < bytes && !fill(bytes)) {
+      throw new EOFException();
+    }
+  }
+
+  private boolean fill(final int bytes) throws IOException {
+    consumed += buffer.position();
+    buffer.compact();
+    try {
+      while (buffer.position() < bytes) {
+        if (channel.read(buffer) < 0) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      buffer.flip();
+    }
+  }
+
+}
@@ -0,0 +1,281 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A buffered writer of the compact binary format of {@link BinaryCodec}s to a channel.
+ *
+ * <p>
+ * Values are encoded into a buffer, preferably direct, which is written to the
+ * channel when full and on {@link #flush()}. The buffer can be supplied by the
+ * caller to be reused from one writer to the next. Fixed-size values are
+ * little-endian, integral values can also be written as unsigned or zig-zag
+ * varints, taking 1 byte for values up to 127 or 63 in magnitude.
+ * </p>
+ *
+ * <p>A writer is not thread-safe.</p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class BinaryWriter implements Flushable, Closeable {
+
+  /**
+   * Default size of the buffer of a writer
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Minimum size of the buffer of a writer, enough for any varint
+   */
+  static final int MIN_BUFFER_SIZE = 16;
+
+  private final WritableByteChannel channel;
+  private       ByteBuffer          buffer;
+  private       long                flushed;
+  private       BinaryWriter        frame;
+
+  /**
+   * Creates a writer to a channel with a new direct buffer of the default size.
+   *
+   * @param channel the channel to write to, not null
+   */
+  public BinaryWriter(final WritableByteChannel channel) {
+    this(channel, ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE));
+  }
+
+  /**
+   * Creates a writer to a channel with a buffer to reuse.
+   *
+   * <p>The buffer is cleared, its content and byte order are overwritten.</p>
+   *
+   * @param channel the channel to write to, not null
+   * @param buffer  the buffer to encode into, of at least 16 bytes
+   */
+  public BinaryWriter(final WritableByteChannel channel, final ByteBuffer buffer) {
+    this.channel = Objects.requireNonNull(channel, "channel");
+    if (buffer.capacity() < MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("Buffer too small: " + buffer.capacity());
+    }
+    this.buffer = buffer;
+    buffer.clear().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Creates a writer growing its buffer in memory, for frames.
+   */
+  private BinaryWriter() {
+    this.channel = null;
+    this.buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Gets the number of bytes written so far, flushed or not.
+   */
+  public long position() {
+    return flushed + buffer.position();
+  }
+
+  public BinaryWriter writeByte(final int value) throws IOException {
+    require(1);
+    buffer.put((byte) value);
+    return this;
+  }
+
+  public BinaryWriter writeBoolean(final boolean value) throws IOException {
+    return writeByte(value ? 1 : 0);
+  }
+
+  public BinaryWriter writeInt(final int value) throws IOException {
+    require(Integer.BYTES);
+    buffer.putInt(value);
+    return this;
+  }
+
+  public BinaryWriter writeLong(final long value) throws IOException {
+    require(Long.BYTES);
+    buffer.putLong(value);
+    return this;
+  }
+
+  public BinaryWriter writeDouble(final double value) throws IOException {
+    require(Double.BYTES);
+    buffer.putDouble(value);
+    return this;
+  }
+
+  /**
+   * Writes an int as an unsigned varint of 1 to 5 bytes, 7 bits per byte.
+   */
+  public BinaryWriter writeVarInt(final int value) throws IOException {
+    return writeVarLong(value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes a long as an unsigned varint of 1 to 10 bytes, 7 bits per byte.
+   */
+  public BinaryWriter writeVarLong(long value) throws IOException {
+    require(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+    return this;
+  }
+
+  /**
+   * Writes an int as a zig-zag varint, so that values of small magnitude take few bytes whatever their sign.
+   */
+  public BinaryWriter writeZigZagInt(final int value) throws IOException {
+    return writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes a long as a zig-zag varint, so that values of small magnitude take few bytes whatever their sign.
+   */
+  public BinaryWriter writeZigZagLong(final long value) throws IOException {
+    return writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes a string as the varint length of its UTF-8 encoding followed by the encoding.
+   */
+  public BinaryWriter writeString(final String value) throws IOException {
+    final int length = value.length();
+    int utf8Length = length;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c >= 0x80) {
+        if (Character.isSurrogate(c)) {
+          return writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+        utf8Length += c < 0x800 ? 1 : 2;
+      }
+    }
+    writeVarInt(utf8Length);
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      require(3);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | (c >> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      } else {
+        buffer.put((byte) (0xE0 | (c >> 12)));
+        buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Writes bytes as their varint length followed by the bytes.
+   */
+  public BinaryWriter writeBytes(final byte[] value) throws IOException {
+    writeVarInt(value.length);
+    int offset = 0;
+    while (offset < value.length) {
+      require(1);
+      final int length = Math.min(buffer.remaining(), value.length - offset);
+      buffer.put(value, offset, length);
+      offset += length;
+    }
+    return this;
+  }
+
+  /**
+   * Writes a value.
+   *
+   * @param codec the codec of the value, not null
+   * @param value the value to write
+   */
+  public <T> BinaryWriter write(final BinaryCodec<T> codec, final T value) throws IOException {
+    codec.write(this, value);
+    return this;
+  }
+
+  /**
+   * Writes a value as a frame: the varint length of its encoding followed by the encoding,
+   * so that a reader can skip it without decoding it.
+   *
+   * @param codec the codec of the value, not null
+   * @param value the value to write
+   *
+   * @see BinaryReader#readFrame(BinaryCodec)
+   * @see BinaryReader#skipFrame()
+   */
+  public <T> BinaryWriter writeFrame(final BinaryCodec<T> codec, final T value) throws IOException {
+    if (frame == null) {
+      frame = new BinaryWriter();
+    }
+    frame.buffer.clear();
+    codec.write(frame, value);
+    // the frame writer may have grown its buffer
+    final ByteBuffer bytes = frame.buffer;
+    bytes.flip();
+    writeVarInt(bytes.remaining());
+    while (bytes.hasRemaining()) {
+      require(1);
+      final int limit = bytes.limit();
+      bytes.limit(bytes.position() + Math.min(buffer.remaining(), bytes.remaining()));
+      buffer.put(bytes);
+      bytes.limit(limit);
+    }
+    bytes.clear();
+    return this;
+  }
+
+  /**
+   * Writes the buffered bytes to the channel.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (channel == null) {
+      return;
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      flushed += channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Flushes and closes the channel.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Makes room for a number of bytes, up to {@link #MIN_BUFFER_SIZE}.
+   */
+  private void require(final int bytes) throws IOException {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+    if (channel != null) {
+      flush();
+      return;
+    }
+    final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes)).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.flip();
+    grown.put(buffer);
+    buffer = grown;
+  }
+
+}
@@ -536,6 +536,60 @@ class CompareToBuilder implements Builder<Integer> {
     return this;
   }
 
+  /**
+   * Compares two {@link Object}s the same way as {@link #append(Object, Object)},
+   * without allocating a builder.
+   *
+   * @param lhs left-hand object
+   * @param rhs right-hand object
+   *
+   * @return a negative integer, zero, or a positive integer as {@code lhs}
+   * is less than, equal to, or greater than {@code rhs}
+   *
+   * @throws ClassCastException if {@code rhs} is not assignment-compatible
+   *                            with {@code lhs}
+   */
+  static int compare(final Object lhs, final Object rhs) {
+    return compare(lhs, rhs, null, true);
+  }
+
+  /**
+   * Compares two {@link Object}s the same way as {@link #append(Object, Object, Comparator)},
+   * without allocating a builder unless the objects are arrays.
+   *
+   * @param lhs        left-hand object
+   * @param rhs        right-hand object
+   * @param comparator {@link Comparator} used to compare the objects,
+   *                   {@code null} means treat lhs as {@link Comparable}
+   * @param nullsFirst whether a {@code null} object is less than a non-{@code null}
+   *                   object, otherwise it is greater
+   *
+   * @return a negative integer, zero, or a positive integer as {@code lhs}
+   * is less than, equal to, or greater than {@code rhs}
+   *
+   * @throws ClassCastException if {@code rhs} is not assignment-compatible
+   *                            with {@code lhs}
+   */
+  @SuppressWarnings("unchecked") // assume this can be done; if not throw CCE as per Javadoc
+  static int compare(final Object lhs, final Object rhs, final Comparator<?> comparator, final boolean nullsFirst) {
+    if (lhs == rhs) {
+      return 0;
+    }
+    if (lhs == null) {
+      return nullsFirst ? -1 : 1;
+    }
+    if (rhs == null) {
+      return nullsFirst ? 1 : -1;
+    }
+    if (lhs.getClass().isArray()) {
+      return new CompareToBuilder().append(lhs, rhs, comparator).toComparison();
+    }
+    if (comparator == null) {
+      return ((Comparable<Object>) lhs).compareTo(rhs);
+    }
+    return ((Comparator<Object>) comparator).compare(lhs, rhs);
+  }
+
   /**
    * Appends to the {@code builder} the deep comparison of
    * two {@link Object} arrays.
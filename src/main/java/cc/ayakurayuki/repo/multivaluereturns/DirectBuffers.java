@@ -0,0 +1,63 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Frees direct and mapped {@link ByteBuffer}s without waiting for the garbage collector.
+ *
+ * @author Ayakura Yuki
+ */
+final class DirectBuffers {
+
+  /**
+   * {@code sun.misc.Unsafe.invokeCleaner}, to free a direct buffer without waiting for the GC,
+   * null if it is not available.
+   */
+  private static final Method INVOKE_CLEANER;
+  private static final Object UNSAFE;
+
+  static {
+    Method invokeCleaner = null;
+    Object unsafe = null;
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // fall back to the GC
+      invokeCleaner = null;
+      unsafe = null;
+    }
+    INVOKE_CLEANER = invokeCleaner;
+    UNSAFE = unsafe;
+  }
+
+  private DirectBuffers() {}
+
+  /**
+   * Frees the memory of direct buffers, or leaves them to the GC if that is not possible.
+   * The buffers, and any view of them, must not be used anymore.
+   *
+   * @param buffers the direct buffers to free, not slices nor duplicates
+   */
+  static void free(final ByteBuffer... buffers) {
+    if (INVOKE_CLEANER == null) {
+      return;
+    }
+    for (ByteBuffer buffer : buffers) {
+      if (buffer == null || !buffer.isDirect()) {
+        continue;
+      }
+      try {
+        INVOKE_CLEANER.invoke(UNSAFE, buffer);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        // leave the buffer to the GC
+      }
+    }
+  }
+
+}
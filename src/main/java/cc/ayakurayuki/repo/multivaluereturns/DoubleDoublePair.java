@@ -0,0 +1,148 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * An immutable pair of a primitive {@code double} left element and a primitive {@code double} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class DoubleDoublePair implements Comparable<DoubleDoublePair>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -2340390337926472473L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static DoubleDoublePair of(final double left, final double right) {
+    return new DoubleDoublePair(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0D}.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static DoubleDoublePair left(final double left) {
+    return of(left, 0D);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0D}.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static DoubleDoublePair right(final double right) {
+    return of(0D, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static DoubleDoublePair of(final Map.Entry<Double, Double> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final double left;
+
+  /**
+   * Right element
+   */
+  public final double right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element
+   */
+  public DoubleDoublePair(final double left, final double right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public double getLeft() {
+    return left;
+  }
+
+  public double getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Double, Double> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final DoubleDoublePair other) {
+    int comparison = Double.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Double.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof DoubleDoublePair)) {
+      return false;
+    }
+    final DoubleDoublePair other = (DoubleDoublePair) obj;
+    return Double.compare(left, other.left) == 0
+        && Double.compare(right, other.right) == 0;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(left) ^ Double.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
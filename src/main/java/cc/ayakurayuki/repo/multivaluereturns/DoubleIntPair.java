@@ -0,0 +1,148 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * An immutable pair of a primitive {@code double} left element and a primitive {@code int} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class DoubleIntPair implements Comparable<DoubleIntPair>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 874171990948579799L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static DoubleIntPair of(final double left, final int right) {
+    return new DoubleIntPair(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0}.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static DoubleIntPair left(final double left) {
+    return of(left, 0);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0D}.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static DoubleIntPair right(final int right) {
+    return of(0D, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static DoubleIntPair of(final Map.Entry<Double, Integer> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final double left;
+
+  /**
+   * Right element
+   */
+  public final int right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element
+   */
+  public DoubleIntPair(final double left, final int right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public double getLeft() {
+    return left;
+  }
+
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Double, Integer> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final DoubleIntPair other) {
+    int comparison = Double.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Integer.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof DoubleIntPair)) {
+      return false;
+    }
+    final DoubleIntPair other = (DoubleIntPair) obj;
+    return Double.compare(left, other.left) == 0
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(left) ^ Integer.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
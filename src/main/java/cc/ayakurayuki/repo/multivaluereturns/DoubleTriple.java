@@ -0,0 +1,175 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+
+/**
+ * An immutable triple of three primitive {@code double} elements.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Triple}: the elements are stored
+ * unboxed, and the ordering of {@link #compareTo} is the same as the one of the
+ * equivalent boxed {@link Triple}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class DoubleTriple implements Comparable<DoubleTriple>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -3457491836057967179L;
+
+  /**
+   * Creates a triple of three elements.
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   *
+   * @return a triple formed from the three parameters, not null
+   */
+  public static DoubleTriple of(final double left, final double middle, final double right) {
+    return new DoubleTriple(left, middle, right);
+  }
+
+  /**
+   * Creates a triple of only left element, the other elements are {@code 0D}.
+   *
+   * @param left the left element
+   *
+   * @return a triple formed from the only left element, not null
+   */
+  public static DoubleTriple left(final double left) {
+    return of(left, 0D, 0D);
+  }
+
+  /**
+   * Creates a triple of only middle element, the other elements are {@code 0D}.
+   *
+   * @param middle the middle element
+   *
+   * @return a triple formed from the only middle element, not null
+   */
+  public static DoubleTriple middle(final double middle) {
+    return of(0D, middle, 0D);
+  }
+
+  /**
+   * Creates a triple of only right element, the other elements are {@code 0D}.
+   *
+   * @param right the right element
+   *
+   * @return a triple formed from the only right element, not null
+   */
+  public static DoubleTriple right(final double right) {
+    return of(0D, 0D, right);
+  }
+
+  /**
+   * Creates a triple from a boxed triple.
+   *
+   * @param triple the existing triple, not null
+   *
+   * @return a triple formed from the boxed triple, not null
+   *
+   * @throws NullPointerException if the triple or one of its elements is null
+   */
+  public static DoubleTriple of(final Triple<Double, Double, Double> triple) {
+    return of(triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Left element
+   */
+  public final double left;
+
+  /**
+   * Middle element
+   */
+  public final double middle;
+
+  /**
+   * Right element
+   */
+  public final double right;
+
+  /**
+   * Create a new immutable triple instance
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   */
+  public DoubleTriple(final double left, final double middle, final double right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  public double getLeft() {
+    return left;
+  }
+
+  public double getMiddle() {
+    return middle;
+  }
+
+  public double getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this triple to a boxed immutable triple.
+   *
+   * @return the equivalent boxed triple, not null
+   */
+  public Triple<Double, Double, Double> toTriple() {
+    return Triple.of(left, middle, right);
+  }
+
+  @Override
+  public int compareTo(final DoubleTriple other) {
+    int comparison = Double.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    comparison = Double.compare(middle, other.middle);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Double.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof DoubleTriple)) {
+      return false;
+    }
+    final DoubleTriple other = (DoubleTriple) obj;
+    return Double.compare(left, other.left) == 0
+        && Double.compare(middle, other.middle) == 0
+        && Double.compare(right, other.right) == 0;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed triple returned by {@link #toTriple()}.
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(left) ^ Double.hashCode(middle) ^ Double.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + middle + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, middle, right);
+  }
+
+}
@@ -0,0 +1,113 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Preallocated immutable errors for common expected failures.
+ *
+ * <p>
+ * The errors are {@link StacklessException}s, creating a {@link Result} with one
+ * of them costs no more than creating a result without error:
+ * </p>
+ *
+ * <pre>
+ * return Result.err(Errors.NOT_FOUND);
+ * </pre>
+ *
+ * <p>
+ * Besides the built-in errors, other shared errors can be registered by name,
+ * the registry is safe for concurrent use. As the same instance is handed out
+ * every time, shared errors should be compared by identity and must not be
+ * expected to carry any per-call detail; use {@link #of(String)} for that.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class Errors {
+
+  /**
+   * The requested value does not exist
+   */
+  public static final StacklessException NOT_FOUND = new StacklessException("not found");
+
+  /**
+   * The given input is not valid
+   */
+  public static final StacklessException INVALID_INPUT = new StacklessException("invalid input");
+
+  /**
+   * The operation did not complete in time
+   */
+  public static final StacklessException TIMEOUT = new StacklessException("timeout");
+
+  private static final ConcurrentMap<String, StacklessException> REGISTRY = new ConcurrentHashMap<>();
+
+  static {
+    REGISTRY.put("not-found", NOT_FOUND);
+    REGISTRY.put("invalid-input", INVALID_INPUT);
+    REGISTRY.put("timeout", TIMEOUT);
+  }
+
+  private Errors() {
+  }
+
+  /**
+   * Creates a new stackless error.
+   *
+   * @param message the detail message, can be null
+   *
+   * @return a new error without stack trace
+   */
+  public static StacklessException of(final String message) {
+    return new StacklessException(message);
+  }
+
+  /**
+   * Creates a new stackless error with a cause.
+   *
+   * @param message the detail message, can be null
+   * @param cause   the cause, can be null
+   *
+   * @return a new error without stack trace
+   */
+  public static StacklessException of(final String message, final Throwable cause) {
+    return new StacklessException(message, cause);
+  }
+
+  /**
+   * Gets the shared error registered with a name, registering a new one whose
+   * message is the name if there is none.
+   *
+   * <p>
+   * The built-in errors are registered as {@code not-found}, {@code invalid-input}
+   * and {@code timeout}.
+   * </p>
+   *
+   * @param name the name of the error, not null
+   *
+   * @return the shared error of the name
+   */
+  public static StacklessException named(final String name) {
+    Objects.requireNonNull(name, "name");
+    final StacklessException error = REGISTRY.get(name);
+    return error != null ? error : REGISTRY.computeIfAbsent(name, StacklessException::new);
+  }
+
+  /**
+   * Registers a shared error with a name, unless one is already registered.
+   *
+   * @param name  the name of the error, not null
+   * @param error the error to share, not null
+   *
+   * @return the shared error of the name, which is the given one if none was registered before
+   */
+  public static StacklessException register(final String name, final StacklessException error) {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(error, "error");
+    final StacklessException existing = REGISTRY.putIfAbsent(name, error);
+    return existing != null ? existing : error;
+  }
+
+}
@@ -0,0 +1,203 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+/**
+ * Shared instances of pairs, triples and results made of values the JDK caches
+ * itself: null, {@link Boolean}s, the empty string and small {@link Integer}s and
+ * {@link Long}s, in the way {@link Integer#valueOf(int)} shares small integers.
+ *
+ * <p>
+ * A value is only recognized when it is the very instance cached by the JDK,
+ * such as an autoboxed small integer, so handing out a shared tuple never
+ * changes the identity of an element. The instances are created on first use.
+ * </p>
+ *
+ * <p>
+ * The ranges of the integers are configured by system properties, a range whose
+ * high bound is lower than its low bound disables the cache. Both bounds are
+ * clamped to the range the JDK always caches, -128 to 127, and a range is cut at
+ * its high end to a maximum number of values: the tables of pairs and triples
+ * grow with the square and the cube of the range, so a wide range would make the
+ * class initialization run out of memory.
+ * </p>
+ *
+ * <ul>
+ * <li>{@code cc.ayakurayuki.repo.multivaluereturns.flyweight.result.low} and {@code .high}, default -128 and 127, at most 256 values</li>
+ * <li>{@code cc.ayakurayuki.repo.multivaluereturns.flyweight.pair.low} and {@code .high}, default -1 and 15, at most 64 values</li>
+ * <li>{@code cc.ayakurayuki.repo.multivaluereturns.flyweight.triple.low} and {@code .high}, default -1 and 3, at most 16 values</li>
+ * </ul>
+ *
+ * <p>
+ * With the maximum ranges, the table of pairs holds 132² references and the
+ * table of triples 36³, each below 400 KB.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+final class Flyweights {
+
+  private static final String PROPERTY_PREFIX = "cc.ayakurayuki.repo.multivaluereturns.flyweight.";
+
+  /**
+   * Number of indexes of the values which are not integers: null, false, true and the empty string
+   */
+  private static final int FIXED = 4;
+
+  private static final Range RESULT = Range.of("result", -128, 127, 256);
+  private static final Range PAIR   = Range.of("pair", -1, 15, 64);
+  private static final Range TRIPLE = Range.of("triple", -1, 3, 16);
+
+  @SuppressWarnings("rawtypes")
+  private static final Result[] RESULTS = new Result[RESULT.size];
+  @SuppressWarnings("rawtypes")
+  private static final Pair[]   PAIRS   = new Pair[PAIR.size * PAIR.size];
+
+  private Flyweights() {
+  }
+
+  /**
+   * Gets the shared result without error of a value.
+   *
+   * @return the shared result, or null if the value is not cached
+   */
+  @SuppressWarnings("unchecked")
+  static <T, Err extends Throwable> Result<T, Err> result(final T ok) {
+    final int index = RESULT.index(ok);
+    if (index < 0) {
+      return null;
+    }
+    Result<T, Err> result = RESULTS[index];
+    if (result == null) {
+      // racy but benign, the result is immutable
+      RESULTS[index] = result = Result.create(ok, null);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the shared pair of two values.
+   *
+   * @return the shared pair, or null if a value is not cached
+   */
+  @SuppressWarnings("unchecked")
+  static <L, R> Pair<L, R> pair(final L left, final R right) {
+    final int leftIndex = PAIR.index(left);
+    if (leftIndex < 0) {
+      return null;
+    }
+    final int rightIndex = PAIR.index(right);
+    if (rightIndex < 0) {
+      return null;
+    }
+    final int index = leftIndex * PAIR.size + rightIndex;
+    Pair<L, R> pair = PAIRS[index];
+    if (pair == null) {
+      // racy but benign, the pair is immutable
+      PAIRS[index] = pair = new Pair<>(left, right);
+    }
+    return pair;
+  }
+
+  /**
+   * Gets the shared triple of three values.
+   *
+   * @return the shared triple, or null if a value is not cached
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  static <L, M, R> Triple<L, M, R> triple(final L left, final M middle, final R right) {
+    final int leftIndex = TRIPLE.index(left);
+    if (leftIndex < 0) {
+      return null;
+    }
+    final int middleIndex = TRIPLE.index(middle);
+    if (middleIndex < 0) {
+      return null;
+    }
+    final int rightIndex = TRIPLE.index(right);
+    if (rightIndex < 0) {
+      return null;
+    }
+    final Triple[] table = TripleCache.TRIPLES;
+    final int index = (leftIndex * TRIPLE.size + middleIndex) * TRIPLE.size + rightIndex;
+    Triple<L, M, R> triple = table[index];
+    if (triple == null) {
+      // racy but benign, the triple is immutable
+      table[index] = triple = new Triple<>(left, middle, right);
+    }
+    return triple;
+  }
+
+  /**
+   * Holder of the biggest table, only created by the first cached triple.
+   */
+  private static final class TripleCache {
+
+    @SuppressWarnings("rawtypes")
+    static final Triple[] TRIPLES = new Triple[TRIPLE.size * TRIPLE.size * TRIPLE.size];
+
+  }
+
+  /**
+   * A range of cached integers, which maps the cached values to dense indexes.
+   */
+  private static final class Range {
+
+    private final int low;
+    private final int high;
+
+    /**
+     * Number of values of this range, or 0 if the cache is disabled
+     */
+    private final int size;
+
+    private Range(final int low, final int high, final int maxValues) {
+      this.low = Math.max(low, -128);
+      this.high = Math.min(Math.min(high, 127), this.low + maxValues - 1);
+      this.size = this.high < this.low ? 0 : FIXED + 2 * (this.high - this.low + 1);
+    }
+
+    static Range of(final String name, final int defaultLow, final int defaultHigh, final int maxValues) {
+      return new Range(
+          Integer.getInteger(PROPERTY_PREFIX + name + ".low", defaultLow),
+          Integer.getInteger(PROPERTY_PREFIX + name + ".high", defaultHigh),
+          maxValues
+      );
+    }
+
+    /**
+     * Gets the index of a value, or -1 if it is not cached.
+     */
+    int index(final Object value) {
+      if (size == 0) {
+        return -1;
+      }
+      if (value == null) {
+        return 0;
+      }
+      if (value == Boolean.FALSE) {
+        return 1;
+      }
+      if (value == Boolean.TRUE) {
+        return 2;
+      }
+      // the literal is the interned empty string
+      if (value == "") {
+        return 3;
+      }
+      final Class<?> type = value.getClass();
+      if (type == Integer.class) {
+        final int i = (Integer) value;
+        if (i >= low && i <= high && value == Integer.valueOf(i)) {
+          return FIXED + i - low;
+        }
+      } else if (type == Long.class) {
+        final long l = (Long) value;
+        if (l >= low && l <= high && value == Long.valueOf(l)) {
+          return FIXED + (high - low + 1) + (int) (l - low);
+        }
+      }
+      return -1;
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.Objects;
+
+/**
+ * Order-sensitive hash functions for tuples of elements.
+ *
+ * <p>
+ * {@link Pair} and {@link Triple} combine the hash codes of their elements with
+ * {@code ^}, as required by the {@code Map.Entry} contract for pairs. That makes
+ * {@code (a,b)} collide with {@code (b,a)}, {@code (x,x)} hash to {@code 0} and
+ * {@code (x,x,y)} hash like {@code y}. The functions of this class mix every element
+ * hash with the MurmurHash3 round and finalizer instead, so the position of an
+ * element changes the result and equal elements do not cancel out.
+ * </p>
+ *
+ * <p>
+ * {@link PairKey} and {@link TripleKey} are hash map keys built on these functions.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class Hashing {
+
+  private static final int C1   = 0xcc9e2d51;
+  private static final int C2   = 0x1b873593;
+  private static final int SEED = 0x9747b28c;
+
+  private Hashing() {}
+
+  /**
+   * Hashes two elements.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element, can be null
+   *
+   * @return a well mixed hash code, depending on the order of the elements
+   */
+  public static int hash(final Object left, final Object right) {
+    return hash(Objects.hashCode(left), Objects.hashCode(right));
+  }
+
+  /**
+   * Hashes three elements.
+   *
+   * @param left   the left element, can be null
+   * @param middle the middle element, can be null
+   * @param right  the right element, can be null
+   *
+   * @return a well mixed hash code, depending on the order of the elements
+   */
+  public static int hash(final Object left, final Object middle, final Object right) {
+    return hash(Objects.hashCode(left), Objects.hashCode(middle), Objects.hashCode(right));
+  }
+
+  /**
+   * Combines the hash codes of two elements.
+   *
+   * @param left  the hash code of the left element
+   * @param right the hash code of the right element
+   *
+   * @return a well mixed hash code, depending on the order of the elements
+   */
+  public static int hash(final int left, final int right) {
+    int h = SEED;
+    h = round(h, left);
+    h = round(h, right);
+    return mix(h ^ 2);
+  }
+
+  /**
+   * Combines the hash codes of three elements.
+   *
+   * @param left   the hash code of the left element
+   * @param middle the hash code of the middle element
+   * @param right  the hash code of the right element
+   *
+   * @return a well mixed hash code, depending on the order of the elements
+   */
+  public static int hash(final int left, final int middle, final int right) {
+    int h = SEED;
+    h = round(h, left);
+    h = round(h, middle);
+    h = round(h, right);
+    return mix(h ^ 3);
+  }
+
+  /**
+   * The MurmurHash3 32-bit finalizer, every bit of the input affects every bit of the output.
+   *
+   * @param h the hash code to mix
+   *
+   * @return the mixed hash code
+   */
+  public static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private static int round(int h, int k) {
+    k *= C1;
+    k = Integer.rotateLeft(k, 15);
+    k *= C2;
+    h ^= k;
+    h = Integer.rotateLeft(h, 13);
+    return h * 5 + 0xe6546b64;
+  }
+
+}
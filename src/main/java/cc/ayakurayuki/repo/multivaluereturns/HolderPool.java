@@ -0,0 +1,434 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A pool of recyclable {@link MutPair} and {@link MutTriple} holders, used as
+ * out-parameters in loops without allocating a holder per call.
+ *
+ * <pre>
+ * private static final HolderPool POOL = HolderPool.of(16);
+ *
+ * MutPair&lt;Long, Long&gt; range = POOL.acquirePair();
+ * try {
+ *   findRange(key, range);
+ *   ...
+ * } finally {
+ *   POOL.release(range);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Each thread keeps its own free holders, so acquiring and releasing are plain
+ * array operations without synchronization. A holder can be released by another
+ * thread than the one which acquired it, it then joins the free holders of the
+ * releasing thread. Released holders are cleared, so the pool does not keep their
+ * elements alive, and an acquired holder always has null elements. A holder
+ * released when the free holders of its thread are full is left to the garbage
+ * collector.
+ * </p>
+ *
+ * <p>
+ * The pool only hands out holders it created itself, never the shared
+ * {@link MutTriple#NULL} returned by {@code MutTriple.of(null, null, null)},
+ * and refuses to take that one back. A holder must not be used once released.
+ * Releasing a holder twice is detected while it is still among the free holders.
+ * </p>
+ *
+ * <p>
+ * A pool created by {@link #debug(int)} also records where each holder not yet
+ * released was acquired: {@link #checkLeaks()} reports them, and releasing a
+ * holder it did not hand out fails. The recording costs a stack trace per
+ * acquisition, it is meant for tests.
+ * </p>
+ *
+ * <p>
+ * The counts are kept per thread with opaque writes and summed when read, so a
+ * sum may miss the latest acquisitions and releases of the threads still running.
+ * The counts of a thread are folded into the totals of the pool once its free
+ * holders are garbage-collected after it ends, so the pool keeps no state per
+ * ended thread.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class HolderPool {
+
+  /**
+   * The maximum number of free holders of each kind per thread
+   */
+  private static final int MAXIMUM_CAPACITY = 1 << 10;
+
+  private static final VarHandle HITS;
+  private static final VarHandle MISSES;
+  private static final VarHandle RELEASES;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      HITS = lookup.findVarHandle(Counters.class, "hits", long.class);
+      MISSES = lookup.findVarHandle(Counters.class, "misses", long.class);
+      RELEASES = lookup.findVarHandle(Counters.class, "releases", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Creates a pool.
+   *
+   * @param capacity the maximum number of free holders of each kind kept per thread
+   *
+   * @return a new pool
+   */
+  public static HolderPool of(final int capacity) {
+    return new HolderPool(capacity, false);
+  }
+
+  /**
+   * Creates a pool recording where its holders are acquired, to find the ones never released.
+   *
+   * @param capacity the maximum number of free holders of each kind kept per thread
+   *
+   * @return a new pool
+   */
+  public static HolderPool debug(final int capacity) {
+    return new HolderPool(capacity, true);
+  }
+
+  private final int                    capacity;
+  private final ThreadLocal<Cache>     caches;
+  /**
+   * Acquisition sites of the holders not yet released, by identity, only when debugging
+   */
+  private final Map<Object, Throwable> acquired;
+
+  /**
+   * References to the free holders of the threads, until collected, guarded by itself
+   */
+  private final Set<CacheReference>   live      = new HashSet<>();
+  private final ReferenceQueue<Cache> collected = new ReferenceQueue<>();
+
+  /**
+   * Counts of the threads whose free holders were collected, guarded by {@link #live}
+   */
+  private long endedHits;
+  private long endedMisses;
+  private long endedOutstanding;
+
+  private HolderPool(final int capacity, final boolean debug) {
+    if (capacity < 0 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    this.capacity = capacity;
+    this.caches = ThreadLocal.withInitial(this::newCache);
+    this.acquired = debug ? Collections.synchronizedMap(new IdentityHashMap<>()) : null;
+  }
+
+  /**
+   * Acquires a pair holder of two null elements.
+   *
+   * @return a holder owned by the caller until released, not null
+   */
+  @SuppressWarnings("unchecked")
+  public <L, R> MutPair<L, R> acquirePair() {
+    final Cache cache = caches.get();
+    final MutPair<L, R> pair;
+    if (cache.pairCount > 0) {
+      pair = (MutPair<L, R>) cache.pairs[--cache.pairCount];
+      cache.pairs[cache.pairCount] = null;
+      increment(HITS, cache.counters);
+    } else {
+      // never MutPair.of, a factory may share instances
+      pair = new MutPair<>();
+      increment(MISSES, cache.counters);
+    }
+    acquired(pair);
+    return pair;
+  }
+
+  /**
+   * Acquires a triple holder of three null elements, never {@link MutTriple#NULL}.
+   *
+   * @return a holder owned by the caller until released, not null
+   */
+  @SuppressWarnings("unchecked")
+  public <L, M, R> MutTriple<L, M, R> acquireTriple() {
+    final Cache cache = caches.get();
+    final MutTriple<L, M, R> triple;
+    if (cache.tripleCount > 0) {
+      triple = (MutTriple<L, M, R>) cache.triples[--cache.tripleCount];
+      cache.triples[cache.tripleCount] = null;
+      increment(HITS, cache.counters);
+    } else {
+      // never MutTriple.of, which returns the shared MutTriple.NULL for null elements
+      triple = new MutTriple<>();
+      increment(MISSES, cache.counters);
+    }
+    acquired(triple);
+    return triple;
+  }
+
+  /**
+   * Releases a pair holder, which the caller must not use anymore.
+   *
+   * @param pair the holder, not null
+   *
+   * @throws IllegalStateException if the holder is already released, or if debugging,
+   *                               if it was not acquired from this pool
+   */
+  public void release(final MutPair<?, ?> pair) {
+    final Cache cache = caches.get();
+    for (int i = 0; i < cache.pairCount; i++) {
+      if (cache.pairs[i] == pair) {
+        throw new IllegalStateException("Holder released twice");
+      }
+    }
+    released(pair);
+    increment(RELEASES, cache.counters);
+    pair.left = null;
+    pair.right = null;
+    if (cache.pairCount < capacity) {
+      if (cache.pairCount == cache.pairs.length) {
+        cache.pairs = grow(cache.pairs, capacity);
+      }
+      cache.pairs[cache.pairCount++] = pair;
+    }
+  }
+
+  /**
+   * Releases a triple holder, which the caller must not use anymore.
+   *
+   * @param triple the holder, not null, not {@link MutTriple#NULL}
+   *
+   * @throws IllegalArgumentException if the holder is the shared {@link MutTriple#NULL}
+   * @throws IllegalStateException    if the holder is already released, or if debugging,
+   *                                  if it was not acquired from this pool
+   */
+  public void release(final MutTriple<?, ?, ?> triple) {
+    if (triple == MutTriple.NULL) {
+      throw new IllegalArgumentException("Cannot release the shared MutTriple.NULL");
+    }
+    final Cache cache = caches.get();
+    for (int i = 0; i < cache.tripleCount; i++) {
+      if (cache.triples[i] == triple) {
+        throw new IllegalStateException("Holder released twice");
+      }
+    }
+    released(triple);
+    increment(RELEASES, cache.counters);
+    triple.left = null;
+    triple.middle = null;
+    triple.right = null;
+    if (cache.tripleCount < capacity) {
+      if (cache.tripleCount == cache.triples.length) {
+        cache.triples = grow(cache.triples, capacity);
+      }
+      cache.triples[cache.tripleCount++] = triple;
+    }
+  }
+
+  /**
+   * Checks that every holder acquired from a debugging pool was released.
+   *
+   * @throws IllegalStateException if some holders are not released, caused by where one of them was acquired
+   */
+  public void checkLeaks() {
+    if (acquired == null) {
+      return;
+    }
+    synchronized (acquired) {
+      if (!acquired.isEmpty()) {
+        throw new IllegalStateException(acquired.size() + " holder(s) not released", acquired.values().iterator().next());
+      }
+    }
+  }
+
+  public boolean isDebug() {
+    return acquired != null;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of holders acquired from the free holders of a thread.
+   */
+  public long hitCount() {
+    synchronized (live) {
+      fold();
+      long sum = endedHits;
+      for (final CacheReference ref : live) {
+        sum += (long) HITS.getOpaque(ref.counters) - ref.counters.resetHits;
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * Gets the number of holders acquired by creating a new one.
+   */
+  public long missCount() {
+    synchronized (live) {
+      fold();
+      long sum = endedMisses;
+      for (final CacheReference ref : live) {
+        sum += (long) MISSES.getOpaque(ref.counters) - ref.counters.resetMisses;
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * Gets the rate of acquisitions reusing a holder, or 0 if there was none.
+   */
+  public double hitRate() {
+    final long hitCount = hitCount();
+    final long total = hitCount + missCount();
+    return total == 0 ? 0D : (double) hitCount / total;
+  }
+
+  /**
+   * Gets the number of holders acquired and not released yet.
+   */
+  public long outstandingCount() {
+    synchronized (live) {
+      fold();
+      long sum = endedOutstanding;
+      for (final CacheReference ref : live) {
+        sum += ref.counters.outstanding();
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * Resets the hit and miss counts.
+   */
+  public void resetStats() {
+    synchronized (live) {
+      fold();
+      endedHits = 0L;
+      endedMisses = 0L;
+      // the running threads keep counting, the counts are only read here
+      for (final CacheReference ref : live) {
+        ref.counters.resetHits = (long) HITS.getOpaque(ref.counters);
+        ref.counters.resetMisses = (long) MISSES.getOpaque(ref.counters);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "HolderPool(capacity=" + capacity + ", hits=" + hitCount() + ", misses=" + missCount() + ", outstanding=" + outstandingCount() + ")";
+  }
+
+  private Cache newCache() {
+    final Cache cache = new Cache();
+    synchronized (live) {
+      fold();
+      live.add(new CacheReference(cache, collected));
+    }
+    return cache;
+  }
+
+  /**
+   * Moves the counts of the collected caches to the totals of the ended threads, holding the lock of {@link #live}.
+   */
+  private void fold() {
+    Reference<? extends Cache> ref;
+    while ((ref = collected.poll()) != null) {
+      final CacheReference cacheRef = (CacheReference) ref;
+      if (live.remove(cacheRef)) {
+        final Counters c = cacheRef.counters;
+        endedHits += (long) HITS.getOpaque(c) - c.resetHits;
+        endedMisses += (long) MISSES.getOpaque(c) - c.resetMisses;
+        endedOutstanding += c.outstanding();
+      }
+    }
+  }
+
+  /**
+   * Counts an event of the thread owning the counters, which is the only one writing them.
+   */
+  private static void increment(final VarHandle count, final Counters counters) {
+    count.setOpaque(counters, (long) count.getOpaque(counters) + 1L);
+  }
+
+  private void acquired(final Object holder) {
+    if (acquired != null) {
+      acquired.put(holder, new Throwable("Holder acquired here"));
+    }
+  }
+
+  private void released(final Object holder) {
+    if (acquired != null && acquired.remove(holder) == null) {
+      throw new IllegalStateException("Holder not acquired from this pool or already released");
+    }
+  }
+
+  private static Object[] grow(final Object[] holders, final int capacity) {
+    final Object[] grown = new Object[Math.min(capacity, Math.max(8, holders.length * 2))];
+    System.arraycopy(holders, 0, grown, 0, holders.length);
+    return grown;
+  }
+
+  /**
+   * The free holders of a thread
+   */
+  private static final class Cache {
+
+    private Object[] pairs   = new Object[0];
+    private Object[] triples = new Object[0];
+    private int      pairCount;
+    private int      tripleCount;
+
+    private final Counters counters = new Counters();
+
+  }
+
+  /**
+   * The counts of a thread, only written by that thread but for the reset marks
+   */
+  private static final class Counters {
+
+    private long hits;
+    private long misses;
+    private long releases;
+    /**
+     * Counts at the last reset of the stats, guarded by the lock of the live caches
+     */
+    private long resetHits;
+    private long resetMisses;
+
+    long outstanding() {
+      return (long) HITS.getOpaque(this) + (long) MISSES.getOpaque(this) - (long) RELEASES.getOpaque(this);
+    }
+
+  }
+
+  /**
+   * A weak reference to the free holders of a thread, keeping its counters to fold them once collected
+   */
+  private static final class CacheReference extends WeakReference<Cache> {
+
+    private final Counters counters;
+
+    CacheReference(final Cache cache, final ReferenceQueue<Cache> queue) {
+      super(cache, queue);
+      this.counters = cache.counters;
+    }
+
+  }
+
+}
@@ -0,0 +1,362 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A resizable list of {@link IntDoublePair} stored column by column, in two parallel
+ * primitive arrays.
+ *
+ * <p>
+ * This is a primitive specialization of {@link PairList}: the elements are stored
+ * unboxed, and the column accessors such as {@link #getLeft(int)} never allocate.
+ * Like {@link ArrayList}, it is not thread-safe.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class IntDoublePairList extends AbstractList<IntDoublePair> implements RandomAccess, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -4542473717451395921L;
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static final double[] EMPTY_DOUBLE = {};
+  private static final int[] EMPTY_INT = {};
+
+  /**
+   * Creates a list from a collection of boxed pairs or any other map entries.
+   *
+   * @param pairs the pairs to copy, not null
+   *
+   * @return a new list of the same elements, in the same order
+   *
+   * @throws NullPointerException if a pair or one of its elements is null
+   */
+  public static IntDoublePairList copyOf(final Collection<? extends Map.Entry<Integer, Double>> pairs) {
+    final IntDoublePairList list = new IntDoublePairList(pairs.size());
+    for (Map.Entry<Integer, Double> pair : pairs) {
+      list.add(pair.getKey(), pair.getValue());
+    }
+    return list;
+  }
+
+  private int[]    lefts;
+  private double[] rights;
+  private int      size;
+
+  /**
+   * Create an empty list.
+   */
+  public IntDoublePairList() {
+    lefts = EMPTY_INT;
+    rights = EMPTY_DOUBLE;
+  }
+
+  /**
+   * Create an empty list with the specified initial capacity.
+   *
+   * @param initialCapacity the initial capacity of the list
+   *
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public IntDoublePairList(final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    lefts = initialCapacity == 0 ? EMPTY_INT : new int[initialCapacity];
+    rights = initialCapacity == 0 ? EMPTY_DOUBLE : new double[initialCapacity];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position as a new pair.
+   */
+  @Override
+  public IntDoublePair get(final int index) {
+    checkIndex(index);
+    return IntDoublePair.of(lefts[index], rights[index]);
+  }
+
+  public int getLeft(final int index) {
+    checkIndex(index);
+    return lefts[index];
+  }
+
+  public double getRight(final int index) {
+    checkIndex(index);
+    return rights[index];
+  }
+
+  @Override
+  public IntDoublePair set(final int index, final IntDoublePair element) {
+    final IntDoublePair old = get(index);
+    lefts[index] = element.getLeft();
+    rights[index] = element.getRight();
+    return old;
+  }
+
+  /**
+   * Replaces the elements at the specified position.
+   */
+  public void set(final int index, final int left, final double right) {
+    checkIndex(index);
+    lefts[index] = left;
+    rights[index] = right;
+  }
+
+  /**
+   * Replaces the left element at the specified position.
+   *
+   * @return the previous left element
+   */
+  public int setLeft(final int index, final int left) {
+    final int old = getLeft(index);
+    lefts[index] = left;
+    return old;
+  }
+
+  /**
+   * Replaces the right element at the specified position.
+   *
+   * @return the previous right element
+   */
+  public double setRight(final int index, final double right) {
+    final double old = getRight(index);
+    rights[index] = right;
+    return old;
+  }
+
+  @Override
+  public boolean add(final IntDoublePair element) {
+    add(element.getLeft(), element.getRight());
+    return true;
+  }
+
+  /**
+   * Appends the elements to the end of this list.
+   */
+  public void add(final int left, final double right) {
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    lefts[size] = left;
+    rights[size] = right;
+    size++;
+  }
+
+  @Override
+  public void add(final int index, final IntDoublePair element) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(lefts, index, lefts, index + 1, size - index);
+    System.arraycopy(rights, index, rights, index + 1, size - index);
+    lefts[index] = element.getLeft();
+    rights[index] = element.getRight();
+    size++;
+  }
+
+  @Override
+  public IntDoublePair remove(final int index) {
+    final IntDoublePair old = get(index);
+    modCount++;
+    final int moved = size - index - 1;
+    System.arraycopy(lefts, index + 1, lefts, index, moved);
+    System.arraycopy(rights, index + 1, rights, index, moved);
+    size--;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    size = 0;
+  }
+
+  @Override
+  public boolean addAll(final Collection<? extends IntDoublePair> c) {
+    if (c instanceof IntDoublePairList) {
+      return addAll((IntDoublePairList) c);
+    }
+    ensureCapacity(size + c.size());
+    for (IntDoublePair element : c) {
+      add(element);
+    }
+    return !c.isEmpty();
+  }
+
+  /**
+   * Appends all the elements of another list, column by column.
+   *
+   * @param other the list to append, not null
+   *
+   * @return whether this list changed
+   */
+  public boolean addAll(final IntDoublePairList other) {
+    final int count = other.size;
+    if (count == 0) {
+      return false;
+    }
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(other.lefts, 0, lefts, size, count);
+    System.arraycopy(other.rights, 0, rights, size, count);
+    size += count;
+    return true;
+  }
+
+  /**
+   * Appends the elements of parallel arrays, column by column.
+   *
+   * @param lefts  the left elements
+   * @param rights the right elements
+   *
+   * @throws IllegalArgumentException if the arrays do not have the same length
+   */
+  public void addAll(final int[] lefts, final double[] rights) {
+    if (rights.length != lefts.length) {
+      throw new IllegalArgumentException("Arrays must have the same length");
+    }
+    final int count = lefts.length;
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(lefts, 0, this.lefts, size, count);
+    System.arraycopy(rights, 0, this.rights, size, count);
+    size += count;
+  }
+
+  /**
+   * Copies a range of the left elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getLefts(final int srcIndex, final int[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(lefts, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the left elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setLefts(final int destIndex, final int[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, lefts, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the right elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getRights(final int srcIndex, final double[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(rights, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the right elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setRights(final int destIndex, final double[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, rights, destIndex, length);
+  }
+
+  /**
+   * Converts this list to a list of boxed pairs.
+   *
+   * @return a new {@link ArrayList} of boxed pairs, in the same order
+   */
+  public List<Pair<Integer, Double>> toList() {
+    final List<Pair<Integer, Double>> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(Pair.of(lefts[i], rights[i]));
+    }
+    return list;
+  }
+
+  /**
+   * Increases the capacity of this list, if necessary, to hold at least
+   * the specified number of elements.
+   *
+   * @param minCapacity the desired minimum capacity
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity > lefts.length) {
+      modCount++;
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Trims the capacity of this list to its current size.
+   */
+  public void trimToSize() {
+    if (size < lefts.length) {
+      modCount++;
+      lefts = Arrays.copyOf(lefts, size);
+      rights = Arrays.copyOf(rights, size);
+    }
+  }
+
+  private void grow(final int minCapacity) {
+    final int oldCapacity = lefts.length;
+    int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+    if (newCapacity < minCapacity) {
+      newCapacity = minCapacity;
+    }
+    lefts = Arrays.copyOf(lefts, newCapacity);
+    rights = Arrays.copyOf(rights, newCapacity);
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+  }
+
+  private void checkRange(final int index, final int length) {
+    if (index < 0 || length < 0 || index > size - length) {
+      throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + length + ") out of bounds for size " + size);
+    }
+  }
+
+  private String outOfBoundsMsg(final int index) {
+    return "Index: " + index + ", Size: " + size;
+  }
+
+}
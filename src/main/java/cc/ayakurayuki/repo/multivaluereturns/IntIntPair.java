@@ -0,0 +1,148 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * An immutable pair of a primitive {@code int} left element and a primitive {@code int} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class IntIntPair implements Comparable<IntIntPair>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -2291710290920858852L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static IntIntPair of(final int left, final int right) {
+    return new IntIntPair(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0}.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static IntIntPair left(final int left) {
+    return of(left, 0);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0}.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static IntIntPair right(final int right) {
+    return of(0, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static IntIntPair of(final Map.Entry<Integer, Integer> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final int left;
+
+  /**
+   * Right element
+   */
+  public final int right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element
+   */
+  public IntIntPair(final int left, final int right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public int getLeft() {
+    return left;
+  }
+
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Integer, Integer> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final IntIntPair other) {
+    int comparison = Integer.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Integer.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof IntIntPair)) {
+      return false;
+    }
+    final IntIntPair other = (IntIntPair) obj;
+    return left == other.left
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(left) ^ Integer.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
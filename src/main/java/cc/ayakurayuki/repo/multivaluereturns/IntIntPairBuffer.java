@@ -0,0 +1,155 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fixed-capacity off-heap buffer of {@link IntIntPair} records, each record holding
+ * {@code int} and {@code int} elements.
+ *
+ * <p>
+ * Record layout, in native byte order:
+ * </p>
+ *
+ * <pre>
+ *   offset  0: int    left
+ *   offset  4: int    right
+ *   record size: 8 bytes
+ * </pre>
+ *
+ * <p>
+ * Elements are read and written by index with the same accessors as {@link IntIntPair},
+ * such as {@link #getLeft(long)}, without creating any object.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class IntIntPairBuffer extends OffHeapBuffer {
+
+  private static final int LEFT_OFFSET  = 0;
+  private static final int RIGHT_OFFSET = 4;
+  private static final int RECORD_SIZE  = Integer.BYTES + Integer.BYTES;
+
+  /**
+   * Allocates a buffer of records, all elements are initially {@code 0}.
+   *
+   * @param capacity the number of records
+   *
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public IntIntPairBuffer(final long capacity) {
+    super(capacity, RECORD_SIZE);
+  }
+
+  public int getLeft(final long index) {
+    return segment(index).getInt(offset(index) + LEFT_OFFSET);
+  }
+
+  public int getRight(final long index) {
+    return segment(index).getInt(offset(index) + RIGHT_OFFSET);
+  }
+
+  public void setLeft(final long index, final int left) {
+    segment(index).putInt(offset(index) + LEFT_OFFSET, left);
+  }
+
+  public void setRight(final long index, final int right) {
+    segment(index).putInt(offset(index) + RIGHT_OFFSET, right);
+  }
+
+  /**
+   * Replaces the elements of a record.
+   */
+  public void set(final long index, final int left, final int right) {
+    final ByteBuffer segment = segment(index);
+    final int offset = offset(index);
+    segment.putInt(offset + LEFT_OFFSET, left);
+    segment.putInt(offset + RIGHT_OFFSET, right);
+  }
+
+  /**
+   * Reads a record as a new pair.
+   */
+  public IntIntPair get(final long index) {
+    final ByteBuffer segment = segment(index);
+    final int offset = offset(index);
+    return IntIntPair.of(
+        segment.getInt(offset + LEFT_OFFSET),
+        segment.getInt(offset + RIGHT_OFFSET)
+    );
+  }
+
+  public void set(final long index, final IntIntPair pair) {
+    set(index, pair.left, pair.right);
+  }
+
+  /**
+   * Copies records to another buffer, which can be this buffer.
+   *
+   * @param srcIndex  the index of the first record to copy
+   * @param dest      the destination buffer
+   * @param destIndex the index of the first record to replace in the destination buffer
+   * @param length    the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final IntIntPairBuffer dest, final long destIndex, final long length) {
+    copyRecords(srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Copies records into parallel heap arrays.
+   *
+   * @param srcIndex  the index of the first record to copy
+   * @param lefts     the destination array of the left elements
+   * @param rights    the destination array of the right elements
+   * @param destIndex the starting position in the destination arrays
+   * @param length    the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final int[] lefts, final int[] rights, final int destIndex, final int length) {
+    for (int i = 0; i < length; i++) {
+      final long index = srcIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      lefts[destIndex + i] = segment.getInt(offset + LEFT_OFFSET);
+      rights[destIndex + i] = segment.getInt(offset + RIGHT_OFFSET);
+    }
+  }
+
+  /**
+   * Copies records from parallel heap arrays.
+   *
+   * @param destIndex the index of the first record to replace
+   * @param lefts     the source array of the left elements
+   * @param rights    the source array of the right elements
+   * @param srcIndex  the starting position in the source arrays
+   * @param length    the number of records to copy
+   */
+  public void copyFrom(final long destIndex, final int[] lefts, final int[] rights, final int srcIndex, final int length) {
+    for (int i = 0; i < length; i++) {
+      final long index = destIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      segment.putInt(offset + LEFT_OFFSET, lefts[srcIndex + i]);
+      segment.putInt(offset + RIGHT_OFFSET, rights[srcIndex + i]);
+    }
+  }
+
+  /**
+   * Copies records to the end of a heap list.
+   *
+   * @param srcIndex the index of the first record to copy
+   * @param dest     the list to append to
+   * @param length   the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final IntIntPairList dest, final int length) {
+    dest.ensureCapacity(dest.size() + length);
+    for (int i = 0; i < length; i++) {
+      final long index = srcIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      dest.add(
+          segment.getInt(offset + LEFT_OFFSET),
+          segment.getInt(offset + RIGHT_OFFSET)
+      );
+    }
+  }
+
+}
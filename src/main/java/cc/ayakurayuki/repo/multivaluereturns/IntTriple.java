@@ -0,0 +1,175 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+
+/**
+ * An immutable triple of three primitive {@code int} elements.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Triple}: the elements are stored
+ * unboxed, and the ordering of {@link #compareTo} is the same as the one of the
+ * equivalent boxed {@link Triple}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class IntTriple implements Comparable<IntTriple>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -8085293166183692221L;
+
+  /**
+   * Creates a triple of three elements.
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   *
+   * @return a triple formed from the three parameters, not null
+   */
+  public static IntTriple of(final int left, final int middle, final int right) {
+    return new IntTriple(left, middle, right);
+  }
+
+  /**
+   * Creates a triple of only left element, the other elements are {@code 0}.
+   *
+   * @param left the left element
+   *
+   * @return a triple formed from the only left element, not null
+   */
+  public static IntTriple left(final int left) {
+    return of(left, 0, 0);
+  }
+
+  /**
+   * Creates a triple of only middle element, the other elements are {@code 0}.
+   *
+   * @param middle the middle element
+   *
+   * @return a triple formed from the only middle element, not null
+   */
+  public static IntTriple middle(final int middle) {
+    return of(0, middle, 0);
+  }
+
+  /**
+   * Creates a triple of only right element, the other elements are {@code 0}.
+   *
+   * @param right the right element
+   *
+   * @return a triple formed from the only right element, not null
+   */
+  public static IntTriple right(final int right) {
+    return of(0, 0, right);
+  }
+
+  /**
+   * Creates a triple from a boxed triple.
+   *
+   * @param triple the existing triple, not null
+   *
+   * @return a triple formed from the boxed triple, not null
+   *
+   * @throws NullPointerException if the triple or one of its elements is null
+   */
+  public static IntTriple of(final Triple<Integer, Integer, Integer> triple) {
+    return of(triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Left element
+   */
+  public final int left;
+
+  /**
+   * Middle element
+   */
+  public final int middle;
+
+  /**
+   * Right element
+   */
+  public final int right;
+
+  /**
+   * Create a new immutable triple instance
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   */
+  public IntTriple(final int left, final int middle, final int right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  public int getLeft() {
+    return left;
+  }
+
+  public int getMiddle() {
+    return middle;
+  }
+
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this triple to a boxed immutable triple.
+   *
+   * @return the equivalent boxed triple, not null
+   */
+  public Triple<Integer, Integer, Integer> toTriple() {
+    return Triple.of(left, middle, right);
+  }
+
+  @Override
+  public int compareTo(final IntTriple other) {
+    int comparison = Integer.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    comparison = Integer.compare(middle, other.middle);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Integer.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof IntTriple)) {
+      return false;
+    }
+    final IntTriple other = (IntTriple) obj;
+    return left == other.left
+        && middle == other.middle
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed triple returned by {@link #toTriple()}.
+   */
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(left) ^ Integer.hashCode(middle) ^ Integer.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + middle + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, middle, right);
+  }
+
+}
@@ -0,0 +1,416 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A resizable list of {@link IntTriple} stored column by column, in three parallel
+ * primitive arrays.
+ *
+ * <p>
+ * This is a primitive specialization of {@link TripleList}: the elements are stored
+ * unboxed, and the column accessors such as {@link #getLeft(int)} never allocate.
+ * Like {@link ArrayList}, it is not thread-safe.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class IntTripleList extends AbstractList<IntTriple> implements RandomAccess, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -7836390726755721331L;
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static final int[] EMPTY_INT = {};
+
+  /**
+   * Creates a list from a collection of boxed triples.
+   *
+   * @param triples the triples to copy, not null
+   *
+   * @return a new list of the same elements, in the same order
+   *
+   * @throws NullPointerException if a triple or one of its elements is null
+   */
+  public static IntTripleList copyOf(final Collection<Triple<Integer, Integer, Integer>> triples) {
+    final IntTripleList list = new IntTripleList(triples.size());
+    for (Triple<Integer, Integer, Integer> triple : triples) {
+      list.add(triple.left, triple.middle, triple.right);
+    }
+    return list;
+  }
+
+  private int[] lefts;
+  private int[] middles;
+  private int[] rights;
+  private int   size;
+
+  /**
+   * Create an empty list.
+   */
+  public IntTripleList() {
+    lefts = EMPTY_INT;
+    middles = EMPTY_INT;
+    rights = EMPTY_INT;
+  }
+
+  /**
+   * Create an empty list with the specified initial capacity.
+   *
+   * @param initialCapacity the initial capacity of the list
+   *
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public IntTripleList(final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    lefts = initialCapacity == 0 ? EMPTY_INT : new int[initialCapacity];
+    middles = initialCapacity == 0 ? EMPTY_INT : new int[initialCapacity];
+    rights = initialCapacity == 0 ? EMPTY_INT : new int[initialCapacity];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position as a new triple.
+   */
+  @Override
+  public IntTriple get(final int index) {
+    checkIndex(index);
+    return IntTriple.of(lefts[index], middles[index], rights[index]);
+  }
+
+  public int getLeft(final int index) {
+    checkIndex(index);
+    return lefts[index];
+  }
+
+  public int getMiddle(final int index) {
+    checkIndex(index);
+    return middles[index];
+  }
+
+  public int getRight(final int index) {
+    checkIndex(index);
+    return rights[index];
+  }
+
+  @Override
+  public IntTriple set(final int index, final IntTriple element) {
+    final IntTriple old = get(index);
+    lefts[index] = element.getLeft();
+    middles[index] = element.getMiddle();
+    rights[index] = element.getRight();
+    return old;
+  }
+
+  /**
+   * Replaces the elements at the specified position.
+   */
+  public void set(final int index, final int left, final int middle, final int right) {
+    checkIndex(index);
+    lefts[index] = left;
+    middles[index] = middle;
+    rights[index] = right;
+  }
+
+  /**
+   * Replaces the left element at the specified position.
+   *
+   * @return the previous left element
+   */
+  public int setLeft(final int index, final int left) {
+    final int old = getLeft(index);
+    lefts[index] = left;
+    return old;
+  }
+
+  /**
+   * Replaces the middle element at the specified position.
+   *
+   * @return the previous middle element
+   */
+  public int setMiddle(final int index, final int middle) {
+    final int old = getMiddle(index);
+    middles[index] = middle;
+    return old;
+  }
+
+  /**
+   * Replaces the right element at the specified position.
+   *
+   * @return the previous right element
+   */
+  public int setRight(final int index, final int right) {
+    final int old = getRight(index);
+    rights[index] = right;
+    return old;
+  }
+
+  @Override
+  public boolean add(final IntTriple element) {
+    add(element.getLeft(), element.getMiddle(), element.getRight());
+    return true;
+  }
+
+  /**
+   * Appends the elements to the end of this list.
+   */
+  public void add(final int left, final int middle, final int right) {
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    lefts[size] = left;
+    middles[size] = middle;
+    rights[size] = right;
+    size++;
+  }
+
+  @Override
+  public void add(final int index, final IntTriple element) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(lefts, index, lefts, index + 1, size - index);
+    System.arraycopy(middles, index, middles, index + 1, size - index);
+    System.arraycopy(rights, index, rights, index + 1, size - index);
+    lefts[index] = element.getLeft();
+    middles[index] = element.getMiddle();
+    rights[index] = element.getRight();
+    size++;
+  }
+
+  @Override
+  public IntTriple remove(final int index) {
+    final IntTriple old = get(index);
+    modCount++;
+    final int moved = size - index - 1;
+    System.arraycopy(lefts, index + 1, lefts, index, moved);
+    System.arraycopy(middles, index + 1, middles, index, moved);
+    System.arraycopy(rights, index + 1, rights, index, moved);
+    size--;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    size = 0;
+  }
+
+  @Override
+  public boolean addAll(final Collection<? extends IntTriple> c) {
+    if (c instanceof IntTripleList) {
+      return addAll((IntTripleList) c);
+    }
+    ensureCapacity(size + c.size());
+    for (IntTriple element : c) {
+      add(element);
+    }
+    return !c.isEmpty();
+  }
+
+  /**
+   * Appends all the elements of another list, column by column.
+   *
+   * @param other the list to append, not null
+   *
+   * @return whether this list changed
+   */
+  public boolean addAll(final IntTripleList other) {
+    final int count = other.size;
+    if (count == 0) {
+      return false;
+    }
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(other.lefts, 0, lefts, size, count);
+    System.arraycopy(other.middles, 0, middles, size, count);
+    System.arraycopy(other.rights, 0, rights, size, count);
+    size += count;
+    return true;
+  }
+
+  /**
+   * Appends the elements of parallel arrays, column by column.
+   *
+   * @param lefts   the left elements
+   * @param middles the middle elements
+   * @param rights  the right elements
+   *
+   * @throws IllegalArgumentException if the arrays do not have the same length
+   */
+  public void addAll(final int[] lefts, final int[] middles, final int[] rights) {
+    if (middles.length != lefts.length || rights.length != lefts.length) {
+      throw new IllegalArgumentException("Arrays must have the same length");
+    }
+    final int count = lefts.length;
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(lefts, 0, this.lefts, size, count);
+    System.arraycopy(middles, 0, this.middles, size, count);
+    System.arraycopy(rights, 0, this.rights, size, count);
+    size += count;
+  }
+
+  /**
+   * Copies a range of the left elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getLefts(final int srcIndex, final int[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(lefts, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the left elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setLefts(final int destIndex, final int[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, lefts, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the middle elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getMiddles(final int srcIndex, final int[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(middles, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the middle elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setMiddles(final int destIndex, final int[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, middles, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the right elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getRights(final int srcIndex, final int[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(rights, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the right elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setRights(final int destIndex, final int[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, rights, destIndex, length);
+  }
+
+  /**
+   * Converts this list to a list of boxed triples.
+   *
+   * @return a new {@link ArrayList} of boxed triples, in the same order
+   */
+  public List<Triple<Integer, Integer, Integer>> toList() {
+    final List<Triple<Integer, Integer, Integer>> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(Triple.of(lefts[i], middles[i], rights[i]));
+    }
+    return list;
+  }
+
+  /**
+   * Increases the capacity of this list, if necessary, to hold at least
+   * the specified number of elements.
+   *
+   * @param minCapacity the desired minimum capacity
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity > lefts.length) {
+      modCount++;
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Trims the capacity of this list to its current size.
+   */
+  public void trimToSize() {
+    if (size < lefts.length) {
+      modCount++;
+      lefts = Arrays.copyOf(lefts, size);
+      middles = Arrays.copyOf(middles, size);
+      rights = Arrays.copyOf(rights, size);
+    }
+  }
+
+  private void grow(final int minCapacity) {
+    final int oldCapacity = lefts.length;
+    int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+    if (newCapacity < minCapacity) {
+      newCapacity = minCapacity;
+    }
+    lefts = Arrays.copyOf(lefts, newCapacity);
+    middles = Arrays.copyOf(middles, newCapacity);
+    rights = Arrays.copyOf(rights, newCapacity);
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+  }
+
+  private void checkRange(final int index, final int length) {
+    if (index < 0 || length < 0 || index > size - length) {
+      throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + length + ") out of bounds for size " + size);
+    }
+  }
+
+  private String outOfBoundsMsg(final int index) {
+    return "Index: " + index + ", Size: " + size;
+  }
+
+}
@@ -0,0 +1,187 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded concurrent pool of canonical instances, like {@link String#intern()}
+ * for immutable tuples.
+ *
+ * <p>
+ * Interning equal tuples returns one canonical instance, so the duplicates can
+ * be garbage-collected and equality checks short-circuit on identity. The pool
+ * only holds its instances weakly, it never keeps a tuple alive.
+ * </p>
+ *
+ * <p>
+ * The pool is a fixed-size table with one instance per slot, the slot being
+ * chosen by hash. A new instance whose slot is taken by a different one replaces
+ * it, so memory stays bounded whatever the number of distinct tuples, but the
+ * canonicalization is best-effort: after an eviction an equal tuple may get
+ * another canonical instance. Lookups and updates are lock-free.
+ * </p>
+ *
+ * <p>
+ * The hit and miss counts tell whether interning pays off, a low hit rate means
+ * the data has few duplicates or the pool is too small for it.
+ * </p>
+ *
+ * @param <T> the type of the instances, which must be immutable
+ *
+ * @author Ayakura Yuki
+ */
+public final class Interner<T> {
+
+  /**
+   * The maximum capacity of a pool
+   */
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * Creates a pool of pairs.
+   *
+   * @param capacity the number of slots, rounded up to a power of two
+   *
+   * @return a new pool of pairs
+   */
+  public static <L, R> Interner<Pair<L, R>> forPairs(final int capacity) {
+    return new Interner<>(capacity, pair -> Hashing.hash(pair.getLeft(), pair.getRight()));
+  }
+
+  /**
+   * Creates a pool of triples.
+   *
+   * @param capacity the number of slots, rounded up to a power of two
+   *
+   * @return a new pool of triples
+   */
+  public static <L, M, R> Interner<Triple<L, M, R>> forTriples(final int capacity) {
+    return new Interner<>(capacity, triple -> Hashing.hash(triple.getLeft(), triple.getMiddle(), triple.getRight()));
+  }
+
+  /**
+   * Creates a pool of any immutable objects, hashed by their {@link Object#hashCode()}.
+   *
+   * <p>
+   * Prefer {@link #forPairs(int)} and {@link #forTriples(int)} for tuples, whose
+   * hash codes collide for equal elements.
+   * </p>
+   *
+   * @param capacity the number of slots, rounded up to a power of two
+   *
+   * @return a new pool
+   */
+  public static <T> Interner<T> of(final int capacity) {
+    return new Interner<>(capacity, value -> Hashing.mix(value.hashCode()));
+  }
+
+  private final AtomicReferenceArray<WeakReference<T>> slots;
+  private final int                                    mask;
+  private final ToIntFunction<? super T>               hasher;
+  private final LongAdder                              hits   = new LongAdder();
+  private final LongAdder                              misses = new LongAdder();
+
+  private Interner(final int capacity, final ToIntFunction<? super T> hasher) {
+    if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.hasher = hasher;
+  }
+
+  /**
+   * Gets the canonical instance equal to a value, making the value canonical if there is none.
+   *
+   * @param value the value to intern, not null
+   *
+   * @return the canonical instance equal to the value, which may be the value itself
+   */
+  public T intern(final T value) {
+    Objects.requireNonNull(value, "value");
+    final int index = hasher.applyAsInt(value) & mask;
+    final WeakReference<T> current = slots.get(index);
+    T canonical = canonical(current, value);
+    if (canonical != null) {
+      hits.increment();
+      return canonical;
+    }
+    if (!slots.compareAndSet(index, current, new WeakReference<>(value))) {
+      // another thread won the slot, maybe with an equal value
+      canonical = canonical(slots.get(index), value);
+      if (canonical != null) {
+        hits.increment();
+        return canonical;
+      }
+    }
+    misses.increment();
+    return value;
+  }
+
+  /**
+   * Gets the number of slots of this pool.
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Gets the number of interned values which had a canonical instance.
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of interned values which had no canonical instance.
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the ratio of interned values which had a canonical instance.
+   *
+   * @return the hit rate between 0 and 1, or 0 if nothing was interned yet
+   */
+  public double hitRate() {
+    final long hitCount = hits.sum();
+    final long total = hitCount + misses.sum();
+    return total == 0 ? 0D : (double) hitCount / total;
+  }
+
+  /**
+   * Resets the hit and miss counts, keeping the canonical instances.
+   */
+  public void resetStats() {
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Removes all canonical instances.
+   */
+  public void clear() {
+    for (int i = 0; i <= mask; i++) {
+      slots.set(i, null);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Interner(capacity=" + capacity() + ", hits=" + hitCount() + ", misses=" + missCount() + ")";
+  }
+
+  private static <T> T canonical(final WeakReference<T> reference, final T value) {
+    if (reference == null) {
+      return null;
+    }
+    final T canonical = reference.get();
+    return canonical != null && (canonical == value || canonical.equals(value)) ? canonical : null;
+  }
+
+}
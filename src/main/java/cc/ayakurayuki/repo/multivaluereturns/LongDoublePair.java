@@ -0,0 +1,148 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * An immutable pair of a primitive {@code long} left element and a primitive {@code double} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class LongDoublePair implements Comparable<LongDoublePair>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -5423922956369231881L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static LongDoublePair of(final long left, final double right) {
+    return new LongDoublePair(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0D}.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static LongDoublePair left(final long left) {
+    return of(left, 0D);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0L}.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static LongDoublePair right(final double right) {
+    return of(0L, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static LongDoublePair of(final Map.Entry<Long, Double> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final long left;
+
+  /**
+   * Right element
+   */
+  public final double right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element
+   */
+  public LongDoublePair(final long left, final double right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public long getLeft() {
+    return left;
+  }
+
+  public double getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Long, Double> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final LongDoublePair other) {
+    int comparison = Long.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Double.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof LongDoublePair)) {
+      return false;
+    }
+    final LongDoublePair other = (LongDoublePair) obj;
+    return left == other.left
+        && Double.compare(right, other.right) == 0;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(left) ^ Double.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
@@ -0,0 +1,148 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * An immutable pair of a primitive {@code long} left element and a primitive {@code long} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class LongLongPair implements Comparable<LongLongPair>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 475386358019414250L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static LongLongPair of(final long left, final long right) {
+    return new LongLongPair(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0L}.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static LongLongPair left(final long left) {
+    return of(left, 0L);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0L}.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static LongLongPair right(final long right) {
+    return of(0L, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static LongLongPair of(final Map.Entry<Long, Long> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final long left;
+
+  /**
+   * Right element
+   */
+  public final long right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element
+   */
+  public LongLongPair(final long left, final long right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public long getLeft() {
+    return left;
+  }
+
+  public long getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Long, Long> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final LongLongPair other) {
+    int comparison = Long.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Long.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof LongLongPair)) {
+      return false;
+    }
+    final LongLongPair other = (LongLongPair) obj;
+    return left == other.left
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(left) ^ Long.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
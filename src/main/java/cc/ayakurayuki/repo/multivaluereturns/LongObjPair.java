@@ -0,0 +1,151 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable pair of a primitive {@code long} left element and an object right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public final class LongObjPair<R> implements Comparable<LongObjPair<R>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 5390448593401710277L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element
+   * @param right the right element, can be null
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static <R> LongObjPair<R> of(final long left, final R right) {
+    return new LongObjPair<>(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is null.
+   *
+   * @param left the left element
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static <R> LongObjPair<R> left(final long left) {
+    return of(left, null);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is {@code 0L}.
+   *
+   * @param right the right element, can be null
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static <R> LongObjPair<R> right(final R right) {
+    return of(0L, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static <R> LongObjPair<R> of(final Map.Entry<Long, ? extends R> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final long left;
+
+  /**
+   * Right element
+   */
+  public final R right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element
+   * @param right the right element, can be null
+   */
+  public LongObjPair(final long left, final R right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public long getLeft() {
+    return left;
+  }
+
+  public R getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<Long, R> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final LongObjPair<R> other) {
+    int comparison = Long.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return CompareToBuilder.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof LongObjPair)) {
+      return false;
+    }
+    final LongObjPair<?> other = (LongObjPair<?>) obj;
+    return left == other.left
+        && Objects.equals(right, other.right);
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(left) ^ Objects.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
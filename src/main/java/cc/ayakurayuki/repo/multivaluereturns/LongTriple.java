@@ -0,0 +1,175 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+
+/**
+ * An immutable triple of three primitive {@code long} elements.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Triple}: the elements are stored
+ * unboxed, and the ordering of {@link #compareTo} is the same as the one of the
+ * equivalent boxed {@link Triple}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class LongTriple implements Comparable<LongTriple>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -8991451962263267520L;
+
+  /**
+   * Creates a triple of three elements.
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   *
+   * @return a triple formed from the three parameters, not null
+   */
+  public static LongTriple of(final long left, final long middle, final long right) {
+    return new LongTriple(left, middle, right);
+  }
+
+  /**
+   * Creates a triple of only left element, the other elements are {@code 0L}.
+   *
+   * @param left the left element
+   *
+   * @return a triple formed from the only left element, not null
+   */
+  public static LongTriple left(final long left) {
+    return of(left, 0L, 0L);
+  }
+
+  /**
+   * Creates a triple of only middle element, the other elements are {@code 0L}.
+   *
+   * @param middle the middle element
+   *
+   * @return a triple formed from the only middle element, not null
+   */
+  public static LongTriple middle(final long middle) {
+    return of(0L, middle, 0L);
+  }
+
+  /**
+   * Creates a triple of only right element, the other elements are {@code 0L}.
+   *
+   * @param right the right element
+   *
+   * @return a triple formed from the only right element, not null
+   */
+  public static LongTriple right(final long right) {
+    return of(0L, 0L, right);
+  }
+
+  /**
+   * Creates a triple from a boxed triple.
+   *
+   * @param triple the existing triple, not null
+   *
+   * @return a triple formed from the boxed triple, not null
+   *
+   * @throws NullPointerException if the triple or one of its elements is null
+   */
+  public static LongTriple of(final Triple<Long, Long, Long> triple) {
+    return of(triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Left element
+   */
+  public final long left;
+
+  /**
+   * Middle element
+   */
+  public final long middle;
+
+  /**
+   * Right element
+   */
+  public final long right;
+
+  /**
+   * Create a new immutable triple instance
+   *
+   * @param left   the left element
+   * @param middle the middle element
+   * @param right  the right element
+   */
+  public LongTriple(final long left, final long middle, final long right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  public long getLeft() {
+    return left;
+  }
+
+  public long getMiddle() {
+    return middle;
+  }
+
+  public long getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this triple to a boxed immutable triple.
+   *
+   * @return the equivalent boxed triple, not null
+   */
+  public Triple<Long, Long, Long> toTriple() {
+    return Triple.of(left, middle, right);
+  }
+
+  @Override
+  public int compareTo(final LongTriple other) {
+    int comparison = Long.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    comparison = Long.compare(middle, other.middle);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Long.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof LongTriple)) {
+      return false;
+    }
+    final LongTriple other = (LongTriple) obj;
+    return left == other.left
+        && middle == other.middle
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed triple returned by {@link #toTriple()}.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(left) ^ Long.hashCode(middle) ^ Long.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + middle + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, middle, right);
+  }
+
+}
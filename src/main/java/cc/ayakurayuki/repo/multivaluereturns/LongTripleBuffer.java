@@ -0,0 +1,172 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A fixed-capacity off-heap buffer of {@link LongTriple} records, each record holding
+ * three {@code long} elements.
+ *
+ * <p>
+ * Record layout, in native byte order:
+ * </p>
+ *
+ * <pre>
+ *   offset  0: long   left
+ *   offset  8: long   middle
+ *   offset 16: long   right
+ *   record size: 24 bytes
+ * </pre>
+ *
+ * <p>
+ * Elements are read and written by index with the same accessors as {@link LongTriple},
+ * such as {@link #getLeft(long)}, without creating any object.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class LongTripleBuffer extends OffHeapBuffer {
+
+  private static final int LEFT_OFFSET   = 0;
+  private static final int MIDDLE_OFFSET = 8;
+  private static final int RIGHT_OFFSET  = 16;
+  private static final int RECORD_SIZE   = Long.BYTES + Long.BYTES + Long.BYTES;
+
+  /**
+   * Allocates a buffer of records, all elements are initially {@code 0}.
+   *
+   * @param capacity the number of records
+   *
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public LongTripleBuffer(final long capacity) {
+    super(capacity, RECORD_SIZE);
+  }
+
+  public long getLeft(final long index) {
+    return segment(index).getLong(offset(index) + LEFT_OFFSET);
+  }
+
+  public long getMiddle(final long index) {
+    return segment(index).getLong(offset(index) + MIDDLE_OFFSET);
+  }
+
+  public long getRight(final long index) {
+    return segment(index).getLong(offset(index) + RIGHT_OFFSET);
+  }
+
+  public void setLeft(final long index, final long left) {
+    segment(index).putLong(offset(index) + LEFT_OFFSET, left);
+  }
+
+  public void setMiddle(final long index, final long middle) {
+    segment(index).putLong(offset(index) + MIDDLE_OFFSET, middle);
+  }
+
+  public void setRight(final long index, final long right) {
+    segment(index).putLong(offset(index) + RIGHT_OFFSET, right);
+  }
+
+  /**
+   * Replaces the elements of a record.
+   */
+  public void set(final long index, final long left, final long middle, final long right) {
+    final ByteBuffer segment = segment(index);
+    final int offset = offset(index);
+    segment.putLong(offset + LEFT_OFFSET, left);
+    segment.putLong(offset + MIDDLE_OFFSET, middle);
+    segment.putLong(offset + RIGHT_OFFSET, right);
+  }
+
+  /**
+   * Reads a record as a new triple.
+   */
+  public LongTriple get(final long index) {
+    final ByteBuffer segment = segment(index);
+    final int offset = offset(index);
+    return LongTriple.of(
+        segment.getLong(offset + LEFT_OFFSET),
+        segment.getLong(offset + MIDDLE_OFFSET),
+        segment.getLong(offset + RIGHT_OFFSET)
+    );
+  }
+
+  public void set(final long index, final LongTriple triple) {
+    set(index, triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Copies records to another buffer, which can be this buffer.
+   *
+   * @param srcIndex  the index of the first record to copy
+   * @param dest      the destination buffer
+   * @param destIndex the index of the first record to replace in the destination buffer
+   * @param length    the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final LongTripleBuffer dest, final long destIndex, final long length) {
+    copyRecords(srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Copies records into parallel heap arrays.
+   *
+   * @param srcIndex  the index of the first record to copy
+   * @param lefts     the destination array of the left elements
+   * @param middles   the destination array of the middle elements
+   * @param rights    the destination array of the right elements
+   * @param destIndex the starting position in the destination arrays
+   * @param length    the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final long[] lefts, final long[] middles, final long[] rights, final int destIndex, final int length) {
+    for (int i = 0; i < length; i++) {
+      final long index = srcIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      lefts[destIndex + i] = segment.getLong(offset + LEFT_OFFSET);
+      middles[destIndex + i] = segment.getLong(offset + MIDDLE_OFFSET);
+      rights[destIndex + i] = segment.getLong(offset + RIGHT_OFFSET);
+    }
+  }
+
+  /**
+   * Copies records from parallel heap arrays.
+   *
+   * @param destIndex the index of the first record to replace
+   * @param lefts     the source array of the left elements
+   * @param middles   the source array of the middle elements
+   * @param rights    the source array of the right elements
+   * @param srcIndex  the starting position in the source arrays
+   * @param length    the number of records to copy
+   */
+  public void copyFrom(final long destIndex, final long[] lefts, final long[] middles, final long[] rights, final int srcIndex, final int length) {
+    for (int i = 0; i < length; i++) {
+      final long index = destIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      segment.putLong(offset + LEFT_OFFSET, lefts[srcIndex + i]);
+      segment.putLong(offset + MIDDLE_OFFSET, middles[srcIndex + i]);
+      segment.putLong(offset + RIGHT_OFFSET, rights[srcIndex + i]);
+    }
+  }
+
+  /**
+   * Copies records to the end of a heap list.
+   *
+   * @param srcIndex the index of the first record to copy
+   * @param dest     the list to append to
+   * @param length   the number of records to copy
+   */
+  public void copyTo(final long srcIndex, final LongTripleList dest, final int length) {
+    dest.ensureCapacity(dest.size() + length);
+    for (int i = 0; i < length; i++) {
+      final long index = srcIndex + i;
+      final ByteBuffer segment = segment(index);
+      final int offset = offset(index);
+      dest.add(
+          segment.getLong(offset + LEFT_OFFSET),
+          segment.getLong(offset + MIDDLE_OFFSET),
+          segment.getLong(offset + RIGHT_OFFSET)
+      );
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable pair of an object left element and a primitive {@code double} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @param <L> the left element type
+ *
+ * @author Ayakura Yuki
+ */
+public final class ObjDoublePair<L> implements Comparable<ObjDoublePair<L>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 5924497862050207275L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static <L> ObjDoublePair<L> of(final L left, final double right) {
+    return new ObjDoublePair<>(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0D}.
+   *
+   * @param left the left element, can be null
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static <L> ObjDoublePair<L> left(final L left) {
+    return of(left, 0D);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is null.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static <L> ObjDoublePair<L> right(final double right) {
+    return of(null, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static <L> ObjDoublePair<L> of(final Map.Entry<? extends L, Double> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final L left;
+
+  /**
+   * Right element
+   */
+  public final double right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element
+   */
+  public ObjDoublePair(final L left, final double right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public L getLeft() {
+    return left;
+  }
+
+  public double getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<L, Double> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final ObjDoublePair<L> other) {
+    int comparison = CompareToBuilder.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Double.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof ObjDoublePair)) {
+      return false;
+    }
+    final ObjDoublePair<?> other = (ObjDoublePair<?>) obj;
+    return Objects.equals(left, other.left)
+        && Double.compare(right, other.right) == 0;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(left) ^ Double.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
@@ -0,0 +1,151 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable pair of an object left element and a primitive {@code int} right element.
+ *
+ * <p>
+ * This is a primitive specialization of {@link Pair}: the primitive elements are
+ * stored unboxed, and the ordering of {@link #compareTo} is the same as the one
+ * of the equivalent boxed {@link Pair}.
+ * </p>
+ *
+ * @param <L> the left element type
+ *
+ * @author Ayakura Yuki
+ */
+public final class ObjIntPair<L> implements Comparable<ObjIntPair<L>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 4096422971018280687L;
+
+  /**
+   * Creates a pair of two elements.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element
+   *
+   * @return a pair formed from the two parameters, not null
+   */
+  public static <L> ObjIntPair<L> of(final L left, final int right) {
+    return new ObjIntPair<>(left, right);
+  }
+
+  /**
+   * Creates a pair of only left element, the right element is {@code 0}.
+   *
+   * @param left the left element, can be null
+   *
+   * @return a pair formed from the only left element, not null
+   */
+  public static <L> ObjIntPair<L> left(final L left) {
+    return of(left, 0);
+  }
+
+  /**
+   * Creates a pair of only right element, the left element is null.
+   *
+   * @param right the right element
+   *
+   * @return a pair formed from the only right element, not null
+   */
+  public static <L> ObjIntPair<L> right(final int right) {
+    return of(null, right);
+  }
+
+  /**
+   * Creates a pair from a boxed pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair formed from the map entry, not null
+   *
+   * @throws NullPointerException if the entry or one of its primitive elements is null
+   */
+  public static <L> ObjIntPair<L> of(final Map.Entry<? extends L, Integer> pair) {
+    return of(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final L left;
+
+  /**
+   * Right element
+   */
+  public final int right;
+
+  /**
+   * Create a new immutable pair instance.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element
+   */
+  public ObjIntPair(final L left, final int right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public L getLeft() {
+    return left;
+  }
+
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this pair to a boxed immutable pair.
+   *
+   * @return the equivalent boxed pair, not null
+   */
+  public Pair<L, Integer> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final ObjIntPair<L> other) {
+    int comparison = CompareToBuilder.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return Integer.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof ObjIntPair)) {
+      return false;
+    }
+    final ObjIntPair<?> other = (ObjIntPair<?>) obj;
+    return Objects.equals(left, other.left)
+        && right == other.right;
+  }
+
+  /**
+   * Returns the same hash code as the equivalent boxed pair returned by {@link #toPair()}.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(left) ^ Integer.hashCode(right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+  public String toString(final String format) {
+    return TupleFormat.of(format).format(left, right);
+  }
+
+}
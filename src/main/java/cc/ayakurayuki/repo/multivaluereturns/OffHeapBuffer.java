@@ -0,0 +1,185 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Base of the off-heap pair and triple buffers.
+ *
+ * <p>
+ * A buffer is a fixed number of fixed-width records, stored in direct
+ * {@link ByteBuffer}s outside the Java heap, so that the garbage collector never
+ * scans nor copies them. Records are laid out one after another in native byte
+ * order, each record holding its elements from left to right without padding.
+ * Because a single {@link ByteBuffer} is limited to 2 GiB, the records are spread
+ * over segments of up to 1 GiB, and a buffer can hold more than
+ * {@link Integer#MAX_VALUE} records.
+ * </p>
+ *
+ * <p>
+ * Buffers are not thread-safe. {@link #close()} drops the memory of a buffer and
+ * leaves freeing it to the garbage collector, so a use racing with it at worst
+ * throws an {@link IllegalStateException}. {@link #release()} frees the memory at
+ * once, for buffers too large to wait for a collection.
+ * <b>Touching freed memory is not an exception but a crash of the whole JVM</b>:
+ * a buffer is only safe to release once no other thread can use it anymore.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+abstract class OffHeapBuffer implements AutoCloseable {
+
+  private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+  final int recordSize;
+
+  private final    long         capacity;
+  private final    int          segmentShift;
+  private final    long         segmentMask;
+  /**
+   * The direct buffers of the records, null once closed or released
+   */
+  private volatile ByteBuffer[] segments;
+
+  OffHeapBuffer(final long capacity, final int recordSize) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    }
+    this.capacity = capacity;
+    this.recordSize = recordSize;
+    this.segmentShift = 31 - Integer.numberOfLeadingZeros(MAX_SEGMENT_BYTES / recordSize);
+    this.segmentMask = (1L << segmentShift) - 1;
+    final int count = (int) ((capacity + segmentMask) >>> segmentShift);
+    this.segments = new ByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      final long records = Math.min(capacity - ((long) i << segmentShift), 1L << segmentShift);
+      segments[i] = ByteBuffer.allocateDirect((int) records * recordSize).order(ByteOrder.nativeOrder());
+    }
+  }
+
+  /**
+   * Gets the number of records of this buffer.
+   *
+   * @return the capacity given at creation
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of bytes of a record.
+   *
+   * @return the record size in bytes
+   */
+  public int recordSize() {
+    return recordSize;
+  }
+
+  /**
+   * Whether {@link #close()} or {@link #release()} has been called.
+   *
+   * @return true if this buffer cannot be used anymore
+   */
+  public boolean isReleased() {
+    return segments == null;
+  }
+
+  /**
+   * Releases the off-heap memory of this buffer immediately, instead of
+   * waiting for the garbage collector. Releasing a buffer twice has no effect.
+   *
+   * <p>
+   * <b>Any use of the buffer by another thread, concurrent with or after this
+   * call, can crash the JVM</b> with a segmentation fault instead of throwing an
+   * exception, as it may touch memory which is already freed. Only call it once
+   * all the users are done, or use {@link #close()}.
+   * </p>
+   */
+  public void release() {
+    final ByteBuffer[] released = segments;
+    if (released == null) {
+      return;
+    }
+    segments = null;
+    DirectBuffers.free(released);
+  }
+
+  /**
+   * Closes this buffer, the garbage collector freeing its memory once no use is
+   * in progress. Using the buffer after it is closed throws an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    segments = null;
+  }
+
+  /**
+   * Gets the segment holding a record.
+   */
+  final ByteBuffer segment(final long index) {
+    final ByteBuffer[] current = segments;
+    if (current == null) {
+      throw new IllegalStateException("Buffer has been released");
+    }
+    if (index < 0 || index >= capacity) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Capacity: " + capacity);
+    }
+    return current[(int) (index >>> segmentShift)];
+  }
+
+  /**
+   * Gets the byte offset of a record in its segment.
+   */
+  final int offset(final long index) {
+    return (int) (index & segmentMask) * recordSize;
+  }
+
+  /**
+   * Copies records between two buffers of the same layout, segment by segment.
+   */
+  final void copyRecords(final long srcIndex, final OffHeapBuffer dest, final long destIndex, final long length) {
+    if (length < 0 || srcIndex < 0 || srcIndex > capacity - length || destIndex < 0 || destIndex > dest.capacity - length) {
+      throw new IndexOutOfBoundsException("Range out of bounds: " + srcIndex + " -> " + destIndex + ", length " + length);
+    }
+    if (length == 0) {
+      return;
+    }
+    if (dest == this && srcIndex < destIndex + length && destIndex < srcIndex + length) {
+      // overlapping ranges, copy record by record in a safe direction
+      if (srcIndex < destIndex) {
+        for (long i = length - 1; i >= 0; i--) {
+          copyRecord(srcIndex + i, destIndex + i);
+        }
+      } else {
+        for (long i = 0; i < length; i++) {
+          copyRecord(srcIndex + i, destIndex + i);
+        }
+      }
+      return;
+    }
+    long copied = 0;
+    while (copied < length) {
+      final long src = srcIndex + copied;
+      final long dst = destIndex + copied;
+      final long chunk = Math.min(length - copied,
+          Math.min((segmentMask + 1) - (src & segmentMask), (dest.segmentMask + 1) - (dst & dest.segmentMask)));
+      final ByteBuffer from = segment(src).duplicate();
+      from.position(offset(src)).limit(offset(src) + (int) chunk * recordSize);
+      final ByteBuffer to = dest.segment(dst).duplicate();
+      to.position(dest.offset(dst));
+      to.put(from);
+      copied += chunk;
+    }
+  }
+
+  private void copyRecord(final long src, final long dst) {
+    final ByteBuffer from = segment(src);
+    final ByteBuffer to = segment(dst);
+    final int fromOffset = offset(src);
+    final int toOffset = offset(dst);
+    for (int i = 0; i < recordSize; i++) {
+      to.put(toOffset + i, from.get(fromOffset + i));
+    }
+  }
+
+}
@@ -1,6 +1,7 @@
 package cc.ayakurayuki.repo.multivaluereturns;
 
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
 
@@ -26,6 +27,115 @@ abstract class P<L, R> implements Map.Entry<L, R>, Comparable<P<L, R>>, Serializ
    */
   private static final long serialVersionUID = -8121276832502138200L;
 
+  @SuppressWarnings("rawtypes")
+  private static final Comparator NATURAL_ORDER = comparing(null, null, true);
+
+  @SuppressWarnings("rawtypes")
+  private static final Comparator NULLS_LAST_ORDER = comparing(null, null, false);
+
+  /**
+   * Returns a comparator in the same order as {@link #compareTo}, a {@code null}
+   * element is less than a non-{@code null} element.
+   *
+   * @return a stateless comparator that can be shared between threads
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, R> Comparator<P<L, R>> naturalOrder() {
+    return (Comparator<P<L, R>>) NATURAL_ORDER;
+  }
+
+  /**
+   * Returns a comparator in the natural order of the elements.
+   *
+   * @param nullsFirst whether a {@code null} element is less than a non-{@code null} element,
+   *                   otherwise it is greater
+   *
+   * @return a stateless comparator that can be shared between threads
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, R> Comparator<P<L, R>> naturalOrder(final boolean nullsFirst) {
+    return (Comparator<P<L, R>>) (nullsFirst ? NATURAL_ORDER : NULLS_LAST_ORDER);
+  }
+
+  /**
+   * Returns a comparator that only compares the left elements in their natural order,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @return a comparator on the left elements
+   */
+  public static <L, R> Comparator<P<L, R>> byLeft() {
+    return byLeft(null);
+  }
+
+  /**
+   * Returns a comparator that only compares the left elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param comparator the comparator of the non-null left elements,
+   *                   {@code null} means natural order
+   *
+   * @return a comparator on the left elements
+   */
+  public static <L, R> Comparator<P<L, R>> byLeft(final Comparator<? super L> comparator) {
+    return (a, b) -> CompareToBuilder.compare(a.getLeft(), b.getLeft(), comparator, true);
+  }
+
+  /**
+   * Returns a comparator that only compares the right elements in their natural order,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @return a comparator on the right elements
+   */
+  public static <L, R> Comparator<P<L, R>> byRight() {
+    return byRight(null);
+  }
+
+  /**
+   * Returns a comparator that only compares the right elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param comparator the comparator of the non-null right elements,
+   *                   {@code null} means natural order
+   *
+   * @return a comparator on the right elements
+   */
+  public static <L, R> Comparator<P<L, R>> byRight(final Comparator<? super R> comparator) {
+    return (a, b) -> CompareToBuilder.compare(a.getRight(), b.getRight(), comparator, true);
+  }
+
+  /**
+   * Returns a comparator that compares the left elements, then the right elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param left  the comparator of the non-null left elements, {@code null} means natural order
+   * @param right the comparator of the non-null right elements, {@code null} means natural order
+   *
+   * @return a comparator on both elements
+   */
+  public static <L, R> Comparator<P<L, R>> comparing(final Comparator<? super L> left, final Comparator<? super R> right) {
+    return comparing(left, right, true);
+  }
+
+  /**
+   * Returns a comparator that compares the left elements, then the right elements.
+   *
+   * @param left       the comparator of the non-null left elements, {@code null} means natural order
+   * @param right      the comparator of the non-null right elements, {@code null} means natural order
+   * @param nullsFirst whether a {@code null} element is less than a non-{@code null} element,
+   *                   otherwise it is greater
+   *
+   * @return a comparator on both elements
+   */
+  public static <L, R> Comparator<P<L, R>> comparing(final Comparator<? super L> left, final Comparator<? super R> right, final boolean nullsFirst) {
+    return (a, b) -> {
+      final int comparison = CompareToBuilder.compare(a.getLeft(), b.getLeft(), left, nullsFirst);
+      if (comparison != 0) {
+        return comparison;
+      }
+      return CompareToBuilder.compare(a.getRight(), b.getRight(), right, nullsFirst);
+    };
+  }
+
   /**
    * Gets the left element from this pair.
    *
@@ -74,12 +184,19 @@ abstract class P<L, R> implements Map.Entry<L, R>, Comparable<P<L, R>>, Serializ
     return getRight();
   }
 
+  /**
+   * Compares the left elements, then the right elements, a {@code null}
+   * element is less than a non-{@code null} element.
+   *
+   * <p>Elements must either be arrays or implement {@link Comparable}.</p>
+   */
   @Override
   public int compareTo(P<L, R> other) {
-    return new CompareToBuilder()
-        .append(getLeft(), other.getLeft())
-        .append(getRight(), other.getRight())
-        .toComparison();
+    final int comparison = CompareToBuilder.compare(getLeft(), other.getLeft());
+    if (comparison != 0) {
+      return comparison;
+    }
+    return CompareToBuilder.compare(getRight(), other.getRight());
   }
 
   @Override
@@ -105,8 +222,20 @@ abstract class P<L, R> implements Map.Entry<L, R>, Comparable<P<L, R>>, Serializ
     return "(" + getLeft() + "," + getRight() + ")";
   }
 
+  /**
+   * Formats the elements, the format being compiled once by {@link TupleFormat#of(String)}.
+   *
+   * @param format the format, as of {@link String#format(String, Object...)}
+   */
   public String toString(final String format) {
-    return String.format(format, getLeft(), getRight());
+    return TupleFormat.of(format).format(getLeft(), getRight());
+  }
+
+  /**
+   * Formats the elements with a compiled format.
+   */
+  public String toString(final TupleFormat format) {
+    return format.format(getLeft(), getRight());
   }
 
 }
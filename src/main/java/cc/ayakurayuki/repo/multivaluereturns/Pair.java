@@ -76,13 +76,22 @@ public class Pair<L, R> extends P<L, R> {
   /**
    * Creates an immutable pair of two objects inferring the generic types.
    *
+   * <p>
+   * Like {@link Integer#valueOf(int)}, pairs of nulls, booleans, empty strings
+   * and small autoboxed integers are shared instances.
+   * </p>
+   *
    * @param left  the left element, can be null
    * @param right the right element, can be null
    *
    * @return a pair formed from the two parameters, not null
    */
   public static <L, R> Pair<L, R> of(final L left, final R right) {
-    return left != null || right != null ? new Pair<>(left, right) : nullPair();
+    if (left == null && right == null) {
+      return nullPair();
+    }
+    final Pair<L, R> cached = Flyweights.pair(left, right);
+    return cached != null ? cached : new Pair<>(left, right);
   }
 
   /**
@@ -93,7 +102,7 @@ public class Pair<L, R> extends P<L, R> {
    * @return a pair formed from the map entry
    */
   public static <L, R> Pair<L, R> of(final Map.Entry<L, R> pair) {
-    return pair != null ? new Pair<>(pair.getKey(), pair.getValue()) : nullPair();
+    return pair != null ? of(pair.getKey(), pair.getValue()) : nullPair();
   }
 
   /**
@@ -123,6 +132,17 @@ public class Pair<L, R> extends P<L, R> {
    */
   public final R right;
 
+  /**
+   * Cache of the hash code, computed on first use like {@link String#hashCode()}.
+   */
+  private transient int hash;
+
+  /**
+   * Whether the hash code has been computed and is actually zero,
+   * so that it is not recomputed every time.
+   */
+  private transient boolean hashIsZero;
+
   /**
    * Create a new immutable pair instance.
    *
@@ -149,4 +169,26 @@ public class Pair<L, R> extends P<L, R> {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Returns the hash code of this pair, computed once and then cached.
+   *
+   * <p>
+   * The elements are supposed not to change their own hash codes after the pair
+   * is created, which is already required to use the pair as a hash key.
+   * </p>
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && !hashIsZero) {
+      h = super.hashCode();
+      if (h == 0) {
+        hashIsZero = true;
+      } else {
+        hash = h;
+      }
+    }
+    return h;
+  }
+
 }
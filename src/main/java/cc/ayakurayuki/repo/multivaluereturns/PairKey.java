@@ -0,0 +1,127 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable pair of two elements to be used as a hash key.
+ *
+ * <p>
+ * Unlike {@link Pair}, PairKey is not a {@code Map.Entry}, so it is not bound to
+ * {@code hash(left) ^ hash(right)} and hashes its elements with {@link Hashing}.
+ * {@code (a,b)} and {@code (b,a)} get different hash codes, and {@code (x,x)} does
+ * not hash to {@code 0}, which keeps symmetric or diagonal keys spread over the
+ * buckets of a hash map.
+ * </p>
+ *
+ * <p>
+ * A PairKey is never equal to a {@link Pair}, use {@link #toPair()} to compare them.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public final class PairKey<L, R> implements Comparable<PairKey<L, R>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -2604406829437385470L;
+
+  /**
+   * Creates a pair key of two objects inferring the generic types.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element, can be null
+   *
+   * @return a pair key formed from the two parameters, not null
+   */
+  public static <L, R> PairKey<L, R> of(final L left, final R right) {
+    return new PairKey<>(left, right);
+  }
+
+  /**
+   * Creates a pair key from a pair or any other map entry.
+   *
+   * @param pair the existing pair or map entry, not null
+   *
+   * @return a pair key formed from the map entry, not null
+   */
+  public static <L, R> PairKey<L, R> of(final Map.Entry<L, R> pair) {
+    return new PairKey<>(pair.getKey(), pair.getValue());
+  }
+
+  /**
+   * Left element
+   */
+  public final L left;
+
+  /**
+   * Right element
+   */
+  public final R right;
+
+  /**
+   * Create a new pair key instance.
+   *
+   * @param left  the left element, can be null
+   * @param right the right element, can be null
+   */
+  public PairKey(final L left, final R right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public L getLeft() {
+    return left;
+  }
+
+  public R getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this key to an immutable pair.
+   *
+   * @return a pair of the same elements, not null
+   */
+  public Pair<L, R> toPair() {
+    return Pair.of(left, right);
+  }
+
+  @Override
+  public int compareTo(final PairKey<L, R> other) {
+    final int comparison = CompareToBuilder.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return CompareToBuilder.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof PairKey<?, ?>)) {
+      return false;
+    }
+    final PairKey<?, ?> other = (PairKey<?, ?>) obj;
+    return Objects.equals(left, other.left)
+        && Objects.equals(right, other.right);
+  }
+
+  @Override
+  public int hashCode() {
+    return Hashing.hash(left, right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + right + ")";
+  }
+
+}
@@ -0,0 +1,485 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+
+/**
+ * A resizable list of pairs stored column by column, in two parallel arrays
+ * of left and right elements.
+ *
+ * <p>
+ * Compared to a {@code List<Pair>}, no Pair object is kept per element, which saves
+ * an object header and a reference per element and keeps the elements of one column
+ * next to each other in memory. Pairs are only created by {@link #get(int)}; use the
+ * column accessors such as {@link #getLeft(int)}, or a reusable {@link View}, to read
+ * the elements without allocating.
+ * </p>
+ *
+ * <p>
+ * This is the preferred container to return many pairs from a method.
+ * Like {@link ArrayList}, it is not thread-safe.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class PairList<L, R> extends AbstractList<Pair<L, R>> implements RandomAccess, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 3168227629809854632L;
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static final Object[] EMPTY_OBJECT = {};
+
+  /**
+   * Creates a list from a collection of pairs or any other map entries.
+   *
+   * @param pairs the pairs to copy, not null, the pairs themselves can be null
+   *
+   * @return a new list of the same elements, in the same order
+   */
+  public static <L, R> PairList<L, R> copyOf(final Collection<? extends Map.Entry<? extends L, ? extends R>> pairs) {
+    final PairList<L, R> list = new PairList<>(pairs.size());
+    for (Map.Entry<? extends L, ? extends R> pair : pairs) {
+      if (pair != null) {
+        list.add(pair.getKey(), pair.getValue());
+      } else {
+        list.add(null, null);
+      }
+    }
+    return list;
+  }
+
+  private Object[] lefts;
+  private Object[] rights;
+  private int      size;
+
+  /**
+   * Create an empty list.
+   */
+  public PairList() {
+    lefts = EMPTY_OBJECT;
+    rights = EMPTY_OBJECT;
+  }
+
+  /**
+   * Create an empty list with the specified initial capacity.
+   *
+   * @param initialCapacity the initial capacity of the list
+   *
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public PairList(final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    lefts = initialCapacity == 0 ? EMPTY_OBJECT : new Object[initialCapacity];
+    rights = initialCapacity == 0 ? EMPTY_OBJECT : new Object[initialCapacity];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position as a new pair.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Pair<L, R> get(final int index) {
+    checkIndex(index);
+    return Pair.of((L) lefts[index], (R) rights[index]);
+  }
+
+  @SuppressWarnings("unchecked")
+  public L getLeft(final int index) {
+    checkIndex(index);
+    return (L) lefts[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  public R getRight(final int index) {
+    checkIndex(index);
+    return (R) rights[index];
+  }
+
+  @Override
+  public Pair<L, R> set(final int index, final Pair<L, R> element) {
+    final Pair<L, R> old = get(index);
+    lefts[index] = element.getLeft();
+    rights[index] = element.getRight();
+    return old;
+  }
+
+  /**
+   * Replaces the elements at the specified position.
+   */
+  public void set(final int index, final L left, final R right) {
+    checkIndex(index);
+    lefts[index] = left;
+    rights[index] = right;
+  }
+
+  /**
+   * Replaces the left element at the specified position.
+   *
+   * @return the previous left element
+   */
+  public L setLeft(final int index, final L left) {
+    final L old = getLeft(index);
+    lefts[index] = left;
+    return old;
+  }
+
+  /**
+   * Replaces the right element at the specified position.
+   *
+   * @return the previous right element
+   */
+  public R setRight(final int index, final R right) {
+    final R old = getRight(index);
+    rights[index] = right;
+    return old;
+  }
+
+  @Override
+  public boolean add(final Pair<L, R> element) {
+    add(element.getLeft(), element.getRight());
+    return true;
+  }
+
+  /**
+   * Appends the elements to the end of this list.
+   */
+  public void add(final L left, final R right) {
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    lefts[size] = left;
+    rights[size] = right;
+    size++;
+  }
+
+  @Override
+  public void add(final int index, final Pair<L, R> element) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(lefts, index, lefts, index + 1, size - index);
+    System.arraycopy(rights, index, rights, index + 1, size - index);
+    lefts[index] = element.getLeft();
+    rights[index] = element.getRight();
+    size++;
+  }
+
+  @Override
+  public Pair<L, R> remove(final int index) {
+    final Pair<L, R> old = get(index);
+    modCount++;
+    final int moved = size - index - 1;
+    System.arraycopy(lefts, index + 1, lefts, index, moved);
+    System.arraycopy(rights, index + 1, rights, index, moved);
+    size--;
+    // clear to let GC do its work
+    lefts[size] = null;
+    rights[size] = null;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    Arrays.fill(lefts, 0, size, null);
+    Arrays.fill(rights, 0, size, null);
+    size = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean addAll(final Collection<? extends Pair<L, R>> c) {
+    if (c instanceof PairList) {
+      // a PairList holding subtypes of Pair<L, R> can only be a PairList<L, R>
+      return addAll((PairList<L, R>) c);
+    }
+    ensureCapacity(size + c.size());
+    for (Pair<L, R> element : c) {
+      add(element);
+    }
+    return !c.isEmpty();
+  }
+
+  /**
+   * Appends all the elements of another list, column by column.
+   *
+   * @param other the list to append, not null
+   *
+   * @return whether this list changed
+   */
+  public boolean addAll(final PairList<L, R> other) {
+    final int count = other.size;
+    if (count == 0) {
+      return false;
+    }
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(other.lefts, 0, lefts, size, count);
+    System.arraycopy(other.rights, 0, rights, size, count);
+    size += count;
+    return true;
+  }
+
+  /**
+   * Appends the elements of parallel arrays, column by column.
+   *
+   * @param lefts  the left elements
+   * @param rights the right elements
+   *
+   * @throws IllegalArgumentException if the arrays do not have the same length
+   */
+  public void addAll(final L[] lefts, final R[] rights) {
+    if (rights.length != lefts.length) {
+      throw new IllegalArgumentException("Arrays must have the same length");
+    }
+    final int count = lefts.length;
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(lefts, 0, this.lefts, size, count);
+    System.arraycopy(rights, 0, this.rights, size, count);
+    size += count;
+  }
+
+  /**
+   * Copies a range of the left elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getLefts(final int srcIndex, final L[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(lefts, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the left elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setLefts(final int destIndex, final L[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, lefts, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the right elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getRights(final int srcIndex, final R[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(rights, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the right elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setRights(final int destIndex, final R[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, rights, destIndex, length);
+  }
+
+  /**
+   * Performs the given action on the elements of every pair, without creating pairs.
+   *
+   * @param action the action to be performed for each pair
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(final BiConsumer<? super L, ? super R> action) {
+    final int expectedModCount = modCount;
+    for (int i = 0; i < size && modCount == expectedModCount; i++) {
+      action.accept((L) lefts[i], (R) rights[i]);
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  /**
+   * Converts this list to a list of pairs.
+   *
+   * @return a new {@link ArrayList} of pairs, in the same order
+   */
+  public List<Pair<L, R>> toList() {
+    return new ArrayList<>(this);
+  }
+
+  /**
+   * Returns a flyweight view of the element at the specified position.
+   *
+   * @param index the position of the element
+   *
+   * @return a view that can be moved to other positions with {@link View#moveTo(int)}
+   */
+  public View<L, R> view(final int index) {
+    checkIndex(index);
+    return new View<>(this, index);
+  }
+
+  /**
+   * Increases the capacity of this list, if necessary, to hold at least
+   * the specified number of elements.
+   *
+   * @param minCapacity the desired minimum capacity
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity > lefts.length) {
+      modCount++;
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Trims the capacity of this list to its current size.
+   */
+  public void trimToSize() {
+    if (size < lefts.length) {
+      modCount++;
+      lefts = Arrays.copyOf(lefts, size);
+      rights = Arrays.copyOf(rights, size);
+    }
+  }
+
+  private void grow(final int minCapacity) {
+    final int oldCapacity = lefts.length;
+    int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+    if (newCapacity < minCapacity) {
+      newCapacity = minCapacity;
+    }
+    lefts = Arrays.copyOf(lefts, newCapacity);
+    rights = Arrays.copyOf(rights, newCapacity);
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+  }
+
+  private void checkRange(final int index, final int length) {
+    if (index < 0 || length < 0 || index > size - length) {
+      throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + length + ") out of bounds for size " + size);
+    }
+  }
+
+  private String outOfBoundsMsg(final int index) {
+    return "Index: " + index + ", Size: " + size;
+  }
+
+  /**
+   * A mutable view of one position of a {@link PairList}, reading and writing
+   * the columns of the list directly.
+   *
+   * <p>
+   * A view behaves as a pair of the elements at its current position, and it can be
+   * moved over the list to read many elements with a single object. It must not be used
+   * after the list is structurally modified.
+   * </p>
+   */
+  public static final class View<L, R> extends P<L, R> {
+
+    /**
+     * Serialization version
+     */
+    private static final long serialVersionUID = 4554311907158037574L;
+
+    private final PairList<L, R> list;
+    private int index;
+
+    View(final PairList<L, R> list, final int index) {
+      this.list = list;
+      this.index = index;
+    }
+
+    /**
+     * Gets the position of this view in the list.
+     *
+     * @return the current position
+     */
+    public int index() {
+      return index;
+    }
+
+    /**
+     * Moves this view to another position of the list.
+     *
+     * @param index the new position
+     *
+     * @return this view
+     */
+    public View<L, R> moveTo(final int index) {
+      list.checkIndex(index);
+      this.index = index;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public L getLeft() {
+      return (L) list.lefts[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R getRight() {
+      return (R) list.rights[index];
+    }
+
+    public void setLeft(final L left) {
+      list.lefts[index] = left;
+    }
+
+    public void setRight(final R right) {
+      list.rights[index] = right;
+    }
+
+    @Override
+    public R setValue(final R value) {
+      final R result = getRight();
+      setRight(value);
+      return result;
+    }
+
+  }
+
+}
@@ -1,6 +1,12 @@
 package cc.ayakurayuki.repo.multivaluereturns;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * PairResult is a class combined with `Pair` and `Result`.
@@ -82,6 +88,17 @@ public class PairResult<L, R, Err extends Throwable> extends P<L, R> implements
    */
   public final Err err;
 
+  /**
+   * Cache of the hash code, computed on first use like {@link String#hashCode()}.
+   */
+  private transient int hash;
+
+  /**
+   * Whether the hash code has been computed and is actually zero,
+   * so that it is not recomputed every time.
+   */
+  private transient boolean hashIsZero;
+
   public PairResult(L left, R right, Err err) {
     this.left = left;
     this.right = right;
@@ -107,6 +124,178 @@ public class PairResult<L, R, Err extends Throwable> extends P<L, R> implements
     return err != null;
   }
 
+  /**
+   * Applies a function to both elements of a pair result without error.
+   *
+   * @param mapper the function to apply to the left and right elements, not null
+   *
+   * @return a result of the mapped object, or a result of the error of this pair result
+   */
+  public <U> Result<U, Err> map(final BiFunction<? super L, ? super R, ? extends U> mapper) {
+    if (isError()) {
+      return Result.err(err);
+    }
+    return Result.ok(mapper.apply(left, right));
+  }
+
+  /**
+   * Applies a function to the left element of a pair result without error.
+   *
+   * <p>
+   * A pair result with error is returned as is, without allocating a new pair result,
+   * unless it also holds elements.
+   * </p>
+   *
+   * @param mapper the function to apply to the left element, not null
+   *
+   * @return a pair result of the mapped left element, or the error of this pair result
+   */
+  public <U> PairResult<U, R, Err> mapLeft(final Function<? super L, ? extends U> mapper) {
+    if (isError()) {
+      return asError();
+    }
+    return of(mapper.apply(left), right, null);
+  }
+
+  /**
+   * Applies a function to the right element of a pair result without error.
+   *
+   * <p>
+   * A pair result with error is returned as is, without allocating a new pair result,
+   * unless it also holds elements.
+   * </p>
+   *
+   * @param mapper the function to apply to the right element, not null
+   *
+   * @return a pair result of the mapped right element, or the error of this pair result
+   */
+  public <U> PairResult<L, U, Err> mapRight(final Function<? super R, ? extends U> mapper) {
+    if (isError()) {
+      return asError();
+    }
+    return of(left, mapper.apply(right), null);
+  }
+
+  /**
+   * Applies a function returning a pair result to both elements of a pair result without error.
+   *
+   * <p>
+   * A pair result with error is returned as is, without allocating a new pair result,
+   * unless it also holds elements.
+   * </p>
+   *
+   * <p>
+   * The function may return a pair result of subtypes of {@code L2} and {@code R2},
+   * a pair result is immutable and is returned as a pair result of {@code L2} and {@code R2}.
+   * </p>
+   *
+   * @param mapper the function to apply to the left and right elements, not null, must not return null
+   *
+   * @return the pair result of the function, or the error of this pair result
+   */
+  @SuppressWarnings("unchecked")
+  public <L2, R2> PairResult<L2, R2, Err> flatMap(
+      final BiFunction<? super L, ? super R, ? extends PairResult<? extends L2, ? extends R2, Err>> mapper) {
+    if (isError()) {
+      return asError();
+    }
+    return (PairResult<L2, R2, Err>) Objects.requireNonNull(mapper.apply(left, right));
+  }
+
+  /**
+   * Applies a function to the error of a pair result with error.
+   *
+   * <p>A pair result without error is returned as is.</p>
+   *
+   * @param mapper the function to apply to the error, not null
+   *
+   * @return a pair result of the mapped error, or this pair result without error
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends Throwable> PairResult<L, R, E> mapErr(final Function<? super Err, ? extends E> mapper) {
+    if (!isError()) {
+      // no error, the type of the error does not matter
+      return (PairResult<L, R, E>) this;
+    }
+    return of(left, right, mapper.apply(err));
+  }
+
+  /**
+   * Turns a pair result with error into a pair result without error.
+   *
+   * <p>A pair result without error is returned as is.</p>
+   *
+   * @param recovery the function computing both elements from the error, not null
+   *
+   * @return a pair result without error
+   */
+  public PairResult<L, R, Err> recover(final Function<? super Err, ? extends Map.Entry<? extends L, ? extends R>> recovery) {
+    if (!isError()) {
+      return this;
+    }
+    final Map.Entry<? extends L, ? extends R> pair = recovery.apply(err);
+    return of(pair.getKey(), pair.getValue(), null);
+  }
+
+  /**
+   * Gets both elements, or another pair if this pair result has an error.
+   *
+   * @param other the pair to return on error, can be null
+   *
+   * @return a pair of the elements if there is no error, otherwise {@code other}
+   */
+  public Pair<L, R> orElse(final Pair<L, R> other) {
+    return isError() ? other : Pair.of(left, right);
+  }
+
+  /**
+   * Gets both elements, or a pair from a supplier if this pair result has an error.
+   *
+   * @param supplier the supplier of the pair to return on error, not null
+   *
+   * @return a pair of the elements if there is no error, otherwise the supplied pair
+   */
+  public Pair<L, R> orElseGet(final Supplier<? extends Pair<L, R>> supplier) {
+    return isError() ? supplier.get() : Pair.of(left, right);
+  }
+
+  /**
+   * Performs an action with both elements if there is no error.
+   *
+   * @param action the action to perform, not null
+   *
+   * @return this pair result
+   */
+  public PairResult<L, R, Err> ifOk(final BiConsumer<? super L, ? super R> action) {
+    if (!isError()) {
+      action.accept(left, right);
+    }
+    return this;
+  }
+
+  /**
+   * Performs an action with the error if there is one.
+   *
+   * @param action the action to perform, not null
+   *
+   * @return this pair result
+   */
+  public PairResult<L, R, Err> ifErr(final Consumer<? super Err> action) {
+    if (isError()) {
+      action.accept(err);
+    }
+    return this;
+  }
+
+  /**
+   * Casts a pair result with error to any element types, a new pair result is only
+   * created if this one also holds elements.
+   */
+  @SuppressWarnings("unchecked")
+  private <L2, R2> PairResult<L2, R2, Err> asError() {
+    return left == null && right == null ? (PairResult<L2, R2, Err>) this : err(err);
+  }
+
   @Override
   public R setValue(R value) {
     throw new UnsupportedOperationException();
@@ -126,20 +315,34 @@ public class PairResult<L, R, Err extends Throwable> extends P<L, R> implements
         && Objects.equals(err, other.err);
   }
 
+  /**
+   * Returns the hash code of this pair result, computed once and then cached.
+   *
+   * <p>
+   * The elements are supposed not to change their own hash codes after the pair result
+   * is created, which is already required to use the pair result as a hash key.
+   * </p>
+   */
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), err);
+    int h = hash;
+    if (h == 0 && !hashIsZero) {
+      // same value as Objects.hash(super.hashCode(), err), without the varargs array
+      h = 31 * (31 + super.hashCode()) + Objects.hashCode(err);
+      if (h == 0) {
+        hashIsZero = true;
+      } else {
+        hash = h;
+      }
+    }
+    return h;
   }
 
   @Override
   public String toString() {
-    return String.format(
-        "PairResult(%s, %s) %s error%s",
-        getLeft(),
-        getRight(),
-        isError() ? "with" : "without",
-        isError() ? ": " + err.getMessage() : ""
-    );
+    return isError()
+        ? "PairResult(" + getLeft() + ", " + getRight() + ") with error: " + err.getMessage()
+        : "PairResult(" + getLeft() + ", " + getRight() + ") without error";
   }
 
 }
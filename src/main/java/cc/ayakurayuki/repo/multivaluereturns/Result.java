@@ -2,6 +2,9 @@ package cc.ayakurayuki.repo.multivaluereturns;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A Result of a method returns presents two immutable fields with <em>ok</em>
@@ -32,12 +35,18 @@ public class Result<T, Err extends Throwable> implements IsError, Serializable {
   /**
    * Creates a result with no error.
    *
+   * <p>
+   * Like {@link Integer#valueOf(int)}, results of null, a boolean, an empty string
+   * or a small autoboxed integer are shared instances.
+   * </p>
+   *
    * @param ok a method result, can be null
    *
    * @return a result formed from the only ok field
    */
   public static <T, Err extends Throwable> Result<T, Err> ok(T ok) {
-    return new Result<>(ok, null);
+    final Result<T, Err> cached = Flyweights.result(ok);
+    return cached != null ? cached : new Result<>(ok, null);
   }
 
   /**
@@ -90,6 +99,143 @@ public class Result<T, Err extends Throwable> implements IsError, Serializable {
     return err != null;
   }
 
+  /**
+   * Applies a function to the returned object of a result without error.
+   *
+   * <p>
+   * A result with error is returned as is, without allocating a new result,
+   * unless it also holds a returned object.
+   * </p>
+   *
+   * @param mapper the function to apply to the returned object, not null
+   *
+   * @return a result of the mapped object, or the error of this result
+   */
+  public <U> Result<U, Err> map(final Function<? super T, ? extends U> mapper) {
+    if (isError()) {
+      return asError();
+    }
+    return ok(mapper.apply(ok));
+  }
+
+  /**
+   * Applies a function returning a result to the returned object of a result without error.
+   *
+   * <p>
+   * A result with error is returned as is, without allocating a new result,
+   * unless it also holds a returned object.
+   * </p>
+   *
+   * <p>
+   * The function may return a result of a subtype of {@code U},
+   * a result is immutable and is returned as a result of {@code U}.
+   * </p>
+   *
+   * @param mapper the function to apply to the returned object, not null, must not return null
+   *
+   * @return the result of the function, or the error of this result
+   */
+  @SuppressWarnings("unchecked")
+  public <U> Result<U, Err> flatMap(final Function<? super T, ? extends Result<? extends U, Err>> mapper) {
+    if (isError()) {
+      return asError();
+    }
+    return (Result<U, Err>) Objects.requireNonNull(mapper.apply(ok));
+  }
+
+  /**
+   * Applies a function to the error of a result with error.
+   *
+   * <p>A result without error is returned as is.</p>
+   *
+   * @param mapper the function to apply to the error, not null
+   *
+   * @return a result of the mapped error, or this result without error
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends Throwable> Result<T, E> mapErr(final Function<? super Err, ? extends E> mapper) {
+    if (!isError()) {
+      // no error, the type of the error does not matter
+      return (Result<T, E>) this;
+    }
+    return create(ok, mapper.apply(err));
+  }
+
+  /**
+   * Turns a result with error into a result without error.
+   *
+   * <p>A result without error is returned as is.</p>
+   *
+   * @param recovery the function computing a returned object from the error, not null
+   *
+   * @return a result without error
+   */
+  public Result<T, Err> recover(final Function<? super Err, ? extends T> recovery) {
+    if (!isError()) {
+      return this;
+    }
+    return ok(recovery.apply(err));
+  }
+
+  /**
+   * Gets the returned object, or another object if this result has an error.
+   *
+   * @param other the object to return on error, can be null
+   *
+   * @return the returned object if there is no error, otherwise {@code other}
+   */
+  public T orElse(final T other) {
+    return isError() ? other : ok;
+  }
+
+  /**
+   * Gets the returned object, or an object from a supplier if this result has an error.
+   *
+   * @param supplier the supplier of the object to return on error, not null
+   *
+   * @return the returned object if there is no error, otherwise the supplied object
+   */
+  public T orElseGet(final Supplier<? extends T> supplier) {
+    return isError() ? supplier.get() : ok;
+  }
+
+  /**
+   * Performs an action with the returned object if there is no error.
+   *
+   * @param action the action to perform, not null
+   *
+   * @return this result
+   */
+  public Result<T, Err> ifOk(final Consumer<? super T> action) {
+    if (!isError()) {
+      action.accept(ok);
+    }
+    return this;
+  }
+
+  /**
+   * Performs an action with the error if there is one.
+   *
+   * @param action the action to perform, not null
+   *
+   * @return this result
+   */
+  public Result<T, Err> ifErr(final Consumer<? super Err> action) {
+    if (isError()) {
+      action.accept(err);
+    }
+    return this;
+  }
+
+  /**
+   * Casts a result with error to any returned type, a new result is only created
+   * if this one also holds a returned object.
+   */
+  @SuppressWarnings("unchecked")
+  <U> Result<U, Err> asError() {
+    return ok == null ? (Result<U, Err>) this : err(err);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -105,17 +251,15 @@ public class Result<T, Err extends Throwable> implements IsError, Serializable {
 
   @Override
   public int hashCode() {
-    return Objects.hash(ok, err);
+    // same value as Objects.hash(ok, err), without the varargs array
+    return 31 * (31 + Objects.hashCode(ok)) + Objects.hashCode(err);
   }
 
   @Override
   public String toString() {
-    return String.format(
-        "Result(%s) %s error%s",
-        ok,
-        isError() ? "with" : "without",
-        isError() ? ": " + err.getMessage() : ""
-    );
+    return isError()
+        ? "Result(" + ok + ") with error: " + err.getMessage()
+        : "Result(" + ok + ") without error";
   }
 
 }
@@ -0,0 +1,275 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An asynchronous {@link Result}, which is a {@link CompletableFuture} whose
+ * outcome is always a result.
+ *
+ * <p>
+ * Errors flow through a result future as values, the underlying future completes
+ * normally with a result with error instead of completing exceptionally. So a
+ * failure does not pay for {@link CompletionException} wrappers and is as cheap
+ * as on the synchronous path.
+ * </p>
+ *
+ * <p>
+ * The functions passed to the chaining methods run in the thread completing the
+ * previous stage, like the non-async methods of {@link CompletableFuture}, and are
+ * expected to report failures as results. An exception thrown by a function
+ * completes the underlying future exceptionally.
+ * </p>
+ *
+ * @param <T>   the returns type
+ * @param <Err> the exception type
+ *
+ * @author Ayakura Yuki
+ */
+public final class ResultFuture<T, Err extends Throwable> {
+
+  /**
+   * Wraps a future of a result.
+   *
+   * @param future the future of a result, not null
+   *
+   * @return a result future backed by the future
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> of(final CompletableFuture<Result<T, Err>> future) {
+    return new ResultFuture<>(Objects.requireNonNull(future, "future"));
+  }
+
+  /**
+   * Creates a completed result future.
+   *
+   * @param result the result, not null
+   *
+   * @return a completed result future
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> completed(final Result<T, Err> result) {
+    return new ResultFuture<>(CompletableFuture.completedFuture(Objects.requireNonNull(result, "result")));
+  }
+
+  /**
+   * Creates a result future completed with no error.
+   *
+   * @param ok the returned object, can be null
+   *
+   * @return a completed result future formed from the only ok field
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> ok(final T ok) {
+    return completed(Result.ok(ok));
+  }
+
+  /**
+   * Creates a result future completed with error.
+   *
+   * @param err the error, not null
+   *
+   * @return a completed result future formed from the only err field
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> err(final Err err) {
+    return completed(Result.err(err));
+  }
+
+  /**
+   * Runs a supplier of a result in the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @param supplier the supplier of the result, not null, must not return null
+   *
+   * @return a result future completed with the supplied result
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> supplyAsync(final Supplier<Result<T, Err>> supplier) {
+    return new ResultFuture<>(CompletableFuture.supplyAsync(supplier));
+  }
+
+  /**
+   * Runs a supplier of a result in an executor.
+   *
+   * @param supplier the supplier of the result, not null, must not return null
+   * @param executor the executor running the supplier, not null
+   *
+   * @return a result future completed with the supplied result
+   *
+   * @see #virtualThreadExecutor()
+   */
+  public static <T, Err extends Throwable> ResultFuture<T, Err> supplyAsync(final Supplier<Result<T, Err>> supplier, final Executor executor) {
+    return new ResultFuture<>(CompletableFuture.supplyAsync(supplier, executor));
+  }
+
+  /**
+   * Converts a completion stage of a value, turning an exceptional completion into a result with error.
+   *
+   * <p>
+   * A {@link CompletionException} or {@link ExecutionException} wrapping the
+   * failure is unwrapped to its cause.
+   * </p>
+   *
+   * @param stage the completion stage, not null
+   *
+   * @return a result future completed with the value or the failure of the stage
+   */
+  public static <T> ResultFuture<T, Throwable> from(final CompletionStage<? extends T> stage) {
+    final CompletableFuture<Result<T, Throwable>> future = stage.handle((value, failure) -> {
+      if (failure == null) {
+        return Result.<T, Throwable>ok(value);
+      }
+      return Result.<T, Throwable>err(unwrap(failure));
+    }).toCompletableFuture();
+    return new ResultFuture<>(future);
+  }
+
+  /**
+   * Gets an executor starting a new virtual thread for each task when running
+   * on Java 21 or later, the {@link ForkJoinPool#commonPool() common pool} otherwise.
+   *
+   * @return a shared executor, not to be shut down
+   */
+  public static Executor virtualThreadExecutor() {
+    return VirtualThreads.isAvailable() ? VirtualThreads.executor() : ForkJoinPool.commonPool();
+  }
+
+  private final CompletableFuture<Result<T, Err>> future;
+
+  private ResultFuture(final CompletableFuture<Result<T, Err>> future) {
+    this.future = future;
+  }
+
+  /**
+   * Applies a function to the returned object once the result is available and has no error.
+   *
+   * <p>A result with error is passed on as is.</p>
+   *
+   * @param mapper the function to apply to the returned object, not null
+   *
+   * @return a result future of the mapped object
+   *
+   * @see Result#map(Function)
+   */
+  public <U> ResultFuture<U, Err> thenMap(final Function<? super T, ? extends U> mapper) {
+    Objects.requireNonNull(mapper, "mapper");
+    return new ResultFuture<>(future.thenApply(result -> result.map(mapper)));
+  }
+
+  /**
+   * Applies a function returning a result future to the returned object once
+   * the result is available and has no error.
+   *
+   * <p>A result with error is passed on as is.</p>
+   *
+   * @param mapper the function to apply to the returned object, not null, must not return null
+   *
+   * @return a result future of the result of the function
+   */
+  public <U> ResultFuture<U, Err> thenFlatMap(final Function<? super T, ResultFuture<U, Err>> mapper) {
+    Objects.requireNonNull(mapper, "mapper");
+    return new ResultFuture<>(future.thenCompose(result -> {
+      if (result.isError()) {
+        return CompletableFuture.completedFuture(result.<U>asError());
+      }
+      return mapper.apply(result.ok()).future;
+    }));
+  }
+
+  /**
+   * Applies a function to the error once the result is available and has error.
+   *
+   * @param mapper the function to apply to the error, not null
+   *
+   * @return a result future of the mapped error
+   *
+   * @see Result#mapErr(Function)
+   */
+  public <E extends Throwable> ResultFuture<T, E> mapErr(final Function<? super Err, ? extends E> mapper) {
+    Objects.requireNonNull(mapper, "mapper");
+    return new ResultFuture<>(future.thenApply(result -> result.mapErr(mapper)));
+  }
+
+  /**
+   * Turns a result with error into a result without error once it is available.
+   *
+   * @param recovery the function computing a returned object from the error, not null
+   *
+   * @return a result future without error
+   *
+   * @see Result#recover(Function)
+   */
+  public ResultFuture<T, Err> recover(final Function<? super Err, ? extends T> recovery) {
+    Objects.requireNonNull(recovery, "recovery");
+    return new ResultFuture<>(future.thenApply(result -> result.recover(recovery)));
+  }
+
+  /**
+   * Whether the result is available.
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * Waits for the result.
+   *
+   * @return the result
+   *
+   * @throws CompletionException if a function of the chain threw an exception
+   * @see CompletableFuture#join()
+   */
+  public Result<T, Err> join() {
+    return future.join();
+  }
+
+  /**
+   * Gets the underlying future of the result, without copying.
+   *
+   * @return the future completed with the result
+   */
+  public CompletableFuture<Result<T, Err>> toCompletableFuture() {
+    return future;
+  }
+
+  /**
+   * Converts to a future of the returned object, which completes exceptionally
+   * with the error of a result with error.
+   *
+   * @return a future of the returned object
+   */
+  public CompletableFuture<T> toValueFuture() {
+    final CompletableFuture<T> value = new CompletableFuture<>();
+    future.whenComplete((result, failure) -> {
+      if (failure != null) {
+        value.completeExceptionally(failure);
+      } else if (result.isError()) {
+        value.completeExceptionally(result.err());
+      } else {
+        value.complete(result.ok());
+      }
+    });
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    if (!future.isDone()) {
+      return "ResultFuture(pending)";
+    }
+    if (future.isCompletedExceptionally()) {
+      return "ResultFuture(failed)";
+    }
+    return "ResultFuture(" + future.getNow(null) + ")";
+  }
+
+  private static Throwable unwrap(final Throwable failure) {
+    if ((failure instanceof CompletionException || failure instanceof ExecutionException) && failure.getCause() != null) {
+      return failure.getCause();
+    }
+    return failure;
+  }
+
+}
@@ -0,0 +1,523 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Operations on many {@link Result}s at once.
+ *
+ * @author Ayakura Yuki
+ */
+public final class Results {
+
+  private Results() {
+  }
+
+  /**
+   * Turns a stream of results into a result of the list of all returned objects,
+   * or the first error.
+   *
+   * <p>
+   * A sequential stream is consumed up to the first result with error only, and
+   * the list is presized when the size of the stream is known. A parallel stream
+   * is collected with {@link #toResultList()}.
+   * </p>
+   *
+   * @param stream the stream of results, not null
+   *
+   * @return a result of the returned objects in encounter order, or the first result with error
+   */
+  public static <T, Err extends Throwable> Result<List<T>, Err> sequence(final Stream<Result<T, Err>> stream) {
+    if (stream.isParallel()) {
+      return stream.collect(toResultList());
+    }
+    final Spliterator<Result<T, Err>> spliterator = stream.spliterator();
+    final ListAccumulator<T, Err> accumulator = new ListAccumulator<>(initialCapacity(spliterator));
+    while (accumulator.failure == null && spliterator.tryAdvance(accumulator)) {
+      // consumed by the accumulator
+    }
+    return accumulator.finish();
+  }
+
+  /**
+   * Applies a function returning a result to the elements of a stream, and turns
+   * them into a result of the list of all returned objects, or the first error.
+   *
+   * <p>
+   * On a sequential stream the function is not applied anymore after the first
+   * result with error, and the list is presized when the size of the stream is
+   * known. A parallel stream is mapped and collected with {@link #toResultList()}.
+   * </p>
+   *
+   * @param stream the stream of elements, not null
+   * @param mapper the function to apply to each element, not null, must not return null
+   *
+   * @return a result of the returned objects in encounter order, or the first result with error
+   */
+  public static <A, T, Err extends Throwable> Result<List<T>, Err> traverse(final Stream<A> stream, final Function<? super A, Result<T, Err>> mapper) {
+    Objects.requireNonNull(mapper, "mapper");
+    if (stream.isParallel()) {
+      return stream.map(mapper).collect(toResultList());
+    }
+    final Spliterator<A> spliterator = stream.spliterator();
+    final ListAccumulator<T, Err> accumulator = new ListAccumulator<>(initialCapacity(spliterator));
+    final Consumer<A> action = element -> accumulator.accept(mapper.apply(element));
+    while (accumulator.failure == null && spliterator.tryAdvance(action)) {
+      // consumed by the accumulator
+    }
+    return accumulator.finish();
+  }
+
+  /**
+   * Gets a collector of results into a result of the list of all returned objects,
+   * or the first error.
+   *
+   * <p>
+   * Every part of a parallel stream stops collecting returned objects after its
+   * first result with error, and parts are combined so that the first error in
+   * encounter order wins. A collector can not stop the stream itself, use
+   * {@link #sequence(Stream)} to skip the remaining elements of a sequential stream.
+   * </p>
+   *
+   * @return a collector of results
+   */
+  public static <T, Err extends Throwable> Collector<Result<T, Err>, ?, Result<List<T>, Err>> toResultList() {
+    return Collector.<Result<T, Err>, ListAccumulator<T, Err>, Result<List<T>, Err>>of(
+        ListAccumulator::new,
+        ListAccumulator::accept,
+        ListAccumulator::combine,
+        ListAccumulator::finish
+    );
+  }
+
+  /**
+   * Gets a collector partitioning results into the list of all returned objects
+   * and the list of all errors, in a single pass.
+   *
+   * @return a collector of results into a pair of the returned objects and the errors, in encounter order
+   */
+  public static <T, Err extends Throwable> Collector<Result<T, Err>, ?, Pair<List<T>, List<Err>>> partitioning() {
+    return partitioning(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Gets a collector partitioning results into the list of all returned objects
+   * and the list of the first errors, in a single pass.
+   *
+   * <p>
+   * Errors after the first {@code maxErrors} ones in encounter order are dropped
+   * as soon as they are met, see {@link #counting()} to count all of them.
+   * </p>
+   *
+   * @param maxErrors the maximum number of errors to keep, not negative
+   *
+   * @return a collector of results into a pair of the returned objects and the first errors, in encounter order
+   */
+  public static <T, Err extends Throwable> Collector<Result<T, Err>, ?, Pair<List<T>, List<Err>>> partitioning(final int maxErrors) {
+    checkMaxErrors(maxErrors);
+    return Collector.<Result<T, Err>, PartitionAccumulator<T, Err>, Pair<List<T>, List<Err>>>of(
+        () -> new PartitionAccumulator<>(maxErrors),
+        PartitionAccumulator::accept,
+        PartitionAccumulator::combine,
+        PartitionAccumulator::finish
+    );
+  }
+
+  /**
+   * Gets a collector partitioning pair results into the list of all elements
+   * and the list of all errors, in a single pass.
+   *
+   * @return a collector of pair results into a pair of the elements and the errors, in encounter order
+   */
+  public static <L, R, Err extends Throwable> Collector<PairResult<L, R, Err>, ?, Pair<PairList<L, R>, List<Err>>> partitioningPairs() {
+    return partitioningPairs(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Gets a collector partitioning pair results into the list of all elements
+   * and the list of the first errors, in a single pass.
+   *
+   * <p>
+   * Errors after the first {@code maxErrors} ones in encounter order are dropped
+   * as soon as they are met, see {@link #counting()} to count all of them.
+   * </p>
+   *
+   * @param maxErrors the maximum number of errors to keep, not negative
+   *
+   * @return a collector of pair results into a pair of the elements and the first errors, in encounter order
+   */
+  public static <L, R, Err extends Throwable> Collector<PairResult<L, R, Err>, ?, Pair<PairList<L, R>, List<Err>>> partitioningPairs(final int maxErrors) {
+    checkMaxErrors(maxErrors);
+    return Collector.<PairResult<L, R, Err>, PairPartitionAccumulator<L, R, Err>, Pair<PairList<L, R>, List<Err>>>of(
+        () -> new PairPartitionAccumulator<>(maxErrors),
+        PairPartitionAccumulator::accept,
+        PairPartitionAccumulator::combine,
+        PairPartitionAccumulator::finish
+    );
+  }
+
+  /**
+   * Gets a collector counting the results without and with error, keeping none of them.
+   *
+   * <p>Works on both {@link Result}s and {@link PairResult}s.</p>
+   *
+   * @return a collector of results into a pair of the count without error and the count with error
+   */
+  public static <E extends IsError> Collector<E, ?, LongLongPair> counting() {
+    return Collector.<E, long[], LongLongPair>of(
+        () -> new long[2],
+        (counts, result) -> counts[result.isError() ? 1 : 0]++,
+        (counts, other) -> {
+          counts[0] += other[0];
+          counts[1] += other[1];
+          return counts;
+        },
+        counts -> LongLongPair.of(counts[0], counts[1])
+    );
+  }
+
+  /**
+   * Runs suppliers of results concurrently and waits for all of them.
+   *
+   * @param suppliers the suppliers of results, not null, must not return null
+   *
+   * @return a result of the returned objects in the order of the suppliers, or the first error in that order
+   *
+   * @see #all(List, boolean)
+   */
+  public static <T, Err extends Throwable> Result<List<T>, Err> all(final List<? extends Supplier<Result<T, Err>>> suppliers) {
+    return all(suppliers, false);
+  }
+
+  /**
+   * Runs suppliers of results concurrently, on virtual threads when running on
+   * Java 21 or later and on a shared pool of platform threads otherwise.
+   *
+   * <p>
+   * When {@code failFast} is set, the suppliers still running are cancelled by
+   * interruption as soon as one of them returns a result with error, and that
+   * error is returned. Otherwise all suppliers complete, and the first error in
+   * the order of the suppliers is returned.
+   * </p>
+   *
+   * <p>
+   * An exception thrown by a supplier cancels the others and is rethrown. If the
+   * calling thread is interrupted while waiting, the suppliers are cancelled and
+   * a {@link CancellationException} is thrown with the interrupt status kept.
+   * </p>
+   *
+   * @param suppliers the suppliers of results, not null, must not return null
+   * @param failFast  whether to cancel the other suppliers on the first error
+   *
+   * @return a result of the returned objects in the order of the suppliers, or an error
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, Err extends Throwable> Result<List<T>, Err> all(final List<? extends Supplier<Result<T, Err>>> suppliers, final boolean failFast) {
+    final List<Result<?, Err>> results = invokeAll(suppliers, failFast);
+    final List<T> oks = new ArrayList<>(results.size());
+    for (final Result<?, Err> result : results) {
+      if (result.isError()) {
+        return ((Result<T, Err>) result).asError();
+      }
+      oks.add((T) result.ok());
+    }
+    return Result.ok(oks);
+  }
+
+  /**
+   * Runs two suppliers of results concurrently and waits for both of them.
+   *
+   * @param left  the supplier of the left result, not null, must not return null
+   * @param right the supplier of the right result, not null, must not return null
+   *
+   * @return a pair result of both returned objects, or the first error in argument order
+   *
+   * @see #allPair(Supplier, Supplier, boolean)
+   */
+  public static <L, R, Err extends Throwable> PairResult<L, R, Err> allPair(final Supplier<Result<L, Err>> left, final Supplier<Result<R, Err>> right) {
+    return allPair(left, right, false);
+  }
+
+  /**
+   * Runs two suppliers of results concurrently, as {@link #all(List, boolean)} does.
+   *
+   * @param left     the supplier of the left result, not null, must not return null
+   * @param right    the supplier of the right result, not null, must not return null
+   * @param failFast whether to cancel the other supplier on the first error
+   *
+   * @return a pair result of both returned objects, or an error
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, R, Err extends Throwable> PairResult<L, R, Err> allPair(final Supplier<Result<L, Err>> left, final Supplier<Result<R, Err>> right,
+                                                                          final boolean failFast) {
+    final List<Result<?, Err>> results = invokeAll(Arrays.<Supplier<? extends Result<?, Err>>>asList(left, right), failFast);
+    for (final Result<?, Err> result : results) {
+      if (result.isError()) {
+        return PairResult.err(result.err());
+      }
+    }
+    return PairResult.of((L) results.get(0).ok(), (R) results.get(1).ok(), null);
+  }
+
+  /**
+   * Runs three suppliers of results concurrently and waits for all of them.
+   *
+   * @param left   the supplier of the left result, not null, must not return null
+   * @param middle the supplier of the middle result, not null, must not return null
+   * @param right  the supplier of the right result, not null, must not return null
+   *
+   * @return a triple of the three results
+   *
+   * @see #allTriple(Supplier, Supplier, Supplier, boolean)
+   */
+  public static <L, M, R, Err extends Throwable> Triple<Result<L, Err>, Result<M, Err>, Result<R, Err>> allTriple(final Supplier<Result<L, Err>> left,
+                                                                                                               final Supplier<Result<M, Err>> middle,
+                                                                                                               final Supplier<Result<R, Err>> right) {
+    return allTriple(left, middle, right, false);
+  }
+
+  /**
+   * Runs three suppliers of results concurrently, as {@link #all(List, boolean)} does.
+   *
+   * <p>
+   * The results of suppliers cancelled because of a failing sibling are results
+   * with the error of that sibling.
+   * </p>
+   *
+   * @param left     the supplier of the left result, not null, must not return null
+   * @param middle   the supplier of the middle result, not null, must not return null
+   * @param right    the supplier of the right result, not null, must not return null
+   * @param failFast whether to cancel the other suppliers on the first error
+   *
+   * @return a triple of the three results
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, M, R, Err extends Throwable> Triple<Result<L, Err>, Result<M, Err>, Result<R, Err>> allTriple(final Supplier<Result<L, Err>> left,
+                                                                                                               final Supplier<Result<M, Err>> middle,
+                                                                                                               final Supplier<Result<R, Err>> right,
+                                                                                                               final boolean failFast) {
+    final List<Result<?, Err>> results = invokeAll(Arrays.<Supplier<? extends Result<?, Err>>>asList(left, middle, right), failFast);
+    return Triple.of((Result<L, Err>) results.get(0), (Result<M, Err>) results.get(1), (Result<R, Err>) results.get(2));
+  }
+
+  /**
+   * Runs the suppliers concurrently and gets their results in the order of the
+   * suppliers, the slots of suppliers cancelled by fail-fast hold the failing result.
+   */
+  private static <Err extends Throwable> List<Result<?, Err>> invokeAll(final List<? extends Supplier<? extends Result<?, Err>>> suppliers,
+                                                                       final boolean failFast) {
+    final int count = suppliers.size();
+    final List<Result<?, Err>> results = new ArrayList<>(Collections.nCopies(count, null));
+    final CompletionService<IntObjPair<Result<?, Err>>> completion = new ExecutorCompletionService<>(FanOut.EXECUTOR);
+    final List<Future<IntObjPair<Result<?, Err>>>> futures = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        final int index = i;
+        final Supplier<? extends Result<?, Err>> supplier = Objects.requireNonNull(suppliers.get(i), "supplier");
+        futures.add(completion.submit(() -> IntObjPair.of(index, Objects.requireNonNull(supplier.get(), "result"))));
+      }
+      for (int done = 0; done < count; done++) {
+        final IntObjPair<Result<?, Err>> outcome = completion.take().get();
+        results.set(outcome.left, outcome.right);
+        if (failFast && outcome.right.isError()) {
+          for (int i = 0; i < count; i++) {
+            if (results.get(i) == null) {
+              results.set(i, outcome.right);
+            }
+          }
+          break;
+        }
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for results");
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new CompletionException(cause);
+    } finally {
+      // no-op for the completed ones
+      for (final Future<?> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static void checkMaxErrors(final int maxErrors) {
+    if (maxErrors < 0) {
+      throw new IllegalArgumentException("Illegal max errors: " + maxErrors);
+    }
+  }
+
+  private static <Err> void addErrors(final List<Err> errs, final List<Err> others, final int maxErrors) {
+    final int room = maxErrors - errs.size();
+    if (room >= others.size()) {
+      errs.addAll(others);
+    } else if (room > 0) {
+      errs.addAll(others.subList(0, room));
+    }
+  }
+
+  private static int initialCapacity(final Spliterator<?> spliterator) {
+    final long size = spliterator.getExactSizeIfKnown();
+    // the default capacity of ArrayList when the size is unknown
+    return size < 0 ? 10 : (int) Math.min(size, Integer.MAX_VALUE - 8);
+  }
+
+  /**
+   * Holder of the executor of {@link #all(List, boolean)}, created on first use.
+   */
+  private static final class FanOut {
+
+    /**
+     * Virtual threads when available, daemon platform threads otherwise
+     */
+    static final ExecutorService EXECUTOR = VirtualThreads.isAvailable() ? VirtualThreads.executor() : newPlatformExecutor();
+
+    private static ExecutorService newPlatformExecutor() {
+      final AtomicInteger count = new AtomicInteger();
+      return Executors.newCachedThreadPool(task -> {
+        final Thread thread = new Thread(task, "results-fan-out-" + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+  }
+
+  /**
+   * Mutable container of the returned objects collected so far and the first result with error.
+   */
+  private static final class ListAccumulator<T, Err extends Throwable> implements Consumer<Result<T, Err>> {
+
+    private final ArrayList<T>   oks;
+    private       Result<T, Err> failure;
+
+    ListAccumulator() {
+      this(10);
+    }
+
+    ListAccumulator(final int initialCapacity) {
+      this.oks = new ArrayList<>(initialCapacity);
+    }
+
+    @Override
+    public void accept(final Result<T, Err> result) {
+      if (failure != null) {
+        return;
+      }
+      if (result.isError()) {
+        failure = result;
+      } else {
+        oks.add(result.ok());
+      }
+    }
+
+    ListAccumulator<T, Err> combine(final ListAccumulator<T, Err> other) {
+      if (failure != null) {
+        return this;
+      }
+      if (other.failure != null) {
+        return other;
+      }
+      oks.addAll(other.oks);
+      return this;
+    }
+
+    Result<List<T>, Err> finish() {
+      return failure != null ? failure.asError() : Result.ok(oks);
+    }
+
+  }
+
+  /**
+   * Mutable container of the returned objects and the first errors collected so far.
+   */
+  private static final class PartitionAccumulator<T, Err extends Throwable> {
+
+    private final ArrayList<T>   oks  = new ArrayList<>();
+    private final ArrayList<Err> errs = new ArrayList<>();
+    private final int            maxErrors;
+
+    PartitionAccumulator(final int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    void accept(final Result<T, Err> result) {
+      if (!result.isError()) {
+        oks.add(result.ok());
+      } else if (errs.size() < maxErrors) {
+        errs.add(result.err());
+      }
+    }
+
+    PartitionAccumulator<T, Err> combine(final PartitionAccumulator<T, Err> other) {
+      oks.addAll(other.oks);
+      addErrors(errs, other.errs, maxErrors);
+      return this;
+    }
+
+    Pair<List<T>, List<Err>> finish() {
+      return Pair.of(oks, errs);
+    }
+
+  }
+
+  /**
+   * Mutable container of the elements and the first errors collected so far.
+   */
+  private static final class PairPartitionAccumulator<L, R, Err extends Throwable> {
+
+    private final PairList<L, R> oks  = new PairList<>();
+    private final ArrayList<Err> errs = new ArrayList<>();
+    private final int            maxErrors;
+
+    PairPartitionAccumulator(final int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    void accept(final PairResult<L, R, Err> result) {
+      if (!result.isError()) {
+        oks.add(result.getLeft(), result.getRight());
+      } else if (errs.size() < maxErrors) {
+        errs.add(result.err());
+      }
+    }
+
+    PairPartitionAccumulator<L, R, Err> combine(final PairPartitionAccumulator<L, R, Err> other) {
+      oks.addAll(other.oks);
+      addErrors(errs, other.errs, maxErrors);
+      return this;
+    }
+
+    Pair<PairList<L, R>, List<Err>> finish() {
+      return Pair.of(oks, errs);
+    }
+
+  }
+
+}
@@ -0,0 +1,147 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * A mutable triple of three primitive {@code double} elements written by a
+ * single thread and read consistently by any number of threads, guarded by a
+ * sequence lock.
+ *
+ * <pre>
+ * SeqLockDoubleTriple quote = new SeqLockDoubleTriple();
+ *
+ * // the writer thread
+ * quote.set(bid, ask, last);
+ *
+ * // any reader thread, reusing its array
+ * double[] snapshot = new double[3];
+ * quote.readInto(snapshot, 0);
+ * </pre>
+ *
+ * <p>
+ * This is a primitive specialization of {@link SeqLockTriple}: the elements are
+ * stored unboxed, so neither an update nor a read allocates, whatever the
+ * values are.
+ * </p>
+ *
+ * <p>
+ * Only one thread may write at a time, concurrent writes corrupt the triple.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ * @see SeqLockLongTriple
+ */
+public class SeqLockDoubleTriple {
+
+  private static final VarHandle VERSION;
+
+  static {
+    try {
+      VERSION = MethodHandles.lookup().findVarHandle(SeqLockDoubleTriple.class, "version", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Even when stable, odd while an update is in progress
+   */
+  private volatile long version;
+
+  private double left;
+  private double middle;
+  private double right;
+
+  /**
+   * Creates a triple of three {@code 0D} elements.
+   */
+  public SeqLockDoubleTriple() {
+  }
+
+  public SeqLockDoubleTriple(final double left, final double middle, final double right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  /**
+   * Sets the three elements, from the single writer thread.
+   */
+  public void set(final double left, final double middle, final double right) {
+    final long v = version;
+    VERSION.setOpaque(this, v + 1);
+    VarHandle.storeStoreFence();
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+    VERSION.setRelease(this, v + 2);
+  }
+
+  /**
+   * Copies a consistent snapshot of the three elements into an array, in the
+   * order left, middle, right.
+   *
+   * @param dest   the destination array
+   * @param offset the position of the left element in the array
+   *
+   * @return the version of the snapshot, which grows with each update
+   *
+   * @throws IndexOutOfBoundsException if the array has no room for three elements at the offset
+   */
+  public long readInto(final double[] dest, final int offset) {
+    Objects.checkFromIndexSize(offset, 3, dest.length);
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final double l = left;
+        final double m = middle;
+        final double r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          dest[offset] = l;
+          dest[offset + 1] = m;
+          dest[offset + 2] = r;
+          return v;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets a consistent snapshot of the three elements as a new triple.
+   *
+   * @return the snapshot, not null
+   */
+  public DoubleTriple get() {
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final double l = left;
+        final double m = middle;
+        final double r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          return DoubleTriple.of(l, m, r);
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets the version of the current elements, which grows with each update.
+   * It is odd while an update is in progress.
+   */
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public String toString() {
+    return get().toString();
+  }
+
+}
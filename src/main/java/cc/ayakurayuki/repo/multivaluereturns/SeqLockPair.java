@@ -0,0 +1,122 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A mutable pair written by a single thread and read consistently by any
+ * number of threads, guarded by a sequence lock.
+ *
+ * <p>
+ * This is the pair counterpart of {@link SeqLockTriple}: updates write the
+ * elements in place without a new pair, readers copy a consistent snapshot
+ * into a {@link MutPair} of their own without locking. Only one thread may
+ * write at a time.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class SeqLockPair<L, R> {
+
+  private static final VarHandle VERSION;
+
+  static {
+    try {
+      VERSION = MethodHandles.lookup().findVarHandle(SeqLockPair.class, "version", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Even when stable, odd while an update is in progress
+   */
+  private volatile long version;
+
+  private L left;
+  private R right;
+
+  /**
+   * Creates a pair of two null elements.
+   */
+  public SeqLockPair() {
+  }
+
+  public SeqLockPair(final L left, final R right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  /**
+   * Sets both elements, from the single writer thread.
+   */
+  public void set(final L left, final R right) {
+    final long v = version;
+    VERSION.setOpaque(this, v + 1);
+    VarHandle.storeStoreFence();
+    this.left = left;
+    this.right = right;
+    VERSION.setRelease(this, v + 2);
+  }
+
+  /**
+   * Copies a consistent snapshot of both elements into a holder.
+   *
+   * @param holder the holder of the elements, not null
+   *
+   * @return the version of the snapshot, which grows with each update
+   */
+  public long readInto(final MutPair<? super L, ? super R> holder) {
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final L l = left;
+        final R r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          holder.left = l;
+          holder.right = r;
+          return v;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets a consistent snapshot of both elements as a new pair.
+   *
+   * @return the snapshot, not null
+   */
+  public Pair<L, R> get() {
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final L l = left;
+        final R r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          return Pair.of(l, r);
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets the version of the current elements, which grows with each update.
+   * It is odd while an update is in progress.
+   */
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public String toString() {
+    return get().toString();
+  }
+
+}
@@ -0,0 +1,163 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A mutable triple written by a single thread and read consistently by any
+ * number of threads, guarded by a sequence lock.
+ *
+ * <pre>
+ * SeqLockTriple&lt;Double, Double, Long&gt; quote = new SeqLockTriple&lt;&gt;();
+ *
+ * // the writer thread
+ * quote.set(bid, ask, size);
+ *
+ * // any reader thread, reusing its holder
+ * MutTriple&lt;Double, Double, Long&gt; snapshot = new MutTriple&lt;&gt;();
+ * quote.readInto(snapshot);
+ * </pre>
+ *
+ * <p>
+ * The writer makes the version odd, writes the elements in place, then makes
+ * the version even again, so an update needs no new triple, unlike an
+ * {@code AtomicReference<Triple>} or an {@link AtomicTriple}. A reader never
+ * locks: it reads the elements between two reads of the version, and reads
+ * again when the writer moved in between. The reader copies the elements into
+ * a holder of its own, which it can reuse.
+ * </p>
+ *
+ * <p>
+ * The elements are references, so boxing primitive values still allocates a
+ * box per element and update outside of the small cached values. For
+ * primitive elements, such as prices and sizes, {@link SeqLockDoubleTriple}
+ * and {@link SeqLockLongTriple} store them unboxed and allocate nothing.
+ * </p>
+ *
+ * <p>
+ * Only one thread may write at a time, concurrent writes corrupt the triple.
+ * Readers spin while an update is in progress, which keeps their wait short as
+ * long as the writer is not descheduled in the middle of an update.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <M> the middle element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ * @see SeqLockPair
+ * @see SeqLockDoubleTriple
+ * @see SeqLockLongTriple
+ */
+public class SeqLockTriple<L, M, R> {
+
+  private static final VarHandle VERSION;
+
+  static {
+    try {
+      VERSION = MethodHandles.lookup().findVarHandle(SeqLockTriple.class, "version", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * Even when stable, odd while an update is in progress
+   */
+  private volatile long version;
+
+  private L left;
+  private M middle;
+  private R right;
+
+  /**
+   * Creates a triple of three null elements.
+   */
+  public SeqLockTriple() {
+  }
+
+  public SeqLockTriple(final L left, final M middle, final R right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  /**
+   * Sets the three elements, from the single writer thread.
+   */
+  public void set(final L left, final M middle, final R right) {
+    final long v = version;
+    VERSION.setOpaque(this, v + 1);
+    VarHandle.storeStoreFence();
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+    VERSION.setRelease(this, v + 2);
+  }
+
+  /**
+   * Copies a consistent snapshot of the three elements into a holder.
+   *
+   * @param holder the holder of the elements, not {@link MutTriple#NULL}
+   *
+   * @return the version of the snapshot, which grows with each update
+   *
+   * @throws IllegalArgumentException if the holder is the shared {@link MutTriple#NULL}
+   */
+  public long readInto(final MutTriple<? super L, ? super M, ? super R> holder) {
+    if (holder == MutTriple.NULL) {
+      throw new IllegalArgumentException("Cannot read into the shared MutTriple.NULL");
+    }
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final L l = left;
+        final M m = middle;
+        final R r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          holder.left = l;
+          holder.middle = m;
+          holder.right = r;
+          return v;
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets a consistent snapshot of the three elements as a new triple.
+   *
+   * @return the snapshot, not null
+   */
+  public Triple<L, M, R> get() {
+    while (true) {
+      final long v = (long) VERSION.getAcquire(this);
+      if ((v & 1L) == 0L) {
+        final L l = left;
+        final M m = middle;
+        final R r = right;
+        VarHandle.loadLoadFence();
+        if ((long) VERSION.getOpaque(this) == v) {
+          return Triple.of(l, m, r);
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  /**
+   * Gets the version of the current elements, which grows with each update.
+   * It is odd while an update is in progress.
+   */
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public String toString() {
+    return get().toString();
+  }
+
+}
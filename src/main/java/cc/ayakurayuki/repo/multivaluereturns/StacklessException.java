@@ -0,0 +1,49 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+/**
+ * An exception that skips the capture of its stack trace and the
+ * recording of suppressed exceptions.
+ *
+ * <p>
+ * Filling in the stack trace is by far the most expensive part of creating
+ * a throwable. An error that is returned in a {@link Result} rather than thrown
+ * rarely needs one, so this type is meant to be used as the error of results on
+ * hot paths where failures are expected, either directly or as a base class.
+ * </p>
+ *
+ * <p>
+ * The stack trace of a stackless exception is always empty, it can not be set
+ * and suppressed exceptions are ignored. Together with the cause being fixed on
+ * construction, an instance is effectively immutable and can be shared, see
+ * {@link Errors} for preallocated instances.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class StacklessException extends RuntimeException {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = -3187461225405831923L;
+
+  /**
+   * Creates a stackless exception.
+   *
+   * @param message the detail message, can be null
+   */
+  public StacklessException(final String message) {
+    this(message, null);
+  }
+
+  /**
+   * Creates a stackless exception with a cause.
+   *
+   * @param message the detail message, can be null
+   * @param cause   the cause, can be null
+   */
+  public StacklessException(final String message, final Throwable cause) {
+    super(message, cause, false, false);
+  }
+
+}
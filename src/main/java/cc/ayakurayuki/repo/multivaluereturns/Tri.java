@@ -1,6 +1,7 @@
 package cc.ayakurayuki.repo.multivaluereturns;
 
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.Objects;
 
 /**
@@ -31,6 +32,144 @@ abstract class Tri<L, M, R> implements Comparable<Tri<L, M, R>>, Serializable {
     return (Tri<L, M, R>[]) EMPTY_ARRAY;
   }
 
+  @SuppressWarnings("rawtypes")
+  private static final Comparator NATURAL_ORDER = comparing(null, null, null, true);
+
+  @SuppressWarnings("rawtypes")
+  private static final Comparator NULLS_LAST_ORDER = comparing(null, null, null, false);
+
+  /**
+   * Returns a comparator in the same order as {@link #compareTo}, a {@code null}
+   * element is less than a non-{@code null} element.
+   *
+   * @return a stateless comparator that can be shared between threads
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, M, R> Comparator<Tri<L, M, R>> naturalOrder() {
+    return (Comparator<Tri<L, M, R>>) NATURAL_ORDER;
+  }
+
+  /**
+   * Returns a comparator in the natural order of the elements.
+   *
+   * @param nullsFirst whether a {@code null} element is less than a non-{@code null} element,
+   *                   otherwise it is greater
+   *
+   * @return a stateless comparator that can be shared between threads
+   */
+  @SuppressWarnings("unchecked")
+  public static <L, M, R> Comparator<Tri<L, M, R>> naturalOrder(final boolean nullsFirst) {
+    return (Comparator<Tri<L, M, R>>) (nullsFirst ? NATURAL_ORDER : NULLS_LAST_ORDER);
+  }
+
+  /**
+   * Returns a comparator that only compares the left elements in their natural order,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @return a comparator on the left elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byLeft() {
+    return byLeft(null);
+  }
+
+  /**
+   * Returns a comparator that only compares the left elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param comparator the comparator of the non-null left elements,
+   *                   {@code null} means natural order
+   *
+   * @return a comparator on the left elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byLeft(final Comparator<? super L> comparator) {
+    return (a, b) -> CompareToBuilder.compare(a.getLeft(), b.getLeft(), comparator, true);
+  }
+
+  /**
+   * Returns a comparator that only compares the middle elements in their natural order,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @return a comparator on the middle elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byMiddle() {
+    return byMiddle(null);
+  }
+
+  /**
+   * Returns a comparator that only compares the middle elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param comparator the comparator of the non-null middle elements,
+   *                   {@code null} means natural order
+   *
+   * @return a comparator on the middle elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byMiddle(final Comparator<? super M> comparator) {
+    return (a, b) -> CompareToBuilder.compare(a.getMiddle(), b.getMiddle(), comparator, true);
+  }
+
+  /**
+   * Returns a comparator that only compares the right elements in their natural order,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @return a comparator on the right elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byRight() {
+    return byRight(null);
+  }
+
+  /**
+   * Returns a comparator that only compares the right elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param comparator the comparator of the non-null right elements,
+   *                   {@code null} means natural order
+   *
+   * @return a comparator on the right elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> byRight(final Comparator<? super R> comparator) {
+    return (a, b) -> CompareToBuilder.compare(a.getRight(), b.getRight(), comparator, true);
+  }
+
+  /**
+   * Returns a comparator that compares the left, middle and right elements in turn,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * @param left   the comparator of the non-null left elements, {@code null} means natural order
+   * @param middle the comparator of the non-null middle elements, {@code null} means natural order
+   * @param right  the comparator of the non-null right elements, {@code null} means natural order
+   *
+   * @return a comparator on all the elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> comparing(final Comparator<? super L> left, final Comparator<? super M> middle, final Comparator<? super R> right) {
+    return comparing(left, middle, right, true);
+  }
+
+  /**
+   * Returns a comparator that compares the left, middle and right elements in turn.
+   *
+   * @param left       the comparator of the non-null left elements, {@code null} means natural order
+   * @param middle     the comparator of the non-null middle elements, {@code null} means natural order
+   * @param right      the comparator of the non-null right elements, {@code null} means natural order
+   * @param nullsFirst whether a {@code null} element is less than a non-{@code null} element,
+   *                   otherwise it is greater
+   *
+   * @return a comparator on all the elements
+   */
+  public static <L, M, R> Comparator<Tri<L, M, R>> comparing(final Comparator<? super L> left, final Comparator<? super M> middle, final Comparator<? super R> right, final boolean nullsFirst) {
+    return (a, b) -> {
+      int comparison = CompareToBuilder.compare(a.getLeft(), b.getLeft(), left, nullsFirst);
+      if (comparison != 0) {
+        return comparison;
+      }
+      comparison = CompareToBuilder.compare(a.getMiddle(), b.getMiddle(), middle, nullsFirst);
+      if (comparison != 0) {
+        return comparison;
+      }
+      return CompareToBuilder.compare(a.getRight(), b.getRight(), right, nullsFirst);
+    };
+  }
+
   /**
    * Gets the left element from this triple.
    *
@@ -52,13 +191,23 @@ abstract class Tri<L, M, R> implements Comparable<Tri<L, M, R>>, Serializable {
    */
   public abstract R getRight();
 
+  /**
+   * Compares the left elements, then the middle elements, then the right elements,
+   * a {@code null} element is less than a non-{@code null} element.
+   *
+   * <p>Elements must either be arrays or implement {@link Comparable}.</p>
+   */
   @Override
   public int compareTo(Tri<L, M, R> other) {
-    return new CompareToBuilder()
-        .append(getLeft(), other.getLeft())
-        .append(getMiddle(), other.getMiddle())
-        .append(getRight(), other.getRight())
-        .toComparison();
+    int comparison = CompareToBuilder.compare(getLeft(), other.getLeft());
+    if (comparison != 0) {
+      return comparison;
+    }
+    comparison = CompareToBuilder.compare(getMiddle(), other.getMiddle());
+    if (comparison != 0) {
+      return comparison;
+    }
+    return CompareToBuilder.compare(getRight(), other.getRight());
   }
 
   @Override
@@ -85,8 +234,20 @@ abstract class Tri<L, M, R> implements Comparable<Tri<L, M, R>>, Serializable {
     return "(" + getLeft() + "," + getMiddle() + "," + getRight() + ")";
   }
 
+  /**
+   * Formats the elements, the format being compiled once by {@link TupleFormat#of(String)}.
+   *
+   * @param format the format, as of {@link String#format(String, Object...)}
+   */
   public String toString(final String format) {
-    return String.format(format, getLeft(), getMiddle(), getRight());
+    return TupleFormat.of(format).format(getLeft(), getMiddle(), getRight());
+  }
+
+  /**
+   * Formats the elements with a compiled format.
+   */
+  public String toString(final TupleFormat format) {
+    return format.format(getLeft(), getMiddle(), getRight());
   }
 
 }
@@ -87,6 +87,11 @@ public class Triple<L, M, R> extends Tri<L, M, R> {
   /**
    * Creates an immutable triple from three objects inferring the generic types.
    *
+   * <p>
+   * Like {@link Integer#valueOf(int)}, triples of nulls, booleans, empty strings
+   * and small autoboxed integers are shared instances.
+   * </p>
+   *
    * @param left   the left element, can be null
    * @param middle the middle element, can be null
    * @param right  the right element, can be null
@@ -94,7 +99,11 @@ public class Triple<L, M, R> extends Tri<L, M, R> {
    * @return a triple formed from the three parameters, not null
    */
   public static <L, M, R> Triple<L, M, R> of(final L left, final M middle, final R right) {
-    return left != null || middle != null || right != null ? new Triple<>(left, middle, right) : nullTriple();
+    if (left == null && middle == null && right == null) {
+      return nullTriple();
+    }
+    final Triple<L, M, R> cached = Flyweights.triple(left, middle, right);
+    return cached != null ? cached : new Triple<>(left, middle, right);
   }
 
   /**
@@ -131,6 +140,17 @@ public class Triple<L, M, R> extends Tri<L, M, R> {
    */
   public final R right;
 
+  /**
+   * Cache of the hash code, computed on first use like {@link String#hashCode()}.
+   */
+  private transient int hash;
+
+  /**
+   * Whether the hash code has been computed and is actually zero,
+   * so that it is not recomputed every time.
+   */
+  private transient boolean hashIsZero;
+
   /**
    * Create a new immutable triple instance
    *
@@ -159,4 +179,26 @@ public class Triple<L, M, R> extends Tri<L, M, R> {
     return right;
   }
 
+  /**
+   * Returns the hash code of this triple, computed once and then cached.
+   *
+   * <p>
+   * The elements are supposed not to change their own hash codes after the triple
+   * is created, which is already required to use the triple as a hash key.
+   * </p>
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && !hashIsZero) {
+      h = super.hashCode();
+      if (h == 0) {
+        hashIsZero = true;
+      } else {
+        hash = h;
+      }
+    }
+    return h;
+  }
+
 }
@@ -0,0 +1,142 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An immutable triple of three elements to be used as a hash key.
+ *
+ * <p>
+ * Unlike {@link Triple}, TripleKey hashes its elements with {@link Hashing}
+ * instead of {@code ^}, so permutations of the same elements get different hash
+ * codes and {@code (x,x,y)} does not hash like {@code y}.
+ * </p>
+ *
+ * <p>
+ * A TripleKey is never equal to a {@link Triple}, use {@link #toTriple()} to compare them.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <M> the middle element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public final class TripleKey<L, M, R> implements Comparable<TripleKey<L, M, R>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 4412739010593848412L;
+
+  /**
+   * Creates a triple key from three objects inferring the generic types.
+   *
+   * @param left   the left element, can be null
+   * @param middle the middle element, can be null
+   * @param right  the right element, can be null
+   *
+   * @return a triple key formed from the three parameters, not null
+   */
+  public static <L, M, R> TripleKey<L, M, R> of(final L left, final M middle, final R right) {
+    return new TripleKey<>(left, middle, right);
+  }
+
+  /**
+   * Creates a triple key from an immutable triple.
+   *
+   * @param triple the existing triple, not null
+   *
+   * @return a triple key formed from the triple, not null
+   */
+  public static <L, M, R> TripleKey<L, M, R> of(final Triple<L, M, R> triple) {
+    return new TripleKey<>(triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Left element
+   */
+  public final L left;
+
+  /**
+   * Middle element
+   */
+  public final M middle;
+
+  /**
+   * Right element
+   */
+  public final R right;
+
+  /**
+   * Create a new triple key instance
+   *
+   * @param left   the left element, can be null
+   * @param middle the middle element, can be null
+   * @param right  the right element, can be null
+   */
+  public TripleKey(final L left, final M middle, final R right) {
+    this.left = left;
+    this.middle = middle;
+    this.right = right;
+  }
+
+  public L getLeft() {
+    return left;
+  }
+
+  public M getMiddle() {
+    return middle;
+  }
+
+  public R getRight() {
+    return right;
+  }
+
+  /**
+   * Converts this key to an immutable triple.
+   *
+   * @return a triple of the same elements, not null
+   */
+  public Triple<L, M, R> toTriple() {
+    return Triple.of(left, middle, right);
+  }
+
+  @Override
+  public int compareTo(final TripleKey<L, M, R> other) {
+    int comparison = CompareToBuilder.compare(left, other.left);
+    if (comparison != 0) {
+      return comparison;
+    }
+    comparison = CompareToBuilder.compare(middle, other.middle);
+    if (comparison != 0) {
+      return comparison;
+    }
+    return CompareToBuilder.compare(right, other.right);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof TripleKey<?, ?, ?>)) {
+      return false;
+    }
+    final TripleKey<?, ?, ?> other = (TripleKey<?, ?, ?>) obj;
+    return Objects.equals(left, other.left)
+        && Objects.equals(middle, other.middle)
+        && Objects.equals(right, other.right);
+  }
+
+  @Override
+  public int hashCode() {
+    return Hashing.hash(left, middle, right);
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + "," + middle + "," + right + ")";
+  }
+
+}
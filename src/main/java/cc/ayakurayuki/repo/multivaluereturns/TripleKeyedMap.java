@@ -0,0 +1,591 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map whose keys are made of three elements, which are stored unboxed in
+ * parallel arrays instead of as {@link Triple}s.
+ *
+ * <p>
+ * {@link #get(Object, Object, Object)}, {@link #put(Object, Object, Object, Object)}
+ * and {@link #remove(Object, Object, Object)} take the elements of the key, so a
+ * lookup does not allocate a triple. The elements are hashed with
+ * {@link Hashing#hash(Object, Object, Object)} and placed by linear probing, as
+ * in {@link PairKeyedMap}.
+ * </p>
+ *
+ * <p>
+ * Keys are handed out as {@link Triple}s, created on demand, by {@link #keySet()}
+ * and by the entries of {@link #iterator()}. Elements and values can be null.
+ * Like {@link HashMap}, it is not thread-safe, and its iterators are fail-fast.
+ * </p>
+ *
+ * @param <L> the left element type of the keys
+ * @param <M> the middle element type of the keys
+ * @param <R> the right element type of the keys
+ * @param <V> the value type
+ *
+ * @author Ayakura Yuki
+ */
+public class TripleKeyedMap<L, M, R, V> implements Iterable<Map.Entry<Triple<L, M, R>, V>>, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 4290841565617351073L;
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * Hash codes of the keys, 0 marking an empty slot
+   */
+  private int[]    hashes;
+  private Object[] lefts;
+  private Object[] middles;
+  private Object[] rights;
+  private Object[] values;
+  private int      size;
+  private int      threshold;
+
+  private transient int modCount;
+
+  /**
+   * Creates an empty map.
+   */
+  public TripleKeyedMap() {
+    allocate(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty map holding a number of entries without resizing.
+   *
+   * @param expectedSize the expected number of entries
+   *
+   * @throws IllegalArgumentException if the expected size is negative
+   */
+  public TripleKeyedMap(final int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+    }
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Gets the number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the map has no entry.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the value of a key.
+   *
+   * @param left   the left element of the key, can be null
+   * @param middle the middle element of the key, can be null
+   * @param right  the right element of the key, can be null
+   *
+   * @return the value, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public V get(final L left, final M middle, final R right) {
+    final int slot = find(left, middle, right, hash(left, middle, right));
+    return slot < 0 ? null : (V) values[slot];
+  }
+
+  /**
+   * Gets the value of a key, or a default value if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(final L left, final M middle, final R right, final V defaultValue) {
+    final int slot = find(left, middle, right, hash(left, middle, right));
+    return slot < 0 ? defaultValue : (V) values[slot];
+  }
+
+  /**
+   * Checks whether a key has a value, which can be null.
+   *
+   * @param left   the left element of the key, can be null
+   * @param middle the middle element of the key, can be null
+   * @param right  the right element of the key, can be null
+   *
+   * @return true if the key is mapped, even to null
+   */
+  public boolean containsKey(final L left, final M middle, final R right) {
+    return find(left, middle, right, hash(left, middle, right)) >= 0;
+  }
+
+  /**
+   * Maps a key to a value.
+   *
+   * @param left   the left element of the key, can be null
+   * @param middle the middle element of the key, can be null
+   * @param right  the right element of the key, can be null
+   * @param value  the value, can be null
+   *
+   * @return the previous value, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(final L left, final M middle, final R right, final V value) {
+    final int hash = hash(left, middle, right);
+    final int slot = find(left, middle, right, hash);
+    if (slot >= 0) {
+      final V old = (V) values[slot];
+      values[slot] = value;
+      return old;
+    }
+    insert(left, middle, right, hash, value);
+    return null;
+  }
+
+  /**
+   * Maps a key to a value if it has no value yet.
+   *
+   * @return the current value, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(final L left, final M middle, final R right, final V value) {
+    final int hash = hash(left, middle, right);
+    final int slot = find(left, middle, right, hash);
+    if (slot >= 0) {
+      return (V) values[slot];
+    }
+    insert(left, middle, right, hash, value);
+    return null;
+  }
+
+  /**
+   * Gets the value of a key, computing and adding it if there is none.
+   *
+   * @param mapping the function computing the value from the elements of the key,
+   *                a null value is not added
+   *
+   * @return the current or computed value
+   *
+   * @throws ConcurrentModificationException if the mapping function modified this map
+   */
+  @SuppressWarnings("unchecked")
+  public V computeIfAbsent(final L left, final M middle, final R right, final KeyFunction<? super L, ? super M, ? super R, ? extends V> mapping) {
+    final int hash = hash(left, middle, right);
+    final int slot = find(left, middle, right, hash);
+    if (slot >= 0) {
+      return (V) values[slot];
+    }
+    final int expectedModCount = modCount;
+    final V value = mapping.apply(left, middle, right);
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+    if (value != null) {
+      insert(left, middle, right, hash, value);
+    }
+    return value;
+  }
+
+  /**
+   * Removes the value of a key.
+   *
+   * @return the removed value, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(final L left, final M middle, final R right) {
+    final int slot = find(left, middle, right, hash(left, middle, right));
+    if (slot < 0) {
+      return null;
+    }
+    final V old = (V) values[slot];
+    delete(slot);
+    return old;
+  }
+
+  /**
+   * Removes all entries, keeping the capacity of the table.
+   */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(hashes, 0);
+      Arrays.fill(lefts, null);
+      Arrays.fill(middles, null);
+      Arrays.fill(rights, null);
+      Arrays.fill(values, null);
+      size = 0;
+      modCount++;
+    }
+  }
+
+  /**
+   * Gets a view of the keys as triples, supporting removal.
+   */
+  public Set<Triple<L, M, R>> keySet() {
+    return new AbstractSet<Triple<L, M, R>>() {
+      @Override
+      public Iterator<Triple<L, M, R>> iterator() {
+        return new SlotIterator<Triple<L, M, R>>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          Triple<L, M, R> at(final int slot) {
+            return Triple.of((L) lefts[slot], (M) middles[slot], (R) rights[slot]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(final Object o) {
+        if (!(o instanceof Tri)) {
+          return false;
+        }
+        final Tri<?, ?, ?> key = (Tri<?, ?, ?>) o;
+        return find(key.getLeft(), key.getMiddle(), key.getRight(), hash(key.getLeft(), key.getMiddle(), key.getRight())) >= 0;
+      }
+
+      @Override
+      public boolean remove(final Object o) {
+        if (!(o instanceof Tri)) {
+          return false;
+        }
+        final Tri<?, ?, ?> key = (Tri<?, ?, ?>) o;
+        final int slot = find(key.getLeft(), key.getMiddle(), key.getRight(), hash(key.getLeft(), key.getMiddle(), key.getRight()));
+        if (slot < 0) {
+          return false;
+        }
+        delete(slot);
+        return true;
+      }
+
+      @Override
+      public void clear() {
+        TripleKeyedMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * Gets a view of the values, supporting removal.
+   */
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return new SlotIterator<V>() {
+          @Override
+          @SuppressWarnings("unchecked")
+          V at(final int slot) {
+            return (V) values[slot];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        TripleKeyedMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * Iterates over the entries, each an immutable pair of the key as a triple and of the value.
+   * The iterator supports removal.
+   */
+  @Override
+  public Iterator<Map.Entry<Triple<L, M, R>, V>> iterator() {
+    return new SlotIterator<Map.Entry<Triple<L, M, R>, V>>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      Map.Entry<Triple<L, M, R>, V> at(final int slot) {
+        return Pair.of(Triple.of((L) lefts[slot], (M) middles[slot], (R) rights[slot]), (V) values[slot]);
+      }
+    };
+  }
+
+  /**
+   * Copies the entries to a {@link HashMap} keyed by triples.
+   */
+  public Map<Triple<L, M, R>, V> toMap() {
+    final Map<Triple<L, M, R>, V> map = new HashMap<>(Math.max((int) (size / .75F) + 1, DEFAULT_CAPACITY));
+    for (final Map.Entry<Triple<L, M, R>, V> entry : this) {
+      map.put(entry.getKey(), entry.getValue());
+    }
+    return map;
+  }
+
+  /**
+   * Compares the entries of two maps, as {@link Map#equals(Object)} does.
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof TripleKeyedMap)) {
+      return false;
+    }
+    final TripleKeyedMap<?, ?, ?, ?> other = (TripleKeyedMap<?, ?, ?, ?>) obj;
+    if (other.size != size) {
+      return false;
+    }
+    for (int slot = 0; slot < hashes.length; slot++) {
+      if (hashes[slot] == 0) {
+        continue;
+      }
+      final int otherSlot = other.find(lefts[slot], middles[slot], rights[slot], hashes[slot]);
+      if (otherSlot < 0 || !Objects.equals(values[slot], other.values[otherSlot])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as the {@link Map} of {@link #toMap()}.
+   */
+  @Override
+  public int hashCode() {
+    int h = 0;
+    for (int slot = 0; slot < hashes.length; slot++) {
+      if (hashes[slot] != 0) {
+        h += Objects.hashCode(lefts[slot]) ^ Objects.hashCode(middles[slot]) ^ Objects.hashCode(rights[slot]) ^ Objects.hashCode(values[slot]);
+      }
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder(size * 20 + 2).append('{');
+    for (int slot = 0; slot < hashes.length; slot++) {
+      if (hashes[slot] != 0) {
+        if (builder.length() > 1) {
+          builder.append(", ");
+        }
+        builder.append('(').append(lefts[slot]).append(',').append(middles[slot]).append(',').append(rights[slot]).append(")=").append(values[slot]);
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * Hashes a key, never to 0 which marks empty slots.
+   */
+  private static int hash(final Object left, final Object middle, final Object right) {
+    final int h = Hashing.hash(left, middle, right);
+    return h != 0 ? h : 1;
+  }
+
+  private static int tableSizeFor(final int expectedSize) {
+    // at most 3/4 full
+    final long minCapacity = (long) expectedSize * 4 / 3 + 1;
+    if (minCapacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) minCapacity - 1) << 1);
+  }
+
+  private void allocate(final int capacity) {
+    hashes = new int[capacity];
+    lefts = new Object[capacity];
+    middles = new Object[capacity];
+    rights = new Object[capacity];
+    values = new Object[capacity];
+    threshold = capacity == MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY - 1 : capacity / 4 * 3;
+  }
+
+  /**
+   * Finds the slot of a key.
+   *
+   * @return the slot, or -1 if the key is absent
+   */
+  private int find(final Object left, final Object middle, final Object right, final int hash) {
+    final int[] hashes = this.hashes;
+    final int mask = hashes.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      final int h = hashes[slot];
+      if (h == 0) {
+        return -1;
+      }
+      if (h == hash && Objects.equals(lefts[slot], left) && Objects.equals(middles[slot], middle) && Objects.equals(rights[slot], right)) {
+        return slot;
+      }
+    }
+  }
+
+  private void insert(final Object left, final Object middle, final Object right, final int hash, final Object value) {
+    if (size >= threshold) {
+      if (hashes.length == MAXIMUM_CAPACITY) {
+        throw new IllegalStateException("Map full: " + size);
+      }
+      resize();
+    }
+    final int mask = hashes.length - 1;
+    int slot = hash & mask;
+    while (hashes[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    hashes[slot] = hash;
+    lefts[slot] = left;
+    middles[slot] = middle;
+    rights[slot] = right;
+    values[slot] = value;
+    size++;
+    modCount++;
+  }
+
+  private void resize() {
+    final int[] oldHashes = hashes;
+    final Object[] oldLefts = lefts;
+    final Object[] oldMiddles = middles;
+    final Object[] oldRights = rights;
+    final Object[] oldValues = values;
+    allocate(oldHashes.length << 1);
+    final int mask = hashes.length - 1;
+    for (int oldSlot = 0; oldSlot < oldHashes.length; oldSlot++) {
+      final int hash = oldHashes[oldSlot];
+      if (hash == 0) {
+        continue;
+      }
+      int slot = hash & mask;
+      while (hashes[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      hashes[slot] = hash;
+      lefts[slot] = oldLefts[oldSlot];
+      middles[slot] = oldMiddles[oldSlot];
+      rights[slot] = oldRights[oldSlot];
+      values[slot] = oldValues[oldSlot];
+    }
+  }
+
+  /**
+   * Empties a slot, shifting back the following entries of the probe sequence
+   * which would not be found anymore.
+   */
+  private void delete(int slot) {
+    final int mask = hashes.length - 1;
+    for (int next = (slot + 1) & mask; hashes[next] != 0; next = (next + 1) & mask) {
+      final int home = hashes[next] & mask;
+      // the entry stays if its home is cyclically in (slot, next]
+      if (slot <= next ? slot < home && home <= next : slot < home || home <= next) {
+        continue;
+      }
+      hashes[slot] = hashes[next];
+      lefts[slot] = lefts[next];
+      middles[slot] = middles[next];
+      rights[slot] = rights[next];
+      values[slot] = values[next];
+      slot = next;
+    }
+    hashes[slot] = 0;
+    lefts[slot] = null;
+    middles[slot] = null;
+    rights[slot] = null;
+    values[slot] = null;
+    size--;
+    modCount++;
+  }
+
+  /**
+   * A function of the three elements of a key, the counterpart of the
+   * {@link java.util.function.BiFunction} taken by {@link PairKeyedMap}.
+   *
+   * @param <L> the left element type
+   * @param <M> the middle element type
+   * @param <R> the right element type
+   * @param <V> the value type
+   */
+  @FunctionalInterface
+  public interface KeyFunction<L, M, R, V> {
+
+    V apply(L left, M middle, R right);
+
+  }
+
+  /**
+   * Iterates over the slots starting after an empty slot, as in {@link PairKeyedMap}.
+   */
+  private abstract class SlotIterator<E> implements Iterator<E> {
+
+    private final int start;
+    private       int offset;
+    private       int last = -1;
+    private       int remaining = size;
+    private       int expectedModCount = modCount;
+
+    SlotIterator() {
+      int empty = 0;
+      while (hashes[empty] != 0) {
+        empty++;
+      }
+      start = empty + 1;
+    }
+
+    abstract E at(int slot);
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public E next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      final int mask = hashes.length - 1;
+      int slot;
+      do {
+        slot = (start + offset++) & mask;
+      } while (hashes[slot] == 0);
+      last = offset - 1;
+      remaining--;
+      return at(slot);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      delete((start + last) & (hashes.length - 1));
+      // the slot may now hold an entry not visited yet
+      offset = last;
+      last = -1;
+      expectedModCount = modCount;
+    }
+
+  }
+
+}
@@ -0,0 +1,529 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A resizable list of triples stored column by column, in three parallel arrays
+ * of left, middle and right elements.
+ *
+ * <p>
+ * Compared to a {@code List<Triple>}, no Triple object is kept per element, which saves
+ * an object header and a reference per element and keeps the elements of one column
+ * next to each other in memory. Triples are only created by {@link #get(int)}; use the
+ * column accessors such as {@link #getLeft(int)}, or a reusable {@link View}, to read
+ * the elements without allocating.
+ * </p>
+ *
+ * <p>
+ * This is the preferred container to return many triples from a method.
+ * Like {@link ArrayList}, it is not thread-safe.
+ * </p>
+ *
+ * @param <L> the left element type
+ * @param <M> the middle element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class TripleList<L, M, R> extends AbstractList<Triple<L, M, R>> implements RandomAccess, Serializable {
+
+  /**
+   * Serialization version
+   */
+  private static final long serialVersionUID = 1640189211058404340L;
+
+  private static final int DEFAULT_CAPACITY = 10;
+
+  private static final Object[] EMPTY_OBJECT = {};
+
+  /**
+   * Creates a list from a collection of triples.
+   *
+   * @param triples the triples to copy, not null, the triples themselves can be null
+   *
+   * @return a new list of the same elements, in the same order
+   */
+  public static <L, M, R> TripleList<L, M, R> copyOf(final Collection<? extends Triple<? extends L, ? extends M, ? extends R>> triples) {
+    final TripleList<L, M, R> list = new TripleList<>(triples.size());
+    for (Triple<? extends L, ? extends M, ? extends R> triple : triples) {
+      if (triple != null) {
+        list.add(triple.left, triple.middle, triple.right);
+      } else {
+        list.add(null, null, null);
+      }
+    }
+    return list;
+  }
+
+  private Object[] lefts;
+  private Object[] middles;
+  private Object[] rights;
+  private int      size;
+
+  /**
+   * Create an empty list.
+   */
+  public TripleList() {
+    lefts = EMPTY_OBJECT;
+    middles = EMPTY_OBJECT;
+    rights = EMPTY_OBJECT;
+  }
+
+  /**
+   * Create an empty list with the specified initial capacity.
+   *
+   * @param initialCapacity the initial capacity of the list
+   *
+   * @throws IllegalArgumentException if the specified initial capacity is negative
+   */
+  public TripleList(final int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    lefts = initialCapacity == 0 ? EMPTY_OBJECT : new Object[initialCapacity];
+    middles = initialCapacity == 0 ? EMPTY_OBJECT : new Object[initialCapacity];
+    rights = initialCapacity == 0 ? EMPTY_OBJECT : new Object[initialCapacity];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the element at the specified position as a new triple.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public Triple<L, M, R> get(final int index) {
+    checkIndex(index);
+    return Triple.of((L) lefts[index], (M) middles[index], (R) rights[index]);
+  }
+
+  @SuppressWarnings("unchecked")
+  public L getLeft(final int index) {
+    checkIndex(index);
+    return (L) lefts[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  public M getMiddle(final int index) {
+    checkIndex(index);
+    return (M) middles[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  public R getRight(final int index) {
+    checkIndex(index);
+    return (R) rights[index];
+  }
+
+  @Override
+  public Triple<L, M, R> set(final int index, final Triple<L, M, R> element) {
+    final Triple<L, M, R> old = get(index);
+    lefts[index] = element.getLeft();
+    middles[index] = element.getMiddle();
+    rights[index] = element.getRight();
+    return old;
+  }
+
+  /**
+   * Replaces the elements at the specified position.
+   */
+  public void set(final int index, final L left, final M middle, final R right) {
+    checkIndex(index);
+    lefts[index] = left;
+    middles[index] = middle;
+    rights[index] = right;
+  }
+
+  /**
+   * Replaces the left element at the specified position.
+   *
+   * @return the previous left element
+   */
+  public L setLeft(final int index, final L left) {
+    final L old = getLeft(index);
+    lefts[index] = left;
+    return old;
+  }
+
+  /**
+   * Replaces the middle element at the specified position.
+   *
+   * @return the previous middle element
+   */
+  public M setMiddle(final int index, final M middle) {
+    final M old = getMiddle(index);
+    middles[index] = middle;
+    return old;
+  }
+
+  /**
+   * Replaces the right element at the specified position.
+   *
+   * @return the previous right element
+   */
+  public R setRight(final int index, final R right) {
+    final R old = getRight(index);
+    rights[index] = right;
+    return old;
+  }
+
+  @Override
+  public boolean add(final Triple<L, M, R> element) {
+    add(element.getLeft(), element.getMiddle(), element.getRight());
+    return true;
+  }
+
+  /**
+   * Appends the elements to the end of this list.
+   */
+  public void add(final L left, final M middle, final R right) {
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    lefts[size] = left;
+    middles[size] = middle;
+    rights[size] = right;
+    size++;
+  }
+
+  @Override
+  public void add(final int index, final Triple<L, M, R> element) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+    modCount++;
+    if (size == lefts.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(lefts, index, lefts, index + 1, size - index);
+    System.arraycopy(middles, index, middles, index + 1, size - index);
+    System.arraycopy(rights, index, rights, index + 1, size - index);
+    lefts[index] = element.getLeft();
+    middles[index] = element.getMiddle();
+    rights[index] = element.getRight();
+    size++;
+  }
+
+  @Override
+  public Triple<L, M, R> remove(final int index) {
+    final Triple<L, M, R> old = get(index);
+    modCount++;
+    final int moved = size - index - 1;
+    System.arraycopy(lefts, index + 1, lefts, index, moved);
+    System.arraycopy(middles, index + 1, middles, index, moved);
+    System.arraycopy(rights, index + 1, rights, index, moved);
+    size--;
+    // clear to let GC do its work
+    lefts[size] = null;
+    middles[size] = null;
+    rights[size] = null;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    modCount++;
+    Arrays.fill(lefts, 0, size, null);
+    Arrays.fill(middles, 0, size, null);
+    Arrays.fill(rights, 0, size, null);
+    size = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean addAll(final Collection<? extends Triple<L, M, R>> c) {
+    if (c instanceof TripleList) {
+      // a TripleList holding subtypes of Triple<L, M, R> can only be a TripleList<L, M, R>
+      return addAll((TripleList<L, M, R>) c);
+    }
+    ensureCapacity(size + c.size());
+    for (Triple<L, M, R> element : c) {
+      add(element);
+    }
+    return !c.isEmpty();
+  }
+
+  /**
+   * Appends all the elements of another list, column by column.
+   *
+   * @param other the list to append, not null
+   *
+   * @return whether this list changed
+   */
+  public boolean addAll(final TripleList<L, M, R> other) {
+    final int count = other.size;
+    if (count == 0) {
+      return false;
+    }
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(other.lefts, 0, lefts, size, count);
+    System.arraycopy(other.middles, 0, middles, size, count);
+    System.arraycopy(other.rights, 0, rights, size, count);
+    size += count;
+    return true;
+  }
+
+  /**
+   * Appends the elements of parallel arrays, column by column.
+   *
+   * @param lefts   the left elements
+   * @param middles the middle elements
+   * @param rights  the right elements
+   *
+   * @throws IllegalArgumentException if the arrays do not have the same length
+   */
+  public void addAll(final L[] lefts, final M[] middles, final R[] rights) {
+    if (middles.length != lefts.length || rights.length != lefts.length) {
+      throw new IllegalArgumentException("Arrays must have the same length");
+    }
+    final int count = lefts.length;
+    modCount++;
+    ensureCapacity(size + count);
+    System.arraycopy(lefts, 0, this.lefts, size, count);
+    System.arraycopy(middles, 0, this.middles, size, count);
+    System.arraycopy(rights, 0, this.rights, size, count);
+    size += count;
+  }
+
+  /**
+   * Copies a range of the left elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getLefts(final int srcIndex, final L[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(lefts, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the left elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setLefts(final int destIndex, final L[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, lefts, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the middle elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getMiddles(final int srcIndex, final M[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(middles, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the middle elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setMiddles(final int destIndex, final M[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, middles, destIndex, length);
+  }
+
+  /**
+   * Copies a range of the right elements into an array.
+   *
+   * @param srcIndex  the position of the first element to copy
+   * @param dest      the destination array
+   * @param destIndex the starting position in the destination array
+   * @param length    the number of elements to copy
+   */
+  public void getRights(final int srcIndex, final R[] dest, final int destIndex, final int length) {
+    checkRange(srcIndex, length);
+    System.arraycopy(rights, srcIndex, dest, destIndex, length);
+  }
+
+  /**
+   * Replaces a range of the right elements with the content of an array.
+   *
+   * @param destIndex the position of the first element to replace
+   * @param src       the source array
+   * @param srcIndex  the starting position in the source array
+   * @param length    the number of elements to replace
+   */
+  public void setRights(final int destIndex, final R[] src, final int srcIndex, final int length) {
+    checkRange(destIndex, length);
+    System.arraycopy(src, srcIndex, rights, destIndex, length);
+  }
+
+  /**
+   * Converts this list to a list of triples.
+   *
+   * @return a new {@link ArrayList} of triples, in the same order
+   */
+  public List<Triple<L, M, R>> toList() {
+    return new ArrayList<>(this);
+  }
+
+  /**
+   * Returns a flyweight view of the element at the specified position.
+   *
+   * @param index the position of the element
+   *
+   * @return a view that can be moved to other positions with {@link View#moveTo(int)}
+   */
+  public View<L, M, R> view(final int index) {
+    checkIndex(index);
+    return new View<>(this, index);
+  }
+
+  /**
+   * Increases the capacity of this list, if necessary, to hold at least
+   * the specified number of elements.
+   *
+   * @param minCapacity the desired minimum capacity
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity > lefts.length) {
+      modCount++;
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Trims the capacity of this list to its current size.
+   */
+  public void trimToSize() {
+    if (size < lefts.length) {
+      modCount++;
+      lefts = Arrays.copyOf(lefts, size);
+      middles = Arrays.copyOf(middles, size);
+      rights = Arrays.copyOf(rights, size);
+    }
+  }
+
+  private void grow(final int minCapacity) {
+    final int oldCapacity = lefts.length;
+    int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+    if (newCapacity < minCapacity) {
+      newCapacity = minCapacity;
+    }
+    lefts = Arrays.copyOf(lefts, newCapacity);
+    middles = Arrays.copyOf(middles, newCapacity);
+    rights = Arrays.copyOf(rights, newCapacity);
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+  }
+
+  private void checkRange(final int index, final int length) {
+    if (index < 0 || length < 0 || index > size - length) {
+      throw new IndexOutOfBoundsException("Range [" + index + ", " + index + " + " + length + ") out of bounds for size " + size);
+    }
+  }
+
+  private String outOfBoundsMsg(final int index) {
+    return "Index: " + index + ", Size: " + size;
+  }
+
+  /**
+   * A mutable view of one position of a {@link TripleList}, reading and writing
+   * the columns of the list directly.
+   *
+   * <p>
+   * A view behaves as a triple of the elements at its current position, and it can be
+   * moved over the list to read many elements with a single object. It must not be used
+   * after the list is structurally modified.
+   * </p>
+   */
+  public static final class View<L, M, R> extends Tri<L, M, R> {
+
+    /**
+     * Serialization version
+     */
+    private static final long serialVersionUID = -7822675397290195852L;
+
+    private final TripleList<L, M, R> list;
+    private int index;
+
+    View(final TripleList<L, M, R> list, final int index) {
+      this.list = list;
+      this.index = index;
+    }
+
+    /**
+     * Gets the position of this view in the list.
+     *
+     * @return the current position
+     */
+    public int index() {
+      return index;
+    }
+
+    /**
+     * Moves this view to another position of the list.
+     *
+     * @param index the new position
+     *
+     * @return this view
+     */
+    public View<L, M, R> moveTo(final int index) {
+      list.checkIndex(index);
+      this.index = index;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public L getLeft() {
+      return (L) list.lefts[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public M getMiddle() {
+      return (M) list.middles[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R getRight() {
+      return (R) list.rights[index];
+    }
+
+    public void setLeft(final L left) {
+      list.lefts[index] = left;
+    }
+
+    public void setMiddle(final M middle) {
+      list.middles[index] = middle;
+    }
+
+    public void setRight(final R right) {
+      list.rights[index] = right;
+    }
+
+  }
+
+}
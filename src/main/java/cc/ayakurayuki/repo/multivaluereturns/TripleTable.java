@@ -0,0 +1,340 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent set of triples indexed by each of their elements and by each two of them.
+ *
+ * <pre>
+ * TripleTable&lt;String, String, String&gt; graph = new TripleTable&lt;&gt;();
+ * graph.add("alice", "knows", "bob");
+ *
+ * graph.byLeftMiddle("alice", "knows");  // whom alice knows
+ * graph.byMiddleRight("knows", "bob");   // who knows bob
+ * graph.find(null, "knows", null);       // null matches any element
+ * </pre>
+ *
+ * <p>
+ * A lookup by one, two or three elements reads a single hash index, so it takes
+ * a time proportional to the number of matches instead of a scan of the table.
+ * The returned sets are unmodifiable live views of the index, until all of their
+ * triples are removed: the emptied index entry is dropped, and the triples added
+ * afterwards go to a new entry.
+ * </p>
+ *
+ * <p>
+ * Lookups never lock and can run during updates. An update of a triple locks one
+ * of a fixed set of stripes chosen by its hash, so updates of different triples
+ * mostly run in parallel. An update is not atomic to lookups: a lookup running
+ * during the addition or the removal of a triple may or may not see it, and the
+ * lookups of two indexes may disagree until the update completes. Iterators are
+ * weakly consistent, as those of {@link ConcurrentHashMap}.
+ * </p>
+ *
+ * <p>
+ * The triples and the buckets of the indexes are keyed by {@link TripleKey}, whose
+ * mixed hash keeps patterns such as {@code (x,x,y)} or permutations apart, where
+ * the {@code ^} based hash of {@link Triple} would put them in the same bin.
+ * </p>
+ *
+ * <p>Elements cannot be null.</p>
+ *
+ * @param <L> the left element type
+ * @param <M> the middle element type
+ * @param <R> the right element type
+ *
+ * @author Ayakura Yuki
+ */
+public class TripleTable<L, M, R> implements Iterable<Triple<L, M, R>> {
+
+  /**
+   * Number of update locks, a power of two
+   */
+  private static final int STRIPES = 64;
+
+  private final TripleSet<L, M, R> triples = new TripleSet<>();
+
+  private final ConcurrentMap<L, TripleSet<L, M, R>> byLeft   = new ConcurrentHashMap<>();
+  private final ConcurrentMap<M, TripleSet<L, M, R>> byMiddle = new ConcurrentHashMap<>();
+  private final ConcurrentMap<R, TripleSet<L, M, R>> byRight  = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<PairKey<L, M>, TripleSet<L, M, R>> byLeftMiddle  = new ConcurrentHashMap<>();
+  private final ConcurrentMap<PairKey<L, R>, TripleSet<L, M, R>> byLeftRight   = new ConcurrentHashMap<>();
+  private final ConcurrentMap<PairKey<M, R>, TripleSet<L, M, R>> byMiddleRight = new ConcurrentHashMap<>();
+
+  private final Object[] locks = new Object[STRIPES];
+
+  public TripleTable() {
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Adds a triple.
+   *
+   * @param left   the left element, not null
+   * @param middle the middle element, not null
+   * @param right  the right element, not null
+   *
+   * @return true if the table did not contain the triple
+   *
+   * @throws NullPointerException if an element is null
+   */
+  public boolean add(final L left, final M middle, final R right) {
+    return add(Triple.of(left, middle, right));
+  }
+
+  /**
+   * Adds a triple.
+   *
+   * @param triple the triple, not null, with no null element
+   *
+   * @return true if the table did not contain the triple
+   *
+   * @throws NullPointerException if the triple or one of its elements is null
+   */
+  public boolean add(final Triple<L, M, R> triple) {
+    final L left = Objects.requireNonNull(triple.left, "left");
+    final M middle = Objects.requireNonNull(triple.middle, "middle");
+    final R right = Objects.requireNonNull(triple.right, "right");
+    synchronized (lock(left, middle, right)) {
+      if (!triples.add(triple)) {
+        return false;
+      }
+      index(byLeft, left, triple);
+      index(byMiddle, middle, triple);
+      index(byRight, right, triple);
+      index(byLeftMiddle, PairKey.of(left, middle), triple);
+      index(byLeftRight, PairKey.of(left, right), triple);
+      index(byMiddleRight, PairKey.of(middle, right), triple);
+      return true;
+    }
+  }
+
+  /**
+   * Removes a triple.
+   *
+   * @return true if the table contained the triple
+   */
+  public boolean remove(final L left, final M middle, final R right) {
+    if (left == null || middle == null || right == null) {
+      return false;
+    }
+    final Triple<L, M, R> triple = Triple.of(left, middle, right);
+    synchronized (lock(left, middle, right)) {
+      if (!triples.remove(triple)) {
+        return false;
+      }
+      unindex(byLeft, left, triple);
+      unindex(byMiddle, middle, triple);
+      unindex(byRight, right, triple);
+      unindex(byLeftMiddle, PairKey.of(left, middle), triple);
+      unindex(byLeftRight, PairKey.of(left, right), triple);
+      unindex(byMiddleRight, PairKey.of(middle, right), triple);
+      return true;
+    }
+  }
+
+  /**
+   * Removes a triple.
+   *
+   * @return true if the table contained the triple
+   */
+  public boolean remove(final Triple<L, M, R> triple) {
+    return remove(triple.left, triple.middle, triple.right);
+  }
+
+  /**
+   * Removes all the triples.
+   */
+  public void clear() {
+    for (final Triple<L, M, R> triple : triples) {
+      remove(triple);
+    }
+  }
+
+  public boolean contains(final L left, final M middle, final R right) {
+    return left != null && middle != null && right != null && triples.contains(left, middle, right);
+  }
+
+  public int size() {
+    return triples.size();
+  }
+
+  public boolean isEmpty() {
+    return triples.isEmpty();
+  }
+
+  /**
+   * Gets the triples of a left element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byLeft(final L left) {
+    return left == null ? Collections.emptySet() : view(byLeft.get(left));
+  }
+
+  /**
+   * Gets the triples of a middle element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byMiddle(final M middle) {
+    return middle == null ? Collections.emptySet() : view(byMiddle.get(middle));
+  }
+
+  /**
+   * Gets the triples of a right element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byRight(final R right) {
+    return right == null ? Collections.emptySet() : view(byRight.get(right));
+  }
+
+  /**
+   * Gets the triples of a left and a middle element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byLeftMiddle(final L left, final M middle) {
+    return left == null || middle == null ? Collections.emptySet() : view(byLeftMiddle.get(PairKey.of(left, middle)));
+  }
+
+  /**
+   * Gets the triples of a left and a right element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byLeftRight(final L left, final R right) {
+    return left == null || right == null ? Collections.emptySet() : view(byLeftRight.get(PairKey.of(left, right)));
+  }
+
+  /**
+   * Gets the triples of a middle and a right element.
+   *
+   * @return an unmodifiable live view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> byMiddleRight(final M middle, final R right) {
+    return middle == null || right == null ? Collections.emptySet() : view(byMiddleRight.get(PairKey.of(middle, right)));
+  }
+
+  /**
+   * Gets the triples matching a pattern, from the index of its non-null elements.
+   *
+   * @param left   the left element, or null to match any
+   * @param middle the middle element, or null to match any
+   * @param right  the right element, or null to match any
+   *
+   * @return an unmodifiable view of the matching triples, not null
+   */
+  public Set<Triple<L, M, R>> find(final L left, final M middle, final R right) {
+    if (left != null) {
+      if (middle != null) {
+        if (right != null) {
+          return contains(left, middle, right) ? Collections.singleton(Triple.of(left, middle, right)) : Collections.emptySet();
+        }
+        return byLeftMiddle(left, middle);
+      }
+      return right != null ? byLeftRight(left, right) : byLeft(left);
+    }
+    if (middle != null) {
+      return right != null ? byMiddleRight(middle, right) : byMiddle(middle);
+    }
+    return right != null ? byRight(right) : Collections.unmodifiableSet(triples);
+  }
+
+  /**
+   * Iterates over all the triples, weakly consistent and unmodifiable.
+   */
+  @Override
+  public Iterator<Triple<L, M, R>> iterator() {
+    return Collections.unmodifiableSet(triples).iterator();
+  }
+
+  @Override
+  public String toString() {
+    return triples.toString();
+  }
+
+  private Object lock(final Object left, final Object middle, final Object right) {
+    return locks[Hashing.hash(left, middle, right) & (STRIPES - 1)];
+  }
+
+  /**
+   * Adds a triple to the bucket of a key, creating the bucket atomically.
+   */
+  private static <K, L, M, R> void index(final ConcurrentMap<K, TripleSet<L, M, R>> index, final K key, final Triple<L, M, R> triple) {
+    index.compute(key, (k, bucket) -> {
+      final TripleSet<L, M, R> set = bucket != null ? bucket : new TripleSet<>();
+      set.add(triple);
+      return set;
+    });
+  }
+
+  /**
+   * Removes a triple from the bucket of a key, dropping the bucket atomically once empty.
+   */
+  private static <K, L, M, R> void unindex(final ConcurrentMap<K, TripleSet<L, M, R>> index, final K key, final Triple<L, M, R> triple) {
+    index.computeIfPresent(key, (k, bucket) -> {
+      bucket.remove(triple);
+      return bucket.isEmpty() ? null : bucket;
+    });
+  }
+
+  private static <L, M, R> Set<Triple<L, M, R>> view(final TripleSet<L, M, R> bucket) {
+    return bucket == null ? Collections.emptySet() : Collections.unmodifiableSet(bucket);
+  }
+
+  /**
+   * A concurrent set of triples hashed by their {@link TripleKey}, holding the
+   * added triples themselves.
+   */
+  private static final class TripleSet<L, M, R> extends AbstractSet<Triple<L, M, R>> {
+
+    private final ConcurrentHashMap<TripleKey<L, M, R>, Triple<L, M, R>> map = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean add(final Triple<L, M, R> triple) {
+      return map.putIfAbsent(TripleKey.of(triple), triple) == null;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+      return o instanceof Triple && map.remove(TripleKey.of((Triple<?, ?, ?>) o)) != null;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+      return o instanceof Triple && map.containsKey(TripleKey.of((Triple<?, ?, ?>) o));
+    }
+
+    boolean contains(final Object left, final Object middle, final Object right) {
+      return map.containsKey(TripleKey.of(left, middle, right));
+    }
+
+    @Override
+    public Iterator<Triple<L, M, R>> iterator() {
+      return map.values().iterator();
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return map.isEmpty();
+    }
+
+  }
+
+}
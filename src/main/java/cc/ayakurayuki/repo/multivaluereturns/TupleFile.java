@@ -0,0 +1,607 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * A persistent, memory-mapped file of primitive pairs or triples.
+ *
+ * <p>
+ * The file is columnar: all the left elements, then all the middle elements, then
+ * all the right elements. Opening a file only reads and validates its header and
+ * maps the columns with {@link FileChannel#map}, so the cost does not depend on the
+ * size of the file, and every element is read in place by index, without copy nor
+ * deserialization.
+ * </p>
+ *
+ * <p>
+ * File format, all values are little-endian:
+ * </p>
+ *
+ * <pre>
+ *   offset  0: int     magic, "MVRT" in ASCII
+ *   offset  4: int     format version, 1
+ *   offset  8: int     arity, 2 for pairs or 3 for triples
+ *   offset 12: byte[4] element type of each column, 1 = int, 2 = long, 3 = double, 0 = none
+ *   offset 16: long    number of records
+ *   offset 24: int[3]  CRC32C of the data of each column, 0 for the missing column of pairs
+ *   offset 36: byte[24] reserved, zeros
+ *   offset 60: int     CRC32C of the bytes 0 to 59 of the header
+ *   offset 64: data of the first column, then the data of the next columns,
+ *              each column starting at a multiple of 8 bytes
+ * </pre>
+ *
+ * <p>
+ * The header checksum is checked on {@link #open(Path)}. Checking the data checksums
+ * reads the whole file, so it is left to {@link #verify()}.
+ * </p>
+ *
+ * <p>
+ * Files are written sequentially by a {@link Writer}, see {@link #writer(Path, Type...)}.
+ * </p>
+ *
+ * <p>
+ * {@link #close()} drops the mapping and leaves the unmapping to the garbage
+ * collector, so a read racing with it at worst throws an {@link IllegalStateException}.
+ * {@link #closeAndUnmap()} unmaps the file at once, for when the mapping must not
+ * outlive the file, such as before deleting it on Windows.
+ * <b>Touching unmapped memory is not an exception but a crash of the whole JVM</b>:
+ * it is only safe once no other thread can read the file anymore.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class TupleFile implements AutoCloseable {
+
+  /**
+   * "MVRT" read as a little-endian int.
+   */
+  static final int MAGIC         = 0x5452564d;
+  static final int VERSION       = 1;
+  static final int HEADER_SIZE   = 64;
+  static final int HEADER_CRC_AT = 60;
+  static final int SEGMENT_SHIFT = 30;
+  static final int SEGMENT_BYTES = 1 << SEGMENT_SHIFT;
+  static final int SEGMENT_MASK  = SEGMENT_BYTES - 1;
+
+  /**
+   * Type of the elements of a column.
+   */
+  public enum Type {
+    INT(1, Integer.BYTES),
+    LONG(2, Long.BYTES),
+    DOUBLE(3, Double.BYTES);
+
+    final byte code;
+    final int  width;
+
+    Type(final int code, final int width) {
+      this.code = (byte) code;
+      this.width = width;
+    }
+
+    static Type of(final byte code) throws IOException {
+      for (Type type : values()) {
+        if (type.code == code) {
+          return type;
+        }
+      }
+      throw new IOException("Unknown column type: " + code);
+    }
+  }
+
+  /**
+   * Opens a file and maps its columns.
+   *
+   * @param path the file to open
+   *
+   * @return an open file, to be closed after use
+   *
+   * @throws IOException if the file cannot be read, or is not a valid tuple file
+   */
+  public static TupleFile open(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Truncated header: " + path);
+        }
+      }
+      header.flip();
+      if (header.getInt(0) != MAGIC) {
+        throw new IOException("Not a tuple file: " + path);
+      }
+      final CRC32C crc = new CRC32C();
+      crc.update(header.array(), 0, HEADER_CRC_AT);
+      if ((int) crc.getValue() != header.getInt(HEADER_CRC_AT)) {
+        throw new IOException("Header checksum mismatch: " + path);
+      }
+      if (header.getInt(4) != VERSION) {
+        throw new IOException("Unsupported version " + header.getInt(4) + ": " + path);
+      }
+      final int arity = header.getInt(8);
+      if (arity != 2 && arity != 3) {
+        throw new IOException("Illegal arity " + arity + ": " + path);
+      }
+      final Type[] types = new Type[arity];
+      final int[] checksums = new int[arity];
+      for (int i = 0; i < arity; i++) {
+        types[i] = Type.of(header.get(12 + i));
+        checksums[i] = header.getInt(24 + i * Integer.BYTES);
+      }
+      final long size = header.getLong(16);
+      if (size < 0) {
+        throw new IOException("Illegal size " + size + ": " + path);
+      }
+      final long[] offsets = columnOffsets(types, size);
+      final long expected = offsets[arity - 1] + size * types[arity - 1].width;
+      if (channel.size() < expected) {
+        throw new IOException("Truncated data, expected " + expected + " bytes but got " + channel.size() + ": " + path);
+      }
+      final ByteBuffer[][] columns = new ByteBuffer[arity][];
+      for (int i = 0; i < arity; i++) {
+        columns[i] = map(channel, offsets[i], size * types[i].width);
+      }
+      return new TupleFile(path, types, checksums, size, columns);
+    }
+  }
+
+  /**
+   * Creates a writer of a new file, replacing any existing file.
+   *
+   * @param path  the file to write
+   * @param types the element types of the 2 or 3 columns, from left to right
+   *
+   * @return a writer, that must be closed to complete the file
+   *
+   * @throws IOException if the file cannot be created
+   */
+  public static Writer writer(final Path path, final Type... types) throws IOException {
+    if (types.length != 2 && types.length != 3) {
+      throw new IllegalArgumentException("A tuple file has 2 or 3 columns, got " + types.length);
+    }
+    return new Writer(path, types.clone());
+  }
+
+  static long[] columnOffsets(final Type[] types, final long size) {
+    final long[] offsets = new long[types.length];
+    long offset = HEADER_SIZE;
+    for (int i = 0; i < types.length; i++) {
+      offsets[i] = offset;
+      offset = align(offset + size * types[i].width);
+    }
+    return offsets;
+  }
+
+  static long align(final long offset) {
+    return (offset + 7) & ~7L;
+  }
+
+  private static ByteBuffer[] map(final FileChannel channel, final long offset, final long length) throws IOException {
+    final ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+    for (int i = 0; i < segments.length; i++) {
+      final long start = (long) i << SEGMENT_SHIFT;
+      segments[i] = channel.map(MapMode.READ_ONLY, offset + start, Math.min(SEGMENT_BYTES, length - start))
+          .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return segments;
+  }
+
+  private final Path           path;
+  private final Type[]         types;
+  private final int[]          checksums;
+  private final long           size;
+  /**
+   * The mapped segments of each column, null once closed
+   */
+  private volatile ByteBuffer[][] columns;
+
+  private TupleFile(final Path path, final Type[] types, final int[] checksums, final long size, final ByteBuffer[][] columns) {
+    this.path = path;
+    this.types = types;
+    this.checksums = checksums;
+    this.size = size;
+    this.columns = columns;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return 2 for pairs, 3 for triples
+   */
+  public int arity() {
+    return types.length;
+  }
+
+  /**
+   * Gets the element type of a column.
+   *
+   * @param column the column, from 0 for the left elements
+   *
+   * @return the type of the elements of the column
+   */
+  public Type type(final int column) {
+    return types[column];
+  }
+
+  /**
+   * Gets the number of records.
+   *
+   * @return the number of pairs or triples in the file
+   */
+  public long size() {
+    return size;
+  }
+
+  public int getInt(final int column, final long index) {
+    final ByteBuffer[] segments = segments(column);
+    final long offset = position(column, index, Type.INT);
+    return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+  }
+
+  public long getLong(final int column, final long index) {
+    final ByteBuffer[] segments = segments(column);
+    final long offset = position(column, index, Type.LONG);
+    return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+  }
+
+  public double getDouble(final int column, final long index) {
+    final ByteBuffer[] segments = segments(column);
+    final long offset = position(column, index, Type.DOUBLE);
+    return segments[(int) (offset >>> SEGMENT_SHIFT)].getDouble((int) (offset & SEGMENT_MASK));
+  }
+
+  /**
+   * Reads the elements of a record as a pair of boxed numbers.
+   *
+   * @param index the index of the record
+   *
+   * @return a new pair of the first two elements of the record
+   */
+  public Pair<Number, Number> getPair(final long index) {
+    return Pair.of(get(0, index), get(1, index));
+  }
+
+  /**
+   * Reads the elements of a record as a triple of boxed numbers.
+   *
+   * @param index the index of the record
+   *
+   * @return a new triple of the elements of the record
+   *
+   * @throws IllegalStateException if the file holds pairs
+   */
+  public Triple<Number, Number, Number> getTriple(final long index) {
+    if (types.length != 3) {
+      throw new IllegalStateException("Not a triple file: " + path);
+    }
+    return Triple.of(get(0, index), get(1, index), get(2, index));
+  }
+
+  private Number get(final int column, final long index) {
+    switch (types[column]) {
+      case INT:
+        return getInt(column, index);
+      case LONG:
+        return getLong(column, index);
+      default:
+        return getDouble(column, index);
+    }
+  }
+
+  /**
+   * Reads all the data of the file and checks it against the checksums of the header.
+   *
+   * @throws IOException if a checksum does not match
+   */
+  public void verify() throws IOException {
+    for (int i = 0; i < types.length; i++) {
+      final CRC32C crc = new CRC32C();
+      for (ByteBuffer segment : segments(i)) {
+        crc.update(segment.duplicate());
+      }
+      if ((int) crc.getValue() != checksums[i]) {
+        throw new IOException("Checksum mismatch in column " + i + ": " + path);
+      }
+    }
+  }
+
+  /**
+   * Closes the file, the garbage collector unmapping it once no read is in
+   * progress. Reading the file after it is closed throws an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    columns = null;
+  }
+
+  /**
+   * Closes the file and unmaps it at once, instead of waiting for the garbage collector.
+   *
+   * <p>
+   * <b>Any read of the file by another thread, concurrent with or after this call,
+   * can crash the JVM</b> with a segmentation fault instead of throwing an
+   * exception, as it may touch memory which is no longer mapped. Only call it once
+   * all the readers are done, or use {@link #close()}.
+   * </p>
+   */
+  public void closeAndUnmap() {
+    final ByteBuffer[][] mapped = columns;
+    if (mapped == null) {
+      return;
+    }
+    columns = null;
+    for (ByteBuffer[] segments : mapped) {
+      DirectBuffers.free(segments);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TupleFile(" + path + ", " + size + " records)";
+  }
+
+  private ByteBuffer[] segments(final int column) {
+    final ByteBuffer[][] mapped = columns;
+    if (mapped == null) {
+      throw new IllegalStateException("File has been closed: " + path);
+    }
+    return mapped[column];
+  }
+
+  private long position(final int column, final long index, final Type type) {
+    if (types[column] != type) {
+      throw new IllegalArgumentException("Column " + column + " holds " + types[column] + ", not " + type);
+    }
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index * type.width;
+  }
+
+  /**
+   * A sequential writer of a tuple file.
+   *
+   * <p>
+   * Records are written element by element, from left to right, with the put method
+   * of the type of each column; or at once with {@link #add(Map.Entry)} and
+   * {@link #add(Triple)}. The first column is streamed to the file, the other columns
+   * are streamed to temporary files next to it and appended on {@link #close()}, which
+   * then writes the header.
+   * </p>
+   */
+  public static final class Writer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path          path;
+    private final Type[]        types;
+    private final Path[]        files;
+    private final FileChannel[] channels;
+    private final ByteBuffer[]  buffers;
+    private final CRC32C[]      checksums;
+    private       long          size;
+    private       int           column;
+    private       boolean       closed;
+
+    Writer(final Path path, final Type[] types) throws IOException {
+      this.path = path;
+      this.types = types;
+      this.files = new Path[types.length];
+      this.channels = new FileChannel[types.length];
+      this.buffers = new ByteBuffer[types.length];
+      this.checksums = new CRC32C[types.length];
+      try {
+        channels[0] = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channels[0].position(HEADER_SIZE);
+        final Path dir = path.toAbsolutePath().getParent();
+        for (int i = 1; i < types.length; i++) {
+          files[i] = Files.createTempFile(dir, path.getFileName().toString(), ".col" + i);
+          channels[i] = FileChannel.open(files[i], StandardOpenOption.WRITE, StandardOpenOption.READ);
+        }
+      } catch (IOException e) {
+        try {
+          cleanup();
+        } catch (IOException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+        throw e;
+      }
+      for (int i = 0; i < types.length; i++) {
+        buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        checksums[i] = new CRC32C();
+      }
+    }
+
+    public Writer putInt(final int value) throws IOException {
+      buffer(Type.INT).putInt(value);
+      next();
+      return this;
+    }
+
+    public Writer putLong(final long value) throws IOException {
+      buffer(Type.LONG).putLong(value);
+      next();
+      return this;
+    }
+
+    public Writer putDouble(final double value) throws IOException {
+      buffer(Type.DOUBLE).putDouble(value);
+      next();
+      return this;
+    }
+
+    /**
+     * Writes a pair of numbers, converted to the types of the columns.
+     *
+     * @param pair the pair to write, its elements cannot be null
+     *
+     * @return this writer
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public Writer add(final Map.Entry<? extends Number, ? extends Number> pair) throws IOException {
+      if (types.length != 2) {
+        throw new IllegalStateException("Not a pair file: " + path);
+      }
+      put(pair.getKey());
+      return put(pair.getValue());
+    }
+
+    /**
+     * Writes a triple of numbers, converted to the types of the columns.
+     *
+     * @param triple the triple to write, its elements cannot be null
+     *
+     * @return this writer
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public Writer add(final Triple<? extends Number, ? extends Number, ? extends Number> triple) throws IOException {
+      if (types.length != 3) {
+        throw new IllegalStateException("Not a triple file: " + path);
+      }
+      put(triple.left);
+      put(triple.middle);
+      return put(triple.right);
+    }
+
+    /**
+     * Gets the number of records written so far.
+     *
+     * @return the number of complete records
+     */
+    public long size() {
+      return size;
+    }
+
+    /**
+     * Completes the file: appends the columns and writes the header.
+     *
+     * @throws IOException           if the file cannot be written
+     * @throws IllegalStateException if the last record is incomplete
+     */
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        if (column != 0) {
+          throw new IllegalStateException("Incomplete record, " + column + " of " + types.length + " elements written");
+        }
+        for (int i = 0; i < types.length; i++) {
+          flush(i);
+        }
+        final FileChannel out = channels[0];
+        final long[] offsets = columnOffsets(types, size);
+        for (int i = 1; i < types.length; i++) {
+          final FileChannel in = channels[i];
+          final long length = size * types[i].width;
+          long transferred = 0;
+          while (transferred < length) {
+            transferred += in.transferTo(transferred, length - transferred, out.position(offsets[i] + transferred));
+          }
+        }
+        final long end = offsets[types.length - 1] + size * types[types.length - 1].width;
+        if (align(end) > end) {
+          out.write(ByteBuffer.allocate((int) (align(end) - end)), end);
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, types.length);
+        for (int i = 0; i < types.length; i++) {
+          header.put(12 + i, types[i].code);
+          header.putInt(24 + i * Integer.BYTES, (int) checksums[i].getValue());
+        }
+        header.putLong(16, size);
+        final CRC32C crc = new CRC32C();
+        crc.update(header.array(), 0, HEADER_CRC_AT);
+        header.putInt(HEADER_CRC_AT, (int) crc.getValue());
+        while (header.hasRemaining()) {
+          out.write(header, header.position());
+        }
+        out.force(true);
+      } finally {
+        cleanup();
+      }
+    }
+
+    private Writer put(final Number value) throws IOException {
+      switch (types[column]) {
+        case INT:
+          return putInt(value.intValue());
+        case LONG:
+          return putLong(value.longValue());
+        default:
+          return putDouble(value.doubleValue());
+      }
+    }
+
+    private ByteBuffer buffer(final Type type) throws IOException {
+      if (closed) {
+        throw new IllegalStateException("Writer has been closed: " + path);
+      }
+      if (types[column] != type) {
+        throw new IllegalStateException("Column " + column + " holds " + types[column] + ", not " + type);
+      }
+      final ByteBuffer buffer = buffers[column];
+      if (buffer.remaining() < type.width) {
+        flush(column);
+      }
+      return buffer;
+    }
+
+    private void next() {
+      if (++column == types.length) {
+        column = 0;
+        size++;
+      }
+    }
+
+    private void flush(final int i) throws IOException {
+      final ByteBuffer buffer = buffers[i];
+      buffer.flip();
+      checksums[i].update(buffer.duplicate());
+      while (buffer.hasRemaining()) {
+        channels[i].write(buffer);
+      }
+      buffer.clear();
+    }
+
+    private void cleanup() throws IOException {
+      IOException failure = null;
+      for (int i = 0; i < types.length; i++) {
+        try {
+          if (channels[i] != null) {
+            channels[i].close();
+          }
+          if (files[i] != null) {
+            Files.deleteIfExists(files[i]);
+          }
+        } catch (IOException e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+      }
+      DirectBuffers.free(buffers);
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+  }
+
+}
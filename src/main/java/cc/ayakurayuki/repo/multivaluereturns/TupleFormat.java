@@ -0,0 +1,334 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A format of the elements of a pair or a triple, parsed once and reused.
+ *
+ * <pre>
+ * private static final TupleFormat ENTRY = TupleFormat.compile("%s=%s");
+ *
+ * log.info(pair.toString(ENTRY));
+ * ENTRY.appendTo(builder, key, value);
+ * </pre>
+ *
+ * <p>
+ * A format follows the syntax of {@link String#format(String, Object...)}. The
+ * specifiers {@code %s}, {@code %1$s}, {@code %%} and {@code %n} are resolved
+ * when the format is compiled, so formatting only appends literals and elements
+ * to the output, the way string concatenation does. A format using any other
+ * specifier, such as {@code %d}, {@code %5s} or {@code %tY}, is formatted by a
+ * {@link Formatter}, with the same result as {@link String#format(String, Object...)}.
+ * </p>
+ *
+ * <p>A format is immutable and safe for concurrent use.</p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class TupleFormat {
+
+  /**
+   * Maximum number of formats cached by {@link #of(String)}
+   */
+  private static final int MAX_CACHED = 256;
+
+  private static final ConcurrentMap<String, TupleFormat> CACHE = new ConcurrentHashMap<>();
+
+  private final String   pattern;
+  /**
+   * Literals around the elements, one more than the elements, or null if the format needs a {@link Formatter}
+   */
+  private final String[] literals;
+  /**
+   * Zero-based indexes of the elements to append
+   */
+  private final int[]    indexes;
+  /**
+   * Specifiers of the elements to append, as written in the pattern
+   */
+  private final String[] specifiers;
+  private final int      literalLength;
+
+  private TupleFormat(final String pattern, final String[] literals, final int[] indexes, final String[] specifiers) {
+    this.pattern = pattern;
+    this.literals = literals;
+    this.indexes = indexes;
+    this.specifiers = specifiers;
+    int length = 0;
+    if (literals != null) {
+      for (final String literal : literals) {
+        length += literal.length();
+      }
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * Parses a format.
+   *
+   * @param format the format, not null
+   *
+   * @return the compiled format
+   */
+  public static TupleFormat compile(final String format) {
+    final List<String> literals = new ArrayList<>();
+    final List<Integer> indexes = new ArrayList<>();
+    final List<String> specifiers = new ArrayList<>();
+    final StringBuilder literal = new StringBuilder();
+    final int length = format.length();
+    int ordinary = 0;
+    int i = 0;
+    while (i < length) {
+      final int start = i;
+      final char c = format.charAt(i++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      if (i == length) {
+        return new TupleFormat(format, null, null, null);
+      }
+      final char conversion = format.charAt(i++);
+      if (conversion == '%') {
+        literal.append('%');
+      } else if (conversion == 'n') {
+        literal.append(System.lineSeparator());
+      } else if (conversion == 's') {
+        literals.add(literal.toString());
+        literal.setLength(0);
+        indexes.add(ordinary++);
+        specifiers.add("%s");
+      } else if (conversion >= '1' && conversion <= '9') {
+        // explicit index, %1$s
+        int index = conversion - '0';
+        while (i < length && Character.isDigit(format.charAt(i)) && index < Integer.MAX_VALUE / 10) {
+          index = index * 10 + format.charAt(i++) - '0';
+        }
+        if (i + 1 >= length || format.charAt(i) != '$' || format.charAt(i + 1) != 's') {
+          return new TupleFormat(format, null, null, null);
+        }
+        i += 2;
+        literals.add(literal.toString());
+        literal.setLength(0);
+        indexes.add(index - 1);
+        specifiers.add(format.substring(start, i));
+      } else {
+        return new TupleFormat(format, null, null, null);
+      }
+    }
+    literals.add(literal.toString());
+    final int[] indexArray = new int[indexes.size()];
+    for (int j = 0; j < indexArray.length; j++) {
+      indexArray[j] = indexes.get(j);
+    }
+    return new TupleFormat(format, literals.toArray(new String[0]), indexArray, specifiers.toArray(new String[0]));
+  }
+
+  /**
+   * Gets the compiled format of a format string, compiling it on first use.
+   *
+   * <p>Up to 256 formats are kept, further formats are compiled on each call.</p>
+   *
+   * @param format the format, not null
+   *
+   * @return the compiled format
+   */
+  public static TupleFormat of(final String format) {
+    final TupleFormat cached = CACHE.get(format);
+    if (cached != null) {
+      return cached;
+    }
+    final TupleFormat compiled = compile(format);
+    if (CACHE.size() < MAX_CACHED) {
+      CACHE.putIfAbsent(format, compiled);
+    }
+    return compiled;
+  }
+
+  /**
+   * Gets the format string this format was compiled from.
+   */
+  public String pattern() {
+    return pattern;
+  }
+
+  /**
+   * Formats two elements.
+   *
+   * @return the formatted string
+   *
+   * @throws MissingFormatArgumentException if the pattern refers to a third element
+   */
+  public String format(final Object first, final Object second) {
+    if (literals != null && indexes.length == 2) {
+      // concatenation sizes the string exactly
+      final String[] l = literals;
+      return l[0] + string(element(0, 2, first, second, null)) + l[1] + string(element(1, 2, first, second, null)) + l[2];
+    }
+    return appendTo(new StringBuilder(literalLength + 32), first, second).toString();
+  }
+
+  /**
+   * Formats three elements.
+   *
+   * @return the formatted string
+   *
+   * @throws MissingFormatArgumentException if the pattern refers to a fourth element
+   */
+  public String format(final Object first, final Object second, final Object third) {
+    if (literals != null && indexes.length == 3) {
+      // concatenation sizes the string exactly
+      final String[] l = literals;
+      return l[0] + string(element(0, 3, first, second, third)) + l[1] + string(element(1, 3, first, second, third))
+          + l[2] + string(element(2, 3, first, second, third)) + l[3];
+    }
+    return appendTo(new StringBuilder(literalLength + 48), first, second, third).toString();
+  }
+
+  /**
+   * Appends two formatted elements to a builder.
+   *
+   * @return the builder
+   */
+  public StringBuilder appendTo(final StringBuilder builder, final Object first, final Object second) {
+    if (literals == null) {
+      new Formatter(builder).format(pattern, first, second);
+      return builder;
+    }
+    builder.append(literals[0]);
+    for (int i = 0; i < indexes.length; i++) {
+      append(builder, element(i, 2, first, second, null));
+      builder.append(literals[i + 1]);
+    }
+    return builder;
+  }
+
+  /**
+   * Appends three formatted elements to a builder.
+   *
+   * @return the builder
+   */
+  public StringBuilder appendTo(final StringBuilder builder, final Object first, final Object second, final Object third) {
+    if (literals == null) {
+      new Formatter(builder).format(pattern, first, second, third);
+      return builder;
+    }
+    builder.append(literals[0]);
+    for (int i = 0; i < indexes.length; i++) {
+      append(builder, element(i, 3, first, second, third));
+      builder.append(literals[i + 1]);
+    }
+    return builder;
+  }
+
+  /**
+   * Writes two formatted elements to an output.
+   *
+   * @return the output
+   */
+  public <A extends Appendable> A formatTo(final A out, final Object first, final Object second) throws IOException {
+    append(out, 2, first, second, null);
+    return out;
+  }
+
+  /**
+   * Writes three formatted elements to an output.
+   *
+   * @return the output
+   */
+  public <A extends Appendable> A formatTo(final A out, final Object first, final Object second, final Object third) throws IOException {
+    append(out, 3, first, second, third);
+    return out;
+  }
+
+  @Override
+  public String toString() {
+    return "TupleFormat(" + pattern + ")";
+  }
+
+  private void append(final Appendable out, final int count, final Object first, final Object second, final Object third) throws IOException {
+    if (literals == null) {
+      final Formatter formatter = new Formatter(out);
+      if (count == 2) {
+        formatter.format(pattern, first, second);
+      } else {
+        formatter.format(pattern, first, second, third);
+      }
+      rethrow(formatter);
+      return;
+    }
+    out.append(literals[0]);
+    for (int i = 0; i < indexes.length; i++) {
+      final Object element = element(i, count, first, second, third);
+      if (element instanceof Formattable) {
+        rethrow(new Formatter(out).format("%s", element));
+      } else {
+        out.append(String.valueOf(element));
+      }
+      out.append(literals[i + 1]);
+    }
+  }
+
+  /**
+   * Appends an element as {@code %s} does, without converting common types to an intermediate string.
+   */
+  private static void append(final StringBuilder builder, final Object element) {
+    // exact class checks first, an instanceof of an interface not implemented is a slow lookup
+    final Class<?> type = element == null ? null : element.getClass();
+    if (type == String.class) {
+      builder.append((String) element);
+    } else if (type == Integer.class) {
+      builder.append((int) (Integer) element);
+    } else if (type == Long.class) {
+      builder.append((long) (Long) element);
+    } else if (type == Double.class) {
+      builder.append((double) (Double) element);
+    } else if (element instanceof Formattable) {
+      new Formatter(builder).format("%s", element);
+    } else {
+      builder.append(element);
+    }
+  }
+
+  /**
+   * Converts an element as {@code %s} does.
+   */
+  private static String string(final Object element) {
+    final Class<?> type = element == null ? null : element.getClass();
+    if (type == String.class) {
+      return (String) element;
+    }
+    if (type == Integer.class || type == Long.class || type == Double.class || !(element instanceof Formattable)) {
+      return String.valueOf(element);
+    }
+    return new Formatter().format("%s", element).toString();
+  }
+
+  /**
+   * Gets the element of a specifier of the pattern.
+   *
+   * @param specifier the position of the specifier among those of the elements
+   */
+  private Object element(final int specifier, final int count, final Object first, final Object second, final Object third) {
+    final int index = indexes[specifier];
+    if (index >= count) {
+      throw new MissingFormatArgumentException(specifiers[specifier]);
+    }
+    return index == 0 ? first : index == 1 ? second : third;
+  }
+
+  private static void rethrow(final Formatter formatter) throws IOException {
+    final IOException e = formatter.ioException();
+    if (e != null) {
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,1013 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorting of large arrays and lists of pairs and triples.
+ *
+ * <ul>
+ * <li>{@link #parallelSort(Comparable[])} is a fork/join merge sort, comparing
+ * {@link Pair}s, {@link MutPair}s, {@link Triple}s and {@link MutTriple}s without
+ * going through their {@code compareTo} when their elements are common types.</li>
+ * <li>{@link #radixSort(Comparable[])} and the {@code radixSort} of the primitive
+ * lists are LSD radix sorts, for tuples of integral or floating-point elements.</li>
+ * <li>{@link #sortBy(Object[], Function)} and {@link #sortByLong(Object[], ToLongFunction)}
+ * extract the sort key of each element once, instead of on each comparison.</li>
+ * </ul>
+ *
+ * <p>
+ * All of them are stable and give the same order as {@link Arrays#sort(Object[])}
+ * would with the {@code compareTo} of the tuples: elements are compared from left
+ * to right, a {@code null} element being less than a non-{@code null} element.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class TupleSorts {
+
+  /**
+   * Size under which a range is sorted by a single thread
+   */
+  private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+  /**
+   * Size under which a range is sorted by insertion
+   */
+  private static final int INSERTION_THRESHOLD = 32;
+
+  private static final Comparator<Object> NATURAL_ORDER = TupleSorts::compareNatural;
+
+  private static final Comparator<Object> KEY_ORDER = (a, b) -> compareElements(((Pair<?, ?>) a).left, ((Pair<?, ?>) b).left);
+
+  private TupleSorts() {
+  }
+
+  /**
+   * Sorts an array in the natural order of its elements, with a fork/join merge sort.
+   *
+   * @param a the array to sort, of mutually comparable non-null elements
+   *
+   * @throws ClassCastException if elements are not mutually comparable
+   */
+  public static <T extends Comparable<? super T>> void parallelSort(final T[] a) {
+    mergeSort(a, NATURAL_ORDER);
+  }
+
+  /**
+   * Sorts an array with a comparator, with a fork/join merge sort.
+   *
+   * @param a          the array to sort
+   * @param comparator the comparator of the elements, not null
+   */
+  public static <T> void parallelSort(final T[] a, final Comparator<? super T> comparator) {
+    mergeSort(a, comparator);
+  }
+
+  /**
+   * Sorts a list in the natural order of its elements, with a fork/join merge sort.
+   *
+   * @param list the list to sort, of mutually comparable non-null elements
+   *
+   * @throws ClassCastException if elements are not mutually comparable
+   */
+  public static <T extends Comparable<? super T>> void parallelSort(final List<T> list) {
+    final Object[] a = list.toArray();
+    mergeSort(a, NATURAL_ORDER);
+    setAll(list, a);
+  }
+
+  /**
+   * Sorts a list with a comparator, with a fork/join merge sort.
+   *
+   * @param list       the list to sort
+   * @param comparator the comparator of the elements, not null
+   */
+  public static <T> void parallelSort(final List<T> list, final Comparator<? super T> comparator) {
+    final Object[] a = list.toArray();
+    mergeSort(a, comparator);
+    setAll(list, a);
+  }
+
+  /**
+   * Sorts an array of pairs or triples in their natural order, with a radix sort
+   * when all their elements at a position are of the same type among {@link Long},
+   * {@link Integer}, {@link Short}, {@link Byte}, {@link Character}, {@link Double}
+   * and {@link Float}, or {@code null}.
+   *
+   * <p>
+   * Any other array, including pairs or triples of other types of elements, is
+   * sorted by {@link #parallelSort(Comparable[])}.
+   * </p>
+   *
+   * @param a the array to sort, of mutually comparable non-null elements
+   */
+  public static <T extends Comparable<? super T>> void radixSort(final T[] a) {
+    if (!radixSortTuples(a)) {
+      mergeSort(a, NATURAL_ORDER);
+    }
+  }
+
+  /**
+   * Sorts a list of pairs or triples in their natural order, with a radix sort
+   * when possible.
+   *
+   * @param list the list to sort, of mutually comparable non-null elements
+   *
+   * @see #radixSort(Comparable[])
+   */
+  public static <T extends Comparable<? super T>> void radixSort(final List<T> list) {
+    final Object[] a = list.toArray();
+    if (!radixSortTuples(a)) {
+      mergeSort(a, NATURAL_ORDER);
+    }
+    setAll(list, a);
+  }
+
+  /**
+   * Sorts a list of {@link IntIntPair}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final IntIntPairList list) {
+    final int n = list.size();
+    final int[] lefts = column(n, list::getLefts);
+    final int[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link IntLongPair}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final IntLongPairList list) {
+    final int n = list.size();
+    final int[] lefts = column(n, list::getLefts);
+    final long[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link IntDoublePair}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final IntDoublePairList list) {
+    final int n = list.size();
+    final int[] lefts = column(n, list::getLefts);
+    final double[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link LongIntPair}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final LongIntPairList list) {
+    final int n = list.size();
+    final long[] lefts = column(n, list::getLefts);
+    final int[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link LongLongPair}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final LongLongPairList list) {
+    final int n = list.size();
+    final long[] lefts = column(n, list::getLefts);
+    final long[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link LongDoublePair}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final LongDoublePairList list) {
+    final int n = list.size();
+    final long[] lefts = column(n, list::getLefts);
+    final double[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link DoubleIntPair}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final DoubleIntPairList list) {
+    final int n = list.size();
+    final double[] lefts = column(n, list::getLefts);
+    final int[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link DoubleLongPair}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final DoubleLongPairList list) {
+    final int n = list.size();
+    final double[] lefts = column(n, list::getLefts);
+    final long[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link DoubleDoublePair}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final DoubleDoublePairList list) {
+    final int n = list.size();
+    final double[] lefts = column(n, list::getLefts);
+    final double[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link IntTriple}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final IntTripleList list) {
+    final int n = list.size();
+    final int[] lefts = column(n, list::getLefts);
+    final int[] middles = column(n, list::getMiddles);
+    final int[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(middles), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setMiddles, middles, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link LongTriple}s in their natural order, with a radix sort.
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final LongTripleList list) {
+    final int n = list.size();
+    final long[] lefts = column(n, list::getLefts);
+    final long[] middles = column(n, list::getMiddles);
+    final long[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(middles), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setMiddles, middles, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts a list of {@link DoubleTriple}s in their natural order, with a radix sort.
+   *
+   * <p>
+   * The {@code double} elements are ordered as by {@link Double#compare(double, double)},
+   * as in the {@code compareTo} of the list elements: {@code -0.0} is less than
+   * {@code 0.0}, and {@code NaN} is greater than any other value, including
+   * positive infinity.
+   * </p>
+   *
+   * @param list the list to sort
+   */
+  public static void radixSort(final DoubleTripleList list) {
+    final int n = list.size();
+    final double[] lefts = column(n, list::getLefts);
+    final double[] middles = column(n, list::getMiddles);
+    final double[] rights = column(n, list::getRights);
+    final int[] order = radixOrder(n, new long[][] {keys(lefts), keys(middles), keys(rights)}, null);
+    setColumn(list::setLefts, lefts, order);
+    setColumn(list::setMiddles, middles, order);
+    setColumn(list::setRights, rights, order);
+  }
+
+  /**
+   * Sorts an array by a key extracted once from each element, with a fork/join
+   * merge sort.
+   *
+   * <p>
+   * Keys are compared the way the {@code compareTo} of a pair compares its
+   * elements: a {@code null} key is less than a non-{@code null} key, arrays are
+   * compared element by element and other keys must be {@link Comparable}. A key
+   * can be a pair or a triple to sort on several fields.
+   * </p>
+   *
+   * @param a   the array to sort
+   * @param key the function extracting the key of an element, called once per element
+   */
+  public static <T, K> void sortBy(final T[] a, final Function<? super T, ? extends K> key) {
+    final Object[] keyed = keyed(a, key);
+    mergeSort(keyed, KEY_ORDER);
+    for (int i = 0; i < a.length; i++) {
+      @SuppressWarnings("unchecked")
+      final T element = (T) ((Pair<?, ?>) keyed[i]).right;
+      a[i] = element;
+    }
+  }
+
+  /**
+   * Sorts a list by a key extracted once from each element.
+   *
+   * @param list the list to sort
+   * @param key  the function extracting the key of an element, called once per element
+   *
+   * @see #sortBy(Object[], Function)
+   */
+  public static <T, K> void sortBy(final List<T> list, final Function<? super T, ? extends K> key) {
+    @SuppressWarnings("unchecked")
+    final T[] a = (T[]) list.toArray();
+    sortBy(a, key);
+    setAll(list, a);
+  }
+
+  /**
+   * Sorts an array by a long key extracted once from each element, with a radix sort.
+   *
+   * @param a   the array to sort
+   * @param key the function extracting the key of an element, called once per element
+   */
+  public static <T> void sortByLong(final T[] a, final ToLongFunction<? super T> key) {
+    final int n = a.length;
+    final long[] keys = new long[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = key.applyAsLong(a[i]) ^ Long.MIN_VALUE;
+    }
+    final int[] order = radixOrder(n, new long[][] {keys}, null);
+    final T[] copy = a.clone();
+    for (int i = 0; i < n; i++) {
+      a[i] = copy[order[i]];
+    }
+  }
+
+  /**
+   * Sorts a list by a long key extracted once from each element, with a radix sort.
+   *
+   * @param list the list to sort
+   * @param key  the function extracting the key of an element, called once per element
+   */
+  public static <T> void sortByLong(final List<T> list, final ToLongFunction<? super T> key) {
+    @SuppressWarnings("unchecked")
+    final T[] a = (T[]) list.toArray();
+    sortByLong(a, key);
+    setAll(list, a);
+  }
+
+  // ---------------------------------------------------------------- comparison
+
+  /**
+   * Compares as {@code compareTo}, inlining the comparison of the pairs and triples whose {@code compareTo} is known.
+   */
+  @SuppressWarnings("unchecked")
+  private static int compareNatural(final Object a, final Object b) {
+    final Class<?> type = a.getClass();
+    final Class<?> other = b.getClass();
+    if ((type == Pair.class || type == MutPair.class) && (other == Pair.class || other == MutPair.class)) {
+      final P<?, ?> x = (P<?, ?>) a;
+      final P<?, ?> y = (P<?, ?>) b;
+      final int comparison = compareElements(x.getLeft(), y.getLeft());
+      return comparison != 0 ? comparison : compareElements(x.getRight(), y.getRight());
+    }
+    if ((type == Triple.class || type == MutTriple.class) && (other == Triple.class || other == MutTriple.class)) {
+      final Tri<?, ?, ?> x = (Tri<?, ?, ?>) a;
+      final Tri<?, ?, ?> y = (Tri<?, ?, ?>) b;
+      int comparison = compareElements(x.getLeft(), y.getLeft());
+      if (comparison != 0) {
+        return comparison;
+      }
+      comparison = compareElements(x.getMiddle(), y.getMiddle());
+      return comparison != 0 ? comparison : compareElements(x.getRight(), y.getRight());
+    }
+    return ((Comparable<Object>) a).compareTo(b);
+  }
+
+  /**
+   * Compares as {@link CompareToBuilder#compare(Object, Object)}, without a virtual call for common types.
+   */
+  private static int compareElements(final Object lhs, final Object rhs) {
+    if (lhs == rhs) {
+      return 0;
+    }
+    if (lhs == null) {
+      return -1;
+    }
+    if (rhs == null) {
+      return 1;
+    }
+    final Class<?> type = lhs.getClass();
+    if (type == rhs.getClass()) {
+      if (type == Long.class) {
+        return Long.compare((Long) lhs, (Long) rhs);
+      }
+      if (type == Integer.class) {
+        return Integer.compare((Integer) lhs, (Integer) rhs);
+      }
+      if (type == String.class) {
+        return ((String) lhs).compareTo((String) rhs);
+      }
+    }
+    return CompareToBuilder.compare(lhs, rhs);
+  }
+
+  // ---------------------------------------------------------------- merge sort
+
+  @SuppressWarnings("unchecked")
+  private static void mergeSort(final Object[] a, final Comparator<?> comparator) {
+    final int n = a.length;
+    if (n < 2) {
+      return;
+    }
+    final Comparator<Object> c = (Comparator<Object>) comparator;
+    final Object[] buffer = a.clone();
+    if (n <= PARALLEL_THRESHOLD) {
+      sort(buffer, a, 0, n, c);
+    } else {
+      ForkJoinPool.commonPool().invoke(new SortTask(buffer, a, 0, n, c));
+    }
+  }
+
+  /**
+   * Sorts a range into {@code dst}, using {@code src} which holds the same elements as a buffer.
+   */
+  private static void sort(final Object[] src, final Object[] dst, final int from, final int to, final Comparator<Object> c) {
+    if (to - from <= INSERTION_THRESHOLD) {
+      for (int i = from + 1; i < to; i++) {
+        final Object element = dst[i];
+        int j = i - 1;
+        while (j >= from && c.compare(dst[j], element) > 0) {
+          dst[j + 1] = dst[j];
+          j--;
+        }
+        dst[j + 1] = element;
+      }
+      return;
+    }
+    final int mid = (from + to) >>> 1;
+    sort(dst, src, from, mid, c);
+    sort(dst, src, mid, to, c);
+    if (c.compare(src[mid - 1], src[mid]) <= 0) {
+      // already in order
+      System.arraycopy(src, from, dst, from, to - from);
+      return;
+    }
+    merge(src, dst, from, mid, mid, to, from, c);
+  }
+
+  private static void merge(final Object[] src, final Object[] dst, int from1, final int to1, int from2, final int to2, int out, final Comparator<Object> c) {
+    while (from1 < to1 && from2 < to2) {
+      // the left run first on ties, to be stable
+      dst[out++] = c.compare(src[from1], src[from2]) <= 0 ? src[from1++] : src[from2++];
+    }
+    System.arraycopy(src, from1, dst, out, to1 - from1);
+    System.arraycopy(src, from2, dst, out + to1 - from1, to2 - from2);
+  }
+
+  private static final class SortTask extends RecursiveAction {
+
+    private static final long serialVersionUID = -2581562402497441245L;
+
+    private final Object[]           src;
+    private final Object[]           dst;
+    private final int                from;
+    private final int                to;
+    private final Comparator<Object> c;
+
+    SortTask(final Object[] src, final Object[] dst, final int from, final int to, final Comparator<Object> c) {
+      this.src = src;
+      this.dst = dst;
+      this.from = from;
+      this.to = to;
+      this.c = c;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        sort(src, dst, from, to, c);
+        return;
+      }
+      final int mid = (from + to) >>> 1;
+      invokeAll(new SortTask(dst, src, from, mid, c), new SortTask(dst, src, mid, to, c));
+      if (c.compare(src[mid - 1], src[mid]) <= 0) {
+        System.arraycopy(src, from, dst, from, to - from);
+        return;
+      }
+      new MergeTask(src, dst, from, mid, mid, to, from, c).compute();
+    }
+
+  }
+
+  /**
+   * Merges two sorted runs, splitting the larger one at its middle and the other one
+   * at the same element, so that both halves are merged in parallel.
+   */
+  private static final class MergeTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 6203960416372781052L;
+
+    private final Object[]           src;
+    private final Object[]           dst;
+    private final int                from1;
+    private final int                to1;
+    private final int                from2;
+    private final int                to2;
+    private final int                out;
+    private final Comparator<Object> c;
+
+    MergeTask(final Object[] src, final Object[] dst, final int from1, final int to1, final int from2, final int to2, final int out, final Comparator<Object> c) {
+      this.src = src;
+      this.dst = dst;
+      this.from1 = from1;
+      this.to1 = to1;
+      this.from2 = from2;
+      this.to2 = to2;
+      this.out = out;
+      this.c = c;
+    }
+
+    @Override
+    protected void compute() {
+      final int length1 = to1 - from1;
+      final int length2 = to2 - from2;
+      if (length1 + length2 <= PARALLEL_THRESHOLD || length1 == 0 || length2 == 0) {
+        merge(src, dst, from1, to1, from2, to2, out, c);
+        return;
+      }
+      final int split1;
+      final int split2;
+      if (length1 >= length2) {
+        // elements of the right run equal to the pivot stay after it
+        split1 = (from1 + to1) >>> 1;
+        split2 = search(src[split1], from2, to2, false);
+      } else {
+        // elements of the left run equal to the pivot stay before it
+        split2 = (from2 + to2) >>> 1;
+        split1 = search(src[split2], from1, to1, true);
+      }
+      final int split = out + (split1 - from1) + (split2 - from2);
+      invokeAll(
+          new MergeTask(src, dst, from1, split1, from2, split2, out, c),
+          new MergeTask(src, dst, split1, to1, split2, to2, split, c)
+      );
+    }
+
+    /**
+     * Finds the first index of a range whose element is greater than the pivot,
+     * or also equal to it if not {@code afterEqual}.
+     */
+    private int search(final Object pivot, int low, int high, final boolean afterEqual) {
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        final int comparison = c.compare(src[mid], pivot);
+        if (comparison < 0 || (afterEqual && comparison == 0)) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+  }
+
+  // ---------------------------------------------------------------- radix sort
+
+  /**
+   * Sorts pairs or triples by radix if all their elements allow it.
+   *
+   * @return false if the elements cannot be sorted by radix, the array being left untouched
+   */
+  private static boolean radixSortTuples(final Object[] a) {
+    final int n = a.length;
+    if (n < 2) {
+      return true;
+    }
+    final int arity = arity(a);
+    if (arity == 0) {
+      return false;
+    }
+    final long[][] keys = new long[arity][];
+    final boolean[][] nulls = new boolean[arity][];
+    for (int position = 0; position < arity; position++) {
+      final Class<?> type = elementType(a, position);
+      if (type == null) {
+        return false;
+      }
+      keys[position] = new long[n];
+      nulls[position] = keys(a, position, type, keys[position]);
+    }
+    final int[] order = radixOrder(n, keys, nulls);
+    final Object[] copy = a.clone();
+    for (int i = 0; i < n; i++) {
+      a[i] = copy[order[i]];
+    }
+    return true;
+  }
+
+  /**
+   * Gets 2 if all elements are pairs, 3 if all are triples, and 0 otherwise.
+   */
+  private static int arity(final Object[] a) {
+    int arity = 0;
+    for (final Object element : a) {
+      final Class<?> type = element == null ? null : element.getClass();
+      final int elementArity = type == Pair.class || type == MutPair.class ? 2 : type == Triple.class || type == MutTriple.class ? 3 : 0;
+      if (elementArity == 0 || (arity != 0 && elementArity != arity)) {
+        return 0;
+      }
+      arity = elementArity;
+    }
+    return arity;
+  }
+
+  private static Object element(final Object tuple, final int position) {
+    if (tuple instanceof P) {
+      return position == 0 ? ((P<?, ?>) tuple).getLeft() : ((P<?, ?>) tuple).getRight();
+    }
+    final Tri<?, ?, ?> triple = (Tri<?, ?, ?>) tuple;
+    return position == 0 ? triple.getLeft() : position == 1 ? triple.getMiddle() : triple.getRight();
+  }
+
+  /**
+   * Gets the type of the non-null elements at a position, or null if they are not all of the same type with a radix key.
+   */
+  private static Class<?> elementType(final Object[] a, final int position) {
+    Class<?> type = null;
+    for (final Object tuple : a) {
+      final Object element = element(tuple, position);
+      if (element == null) {
+        continue;
+      }
+      if (type == null) {
+        type = element.getClass();
+        if (type != Long.class && type != Integer.class && type != Short.class && type != Byte.class
+            && type != Character.class && type != Double.class && type != Float.class) {
+          return null;
+        }
+      } else if (element.getClass() != type) {
+        return null;
+      }
+    }
+    // all null, any type sorts them
+    return type != null ? type : Long.class;
+  }
+
+  /**
+   * Fills the keys of the elements at a position, in the unsigned order of the keys.
+   *
+   * @return the nulls, or null if there is none
+   */
+  private static boolean[] keys(final Object[] a, final int position, final Class<?> type, final long[] keys) {
+    boolean[] nulls = null;
+    for (int i = 0; i < a.length; i++) {
+      final Object element = element(a[i], position);
+      if (element == null) {
+        if (nulls == null) {
+          nulls = new boolean[a.length];
+        }
+        nulls[i] = true;
+      } else if (type == Long.class) {
+        keys[i] = (Long) element ^ Long.MIN_VALUE;
+      } else if (type == Integer.class) {
+        keys[i] = intKey((Integer) element);
+      } else if (type == Short.class) {
+        keys[i] = intKey((Short) element);
+      } else if (type == Byte.class) {
+        keys[i] = intKey((Byte) element);
+      } else if (type == Character.class) {
+        keys[i] = (Character) element;
+      } else if (type == Double.class) {
+        keys[i] = doubleKey((Double) element);
+      } else {
+        final int bits = Float.floatToIntBits((Float) element);
+        keys[i] = intKey(bits ^ (bits >> 31 & Integer.MAX_VALUE));
+      }
+    }
+    return nulls;
+  }
+
+  private static long[] keys(final int[] values) {
+    final long[] keys = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      keys[i] = intKey(values[i]);
+    }
+    return keys;
+  }
+
+  private static long[] keys(final long[] values) {
+    final long[] keys = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      keys[i] = values[i] ^ Long.MIN_VALUE;
+    }
+    return keys;
+  }
+
+  private static long[] keys(final double[] values) {
+    final long[] keys = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      keys[i] = doubleKey(values[i]);
+    }
+    return keys;
+  }
+
+  /**
+   * Maps an int to a key of 4 bytes in the same order.
+   */
+  private static long intKey(final int value) {
+    return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Maps a double to a key in the order of {@link Double#compare(double, double)}:
+   * the sign bit of a positive double is set, all bits of a negative one are flipped.
+   */
+  private static long doubleKey(final double value) {
+    final long bits = Double.doubleToLongBits(value);
+    return bits ^ (bits >> 63 | Long.MIN_VALUE);
+  }
+
+  /**
+   * Sorts the indexes of elements by their keys with a least significant digit radix sort,
+   * one byte per pass, skipping the bytes all keys share.
+   *
+   * @param n     the number of elements
+   * @param keys  the keys of each position of the elements, the first being the most significant
+   * @param nulls the nulls of each position, sorted first, or null if there is none
+   *
+   * @return the indexes of the elements in sorted order
+   */
+  private static int[] radixOrder(final int n, final long[][] keys, final boolean[][] nulls) {
+    int[] order = new int[n];
+    int[] orderBuffer = new int[n];
+    long[] sorted = new long[n];
+    long[] sortedBuffer = new long[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    final int[][] counts = new int[Long.BYTES][256];
+    for (int position = keys.length - 1; position >= 0; position--) {
+      final long[] positionKeys = keys[position];
+      final boolean[] positionNulls = nulls == null ? null : nulls[position];
+      int start = 0;
+      if (positionNulls == null) {
+        for (int i = 0; i < n; i++) {
+          sorted[i] = positionKeys[order[i]];
+        }
+      } else {
+        // a stable partition with the nulls first, the keys then sort the rest
+        for (int i = 0; i < n; i++) {
+          if (positionNulls[i]) {
+            start++;
+          }
+        }
+        int nullIndex = 0;
+        int keyIndex = start;
+        for (int i = 0; i < n; i++) {
+          final int index = order[i];
+          if (positionNulls[index]) {
+            orderBuffer[nullIndex++] = index;
+          } else {
+            orderBuffer[keyIndex] = index;
+            sorted[keyIndex++] = positionKeys[index];
+          }
+        }
+        final int[] swap = order;
+        order = orderBuffer;
+        orderBuffer = swap;
+      }
+      if (n - start < 2) {
+        continue;
+      }
+      for (final int[] count : counts) {
+        Arrays.fill(count, 0);
+      }
+      for (int i = start; i < n; i++) {
+        final long key = sorted[i];
+        for (int b = 0; b < Long.BYTES; b++) {
+          counts[b][(int) (key >>> (b << 3)) & 0xFF]++;
+        }
+      }
+      for (int b = 0; b < Long.BYTES; b++) {
+        final int shift = b << 3;
+        final int[] count = counts[b];
+        if (count[(int) (sorted[start] >>> shift) & 0xFF] == n - start) {
+          // all keys share this byte
+          continue;
+        }
+        int offset = start;
+        for (int digit = 0; digit < 256; digit++) {
+          final int c = count[digit];
+          count[digit] = offset;
+          offset += c;
+        }
+        System.arraycopy(order, 0, orderBuffer, 0, start);
+        for (int i = start; i < n; i++) {
+          final long key = sorted[i];
+          final int dst = count[(int) (key >>> shift) & 0xFF]++;
+          sortedBuffer[dst] = key;
+          orderBuffer[dst] = order[i];
+        }
+        final long[] sortedSwap = sorted;
+        sorted = sortedBuffer;
+        sortedBuffer = sortedSwap;
+        final int[] orderSwap = order;
+        order = orderBuffer;
+        orderBuffer = orderSwap;
+      }
+    }
+    return order;
+  }
+
+  private static int[] permute(final int[] values, final int[] order) {
+    final int[] permuted = new int[values.length];
+    for (int i = 0; i < order.length; i++) {
+      permuted[i] = values[order[i]];
+    }
+    return permuted;
+  }
+
+  private static long[] permute(final long[] values, final int[] order) {
+    final long[] permuted = new long[values.length];
+    for (int i = 0; i < order.length; i++) {
+      permuted[i] = values[order[i]];
+    }
+    return permuted;
+  }
+
+  private static double[] permute(final double[] values, final int[] order) {
+    final double[] permuted = new double[values.length];
+    for (int i = 0; i < order.length; i++) {
+      permuted[i] = values[order[i]];
+    }
+    return permuted;
+  }
+
+  /**
+   * Copies a range between a column of a primitive list and an array, as the
+   * {@code getLefts} and {@code setLefts} of the lists do.
+   */
+  @FunctionalInterface
+  private interface IntColumn {
+
+    void copy(int listIndex, int[] array, int arrayIndex, int length);
+
+  }
+
+  /**
+   * Reads the first {@code n} elements of a column of a primitive list.
+   */
+  private static int[] column(final int n, final IntColumn get) {
+    final int[] values = new int[n];
+    get.copy(0, values, 0, n);
+    return values;
+  }
+
+  /**
+   * Writes the elements of a column back to a primitive list in sorted order.
+   */
+  private static void setColumn(final IntColumn set, final int[] values, final int[] order) {
+    set.copy(0, permute(values, order), 0, values.length);
+  }
+
+  /**
+   * Copies a range between a column of a primitive list and an array, as the
+   * {@code getLefts} and {@code setLefts} of the lists do.
+   */
+  @FunctionalInterface
+  private interface LongColumn {
+
+    void copy(int listIndex, long[] array, int arrayIndex, int length);
+
+  }
+
+  /**
+   * Reads the first {@code n} elements of a column of a primitive list.
+   */
+  private static long[] column(final int n, final LongColumn get) {
+    final long[] values = new long[n];
+    get.copy(0, values, 0, n);
+    return values;
+  }
+
+  /**
+   * Writes the elements of a column back to a primitive list in sorted order.
+   */
+  private static void setColumn(final LongColumn set, final long[] values, final int[] order) {
+    set.copy(0, permute(values, order), 0, values.length);
+  }
+
+  /**
+   * Copies a range between a column of a primitive list and an array, as the
+   * {@code getLefts} and {@code setLefts} of the lists do.
+   */
+  @FunctionalInterface
+  private interface DoubleColumn {
+
+    void copy(int listIndex, double[] array, int arrayIndex, int length);
+
+  }
+
+  /**
+   * Reads the first {@code n} elements of a column of a primitive list.
+   */
+  private static double[] column(final int n, final DoubleColumn get) {
+    final double[] values = new double[n];
+    get.copy(0, values, 0, n);
+    return values;
+  }
+
+  /**
+   * Writes the elements of a column back to a primitive list in sorted order.
+   */
+  private static void setColumn(final DoubleColumn set, final double[] values, final int[] order) {
+    set.copy(0, permute(values, order), 0, values.length);
+  }
+
+  // ---------------------------------------------------------------- helpers
+
+  /**
+   * Pairs each element with its key, the key on the left.
+   */
+  private static <T, K> Object[] keyed(final T[] a, final Function<? super T, ? extends K> key) {
+    final Object[] keyed = new Object[a.length];
+    for (int i = 0; i < a.length; i++) {
+      // not Pair.of, the pairs are only compared and must not be shared
+      keyed[i] = new Pair<>(key.apply(a[i]), a[i]);
+    }
+    return keyed;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void setAll(final List<T> list, final Object[] a) {
+    final ListIterator<T> iterator = list.listIterator();
+    for (final Object element : a) {
+      iterator.next();
+      iterator.set((T) element);
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+package cc.ayakurayuki.repo.multivaluereturns;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the virtual threads of Java 21+ while compiling for older releases.
+ *
+ * @author Ayakura Yuki
+ */
+final class VirtualThreads {
+
+  /**
+   * The shared virtual-thread-per-task executor, null when virtual threads are not available
+   */
+  private static final ExecutorService EXECUTOR = newExecutor();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Whether virtual threads are available in the running JVM.
+   */
+  static boolean isAvailable() {
+    return EXECUTOR != null;
+  }
+
+  /**
+   * Gets the shared executor starting a new virtual thread for each task.
+   *
+   * @return the executor, or null when virtual threads are not available
+   */
+  static ExecutorService executor() {
+    return EXECUTOR;
+  }
+
+  private static ExecutorService newExecutor() {
+    try {
+      final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+      return null;
+    }
+  }
+
+}
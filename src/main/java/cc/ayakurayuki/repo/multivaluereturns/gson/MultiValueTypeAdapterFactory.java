@@ -0,0 +1,340 @@
+package cc.ayakurayuki.repo.multivaluereturns.gson;
+
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.function.Function;
+
+/**
+ * A Gson {@link TypeAdapterFactory} of {@link Pair}, {@link MutPair}, {@link Triple},
+ * {@link MutTriple}, {@link Result} and {@link PairResult}, which reads and writes
+ * them with the streaming API instead of reflection.
+ *
+ * <pre>
+ * Gson gson = new GsonBuilder().registerTypeAdapterFactory(new MultiValueTypeAdapterFactory()).create();
+ * </pre>
+ *
+ * <p>Shapes, the same for mutable and immutable tuples:</p>
+ *
+ * <pre>
+ *   Pair, MutPair        {"left": ..., "right": ...}
+ *   Triple, MutTriple    {"left": ..., "middle": ..., "right": ...}
+ *   Result               {"ok": ..., "err": "message"}
+ *   PairResult           {"left": ..., "right": ..., "err": "message"}
+ * </pre>
+ *
+ * <p>
+ * Null elements follow {@link com.google.gson.GsonBuilder#serializeNulls()}. An error
+ * is written as its message, an empty string if it has none. It is read back as a
+ * {@link StacklessException} when the declared error type allows it, otherwise
+ * with the constructor taking a message of the declared error type.
+ * </p>
+ *
+ * <p>
+ * Gson is an optional dependency of this library, it must be on the class path
+ * of applications using this package.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public final class MultiValueTypeAdapterFactory implements TypeAdapterFactory {
+
+  private static final String LEFT   = "left";
+  private static final String MIDDLE = "middle";
+  private static final String RIGHT  = "right";
+  private static final String OK     = "ok";
+  private static final String ERR    = "err";
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+    final Class<? super T> raw = type.getRawType();
+    if (raw == Pair.class || raw == MutPair.class) {
+      return (TypeAdapter<T>) new PairAdapter(adapter(gson, type, 0), adapter(gson, type, 1), raw == MutPair.class).nullSafe();
+    }
+    if (raw == Triple.class || raw == MutTriple.class) {
+      return (TypeAdapter<T>) new TripleAdapter(adapter(gson, type, 0), adapter(gson, type, 1), adapter(gson, type, 2), raw == MutTriple.class).nullSafe();
+    }
+    if (raw == Result.class) {
+      return (TypeAdapter<T>) new ResultAdapter(adapter(gson, type, 0), errorFactory(argument(type, 1))).nullSafe();
+    }
+    if (raw == PairResult.class) {
+      return (TypeAdapter<T>) new PairResultAdapter(adapter(gson, type, 0), adapter(gson, type, 1), errorFactory(argument(type, 2))).nullSafe();
+    }
+    return null;
+  }
+
+  private static TypeAdapter<Object> adapter(final Gson gson, final TypeToken<?> type, final int index) {
+    @SuppressWarnings("unchecked")
+    final TypeAdapter<Object> adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(argument(type, index)));
+    return adapter;
+  }
+
+  /**
+   * Gets a type argument, {@link Object} for raw types and unbounded variables.
+   */
+  private static Type argument(final TypeToken<?> type, final int index) {
+    if (!(type.getType() instanceof ParameterizedType)) {
+      return Object.class;
+    }
+    final Type argument = ((ParameterizedType) type.getType()).getActualTypeArguments()[index];
+    if (argument instanceof WildcardType) {
+      return ((WildcardType) argument).getUpperBounds()[0];
+    }
+    if (argument instanceof TypeVariable) {
+      return ((TypeVariable<?>) argument).getBounds()[0];
+    }
+    return argument;
+  }
+
+  private static Function<String, Throwable> errorFactory(final Type type) {
+    final Class<?> raw = TypeToken.get(type).getRawType();
+    if (raw == Object.class || raw.isAssignableFrom(StacklessException.class)) {
+      return StacklessException::new;
+    }
+    final Constructor<?> constructor;
+    try {
+      constructor = raw.getConstructor(String.class);
+    } catch (NoSuchMethodException e) {
+      return message -> {
+        throw new JsonParseException("No constructor taking a message in " + raw.getName());
+      };
+    }
+    return message -> {
+      try {
+        return (Throwable) constructor.newInstance(message);
+      } catch (ReflectiveOperationException e) {
+        throw new JsonParseException("Cannot create an error of " + raw.getName(), e);
+      }
+    };
+  }
+
+  private static void writeError(final JsonWriter out, final Throwable err) throws IOException {
+    if (err != null) {
+      final String message = err.getMessage();
+      out.name(ERR).value(message != null ? message : "");
+    }
+  }
+
+  private static Throwable readError(final JsonReader in, final Function<String, Throwable> errorFactory) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    final String message = in.nextString();
+    return errorFactory.apply(message.isEmpty() ? null : message);
+  }
+
+  private static final class PairAdapter extends TypeAdapter<Object> {
+
+    private final TypeAdapter<Object> left;
+    private final TypeAdapter<Object> right;
+    private final boolean             mutable;
+
+    PairAdapter(final TypeAdapter<Object> left, final TypeAdapter<Object> right, final boolean mutable) {
+      this.left = left;
+      this.right = right;
+      this.mutable = mutable;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final Object value) throws IOException {
+      final Pair<?, ?> pair = value instanceof Pair ? (Pair<?, ?>) value : null;
+      final MutPair<?, ?> mutPair = pair == null ? (MutPair<?, ?>) value : null;
+      out.beginObject();
+      out.name(LEFT);
+      left.write(out, pair != null ? pair.getLeft() : mutPair.getLeft());
+      out.name(RIGHT);
+      right.write(out, pair != null ? pair.getRight() : mutPair.getRight());
+      out.endObject();
+    }
+
+    @Override
+    public Object read(final JsonReader in) throws IOException {
+      Object l = null;
+      Object r = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case LEFT:
+            l = left.read(in);
+            break;
+          case RIGHT:
+            r = right.read(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return mutable ? new MutPair<>(l, r) : Pair.of(l, r);
+    }
+
+  }
+
+  private static final class TripleAdapter extends TypeAdapter<Object> {
+
+    private final TypeAdapter<Object> left;
+    private final TypeAdapter<Object> middle;
+    private final TypeAdapter<Object> right;
+    private final boolean             mutable;
+
+    TripleAdapter(final TypeAdapter<Object> left, final TypeAdapter<Object> middle, final TypeAdapter<Object> right, final boolean mutable) {
+      this.left = left;
+      this.middle = middle;
+      this.right = right;
+      this.mutable = mutable;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final Object value) throws IOException {
+      final Triple<?, ?, ?> triple = value instanceof Triple ? (Triple<?, ?, ?>) value : null;
+      final MutTriple<?, ?, ?> mutTriple = triple == null ? (MutTriple<?, ?, ?>) value : null;
+      out.beginObject();
+      out.name(LEFT);
+      left.write(out, triple != null ? triple.getLeft() : mutTriple.getLeft());
+      out.name(MIDDLE);
+      middle.write(out, triple != null ? triple.getMiddle() : mutTriple.getMiddle());
+      out.name(RIGHT);
+      right.write(out, triple != null ? triple.getRight() : mutTriple.getRight());
+      out.endObject();
+    }
+
+    @Override
+    public Object read(final JsonReader in) throws IOException {
+      Object l = null;
+      Object m = null;
+      Object r = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case LEFT:
+            l = left.read(in);
+            break;
+          case MIDDLE:
+            m = middle.read(in);
+            break;
+          case RIGHT:
+            r = right.read(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return mutable ? new MutTriple<>(l, m, r) : Triple.of(l, m, r);
+    }
+
+  }
+
+  private static final class ResultAdapter extends TypeAdapter<Result<Object, Throwable>> {
+
+    private final TypeAdapter<Object>         ok;
+    private final Function<String, Throwable> errorFactory;
+
+    ResultAdapter(final TypeAdapter<Object> ok, final Function<String, Throwable> errorFactory) {
+      this.ok = ok;
+      this.errorFactory = errorFactory;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final Result<Object, Throwable> value) throws IOException {
+      out.beginObject();
+      out.name(OK);
+      ok.write(out, value.ok());
+      writeError(out, value.err());
+      out.endObject();
+    }
+
+    @Override
+    public Result<Object, Throwable> read(final JsonReader in) throws IOException {
+      Object o = null;
+      Throwable e = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case OK:
+            o = ok.read(in);
+            break;
+          case ERR:
+            e = readError(in, errorFactory);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return Result.create(o, e);
+    }
+
+  }
+
+  private static final class PairResultAdapter extends TypeAdapter<PairResult<Object, Object, Throwable>> {
+
+    private final TypeAdapter<Object>         left;
+    private final TypeAdapter<Object>         right;
+    private final Function<String, Throwable> errorFactory;
+
+    PairResultAdapter(final TypeAdapter<Object> left, final TypeAdapter<Object> right, final Function<String, Throwable> errorFactory) {
+      this.left = left;
+      this.right = right;
+      this.errorFactory = errorFactory;
+    }
+
+    @Override
+    public void write(final JsonWriter out, final PairResult<Object, Object, Throwable> value) throws IOException {
+      out.beginObject();
+      out.name(LEFT);
+      left.write(out, value.getLeft());
+      out.name(RIGHT);
+      right.write(out, value.getRight());
+      writeError(out, value.err());
+      out.endObject();
+    }
+
+    @Override
+    public PairResult<Object, Object, Throwable> read(final JsonReader in) throws IOException {
+      Object l = null;
+      Object r = null;
+      Throwable e = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case LEFT:
+            l = left.read(in);
+            break;
+          case RIGHT:
+            r = right.read(in);
+            break;
+          case ERR:
+            e = readError(in, errorFactory);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return PairResult.of(l, r, e);
+    }
+
+  }
+
+}
@@ -0,0 +1,79 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.AtomicIntIntPair;
+import cc.ayakurayuki.repo.multivaluereturns.AtomicLongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.AtomicPair;
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A version and a value updated together by contending threads, each operation
+ * incrementing both and reading them back, with a {@link MutPair} guarded by
+ * {@code synchronized} and with the atomic pairs.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AtomicPairBenchmark {
+
+  private final MutPair<Long, Long>    mutPair    = MutPair.of(0L, 0L);
+  private final AtomicPair<Long, Long> atomicPair = new AtomicPair<>(0L, 0L);
+  private final AtomicLongLongPair     longPair   = new AtomicLongLongPair();
+  private final AtomicIntIntPair       intPair    = new AtomicIntIntPair();
+
+  @Benchmark
+  public long synchronizedMutPair() {
+    synchronized (mutPair) {
+      mutPair.left = mutPair.left + 1;
+      mutPair.right = mutPair.right + 1;
+      return mutPair.left + mutPair.right;
+    }
+  }
+
+  @Benchmark
+  public long atomicPair() {
+    final Pair<Long, Long> p = atomicPair.updateAndGet(x -> Pair.of(x.left + 1, x.right + 1));
+    return p.left + p.right;
+  }
+
+  @Benchmark
+  public long atomicLongLongPair() {
+    return longPair.addAndGet(1L, 1L).right;
+  }
+
+  @Benchmark
+  public long atomicIntIntPair() {
+    return intPair.addAndGetPacked(1, 1);
+  }
+
+  @Benchmark
+  public long synchronizedMutPairRead() {
+    synchronized (mutPair) {
+      return mutPair.left + mutPair.right;
+    }
+  }
+
+  @Benchmark
+  public long atomicPairRead() {
+    final Pair<Long, Long> p = atomicPair.getAcquire();
+    return p.left + p.right;
+  }
+
+}
@@ -0,0 +1,42 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark suite.
+ *
+ * <p>
+ * Runs every benchmark in this package, or only those matching the regular
+ * expressions given as arguments, with the GC profiler enabled so that the
+ * allocation rate per operation ({@code gc.alloc.rate.norm}) is reported
+ * next to the throughput.
+ * </p>
+ *
+ * <p>
+ * Use {@code mvn -P benchmark test} to run it, and {@code -Djmh.include=Compare}
+ * to restrict the run to some benchmarks.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws RunnerException {
+    final ChainedOptionsBuilder builder = new OptionsBuilder()
+        .addProfiler(GCProfiler.class)
+        .shouldFailOnError(true);
+    if (args.length == 0) {
+      builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    } else {
+      for (String include : args) {
+        builder.include(include);
+      }
+    }
+    new Runner(builder.build()).run();
+  }
+
+}
@@ -0,0 +1,146 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.BinaryCodec;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryCodecs;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryReader;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryWriter;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of lists of (long, long) pairs and (String, long, double)
+ * triples with {@link BinaryCodecs}, compared to Java serialization.
+ *
+ * <p>
+ * The sizes of the same lists encoded and serialized are checked by
+ * {@code BinaryCodecTest.testSmallerThanSerialization}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+  private static final BinaryCodec<List<Pair<Long, Long>>>               PAIRS   = BinaryCodecs.list(BinaryCodecs.pair(BinaryCodecs.LONG, BinaryCodecs.LONG));
+  private static final BinaryCodec<List<Triple<String, Long, Double>>> TRIPLES = BinaryCodecs.list(
+      BinaryCodecs.triple(BinaryCodecs.STRING, BinaryCodecs.LONG, BinaryCodecs.DOUBLE)
+  );
+
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BinaryWriter.DEFAULT_BUFFER_SIZE);
+
+  private List<Pair<Long, Long>>               pairs;
+  private List<Triple<String, Long, Double>> triples;
+  private byte[]                             pairsEncoded;
+  private byte[]                             pairsSerialized;
+  private byte[]                             triplesEncoded;
+  private byte[]                             triplesSerialized;
+
+  @Setup
+  public void setup() throws IOException {
+    pairs = new ArrayList<>();
+    triples = new ArrayList<>();
+    final long base = 1_700_000_000_000L;
+    for (int i = 0; i < 10_000; i++) {
+      pairs.add(Pair.of((long) i, base + i * 37L));
+      triples.add(Triple.of("user-" + i, base + i * 37L, i * 0.25D));
+    }
+    pairsEncoded = encodePairs().toByteArray();
+    pairsSerialized = serializePairs().toByteArray();
+    triplesEncoded = encodeTriples().toByteArray();
+    triplesSerialized = serializeTriples().toByteArray();
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream encodePairs() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 17);
+    try (BinaryWriter out = new BinaryWriter(Channels.newChannel(bytes), buffer)) {
+      out.write(PAIRS, pairs);
+    }
+    return bytes;
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream serializePairs() throws IOException {
+    return serialize(pairs);
+  }
+
+  @Benchmark
+  public List<Pair<Long, Long>> decodePairs() throws IOException {
+    return decode(PAIRS, pairsEncoded);
+  }
+
+  @Benchmark
+  public Object deserializePairs() throws IOException, ClassNotFoundException {
+    return deserialize(pairsSerialized);
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream encodeTriples() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 18);
+    try (BinaryWriter out = new BinaryWriter(Channels.newChannel(bytes), buffer)) {
+      out.write(TRIPLES, triples);
+    }
+    return bytes;
+  }
+
+  @Benchmark
+  public ByteArrayOutputStream serializeTriples() throws IOException {
+    return serialize(triples);
+  }
+
+  @Benchmark
+  public List<Triple<String, Long, Double>> decodeTriples() throws IOException {
+    return decode(TRIPLES, triplesEncoded);
+  }
+
+  @Benchmark
+  public Object deserializeTriples() throws IOException, ClassNotFoundException {
+    return deserialize(triplesSerialized);
+  }
+
+  private <T> T decode(final BinaryCodec<T> codec, final byte[] bytes) throws IOException {
+    try (BinaryReader in = new BinaryReader(Channels.newChannel(new ByteArrayInputStream(bytes)), buffer)) {
+      return in.read(codec);
+    }
+  }
+
+  private static ByteArrayOutputStream serialize(final Object value) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 19);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(value);
+    }
+    return bytes;
+  }
+
+  private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return in.readObject();
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePairList;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building and scanning (long, double) pairs stored as a {@code List<Pair>},
+ * a {@link PairList} and a {@link LongDoublePairList}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnarBenchmark {
+
+  @Param({"1000000"})
+  private int size;
+
+  private List<Pair<Long, Double>> arrayList;
+  private PairList<Long, Double>   pairList;
+  private LongDoublePairList       primitiveList;
+
+  @Setup
+  public void setup() {
+    arrayList = buildArrayList();
+    pairList = buildPairList();
+    primitiveList = buildPrimitiveList();
+  }
+
+  @Benchmark
+  public List<Pair<Long, Double>> buildArrayList() {
+    final List<Pair<Long, Double>> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(Pair.of((long) i, i * 0.5D));
+    }
+    return list;
+  }
+
+  @Benchmark
+  public PairList<Long, Double> buildPairList() {
+    final PairList<Long, Double> list = new PairList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add((long) i, i * 0.5D);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public LongDoublePairList buildPrimitiveList() {
+    final LongDoublePairList list = new LongDoublePairList(size);
+    for (int i = 0; i < size; i++) {
+      list.add(i, i * 0.5D);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public double scanArrayList() {
+    double sum = 0;
+    for (Pair<Long, Double> pair : arrayList) {
+      sum += pair.left * pair.right;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double scanPairList() {
+    double sum = 0;
+    for (int i = 0, n = pairList.size(); i < n; i++) {
+      sum += pairList.getLeft(i) * pairList.getRight(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double scanPrimitiveList() {
+    double sum = 0;
+    for (int i = 0, n = primitiveList.size(); i < n; i++) {
+      sum += primitiveList.getLeft(i) * primitiveList.getRight(i);
+    }
+    return sum;
+  }
+
+}
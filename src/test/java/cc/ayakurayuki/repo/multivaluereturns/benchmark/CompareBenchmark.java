@@ -0,0 +1,101 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@code P.compareTo} and {@code Tri.compareTo}, both as single
+ * comparisons and inside a full array sort.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompareBenchmark {
+
+  private static final int COMPARISONS = 1024;
+
+  @Param({"10000"})
+  private int size;
+
+  private Pair<Long, Long>[]                 pairs;
+  private Triple<Long, String, Long>[]       triples;
+  private Pair<Long, Long>[]                 pairsToSort;
+  private Triple<Long, String, Long>[]       triplesToSort;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    final Random random = new Random(20240414L);
+    pairs = new Pair[size];
+    triples = new Triple[size];
+    for (int i = 0; i < size; i++) {
+      // narrow ranges so that ties on the left element are frequent
+      final long left = random.nextInt(size / 16 + 1);
+      pairs[i] = Pair.of(left, random.nextLong());
+      triples[i] = Triple.of(left, String.valueOf(random.nextInt(8)), random.nextLong());
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void copy() {
+    pairsToSort = Arrays.copyOf(pairs, pairs.length);
+    triplesToSort = Arrays.copyOf(triples, triples.length);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COMPARISONS)
+  public void pairCompareTo(Blackhole bh) {
+    for (int i = 0; i < COMPARISONS; i++) {
+      bh.consume(pairs[i].compareTo(pairs[i + 1]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(COMPARISONS)
+  public void tripleCompareTo(Blackhole bh) {
+    for (int i = 0; i < COMPARISONS; i++) {
+      bh.consume(triples[i].compareTo(triples[i + 1]));
+    }
+  }
+
+  @Benchmark
+  public Object pairSort() {
+    Arrays.sort(pairsToSort);
+    return pairsToSort;
+  }
+
+  @Benchmark
+  public Object pairSortWithComparator() {
+    Arrays.sort(pairsToSort, Pair.naturalOrder());
+    return pairsToSort;
+  }
+
+  @Benchmark
+  public Object tripleSort() {
+    Arrays.sort(triplesToSort);
+    return triplesToSort;
+  }
+
+}
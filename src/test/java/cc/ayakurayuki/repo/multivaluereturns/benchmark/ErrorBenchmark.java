@@ -0,0 +1,48 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Errors;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of failing with {@link Result#err(Throwable)} using a regular exception,
+ * a {@link StacklessException} and a preallocated error of {@link Errors}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ErrorBenchmark {
+
+  private String message = "invalid input";
+
+  @Benchmark
+  public Result<String, Exception> newException() {
+    return Result.err(new IllegalArgumentException(message));
+  }
+
+  @Benchmark
+  public Result<String, Exception> newStackless() {
+    return Result.err(Errors.of(message));
+  }
+
+  @Benchmark
+  public Result<String, Exception> preallocated() {
+    return Result.err(Errors.INVALID_INPUT);
+  }
+
+}
@@ -0,0 +1,80 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the static factories of {@link Pair}, {@link Triple},
+ * {@link Result} and {@link PairResult}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FactoryBenchmark {
+
+  private Integer   left   = 42;
+  private String    middle = "middle";
+  private Long      right  = 4242L;
+  private Exception err    = new IllegalStateException("failed");
+  private long      id     = 1000L;
+  private double    score  = 0.75D;
+
+  @Benchmark
+  public Pair<Integer, Long> pairOf() {
+    return Pair.of(left, right);
+  }
+
+  @Benchmark
+  public Pair<Integer, Long> pairOfNulls() {
+    return Pair.of(null, null);
+  }
+
+  @Benchmark
+  public Pair<Long, Double> boxedLongDoublePairOf() {
+    return Pair.of(id++, score);
+  }
+
+  @Benchmark
+  public LongDoublePair longDoublePairOf() {
+    return LongDoublePair.of(id++, score);
+  }
+
+  @Benchmark
+  public Triple<Integer, String, Long> tripleOf() {
+    return Triple.of(left, middle, right);
+  }
+
+  @Benchmark
+  public Result<String, Exception> resultOk() {
+    return Result.ok(middle);
+  }
+
+  @Benchmark
+  public Result<String, Exception> resultErr() {
+    return Result.err(err);
+  }
+
+  @Benchmark
+  public PairResult<Integer, Long, Exception> pairResultOf() {
+    return PairResult.of(left, right, null);
+  }
+
+}
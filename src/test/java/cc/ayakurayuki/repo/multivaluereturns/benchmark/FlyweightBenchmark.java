@@ -0,0 +1,71 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation of the factories of {@link Pair}, {@link Triple} and {@link Result}
+ * for values the JDK caches, compared to the constructors; read the
+ * {@code gc.alloc.rate.norm} column.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlyweightBenchmark {
+
+  private boolean flag  = true;
+  private int     small = 7;
+  private int     large = 4242;
+
+  @Benchmark
+  public Pair<Boolean, Integer> pairOfCached() {
+    return Pair.of(flag, small);
+  }
+
+  @Benchmark
+  public Pair<Boolean, Integer> pairNew() {
+    return new Pair<>(flag, small);
+  }
+
+  @Benchmark
+  public Pair<Boolean, Integer> pairOfUncached() {
+    return Pair.of(flag, large);
+  }
+
+  @Benchmark
+  public Triple<Boolean, Integer, Boolean> tripleOfCached() {
+    return Triple.of(flag, 1, !flag);
+  }
+
+  @Benchmark
+  public Triple<Boolean, Integer, Boolean> tripleNew() {
+    return new Triple<>(flag, 1, !flag);
+  }
+
+  @Benchmark
+  public Result<Boolean, Exception> resultOkCached() {
+    return Result.ok(flag);
+  }
+
+  @Benchmark
+  public Result<Boolean, Exception> resultCreate() {
+    return Result.create(flag, null);
+  }
+
+}
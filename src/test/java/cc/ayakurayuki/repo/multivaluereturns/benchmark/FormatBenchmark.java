@@ -0,0 +1,98 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TupleFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@code toString()} and {@code toString(format)} on the tuple types,
+ * with format strings and precompiled {@link TupleFormat}s.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+  private final Pair<String, Long>                   pair       = Pair.of("key", 4242L);
+  private final Triple<String, Long, Double>         triple     = Triple.of("key", 4242L, 0.5D);
+  private final Result<String, Exception>            result     = Result.ok("value");
+  private final PairResult<String, Long, Exception>  pairResult = PairResult.of("key", 4242L, null);
+
+  private final TupleFormat   pairFormat   = TupleFormat.compile("%s=%s");
+  private final TupleFormat   tripleFormat = TupleFormat.compile("%s:%s:%s");
+  private final StringBuilder builder      = new StringBuilder(64);
+
+  @Benchmark
+  public String pairToString() {
+    return pair.toString();
+  }
+
+  @Benchmark
+  public String pairToStringFormat() {
+    return pair.toString("%s=%s");
+  }
+
+  @Benchmark
+  public String pairToStringCompiled() {
+    return pair.toString(pairFormat);
+  }
+
+  @Benchmark
+  public int pairAppendTo() {
+    builder.setLength(0);
+    return pairFormat.appendTo(builder, pair.left, pair.right).length();
+  }
+
+  @Benchmark
+  public String stringFormatBaseline() {
+    return String.format("%s=%s", pair.left, pair.right);
+  }
+
+  @Benchmark
+  public String tripleToString() {
+    return triple.toString();
+  }
+
+  @Benchmark
+  public String tripleToStringFormat() {
+    return triple.toString("%s:%s:%s");
+  }
+
+  @Benchmark
+  public String tripleToStringCompiled() {
+    return triple.toString(tripleFormat);
+  }
+
+  @Benchmark
+  public String resultToString() {
+    return result.toString();
+  }
+
+  @Benchmark
+  public String pairResultToString() {
+    return pairResult.toString();
+  }
+
+  @Benchmark
+  public String concatBaseline() {
+    return pair.getLeft() + "=" + pair.getRight();
+  }
+
+}
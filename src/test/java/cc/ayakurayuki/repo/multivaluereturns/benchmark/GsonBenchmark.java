@@ -0,0 +1,74 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.gson.MultiValueTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding a list of pairs with reflective Gson and with the
+ * streaming adapters of {@link MultiValueTypeAdapterFactory}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GsonBenchmark {
+
+  private static final Type TYPE = new TypeToken<List<Pair<String, Integer>>>() {}.getType();
+
+  private final Gson reflective = new Gson();
+  private final Gson streaming  = new GsonBuilder().registerTypeAdapterFactory(new MultiValueTypeAdapterFactory()).create();
+
+  private List<Pair<String, Integer>> pairs;
+  private String                      json;
+
+  @Setup
+  public void setup() {
+    pairs = new ArrayList<>(1000);
+    for (int i = 0; i < 1000; i++) {
+      pairs.add(Pair.of("key-" + i, i));
+    }
+    json = streaming.toJson(pairs, TYPE);
+  }
+
+  @Benchmark
+  public String reflectiveToJson() {
+    return reflective.toJson(pairs, TYPE);
+  }
+
+  @Benchmark
+  public String streamingToJson() {
+    return streaming.toJson(pairs, TYPE);
+  }
+
+  @Benchmark
+  public List<Pair<String, Integer>> reflectiveFromJson() {
+    return reflective.fromJson(json, TYPE);
+  }
+
+  @Benchmark
+  public List<Pair<String, Integer>> streamingFromJson() {
+    return streaming.fromJson(json, TYPE);
+  }
+
+}
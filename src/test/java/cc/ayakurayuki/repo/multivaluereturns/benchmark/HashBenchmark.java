@@ -0,0 +1,107 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@code equals} and {@code hashCode} of the tuple types measured through
+ * {@link HashMap} lookups. Probes are equal but not identical to the stored
+ * keys, so every hit goes through a full {@code equals}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashBenchmark {
+
+  @Param({"1024", "65536"})
+  private int size;
+
+  private Map<Pair<String, Long>, Integer>                   pairMap;
+  private Map<Triple<String, Long, Integer>, Integer>        tripleMap;
+  private Map<PairResult<String, Long, Exception>, Integer>  pairResultMap;
+  private Pair<String, Long>[]                               pairProbes;
+  private Triple<String, Long, Integer>[]                    tripleProbes;
+  private PairResult<String, Long, Exception>[]              pairResultProbes;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    pairMap = new HashMap<>();
+    tripleMap = new HashMap<>();
+    pairResultMap = new HashMap<>();
+    pairProbes = new Pair[size];
+    tripleProbes = new Triple[size];
+    pairResultProbes = new PairResult[size];
+    for (int i = 0; i < size; i++) {
+      pairMap.put(Pair.of("key-" + i, (long) i), i);
+      tripleMap.put(Triple.of("key-" + i, (long) i, i), i);
+      pairResultMap.put(PairResult.of("key-" + i, (long) i, null), i);
+      pairProbes[i] = Pair.of("key-" + i, (long) i);
+      tripleProbes[i] = Triple.of("key-" + i, (long) i, i);
+      pairResultProbes[i] = PairResult.of("key-" + i, (long) i, null);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  public void pairGet(Blackhole bh) {
+    for (int i = 0; i < 1024; i++) {
+      bh.consume(pairMap.get(pairProbes[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  public void tripleGet(Blackhole bh) {
+    for (int i = 0; i < 1024; i++) {
+      bh.consume(tripleMap.get(tripleProbes[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  public void pairResultGet(Blackhole bh) {
+    for (int i = 0; i < 1024; i++) {
+      bh.consume(pairResultMap.get(pairResultProbes[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  public void pairHashCode(Blackhole bh) {
+    for (int i = 0; i < 1024; i++) {
+      bh.consume(pairProbes[i].hashCode());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(1024)
+  public void pairResultHashCode(Blackhole bh) {
+    for (int i = 0; i < 1024; i++) {
+      bh.consume(pairResultProbes[i].hashCode());
+    }
+  }
+
+}
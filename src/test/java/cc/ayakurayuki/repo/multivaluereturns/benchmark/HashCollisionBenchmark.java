@@ -0,0 +1,115 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairKey;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * HashMap lookups with adversarial key patterns, comparing the {@code ^} based
+ * hash of {@link Pair}/{@link Triple} with the mixed hash of {@link PairKey}/{@link TripleKey}.
+ *
+ * <ul>
+ *   <li>{@code SYMMETRIC}: both {@code (a,b)} and {@code (b,a)}, like undirected graph edges</li>
+ *   <li>{@code DIAGONAL}: {@code (x,x)} with a few neighbours, like diagonal matrix keys</li>
+ *   <li>{@code TRIPLE_XXY}: {@code (x,x,y)}</li>
+ * </ul>
+ *
+ * <p>
+ * The bucket distribution of the patterns, the number of distinct hash codes and
+ * the largest bucket of a table sized like the one of {@link HashMap}, is checked
+ * by {@code HashingTest.testAdversarialPatterns}.
+ * </p>
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashCollisionBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  public enum Pattern {
+    SYMMETRIC, DIAGONAL, TRIPLE_XXY
+  }
+
+  @Param({"SYMMETRIC", "DIAGONAL", "TRIPLE_XXY"})
+  private Pattern pattern;
+
+  @Param({"false", "true"})
+  private boolean mixed;
+
+  @Param({"40000"})
+  private int size;
+
+  private Map<Object, Integer> map;
+  private Object[]             probes;
+
+  @Setup
+  public void setup() {
+    map = new HashMap<>();
+    final Object[] keys = new Object[size];
+    final int side = (int) Math.sqrt(size);
+    for (int i = 0; i < size; i++) {
+      final int a;
+      final int b;
+      switch (pattern) {
+        case SYMMETRIC:
+          // (a,b) for every a < b, then its mirror (b,a)
+          a = (i / 2) % side;
+          b = a + 1 + (i / 2) / side;
+          keys[i] = key(i % 2 == 0 ? a : b, i % 2 == 0 ? b : a);
+          break;
+        case DIAGONAL:
+          // (x,x) and its neighbours on the band next to the diagonal
+          a = i / 3;
+          b = a + i % 3 - 1;
+          keys[i] = i % 3 == 1 ? key(a, a) : key(a, b);
+          break;
+        default:
+          a = i / 4;
+          b = i % 4;
+          keys[i] = mixed ? TripleKey.of(a, a, b) : Triple.of(a, a, b);
+          break;
+      }
+      map.put(keys[i], i);
+    }
+    probes = new Object[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      probes[i] = keys[(int) ((long) i * size / LOOKUPS)];
+    }
+  }
+
+  private Object key(final int a, final int b) {
+    return mixed ? PairKey.of(a, b) : Pair.of(a, b);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void get(Blackhole bh) {
+    for (Object probe : probes) {
+      bh.consume(map.get(probe));
+    }
+  }
+
+}
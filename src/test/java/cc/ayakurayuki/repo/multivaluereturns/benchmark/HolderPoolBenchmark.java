@@ -0,0 +1,75 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.HolderPool;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A call returning three values through an out-parameter, with a new
+ * {@link MutTriple} per call and with a holder from a {@link HolderPool}. The
+ * callee is not inlined, so escape analysis cannot remove the allocation.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolderPoolBenchmark {
+
+  private final HolderPool pool      = HolderPool.of(16);
+  private final HolderPool debugPool = HolderPool.debug(16);
+
+  private long counter;
+
+  @Benchmark
+  public long newHolder() {
+    final MutTriple<Long, Long, Long> triple = new MutTriple<>();
+    fill(triple);
+    return triple.left + triple.middle + triple.right;
+  }
+
+  @Benchmark
+  public long pooledHolder() {
+    final MutTriple<Long, Long, Long> triple = pool.acquireTriple();
+    try {
+      fill(triple);
+      return triple.left + triple.middle + triple.right;
+    } finally {
+      pool.release(triple);
+    }
+  }
+
+  @Benchmark
+  public long debugPooledHolder() {
+    final MutTriple<Long, Long, Long> triple = debugPool.acquireTriple();
+    try {
+      fill(triple);
+      return triple.left + triple.middle + triple.right;
+    } finally {
+      debugPool.release(triple);
+    }
+  }
+
+  @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+  private void fill(final MutTriple<Long, Long, Long> triple) {
+    // small values, from the Long cache
+    final long c = counter++ & 63;
+    triple.left = c;
+    triple.middle = c + 1;
+    triple.right = c + 2;
+  }
+
+}
@@ -0,0 +1,92 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairKeyedMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups of two-element keys in a {@code HashMap<Pair, V>}, which needs a pair
+ * per lookup, and in a {@link PairKeyedMap}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PairKeyedMapBenchmark {
+
+  @Param({"1000", "100000"})
+  private int size;
+
+  private Map<Pair<String, Long>, Long>   hashMap;
+  private PairKeyedMap<String, Long, Long> pairKeyedMap;
+  private String[]                         lefts;
+  private Long[]                           rights;
+  private int                              index;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    hashMap = new HashMap<>();
+    pairKeyedMap = new PairKeyedMap<>();
+    lefts = new String[size];
+    rights = new Long[size];
+    for (int i = 0; i < size; i++) {
+      // distinct instances, as keys read from a request would be
+      lefts[i] = new String("key-" + random.nextInt(size / 10 + 1));
+      rights[i] = Long.valueOf(random.nextInt(1 << 20) + 1000L);
+      hashMap.put(new Pair<>(lefts[i], rights[i]), (long) i);
+      pairKeyedMap.put(lefts[i], rights[i], (long) i);
+    }
+  }
+
+  @Benchmark
+  public Long hashMapGet() {
+    final int i = next();
+    return hashMap.get(Pair.of(lefts[i], rights[i]));
+  }
+
+  @Benchmark
+  public Long pairKeyedMapGet() {
+    final int i = next();
+    return pairKeyedMap.get(lefts[i], rights[i]);
+  }
+
+  @Benchmark
+  public Long hashMapPutRemove() {
+    final int i = next();
+    hashMap.remove(Pair.of(lefts[i], rights[i]));
+    return hashMap.put(Pair.of(lefts[i], rights[i]), (long) i);
+  }
+
+  @Benchmark
+  public Long pairKeyedMapPutRemove() {
+    final int i = next();
+    pairKeyedMap.remove(lefts[i], rights[i]);
+    return pairKeyedMap.put(lefts[i], rights[i], (long) i);
+  }
+
+  private int next() {
+    final int i = index;
+    index = i + 1 == size ? 0 : i + 1;
+    return i;
+  }
+
+}
@@ -0,0 +1,75 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Results;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Batch validation of records into a {@link Result} of a list with {@link Results},
+ * compared to a hand-written loop.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultsBenchmark {
+
+  @Param({"1000000"})
+  private int size;
+
+  private List<Integer> records;
+
+  @Setup
+  public void setup() {
+    records = IntStream.range(0, size).boxed().collect(Collectors.toList());
+  }
+
+  private static Result<Integer, StacklessException> validate(final Integer record) {
+    // a little work per record, all records are valid
+    return Integer.bitCount(record) < 32 ? Result.ok(record) : Result.err(new StacklessException("invalid"));
+  }
+
+  @Benchmark
+  public Result<List<Integer>, StacklessException> loop() {
+    final List<Integer> oks = new ArrayList<>(records.size());
+    for (final Integer record : records) {
+      final Result<Integer, StacklessException> result = validate(record);
+      if (result.isError()) {
+        return Result.err(result.err());
+      }
+      oks.add(result.ok());
+    }
+    return Result.ok(oks);
+  }
+
+  @Benchmark
+  public Result<List<Integer>, StacklessException> traverse() {
+    return Results.traverse(records.stream(), ResultsBenchmark::validate);
+  }
+
+  @Benchmark
+  public Result<List<Integer>, StacklessException> traverseParallel() {
+    return Results.traverse(records.parallelStream(), ResultsBenchmark::validate);
+  }
+
+}
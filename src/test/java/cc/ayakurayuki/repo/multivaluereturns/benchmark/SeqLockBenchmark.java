@@ -0,0 +1,102 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.AtomicTriple;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockLongTriple;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockTriple;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One writer updating a triple of three correlated values and three readers
+ * taking snapshots of it, with an {@link AtomicTriple}, which allocates a triple
+ * per update, with a {@link SeqLockTriple}, which writes in place but boxes the
+ * values, and with a {@link SeqLockLongTriple}, which stores them unboxed.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SeqLockBenchmark {
+
+  private final AtomicTriple<Long, Long, Long>  atomic    = new AtomicTriple<>(0L, 0L, 0L);
+  private final SeqLockTriple<Long, Long, Long> seqLock   = new SeqLockTriple<>(0L, 0L, 0L);
+  private final SeqLockLongTriple               primitive = new SeqLockLongTriple();
+
+  /**
+   * Prices and sizes grow past the Long cache, so each update boxes fresh values
+   */
+  private long tick = 1000L;
+
+  @State(Scope.Thread)
+  public static class Holder {
+
+    final MutTriple<Long, Long, Long> snapshot          = new MutTriple<>();
+    final long[]                      primitiveSnapshot = new long[3];
+
+  }
+
+  @Benchmark
+  @Group("atomic")
+  @GroupThreads(1)
+  public void atomicWrite() {
+    final long t = tick++;
+    atomic.set(t, t + 1, t + 2);
+  }
+
+  @Benchmark
+  @Group("atomic")
+  @GroupThreads(3)
+  public long atomicRead() {
+    final Triple<Long, Long, Long> t = atomic.get();
+    return t.left + t.middle + t.right;
+  }
+
+  @Benchmark
+  @Group("seqLock")
+  @GroupThreads(1)
+  public void seqLockWrite() {
+    final long t = tick++;
+    seqLock.set(t, t + 1, t + 2);
+  }
+
+  @Benchmark
+  @Group("seqLock")
+  @GroupThreads(3)
+  public long seqLockRead(final Holder holder) {
+    seqLock.readInto(holder.snapshot);
+    return holder.snapshot.left + holder.snapshot.middle + holder.snapshot.right;
+  }
+
+  @Benchmark
+  @Group("primitive")
+  @GroupThreads(1)
+  public void primitiveWrite() {
+    final long t = tick++;
+    primitive.set(t, t + 1, t + 2);
+  }
+
+  @Benchmark
+  @Group("primitive")
+  @GroupThreads(3)
+  public long primitiveRead(final Holder holder) {
+    primitive.readInto(holder.primitiveSnapshot, 0);
+    return holder.primitiveSnapshot[0] + holder.primitiveSnapshot[1] + holder.primitiveSnapshot[2];
+  }
+
+}
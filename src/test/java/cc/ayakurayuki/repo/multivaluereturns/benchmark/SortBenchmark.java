@@ -0,0 +1,102 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPairList;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.TupleSorts;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting random pairs of longs with {@link Arrays#parallelSort(Comparable[])} as
+ * the baseline and with {@link TupleSorts}. Each benchmark sorts a fresh copy.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class SortBenchmark {
+
+  @Param("1000000")
+  private int size;
+
+  private Pair<Long, Long>[] pairs;
+  private LongLongPair[]     primitivePairs;
+  private LongLongPairList   primitiveList;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    final Random random = new Random(42);
+    pairs = new Pair[size];
+    primitivePairs = new LongLongPair[size];
+    primitiveList = new LongLongPairList(size);
+    for (int i = 0; i < size; i++) {
+      final long left = random.nextInt(size / 4);
+      final long right = random.nextLong();
+      pairs[i] = new Pair<>(left, right);
+      primitivePairs[i] = LongLongPair.of(left, right);
+      primitiveList.add(left, right);
+    }
+  }
+
+  @Benchmark
+  public Pair<Long, Long>[] arraysSort() {
+    final Pair<Long, Long>[] a = pairs.clone();
+    Arrays.sort(a);
+    return a;
+  }
+
+  @Benchmark
+  public Pair<Long, Long>[] arraysParallelSort() {
+    final Pair<Long, Long>[] a = pairs.clone();
+    Arrays.parallelSort(a);
+    return a;
+  }
+
+  @Benchmark
+  public Pair<Long, Long>[] parallelMergeSort() {
+    final Pair<Long, Long>[] a = pairs.clone();
+    TupleSorts.parallelSort(a);
+    return a;
+  }
+
+  @Benchmark
+  public Pair<Long, Long>[] radixSort() {
+    final Pair<Long, Long>[] a = pairs.clone();
+    TupleSorts.radixSort(a);
+    return a;
+  }
+
+  @Benchmark
+  public LongLongPair[] primitiveArraysParallelSort() {
+    final LongLongPair[] a = primitivePairs.clone();
+    Arrays.parallelSort(a);
+    return a;
+  }
+
+  @Benchmark
+  public LongLongPairList primitiveRadixSort() {
+    final LongLongPairList list = new LongLongPairList(size);
+    list.addAll(primitiveList);
+    TupleSorts.radixSort(list);
+    return list;
+  }
+
+}
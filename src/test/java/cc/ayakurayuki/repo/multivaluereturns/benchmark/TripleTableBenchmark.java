@@ -0,0 +1,100 @@
+package cc.ayakurayuki.repo.multivaluereturns.benchmark;
+
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleTable;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups of triples by one or two elements, scanning a {@code Set<Triple>} or
+ * reading the indexes of a {@link TripleTable}.
+ *
+ * @author Ayakura Yuki
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Thread)
+public class TripleTableBenchmark {
+
+  @Param("1000000")
+  private int size;
+
+  private Set<Triple<Integer, Integer, Integer>> set;
+  private TripleTable<Integer, Integer, Integer> table;
+  private int                                    subjects;
+  private int                                    query;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    set = new HashSet<>();
+    table = new TripleTable<>();
+    subjects = size / 10;
+    for (int i = 0; i < size; i++) {
+      // about ten triples per subject over twenty predicates
+      final Triple<Integer, Integer, Integer> triple = Triple.of(random.nextInt(subjects), random.nextInt(20), random.nextInt(size));
+      set.add(triple);
+      table.add(triple);
+    }
+  }
+
+  @Benchmark
+  public void scanByLeft(final Blackhole bh) {
+    final Integer left = nextSubject();
+    for (final Triple<Integer, Integer, Integer> triple : set) {
+      if (triple.left.equals(left)) {
+        bh.consume(triple);
+      }
+    }
+  }
+
+  @Benchmark
+  public void tableByLeft(final Blackhole bh) {
+    for (final Triple<Integer, Integer, Integer> triple : table.byLeft(nextSubject())) {
+      bh.consume(triple);
+    }
+  }
+
+  @Benchmark
+  public void scanByLeftMiddle(final Blackhole bh) {
+    final Integer left = nextSubject();
+    final Integer middle = left % 20;
+    for (final Triple<Integer, Integer, Integer> triple : set) {
+      if (triple.left.equals(left) && triple.middle.equals(middle)) {
+        bh.consume(triple);
+      }
+    }
+  }
+
+  @Benchmark
+  public void tableByLeftMiddle(final Blackhole bh) {
+    final Integer left = nextSubject();
+    for (final Triple<Integer, Integer, Integer> triple : table.byLeftMiddle(left, left % 20)) {
+      bh.consume(triple);
+    }
+  }
+
+  private Integer nextSubject() {
+    final int q = query;
+    query = q + 1 == subjects ? 0 : q + 1;
+    return q;
+  }
+
+}
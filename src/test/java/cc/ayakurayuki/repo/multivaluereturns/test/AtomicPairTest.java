@@ -0,0 +1,182 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.AtomicIntIntPair;
+import cc.ayakurayuki.repo.multivaluereturns.AtomicLongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.AtomicPair;
+import cc.ayakurayuki.repo.multivaluereturns.AtomicTriple;
+import cc.ayakurayuki.repo.multivaluereturns.IntIntPair;
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-22:20
+ */
+@RunWith(JUnit4.class)
+public class AtomicPairTest {
+
+  private static final int THREADS = 4;
+
+  private static final int UPDATES = 20_000;
+
+  @Test
+  public void testAtomicIntIntPair() {
+    final AtomicIntIntPair pair = new AtomicIntIntPair(-1, Integer.MIN_VALUE);
+    assertEquals(-1, pair.getLeft());
+    assertEquals(Integer.MIN_VALUE, pair.getRightAcquire());
+    assertTrue(pair.compareAndSet(-1, Integer.MIN_VALUE, 3, -4));
+    assertFalse(pair.compareAndSet(-1, Integer.MIN_VALUE, 5, 6));
+    assertEquals(IntIntPair.of(3, -4), pair.get());
+    assertEquals(AtomicIntIntPair.pack(4, -8), pair.addAndGetPacked(1, -4));
+    assertEquals(IntIntPair.of(4, -8), pair.getAndSet(0, 0));
+    assertEquals(IntIntPair.of(1, 2), pair.accumulateAndGet(IntIntPair.of(1, 2), (a, b) -> IntIntPair.of(a.left + b.left, a.right + b.right)));
+    assertEquals(IntIntPair.of(1, 2), pair.getAndUpdate(p -> IntIntPair.of(p.right, p.left)));
+    assertEquals("(2,1)", pair.toString());
+    assertEquals(-1, AtomicIntIntPair.left(AtomicIntIntPair.pack(-1, -1)));
+    assertEquals(-1, AtomicIntIntPair.right(AtomicIntIntPair.pack(-1, -1)));
+  }
+
+  @Test
+  public void testAtomicLongLongPair() {
+    final AtomicLongLongPair pair = new AtomicLongLongPair();
+    assertEquals(LongLongPair.of(0L, 0L), pair.get());
+    // compared by value, not by identity
+    assertTrue(pair.compareAndSet(0L, 0L, Long.MAX_VALUE, -1L));
+    assertFalse(pair.compareAndSet(0L, 0L, 1L, 1L));
+    assertEquals(Long.MAX_VALUE, pair.getLeftAcquire());
+    assertEquals(LongLongPair.of(Long.MIN_VALUE, 0L), pair.addAndGet(1L, 1L));
+    assertEquals(LongLongPair.of(Long.MIN_VALUE, 0L), pair.getAndUpdate(p -> LongLongPair.of(p.right, p.left)));
+    assertEquals(LongLongPair.of(0L, Long.MIN_VALUE), pair.get());
+  }
+
+  @Test
+  public void testAtomicPair() {
+    final AtomicPair<String, Integer> pair = new AtomicPair<>();
+    assertSame(Pair.nullPair(), pair.get());
+    pair.set("a", 1);
+    final Pair<String, Integer> current = pair.get();
+    assertTrue(pair.compareAndSet(current.left, current.right, "b", 2));
+    assertFalse(pair.compareAndSet(current, Pair.of("c", 3)));
+    assertEquals("b", pair.getAndSetLeft("c"));
+    assertEquals(Integer.valueOf(2), pair.getAndSetRight(3));
+    assertEquals(Pair.of("c", 3), pair.getAcquire());
+    assertEquals(Pair.of("c", 3), pair.getAndSet("d", 4));
+    assertEquals(Pair.of("d4", 5), pair.accumulateAndGet(Pair.of(null, 1), (a, b) -> Pair.of(a.left + a.right, a.right + b.right)));
+    pair.setRelease(null, null);
+    assertNull(pair.getLeftAcquire());
+    try {
+      pair.updateAndGet(p -> null);
+      fail("a null update must be rejected");
+    } catch (NullPointerException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testAtomicTriple() {
+    final AtomicTriple<String, Integer, Boolean> triple = new AtomicTriple<>("a", 1, true);
+    final Triple<String, Integer, Boolean> current = triple.get();
+    assertFalse(triple.compareAndSet("a", current.middle, false, "b", 2, false));
+    assertTrue(triple.compareAndSet(current.left, current.middle, current.right, "b", 2, false));
+    assertEquals(Integer.valueOf(2), triple.getAndSetMiddle(3));
+    assertEquals(Triple.of("b", 3, false), triple.getAndUpdate(t -> Triple.of(t.left + t.middle, t.middle, !t.right)));
+    assertEquals(Triple.of("b3", 3, true), triple.get());
+    assertEquals("(b3,3,true)", triple.toString());
+  }
+
+  @Test
+  public void testContendedUpdates() throws Exception {
+    final AtomicPair<Long, Long> pair = new AtomicPair<>(0L, 0L);
+    final AtomicTriple<Long, Long, Long> triple = new AtomicTriple<>(0L, 0L, 0L);
+    final AtomicLongLongPair longs = new AtomicLongLongPair();
+    final AtomicIntIntPair ints = new AtomicIntIntPair();
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < UPDATES; i++) {
+            // the elements move together, a torn read would see them differ
+            final Pair<Long, Long> p = pair.updateAndGet(x -> Pair.of(x.left + 1, x.right + 1));
+            assertEquals(p.left, p.right);
+            triple.getAndUpdate(x -> Triple.of(x.left + 1, x.middle + 2, x.right + 3));
+            longs.addAndGet(1L, -1L);
+            ints.addAndGetPacked(1, -1);
+            final IntIntPair read = ints.get();
+            assertEquals(read.left, -read.right);
+          }
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    final long total = (long) THREADS * UPDATES;
+    assertEquals(Pair.of(total, total), pair.get());
+    assertEquals(Triple.of(total, total * 2, total * 3), triple.get());
+    assertEquals(LongLongPair.of(total, -total), longs.get());
+    assertEquals(IntIntPair.of((int) total, (int) -total), ints.get());
+  }
+
+  @Test
+  public void testSetRelease() throws Exception {
+    final AtomicPair<Integer, Integer> pair = new AtomicPair<>(0, 0);
+    final AtomicTriple<Integer, Integer, Integer> triple = new AtomicTriple<>(0, 0, 0);
+    final AtomicLongLongPair longs = new AtomicLongLongPair();
+    final AtomicIntIntPair ints = new AtomicIntIntPair();
+    final ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      // each thread sets its own element, a lost update would undo another one
+      final List<Future<?>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> {
+        for (int i = 1; i <= UPDATES; i++) {
+          pair.setLeftRelease(i);
+          triple.setLeftRelease(i);
+          longs.setLeftRelease(i);
+          ints.setLeftRelease(i);
+        }
+      }));
+      futures.add(executor.submit(() -> {
+        for (int i = 1; i <= UPDATES; i++) {
+          pair.setRightRelease(-i);
+          triple.setMiddleRelease(-i);
+          longs.setRightRelease(-i);
+          ints.setRightRelease(-i);
+        }
+      }));
+      futures.add(executor.submit(() -> {
+        for (int i = 1; i <= UPDATES; i++) {
+          triple.setRightRelease(i * 2);
+        }
+      }));
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(Pair.of(UPDATES, -UPDATES), pair.get());
+    assertEquals(Triple.of(UPDATES, -UPDATES, UPDATES * 2), triple.get());
+    assertEquals(LongLongPair.of(UPDATES, -UPDATES), longs.get());
+    assertEquals(IntIntPair.of(UPDATES, -UPDATES), ints.get());
+  }
+
+}
@@ -0,0 +1,224 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.BinaryCodec;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryCodecs;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryReader;
+import cc.ayakurayuki.repo.multivaluereturns.BinaryWriter;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairList;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-14:20
+ */
+@RunWith(JUnit4.class)
+public class BinaryCodecTest {
+
+  private interface Encoding {
+
+    void write(BinaryWriter out) throws IOException;
+
+  }
+
+  private interface Decoding {
+
+    void read(BinaryReader in) throws IOException;
+
+  }
+
+  /**
+   * Encodes with a tiny buffer, so that values cross the flushes.
+   */
+  private static byte[] encode(final Encoding encoding) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (BinaryWriter out = new BinaryWriter(Channels.newChannel(bytes), ByteBuffer.allocate(16))) {
+      encoding.write(out);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static BinaryReader reader(final byte[] bytes) {
+    return new BinaryReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ByteBuffer.allocateDirect(16));
+  }
+
+  private static <T> T roundTrip(final BinaryCodec<T> codec, final T value) throws IOException {
+    final byte[] bytes = encode(out -> out.write(codec, value));
+    final BinaryReader in = reader(bytes);
+    final T decoded = in.read(codec);
+    assertFalse(in.hasMore());
+    assertEquals(bytes.length, in.position());
+    return decoded;
+  }
+
+  @Test
+  public void testBulk() throws IOException {
+    final BinaryCodec<Pair<Long, Long>> pair = BinaryCodecs.pair(BinaryCodecs.LONG, BinaryCodecs.LONG);
+    final List<Pair<Long, Long>> pairs = new ArrayList<>();
+    final PairList<Long, Long> pairList = new PairList<>();
+    final TripleList<String, Long, Double> tripleList = new TripleList<>();
+    for (long i = 0; i < 1000; i++) {
+      pairs.add(Pair.of(i, -i * 1_000_000L));
+      pairList.add(i, -i);
+      tripleList.add("name-" + i, i, i / 3D);
+    }
+    assertEquals(pairs, roundTrip(BinaryCodecs.list(pair), pairs));
+    assertEquals(pairList, roundTrip(BinaryCodecs.pairList(BinaryCodecs.LONG, BinaryCodecs.LONG), pairList));
+    assertEquals(tripleList, roundTrip(BinaryCodecs.tripleList(BinaryCodecs.STRING, BinaryCodecs.LONG, BinaryCodecs.DOUBLE), tripleList));
+
+    @SuppressWarnings("unchecked")
+    final Pair<Long, Long>[] array = pairs.toArray(new Pair[0]);
+    assertArrayEquals(array, roundTrip(BinaryCodecs.array(pair, Pair[]::new), array));
+  }
+
+  @Test
+  public void testFrames() throws IOException {
+    final BinaryCodec<Triple<String, Long, Double>> codec = BinaryCodecs.triple(BinaryCodecs.STRING, BinaryCodecs.LONG, BinaryCodecs.DOUBLE);
+    final String large = String.join("", java.util.Collections.nCopies(100, "large"));
+    final byte[] bytes = encode(out -> out
+        .writeFrame(codec, Triple.of("a", 1L, 0.5D))
+        .writeFrame(codec, Triple.of(large, 2L, 1.5D))
+        .writeFrame(codec, Triple.of("c", 3L, 2.5D)));
+    final BinaryReader in = reader(bytes);
+    assertEquals(Triple.of("a", 1L, 0.5D), in.readFrame(codec));
+    in.skipFrame();
+    assertEquals(Triple.of("c", 3L, 2.5D), in.readFrame(codec));
+    assertFalse(in.hasMore());
+  }
+
+  @Test(expected = EOFException.class)
+  public void testEndOfStream() throws IOException {
+    final byte[] bytes = encode(out -> out.writeLong(1L));
+    reader(Arrays.copyOf(bytes, 5)).readLong();
+  }
+
+  @Test
+  public void testNegativeLength() throws IOException {
+    // an unsigned varint above Integer.MAX_VALUE, read as a length
+    final byte[] bytes = encode(out -> out.writeVarInt(-5).writeLong(0L));
+    final List<Decoding> decodings = Arrays.asList(
+        BinaryReader::readString,
+        BinaryReader::readBytes,
+        BinaryReader::skipFrame,
+        in -> in.readFrame(BinaryCodecs.LONG),
+        in -> in.read(BinaryCodecs.list(BinaryCodecs.LONG)),
+        in -> in.read(BinaryCodecs.array(BinaryCodecs.LONG, Long[]::new)),
+        in -> in.read(BinaryCodecs.pairList(BinaryCodecs.LONG, BinaryCodecs.LONG)),
+        in -> in.read(BinaryCodecs.tripleList(BinaryCodecs.LONG, BinaryCodecs.LONG, BinaryCodecs.LONG))
+    );
+    for (final Decoding decoding : decodings) {
+      try {
+        decoding.read(reader(bytes));
+        fail("a negative length must be reported as a corrupted stream");
+      } catch (StreamCorruptedException expected) {
+        // expected
+      }
+    }
+    assertEquals(0x7FFFFFFF, reader(encode(out -> out.writeVarInt(Integer.MAX_VALUE))).readLength());
+  }
+
+  @Test
+  public void testPrimitives() throws IOException {
+    final long[] longs = {0L, 1L, -1L, 63L, -64L, 64L, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+    final String[] strings = {"", "ascii", "café", "日本語", "emoji 😀", null};
+    final byte[] bytes = encode(out -> {
+      for (final long l : longs) {
+        out.writeZigZagLong(l).writeVarLong(l).writeZigZagInt((int) l).writeVarInt((int) l);
+      }
+      for (final String s : strings) {
+        out.write(BinaryCodecs.nullable(BinaryCodecs.STRING), s);
+      }
+      out.writeDouble(Math.PI).writeBoolean(true).writeBytes(new byte[]{1, 2, 3});
+    });
+    final BinaryReader in = reader(bytes);
+    for (final long l : longs) {
+      assertEquals(l, in.readZigZagLong());
+      assertEquals(l, in.readVarLong());
+      assertEquals((int) l, in.readZigZagInt());
+      assertEquals((int) l, in.readVarInt());
+    }
+    for (final String s : strings) {
+      assertEquals(s, in.read(BinaryCodecs.nullable(BinaryCodecs.STRING)));
+    }
+    assertEquals(Math.PI, in.readDouble(), 0D);
+    assertTrue(in.readBoolean());
+    assertArrayEquals(new byte[]{1, 2, 3}, in.readBytes());
+    assertFalse(in.hasMore());
+
+    assertEquals(1, encode(out -> out.writeZigZagLong(-64L)).length);
+  }
+
+  @Test
+  public void testResults() throws IOException {
+    final BinaryCodec<StacklessException> err = BinaryCodecs.errorMessage(StacklessException::new);
+    final BinaryCodec<Result<String, StacklessException>> result = BinaryCodecs.result(BinaryCodecs.nullable(BinaryCodecs.STRING), err);
+    assertEquals("a", roundTrip(result, Result.ok("a")).ok());
+    assertNull(roundTrip(result, Result.ok(null)).ok());
+    final Result<String, StacklessException> failed = roundTrip(result, Result.err(new StacklessException("boom")));
+    assertEquals("boom", failed.err().getMessage());
+    final Result<String, StacklessException> both = roundTrip(result, Result.create("a", new StacklessException("boom")));
+    assertEquals("a", both.ok());
+    assertEquals("boom", both.err().getMessage());
+
+    final BinaryCodec<PairResult<Integer, Long, StacklessException>> pairResult = BinaryCodecs.pairResult(BinaryCodecs.INT, BinaryCodecs.LONG, err);
+    assertEquals(Pair.of(1, 2L), roundTrip(pairResult, PairResult.of(1, 2L, null)).orElse(null));
+    assertEquals("boom", roundTrip(pairResult, PairResult.err(new StacklessException("boom"))).err().getMessage());
+  }
+
+  @Test
+  public void testSmallerThanSerialization() throws IOException {
+    final List<Pair<Long, Long>> pairs = new ArrayList<>();
+    final List<Triple<String, Long, Double>> triples = new ArrayList<>();
+    final long base = 1_700_000_000_000L;
+    for (int i = 0; i < 10_000; i++) {
+      pairs.add(Pair.of((long) i, base + i * 37L));
+      triples.add(Triple.of("user-" + i, base + i * 37L, i * 0.25D));
+    }
+    final int pairsSerialized = serializedSize(pairs);
+    final byte[] pairsEncoded = encode(out -> out.write(BinaryCodecs.list(BinaryCodecs.pair(BinaryCodecs.LONG, BinaryCodecs.LONG)), pairs));
+    // an id and a millisecond timestamp take 2 + 6 bytes as varints, against 4 objects per pair serialized
+    assertTrue(pairsEncoded.length + " vs " + pairsSerialized, pairsEncoded.length * 4 <= pairsSerialized);
+
+    final int triplesSerialized = serializedSize(triples);
+    final byte[] triplesEncoded = encode(out -> out.write(
+        BinaryCodecs.list(BinaryCodecs.triple(BinaryCodecs.STRING, BinaryCodecs.LONG, BinaryCodecs.DOUBLE)),
+        triples
+    ));
+    // strings and doubles dominate, and serialization also writes strings compactly
+    assertTrue(triplesEncoded.length + " vs " + triplesSerialized, triplesEncoded.length * 3 <= triplesSerialized * 2);
+  }
+
+  private static int serializedSize(final Object value) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(value);
+    }
+    return bytes.size();
+  }
+
+}
@@ -0,0 +1,71 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Errors;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/07-15:40
+ */
+@RunWith(JUnit4.class)
+public class ErrorsTest {
+
+  @Test
+  public void testImmutable() {
+    final StacklessException e = Errors.NOT_FOUND;
+    e.setStackTrace(new Exception().getStackTrace());
+    assertEquals(0, e.getStackTrace().length);
+    e.addSuppressed(new Exception());
+    assertEquals(0, e.getSuppressed().length);
+    try {
+      e.initCause(new Exception());
+      fail("cause must be fixed on construction");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    assertNull(e.getCause());
+  }
+
+  @Test
+  public void testOf() {
+    final Exception cause = new Exception();
+    final StacklessException e = Errors.of("failed", cause);
+    assertEquals("failed", e.getMessage());
+    assertSame(cause, e.getCause());
+    assertEquals(0, e.getStackTrace().length);
+    assertNotSame(Errors.of("failed"), Errors.of("failed"));
+  }
+
+  @Test
+  public void testRegistry() {
+    assertSame(Errors.NOT_FOUND, Errors.named("not-found"));
+    assertSame(Errors.INVALID_INPUT, Errors.named("invalid-input"));
+    assertSame(Errors.TIMEOUT, Errors.named("timeout"));
+
+    final StacklessException conflict = Errors.named("test-conflict");
+    assertEquals("test-conflict", conflict.getMessage());
+    assertSame(conflict, Errors.named("test-conflict"));
+    assertSame(conflict, Errors.register("test-conflict", new StacklessException("other")));
+
+    final StacklessException busy = new StacklessException("busy");
+    assertSame(busy, Errors.register("test-busy", busy));
+    assertSame(busy, Errors.named("test-busy"));
+  }
+
+  @Test
+  public void testResult() {
+    final Result<String, Exception> result = Result.err(Errors.TIMEOUT);
+    assertSame(Errors.TIMEOUT, result.err());
+  }
+
+}
@@ -0,0 +1,59 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.AbstractMap.SimpleEntry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/09-16:48
+ */
+@RunWith(JUnit4.class)
+public class FlyweightTest {
+
+  @Test
+  @SuppressWarnings({"deprecation", "removal"})
+  public void testPair() {
+    assertSame(Pair.of(true, false), Pair.of(true, false));
+    assertSame(Pair.of(0, 15), Pair.of(0, 15));
+    assertSame(Pair.of(-1L, ""), Pair.of(-1L, ""));
+    assertSame(Pair.of(null, 3), Pair.of(null, 3));
+    assertSame(Pair.of(1, 2), Pair.of(new SimpleEntry<>(1, 2)));
+    assertSame(Pair.nullPair(), Pair.of(null, null));
+    assertEquals(Pair.of(true, 1), new Pair<>(true, 1));
+
+    // out of range or not the instances cached by the JDK
+    assertNotSame(Pair.of(1, 16), Pair.of(1, 16));
+    assertNotSame(Pair.of(1, "a"), Pair.of(1, "a"));
+    final Integer one = new Integer(1);
+    final Pair<Integer, Integer> pair = Pair.of(one, 1);
+    assertSame(one, pair.getLeft());
+  }
+
+  @Test
+  public void testResult() {
+    assertSame(Result.ok(null), Result.ok(null));
+    assertSame(Result.ok(Boolean.TRUE), Result.ok(true));
+    assertSame(Result.ok(-128), Result.ok(-128));
+    assertSame(Result.ok(127L), Result.ok(127L));
+    assertNotSame(Result.ok(128), Result.ok(128));
+    assertEquals(Result.ok(1), Result.create(1, null));
+  }
+
+  @Test
+  public void testTriple() {
+    assertSame(Triple.of(true, 3, -1L), Triple.of(true, 3, -1L));
+    assertSame(Triple.nullTriple(), Triple.of(null, null, null));
+    assertNotSame(Triple.of(true, 4, -1L), Triple.of(true, 4, -1L));
+    assertEquals(Triple.of(true, 3, -1L), new Triple<>(true, 3, -1L));
+  }
+
+}
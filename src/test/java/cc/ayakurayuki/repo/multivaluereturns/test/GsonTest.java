@@ -0,0 +1,181 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.gson.MultiValueTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-16:20
+ */
+@RunWith(JUnit4.class)
+public class GsonTest {
+
+  private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(new MultiValueTypeAdapterFactory()).create();
+
+  @Test
+  public void testErrorType() {
+    final Type type = new TypeToken<Result<Integer, IllegalStateException>>() {}.getType();
+    final Result<Integer, IllegalStateException> result = gson.fromJson("{\"err\":\"broken\"}", type);
+    assertEquals(IllegalStateException.class, result.err().getClass());
+    assertEquals("broken", result.err().getMessage());
+
+    final Type noMessage = new TypeToken<Result<Integer, NoMessageException>>() {}.getType();
+    try {
+      gson.fromJson("{\"err\":\"broken\"}", noMessage);
+      fail("an error without a message constructor must not be read");
+    } catch (JsonParseException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testMutPair() {
+    final Type type = new TypeToken<MutPair<String, Integer>>() {}.getType();
+    final MutPair<String, Integer> pair = MutPair.of("a", 1);
+    final String json = gson.toJson(pair, type);
+    assertEquals(gson.toJson(Pair.of("a", 1)), json);
+
+    final MutPair<String, Integer> read = gson.fromJson(json, type);
+    assertEquals(pair, read);
+    read.setLeft("b");
+    assertEquals("b", read.getLeft());
+  }
+
+  @Test
+  public void testMutTriple() {
+    final Type type = new TypeToken<MutTriple<String, Integer, Boolean>>() {}.getType();
+    final MutTriple<String, Integer, Boolean> triple = MutTriple.of("a", 1, true);
+    final String json = gson.toJson(triple, type);
+    assertEquals(gson.toJson(Triple.of("a", 1, true)), json);
+    assertEquals(triple, gson.fromJson(json, type));
+
+    // null elements must not give the shared MutTriple.NULL
+    final MutTriple<String, Integer, Boolean> empty = gson.fromJson("{}", type);
+    assertNotSame(MutTriple.NULL, empty);
+    assertNotSame(MutTriple.NULL, gson.fromJson("{\"left\":null,\"middle\":null,\"right\":null}", type));
+    empty.setLeft("a");
+    assertNull(MutTriple.nullTriple().getLeft());
+  }
+
+  @Test
+  public void testNested() {
+    final Type type = new TypeToken<Result<List<Pair<String, Triple<Integer, Long, Double>>>, Exception>>() {}.getType();
+    final Result<List<Pair<String, Triple<Integer, Long, Double>>>, Exception> result = Result.ok(Arrays.asList(
+        Pair.of("a", Triple.of(1, 2L, 3.5)),
+        Pair.of("b", Triple.of(4, 5L, 6.5))
+    ));
+    final Result<List<Pair<String, Triple<Integer, Long, Double>>>, Exception> read = gson.fromJson(gson.toJson(result, type), type);
+    assertEquals(result, read);
+    assertEquals(Long.class, read.ok().get(0).right.middle.getClass());
+  }
+
+  @Test
+  public void testNull() {
+    final Type type = new TypeToken<Pair<String, Integer>>() {}.getType();
+    assertEquals("null", gson.toJson(null, type));
+    assertNull(gson.fromJson("null", type));
+
+    assertEquals("{\"left\":\"a\"}", gson.toJson(Pair.of("a", null), type));
+    final Gson serializeNulls = new GsonBuilder().registerTypeAdapterFactory(new MultiValueTypeAdapterFactory()).serializeNulls().create();
+    assertEquals("{\"left\":\"a\",\"right\":null}", serializeNulls.toJson(Pair.of("a", null), type));
+  }
+
+  @Test
+  public void testPair() {
+    final Type type = new TypeToken<Pair<String, Integer>>() {}.getType();
+    final Pair<String, Integer> pair = Pair.of("a", 1);
+    final String json = gson.toJson(pair, type);
+    assertEquals("{\"left\":\"a\",\"right\":1}", json);
+    assertEquals(pair, gson.fromJson(json, type));
+
+    // any order, unknown names skipped
+    final Pair<String, Integer> read = gson.fromJson("{\"extra\":[1,2],\"right\":2,\"left\":\"b\"}", type);
+    assertEquals(Pair.of("b", 2), read);
+    assertEquals(Integer.class, read.right.getClass());
+  }
+
+  @Test
+  public void testPairResult() {
+    final Type type = new TypeToken<PairResult<String, Integer, RuntimeException>>() {}.getType();
+    final PairResult<String, Integer, RuntimeException> ok = PairResult.of("a", 1, null);
+    assertEquals("{\"left\":\"a\",\"right\":1}", gson.toJson(ok, type));
+    assertEquals(ok, gson.fromJson(gson.toJson(ok, type), type));
+
+    final PairResult<String, Integer, RuntimeException> err = PairResult.err(new IllegalArgumentException("bad"));
+    final String json = gson.toJson(err, type);
+    assertEquals("{\"err\":\"bad\"}", json);
+    final PairResult<String, Integer, RuntimeException> read = gson.fromJson(json, type);
+    assertTrue(read.isError());
+    assertEquals(StacklessException.class, read.err().getClass());
+    assertEquals("bad", read.err().getMessage());
+
+    assertSame(PairResult.NULL, gson.fromJson("{}", type));
+  }
+
+  @Test
+  public void testRaw() {
+    final Pair<?, ?> pair = gson.fromJson("{\"left\":\"a\",\"right\":[1]}", Pair.class);
+    assertEquals("a", pair.left);
+    assertTrue(pair.right instanceof List);
+  }
+
+  @Test
+  public void testResult() {
+    final Type type = new TypeToken<Result<Integer, Exception>>() {}.getType();
+    final Result<Integer, Exception> ok = Result.ok(1);
+    assertEquals("{\"ok\":1}", gson.toJson(ok, type));
+    assertEquals(ok, gson.fromJson("{\"ok\":1}", type));
+
+    final Result<Integer, Exception> err = Result.err(new Exception("failed"));
+    final String json = gson.toJson(err, type);
+    assertEquals("{\"err\":\"failed\"}", json);
+    final Result<Integer, Exception> read = gson.fromJson(json, type);
+    assertTrue(read.isError());
+    assertNull(read.ok());
+    assertEquals("failed", read.err().getMessage());
+
+    final Result<Integer, Exception> noMessage = gson.fromJson(gson.toJson(Result.err(new Exception()), type), type);
+    assertTrue(noMessage.isError());
+    assertNull(noMessage.err().getMessage());
+  }
+
+  @Test
+  public void testTriple() {
+    final Type type = new TypeToken<Triple<String, Integer, Boolean>>() {}.getType();
+    final Triple<String, Integer, Boolean> triple = Triple.of("a", 1, true);
+    final String json = gson.toJson(triple, type);
+    assertEquals("{\"left\":\"a\",\"middle\":1,\"right\":true}", json);
+    assertEquals(triple, gson.fromJson(json, type));
+  }
+
+  public static class NoMessageException extends RuntimeException {
+
+    public NoMessageException() {
+    }
+
+  }
+
+}
@@ -0,0 +1,128 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.Hashing;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairKey;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleKey;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/06-14:02
+ */
+@RunWith(JUnit4.class)
+public class HashingTest {
+
+  private static final int SIZE = 40_000;
+
+  @Test
+  public void testAdversarialPatterns() {
+    // the key patterns of HashCollisionBenchmark
+    final Object[][] pairs = new Object[3][SIZE];
+    final Object[][] keys = new Object[3][SIZE];
+    final int side = (int) Math.sqrt(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      // symmetric: (a,b) then its mirror (b,a)
+      int a = (i / 2) % side;
+      int b = a + 1 + (i / 2) / side;
+      pairs[0][i] = i % 2 == 0 ? Pair.of(a, b) : Pair.of(b, a);
+      keys[0][i] = i % 2 == 0 ? PairKey.of(a, b) : PairKey.of(b, a);
+      // diagonal: (x,x) and its neighbours
+      a = i / 3;
+      b = a + i % 3 - 1;
+      pairs[1][i] = Pair.of(a, b);
+      keys[1][i] = PairKey.of(a, b);
+      // (x,x,y)
+      a = i / 4;
+      b = i % 4;
+      pairs[2][i] = Triple.of(a, a, b);
+      keys[2][i] = TripleKey.of(a, a, b);
+    }
+    for (int pattern = 0; pattern < 3; pattern++) {
+      assertTrue(distinctHashes(pairs[pattern]) < SIZE / 10);
+      assertEquals(SIZE, distinctHashes(keys[pattern]));
+      assertTrue(largestBucket(keys[pattern]) <= 8);
+    }
+  }
+
+  @Test
+  public void testOrderSensitive() {
+    assertNotEquals(Hashing.hash("a", "b"), Hashing.hash("b", "a"));
+    assertNotEquals(0, Hashing.hash("x", "x"));
+    assertNotEquals(Hashing.hash("x", "x", "y"), Hashing.hash("x", "y", "x"));
+    assertNotEquals(Hashing.hash(null, "y"), Hashing.hash("y", null));
+  }
+
+  @Test
+  public void testDiagonalKeysSpread() {
+    final Set<Integer> pairHashes = new HashSet<>();
+    final Set<Integer> keyHashes = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      pairHashes.add(Pair.of(i, i).hashCode());
+      keyHashes.add(PairKey.of(i, i).hashCode());
+    }
+    assertEquals(1, pairHashes.size());
+    assertEquals(1000, keyHashes.size());
+  }
+
+  @Test
+  public void testPairKey() {
+    final PairKey<String, Integer> key = PairKey.of(Pair.of("a", 1));
+    assertEquals(PairKey.of("a", 1), key);
+    assertEquals(PairKey.of("a", 1).hashCode(), key.hashCode());
+    assertNotEquals(Pair.of("a", 1), key);
+    assertEquals(Pair.of("a", 1), key.toPair());
+    assertTrue(PairKey.<String, Integer>of(null, 1).compareTo(key) < 0);
+    assertEquals("(a,1)", key.toString());
+
+    final HashMap<PairKey<String, Integer>, String> map = new HashMap<>();
+    map.put(key, "foo");
+    assertEquals("foo", map.get(PairKey.of("a", 1)));
+  }
+
+  @Test
+  public void testTripleKey() {
+    final TripleKey<String, String, Integer> key = TripleKey.of(Triple.of("x", "x", 1));
+    assertEquals(TripleKey.of("x", "x", 1), key);
+    assertEquals(TripleKey.of("x", "x", 1).hashCode(), key.hashCode());
+    assertNotEquals(Triple.of("x", "x", 1).hashCode(), key.hashCode());
+    assertEquals(Triple.of("x", "x", 1), key.toTriple());
+    assertTrue(TripleKey.of("x", "x", 0).compareTo(key) < 0);
+  }
+
+  private static int distinctHashes(final Object[] keys) {
+    final Set<Integer> hashes = new HashSet<>();
+    for (final Object key : keys) {
+      hashes.add(key.hashCode());
+    }
+    return hashes.size();
+  }
+
+  /**
+   * Gets the largest bucket of a table sized and spread like the one of {@link HashMap}.
+   */
+  private static int largestBucket(final Object[] keys) {
+    int table = 1;
+    while (table * 0.75 < keys.length) {
+      table <<= 1;
+    }
+    final int[] buckets = new int[table];
+    int largest = 0;
+    for (final Object key : keys) {
+      final int h = key.hashCode();
+      largest = Math.max(largest, ++buckets[(h ^ (h >>> 16)) & (table - 1)]);
+    }
+    return largest;
+  }
+
+}
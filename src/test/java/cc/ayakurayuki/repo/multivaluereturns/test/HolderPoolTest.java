@@ -0,0 +1,161 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.HolderPool;
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-23:15
+ */
+@RunWith(JUnit4.class)
+public class HolderPoolTest {
+
+  @Test
+  public void testCapacity() {
+    final HolderPool pool = HolderPool.of(1);
+    final MutPair<String, String> first = pool.acquirePair();
+    final MutPair<String, String> second = pool.acquirePair();
+    pool.release(first);
+    pool.release(second);
+    // only the first one is kept
+    assertSame(first, pool.acquirePair());
+    assertNotSame(second, pool.acquirePair());
+    try {
+      HolderPool.of(-1);
+      fail("a negative capacity must be rejected");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testCrossThreadRelease() throws Exception {
+    final HolderPool pool = HolderPool.debug(4);
+    final MutPair<String, String> pair = pool.acquirePair();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> pool.release(pair)).get();
+      assertSame(pair, executor.submit(() -> pool.acquirePair()).get());
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1L, pool.outstandingCount());
+  }
+
+  @Test
+  public void testDebug() {
+    final HolderPool pool = HolderPool.debug(4);
+    assertTrue(pool.isDebug());
+    final MutTriple<String, String, String> triple = pool.acquireTriple();
+    try {
+      pool.checkLeaks();
+      fail("a holder not released must be reported");
+    } catch (IllegalStateException expected) {
+      assertEquals("Holder acquired here", expected.getCause().getMessage());
+    }
+    pool.release(triple);
+    pool.checkLeaks();
+    try {
+      pool.release(new MutPair<>());
+      fail("a holder not acquired from the pool must be rejected");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testEndedThreads() throws Exception {
+    final HolderPool pool = HolderPool.of(4);
+    for (int i = 0; i < 100; i++) {
+      final Thread thread = new Thread(() -> {
+        pool.release(pool.acquirePair());
+        pool.release(pool.acquirePair());
+        pool.acquireTriple();
+      });
+      thread.start();
+      thread.join();
+    }
+    // the counts of the ended threads are kept once folded into the totals
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      assertEquals(100L, pool.hitCount());
+      assertEquals(200L, pool.missCount());
+      assertEquals(100L, pool.outstandingCount());
+    }
+    pool.resetStats();
+    assertEquals(0L, pool.hitCount());
+    assertEquals(0L, pool.missCount());
+    assertEquals(100L, pool.outstandingCount());
+  }
+
+  @Test
+  public void testNullTriple() {
+    final HolderPool pool = HolderPool.of(4);
+    final MutTriple<Object, Object, Object> nullTriple = MutTriple.of(null, null, null);
+    try {
+      pool.release(nullTriple);
+      fail("the shared null triple must not join the pool");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    final MutTriple<Object, Object, Object> triple = pool.acquireTriple();
+    assertNotSame(MutTriple.NULL, triple);
+    triple.left = "a";
+    assertNull(MutTriple.nullTriple().left);
+  }
+
+  @Test
+  public void testReleaseTwice() {
+    final HolderPool pool = HolderPool.of(4);
+    final MutPair<String, String> pair = pool.acquirePair();
+    pool.release(pair);
+    try {
+      pool.release(pair);
+      fail("a holder must not be released twice");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testReuse() {
+    final HolderPool pool = HolderPool.of(4);
+    final MutTriple<String, Integer, Long> triple = pool.acquireTriple();
+    triple.left = "a";
+    triple.middle = 1;
+    triple.right = 2L;
+    pool.release(triple);
+
+    final MutTriple<String, Integer, Long> reused = pool.acquireTriple();
+    assertSame(triple, reused);
+    // released holders are cleared
+    assertEquals(MutTriple.of(null, null, null), reused);
+    pool.release(reused);
+
+    final MutPair<String, String> pair = pool.acquirePair();
+    pool.release(pair);
+    assertSame(pair, pool.acquirePair());
+
+    assertEquals(2L, pool.hitCount());
+    assertEquals(2L, pool.missCount());
+    assertEquals(0.5D, pool.hitRate(), 0D);
+    assertEquals(1L, pool.outstandingCount());
+    pool.resetStats();
+    assertEquals(0D, pool.hitRate(), 0D);
+    assertEquals("HolderPool(capacity=4, hits=0, misses=0, outstanding=1)", pool.toString());
+  }
+
+}
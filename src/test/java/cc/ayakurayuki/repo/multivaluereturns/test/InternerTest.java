@@ -0,0 +1,100 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.Interner;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/09-10:05
+ */
+@RunWith(JUnit4.class)
+public class InternerTest {
+
+  @Test
+  public void testCapacity() {
+    assertEquals(1, Interner.forPairs(1).capacity());
+    assertEquals(1024, Interner.forPairs(1000).capacity());
+    assertEquals(1024, Interner.forPairs(1024).capacity());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityIllegal() {
+    Interner.forPairs(0);
+  }
+
+  @Test
+  public void testIntern() {
+    final Interner<Pair<String, String>> interner = Interner.forPairs(1 << 12);
+    final Pair<String, String> first = Pair.of("a", new String("b"));
+    final Pair<String, String> second = Pair.of("a", new String("b"));
+    assertNotSame(first, second);
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+    assertEquals(1, interner.hitCount());
+    assertEquals(1, interner.missCount());
+    assertEquals(0.5D, interner.hitRate(), 0D);
+
+    interner.resetStats();
+    assertEquals(0D, interner.hitRate(), 0D);
+    interner.clear();
+    assertSame(second, interner.intern(second));
+  }
+
+  @Test
+  public void testInternConcurrent() {
+    final Interner<Triple<Integer, Integer, Integer>> interner = Interner.forTriples(1 << 16);
+    final List<Triple<Integer, Integer, Integer>> canonical = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      canonical.add(interner.intern(Triple.of(i, i + 1000, i)));
+    }
+    final Set<Triple<Integer, Integer, Integer>> distinct = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, 100_000).parallel().forEach(i -> {
+      final int n = i % 100;
+      final Triple<Integer, Integer, Integer> triple = Triple.of(n, n + 1000, n);
+      final Triple<Integer, Integer, Integer> interned = interner.intern(triple);
+      assertEquals(triple, interned);
+      distinct.add(interned);
+    });
+    assertEquals(100, distinct.size());
+    // canonicalization is best-effort, a few slots may be shared by colliding triples
+    int same = 0;
+    for (final Triple<Integer, Integer, Integer> triple : canonical) {
+      if (triple == interner.intern(Triple.of(triple.getLeft(), triple.getMiddle(), triple.getRight()))) {
+        same++;
+      }
+    }
+    assertTrue("canonical " + same, same >= 90);
+    assertTrue("hit rate " + interner.hitRate(), interner.hitRate() > 0.9D);
+  }
+
+  @Test
+  public void testWeak() throws InterruptedException {
+    final Interner<Pair<String, String>> interner = Interner.forPairs(16);
+    Pair<String, String> pair = Pair.of(new String("a"), new String("b"));
+    final WeakReference<Pair<String, String>> reference = new WeakReference<>(pair);
+    interner.intern(pair);
+    pair = null;
+    for (int i = 0; i < 50 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(reference.get());
+  }
+
+}
@@ -0,0 +1,105 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.IntLongPairBuffer;
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePair;
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePairBuffer;
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePairList;
+import cc.ayakurayuki.repo.multivaluereturns.LongTriple;
+import cc.ayakurayuki.repo.multivaluereturns.LongTripleBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/27-20:13
+ */
+@RunWith(JUnit4.class)
+public class OffHeapBufferTest {
+
+  @Test
+  public void testGetSet() {
+    try (LongDoublePairBuffer buffer = new LongDoublePairBuffer(100)) {
+      assertEquals(100, buffer.capacity());
+      assertEquals(16, buffer.recordSize());
+      assertEquals(0L, buffer.getLeft(99));
+      for (int i = 0; i < 100; i++) {
+        buffer.set(i, i * 10L, i / 2D);
+      }
+      assertEquals(420L, buffer.getLeft(42));
+      assertEquals(21D, buffer.getRight(42), 0D);
+      buffer.setRight(42, -1D);
+      assertEquals(LongDoublePair.of(420L, -1D), buffer.get(42));
+      buffer.set(0, LongDoublePair.of(7L, 8D));
+      assertEquals(7L, buffer.getLeft(0));
+      assertThrows(IndexOutOfBoundsException.class, () -> buffer.getLeft(100));
+      assertThrows(IndexOutOfBoundsException.class, () -> buffer.getLeft(-1));
+    }
+
+    try (IntLongPairBuffer buffer = new IntLongPairBuffer(3)) {
+      assertEquals(12, buffer.recordSize());
+      buffer.set(2, Integer.MIN_VALUE, Long.MAX_VALUE);
+      assertEquals(Integer.MIN_VALUE, buffer.getLeft(2));
+      assertEquals(Long.MAX_VALUE, buffer.getRight(2));
+    }
+
+    try (LongTripleBuffer buffer = new LongTripleBuffer(2)) {
+      buffer.set(1, LongTriple.of(1L, 2L, 3L));
+      buffer.setMiddle(1, 5L);
+      assertEquals(LongTriple.of(1L, 5L, 3L), buffer.get(1));
+    }
+  }
+
+  @Test
+  public void testBulkCopy() {
+    try (LongDoublePairBuffer buffer = new LongDoublePairBuffer(10);
+         LongDoublePairBuffer other = new LongDoublePairBuffer(10)) {
+      buffer.copyFrom(0, new long[]{1, 2, 3, 4}, new double[]{1.5, 2.5, 3.5, 4.5}, 0, 4);
+      buffer.copyTo(0, other, 5, 4);
+      assertEquals(LongDoublePair.of(3L, 3.5D), other.get(7));
+
+      // overlapping copy inside the same buffer
+      buffer.copyTo(0, buffer, 1, 4);
+      final long[] lefts = new long[5];
+      final double[] rights = new double[5];
+      buffer.copyTo(0, lefts, rights, 0, 5);
+      assertArrayEquals(new long[]{1, 1, 2, 3, 4}, lefts);
+      assertArrayEquals(new double[]{1.5, 1.5, 2.5, 3.5, 4.5}, rights, 0D);
+
+      final LongDoublePairList list = new LongDoublePairList();
+      other.copyTo(5, list, 2);
+      assertEquals(LongDoublePair.of(2L, 2.5D), list.get(1));
+
+      assertThrows(IndexOutOfBoundsException.class, () -> buffer.copyTo(8, other, 0, 4));
+    }
+  }
+
+  @Test
+  public void testRelease() {
+    final LongDoublePairBuffer buffer = new LongDoublePairBuffer(4);
+    assertFalse(buffer.isReleased());
+    buffer.release();
+    assertTrue(buffer.isReleased());
+    assertThrows(IllegalStateException.class, () -> buffer.getLeft(0));
+    buffer.release();
+    buffer.close();
+
+    // closing leaves the memory to the GC, with the same behavior afterwards
+    final LongDoublePairBuffer closed = new LongDoublePairBuffer(4);
+    closed.setLeft(1, 7L);
+    assertEquals(7L, closed.getLeft(1));
+    closed.close();
+    assertTrue(closed.isReleased());
+    assertThrows(IllegalStateException.class, () -> closed.getLeft(1));
+    assertThrows(IllegalStateException.class, () -> closed.setRight(0, 1D));
+    closed.close();
+    closed.release();
+  }
+
+}
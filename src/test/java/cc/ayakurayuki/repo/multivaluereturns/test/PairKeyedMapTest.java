@@ -0,0 +1,221 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairKeyedMap;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleKeyedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-21:10
+ */
+@RunWith(JUnit4.class)
+public class PairKeyedMapTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testComputeIfAbsent() {
+    final PairKeyedMap<String, Integer, String> map = new PairKeyedMap<>();
+    assertEquals("a1", map.computeIfAbsent("a", 1, (l, r) -> l + r));
+    assertEquals("a1", map.computeIfAbsent("a", 1, (l, r) -> "other"));
+    assertNull(map.computeIfAbsent("b", 2, (l, r) -> null));
+    assertEquals(1, map.size());
+    try {
+      map.computeIfAbsent("c", 3, (l, r) -> map.put(l, r, "nested"));
+      fail("the mapping function must not modify the map");
+    } catch (ConcurrentModificationException expected) {
+      // expected
+    }
+
+    final TripleKeyedMap<String, Integer, Boolean, String> triples = new TripleKeyedMap<>();
+    assertEquals("a1true", triples.computeIfAbsent("a", 1, true, (l, m, r) -> l + m + r));
+    assertEquals("a1true", triples.computeIfAbsent("a", 1, true, (l, m, r) -> "other"));
+    assertNull(triples.computeIfAbsent("b", 2, false, (l, m, r) -> null));
+    assertEquals(1, triples.size());
+    try {
+      triples.computeIfAbsent("c", 3, true, (l, m, r) -> triples.put(l, m, r, "nested"));
+      fail("the mapping function must not modify the map");
+    } catch (ConcurrentModificationException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testIterator() {
+    final PairKeyedMap<Integer, Integer, Integer> map = new PairKeyedMap<>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i % 37, i, i);
+    }
+    int count = 0;
+    for (final Map.Entry<Pair<Integer, Integer>, Integer> entry : map) {
+      assertEquals(entry.getKey().right, entry.getValue());
+      count++;
+    }
+    assertEquals(1000, count);
+
+    final Iterator<Map.Entry<Pair<Integer, Integer>, Integer>> it = map.iterator();
+    it.next();
+    map.put(-1, -1, -1);
+    try {
+      it.next();
+      fail("the iterator must fail after a modification");
+    } catch (ConcurrentModificationException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    // small keys crowd few slots, removals shift entries back across the iteration
+    final PairKeyedMap<Integer, Integer, Integer> map = new PairKeyedMap<>();
+    final Map<Pair<Integer, Integer>, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      final int left = random.nextInt(100);
+      final int right = random.nextInt(100);
+      map.put(left, right, i);
+      expected.put(Pair.of(left, right), i);
+    }
+    final int size = map.size();
+    int visited = 0;
+    final Iterator<Map.Entry<Pair<Integer, Integer>, Integer>> it = map.iterator();
+    while (it.hasNext()) {
+      final Map.Entry<Pair<Integer, Integer>, Integer> entry = it.next();
+      visited++;
+      if (entry.getValue() % 3 != 0) {
+        it.remove();
+        assertEquals(entry.getValue(), expected.remove(entry.getKey()));
+      }
+    }
+    assertEquals(size, visited);
+    assertEquals(expected, map.toMap());
+    for (final Map.Entry<Pair<Integer, Integer>, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey().left, entry.getKey().right));
+    }
+  }
+
+  @Test
+  public void testNull() {
+    final PairKeyedMap<String, String, String> map = new PairKeyedMap<>(0);
+    assertNull(map.put(null, null, "both"));
+    assertNull(map.put("a", null, null));
+    assertEquals("both", map.get(null, null));
+    assertTrue(map.containsKey("a", null));
+    assertNull(map.get("a", null));
+    assertEquals("default", map.getOrDefault(null, "a", "default"));
+    assertNull(map.getOrDefault("a", null, "default"));
+    assertEquals(2, map.size());
+    assertNull(map.putIfAbsent("a", null, "value"));
+    assertEquals("both", map.remove(null, null));
+    assertFalse(map.containsKey(null, null));
+  }
+
+  @Test
+  public void testRandomOperations() {
+    final PairKeyedMap<Integer, String, Integer> map = new PairKeyedMap<>();
+    final Map<Pair<Integer, String>, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      final Integer left = random.nextInt(30) == 0 ? null : random.nextInt(200);
+      final String right = random.nextInt(30) == 0 ? null : Integer.toString(random.nextInt(50));
+      final int value = random.nextInt();
+      switch (random.nextInt(4)) {
+        case 0:
+        case 1:
+          assertEquals(expected.put(Pair.of(left, right), value), map.put(left, right, value));
+          break;
+        case 2:
+          assertEquals(expected.remove(Pair.of(left, right)), map.remove(left, right));
+          break;
+        default:
+          assertEquals(expected.get(Pair.of(left, right)), map.get(left, right));
+          break;
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    assertEquals(expected, map.toMap());
+    assertEquals(expected.hashCode(), map.hashCode());
+  }
+
+  @Test
+  public void testSerializable() throws IOException, ClassNotFoundException {
+    final PairKeyedMap<String, Integer, Long> map = new PairKeyedMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put("k" + i, i, (long) i);
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals(map, in.readObject());
+    }
+  }
+
+  @Test
+  public void testTripleKeyedMap() {
+    final TripleKeyedMap<Integer, Integer, String, Integer> map = new TripleKeyedMap<>(10);
+    final Map<Triple<Integer, Integer, String>, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20_000; i++) {
+      final Integer left = random.nextInt(20);
+      final Integer middle = random.nextInt(30) == 0 ? null : random.nextInt(20);
+      final String right = Integer.toString(random.nextInt(20));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(Triple.of(left, middle, right)), map.remove(left, middle, right));
+      } else {
+        assertEquals(expected.put(Triple.of(left, middle, right), i), map.put(left, middle, right, i));
+      }
+    }
+    assertEquals(expected, map.toMap());
+    assertEquals(expected.hashCode(), map.hashCode());
+    assertEquals(expected.keySet(), map.keySet());
+    assertTrue(map.keySet().remove(Triple.of(0, 0, "0")) || !expected.containsKey(Triple.of(0, 0, "0")));
+    assertFalse(map.containsKey(0, 0, "0"));
+
+    final TripleKeyedMap<Integer, Integer, String, Integer> copy = new TripleKeyedMap<>();
+    map.forEach(e -> copy.put(e.getKey().left, e.getKey().middle, e.getKey().right, e.getValue()));
+    assertEquals(map, copy);
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertEquals("{}", map.toString());
+  }
+
+  @Test
+  public void testViews() {
+    final PairKeyedMap<String, Integer, String> map = new PairKeyedMap<>();
+    map.put("a", 1, "x");
+    map.put("b", 2, "y");
+    assertEquals(2, map.keySet().size());
+    assertTrue(map.keySet().contains(Pair.of("a", 1)));
+    assertFalse(map.keySet().contains(Pair.of("a", 2)));
+    assertTrue(map.values().contains("y"));
+    assertTrue(map.values().remove("y"));
+    assertFalse(map.containsKey("b", 2));
+    assertTrue(map.keySet().remove(Pair.of("a", 1)));
+    assertTrue(map.isEmpty());
+
+    map.put("a", 1, "x");
+    assertEquals("{(a,1)=x}", map.toString());
+    map.keySet().clear();
+    assertEquals(0, map.size());
+  }
+
+}
@@ -0,0 +1,136 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePair;
+import cc.ayakurayuki.repo.multivaluereturns.LongDoublePairList;
+import cc.ayakurayuki.repo.multivaluereturns.LongTripleList;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairList;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/20-09:45
+ */
+@RunWith(JUnit4.class)
+public class PairListTest {
+
+  @Test
+  public void testAddGetSet() {
+    final PairList<String, Integer> list = new PairList<>();
+    for (int i = 0; i < 100; i++) {
+      list.add("k" + i, i);
+    }
+    assertEquals(100, list.size());
+    assertEquals(Pair.of("k42", 42), list.get(42));
+    assertEquals("k7", list.getLeft(7));
+    assertEquals(Integer.valueOf(7), list.getRight(7));
+
+    assertEquals(Pair.of("k1", 1), list.set(1, Pair.of("x", -1)));
+    assertEquals("x", list.setLeft(1, "y"));
+    assertEquals(Pair.of("y", -1), list.get(1));
+
+    list.add(0, Pair.of("first", 0));
+    assertEquals(Pair.of("first", 0), list.get(0));
+    assertEquals(Pair.of("k0", 0), list.get(1));
+    assertEquals(Pair.of("first", 0), list.remove(0));
+    assertEquals(100, list.size());
+
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    assertThrows(IndexOutOfBoundsException.class, () -> list.getLeft(-1));
+  }
+
+  @Test
+  public void testConversion() {
+    final List<Pair<String, Integer>> pairs = Arrays.asList(Pair.of("a", 1), Pair.of(null, 2), null);
+    final PairList<String, Integer> list = PairList.copyOf(pairs);
+    assertEquals(Arrays.asList(Pair.of("a", 1), Pair.of(null, 2), Pair.nullPair()), list);
+    assertEquals(list, list.toList());
+    assertTrue(list.toList() instanceof ArrayList);
+
+    final TripleList<String, Integer, Long> triples = TripleList.copyOf(Arrays.asList(Triple.of("a", 1, 2L), Triple.of("b", 3, 4L)));
+    assertEquals(Triple.of("b", 3, 4L), triples.get(1));
+    assertEquals(Integer.valueOf(3), triples.getMiddle(1));
+    assertEquals(Arrays.asList(Triple.of("a", 1, 2L), Triple.of("b", 3, 4L)), triples.toList());
+  }
+
+  @Test
+  public void testBulk() {
+    final PairList<String, Integer> list = new PairList<>(4);
+    list.addAll(new String[]{"a", "b", "c"}, new Integer[]{1, 2, 3});
+    final PairList<String, Integer> other = new PairList<>();
+    other.addAll(list);
+    other.addAll(Arrays.asList(Pair.of("d", 4)));
+    assertEquals(4, other.size());
+
+    final String[] lefts = new String[2];
+    other.getLefts(2, lefts, 0, 2);
+    assertArrayEquals(new String[]{"c", "d"}, lefts);
+    other.setRights(0, new Integer[]{10, 20}, 0, 2);
+    assertEquals(Pair.of("b", 20), other.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> other.getLefts(3, lefts, 0, 2));
+    assertThrows(IllegalArgumentException.class, () -> list.addAll(new String[1], new Integer[2]));
+
+    final StringBuilder builder = new StringBuilder();
+    other.forEach((l, r) -> builder.append(l).append(r));
+    assertEquals("a10b20c3d4", builder.toString());
+  }
+
+  @Test
+  public void testView() {
+    final PairList<String, Integer> list = PairList.copyOf(Arrays.asList(Pair.of("a", 1), Pair.of("b", 2)));
+    final PairList.View<String, Integer> view = list.view(0);
+    assertEquals(Pair.of("a", 1), view);
+    assertEquals(Pair.of("a", 1).hashCode(), view.hashCode());
+    assertEquals(Pair.of("b", 2), view.moveTo(1));
+    assertEquals(Integer.valueOf(2), view.setValue(3));
+    assertEquals(Pair.of("b", 3), list.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(2));
+  }
+
+  @Test
+  public void testFailFastIterator() {
+    final PairList<String, Integer> list = PairList.copyOf(Arrays.asList(Pair.of("a", 1), Pair.of("b", 2)));
+    final Iterator<Pair<String, Integer>> iterator = list.iterator();
+    iterator.next();
+    list.add("c", 3);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  public void testPrimitiveLists() {
+    final LongDoublePairList list = new LongDoublePairList();
+    list.add(1L, 0.5D);
+    list.add(LongDoublePair.of(2L, 1.5D));
+    assertEquals(2L, list.getLeft(1));
+    assertEquals(1.5D, list.getRight(1), 0D);
+    assertEquals(LongDoublePair.of(1L, 0.5D), list.get(0));
+    assertEquals(Arrays.asList(Pair.of(1L, 0.5D), Pair.of(2L, 1.5D)), list.toList());
+    assertEquals(list, LongDoublePairList.copyOf(list.toList()));
+
+    final LongTripleList triples = new LongTripleList();
+    triples.addAll(new long[]{1, 2}, new long[]{3, 4}, new long[]{5, 6});
+    assertEquals(4L, triples.getMiddle(1));
+    assertEquals(Triple.of(2L, 4L, 6L), triples.get(1).toTriple());
+    assertEquals(Triple.of(1L, 3L, 5L), triples.remove(0).toTriple());
+    assertEquals(1, triples.size());
+    triples.clear();
+    assertTrue(triples.isEmpty());
+    assertNull(PairList.copyOf(Arrays.asList(Pair.of(null, 1))).getLeft(0));
+  }
+
+}
@@ -8,9 +8,15 @@ import static org.junit.Assert.assertTrue;
 
 import cc.ayakurayuki.repo.multivaluereturns.MutPair;
 import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Map.Entry;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +49,43 @@ public class PairTest {
     assertTrue(pair2.compareTo(pair1) > 0);
   }
 
+  @Test
+  public void testComparable_nulls() {
+    final Pair<String, String> pair1 = Pair.of(null, "B");
+    final Pair<String, String> pair2 = Pair.of("A", null);
+    assertTrue(pair1.compareTo(pair2) < 0);
+    assertTrue(pair2.compareTo(pair1) > 0);
+    assertTrue(Pair.of("A", null).compareTo(Pair.of("A", "B")) < 0);
+    assertEquals(0, Pair.nullPair().compareTo(Pair.nullPair()));
+  }
+
+  @Test
+  public void testComparators() {
+    final List<Pair<String, Integer>> pairs = new ArrayList<>(Arrays.asList(
+        Pair.of("B", 1),
+        Pair.of(null, 3),
+        Pair.of("A", 2),
+        Pair.of("A", null)
+    ));
+
+    pairs.sort(Pair.naturalOrder());
+    assertEquals(Arrays.asList(Pair.of(null, 3), Pair.of("A", null), Pair.of("A", 2), Pair.of("B", 1)), pairs);
+
+    pairs.sort(Pair.naturalOrder(false));
+    assertEquals(Arrays.asList(Pair.of("A", 2), Pair.of("A", null), Pair.of("B", 1), Pair.of(null, 3)), pairs);
+
+    pairs.sort(Pair.byRight());
+    assertEquals(Arrays.asList(Pair.of("A", null), Pair.of("B", 1), Pair.of("A", 2), Pair.of(null, 3)), pairs);
+
+    pairs.sort(Pair.comparing(Comparator.<String>reverseOrder(), null));
+    assertEquals(Arrays.asList(Pair.of(null, 3), Pair.of("B", 1), Pair.of("A", null), Pair.of("A", 2)), pairs);
+
+    @SuppressWarnings("unchecked") final Pair<String, Integer>[] array = pairs.toArray(new Pair[0]);
+    Arrays.parallelSort(array, Pair.byLeft());
+    assertEquals(Pair.of(null, 3), array[0]);
+    assertEquals("B", array[3].left);
+  }
+
   @Test
   public void testCompatibilityBetweenPairs() {
     final Pair<Integer, String> pair = Pair.of(0, "foo");
@@ -83,6 +126,36 @@ public class PairTest {
     assertEquals("(Key,Value)", String.format("%1$s", pair));
   }
 
+  @Test
+  public void testHashCodeCached() {
+    final int[] calls = {0};
+    final Object element = new Object() {
+      @Override
+      public int hashCode() {
+        calls[0]++;
+        return 42;
+      }
+    };
+    final Pair<Object, Object> pair = Pair.of(element, element);
+    assertEquals(0, pair.hashCode());
+    assertEquals(0, pair.hashCode());
+    assertEquals(2, calls[0]);
+
+    final Pair<Object, String> pair2 = Pair.of(element, "foo");
+    assertEquals(42 ^ "foo".hashCode(), pair2.hashCode());
+    assertEquals(pair2.hashCode(), pair2.hashCode());
+    assertEquals(3, calls[0]);
+  }
+
+  @Test
+  public void testPairResultHashCode() {
+    final Exception err = new IllegalStateException();
+    final PairResult<String, Integer, Exception> result = PairResult.of("foo", 1, err);
+    assertEquals(Objects.hash(Pair.of("foo", 1).hashCode(), err), result.hashCode());
+    assertEquals(PairResult.of("foo", 1, err).hashCode(), result.hashCode());
+    assertEquals(Objects.hash(0, null), PairResult.nullPairResult().hashCode());
+  }
+
   @Test
   public void testMapEntry() {
     final Pair<Integer, String> pair = Pair.of(0, "foo");
@@ -0,0 +1,95 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.DoubleDoublePair;
+import cc.ayakurayuki.repo.multivaluereturns.DoubleTriple;
+import cc.ayakurayuki.repo.multivaluereturns.IntLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.LongObjPair;
+import cc.ayakurayuki.repo.multivaluereturns.LongTriple;
+import cc.ayakurayuki.repo.multivaluereturns.ObjIntPair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.HashSet;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/01-10:20
+ */
+@RunWith(JUnit4.class)
+public class PrimitivePairTest {
+
+  @Test
+  public void testFactories() {
+    final IntLongPair pair = IntLongPair.of(1, 2L);
+    assertEquals(1, pair.left);
+    assertEquals(2L, pair.getRight());
+    assertEquals(IntLongPair.of(3, 0L), IntLongPair.left(3));
+    assertEquals(IntLongPair.of(0, 4L), IntLongPair.right(4L));
+
+    final LongObjPair<String> pair2 = LongObjPair.right("foo");
+    assertEquals(0L, pair2.left);
+    assertEquals("foo", pair2.right);
+    assertNull(ObjIntPair.right(1).left);
+  }
+
+  @Test
+  public void testConversion() {
+    final Pair<Integer, Long> boxed = Pair.of(1, 2L);
+    final IntLongPair pair = IntLongPair.of(boxed);
+    assertEquals(IntLongPair.of(1, 2L), pair);
+    assertEquals(boxed, pair.toPair());
+    assertEquals(boxed.hashCode(), pair.hashCode());
+    assertThrows(NullPointerException.class, () -> IntLongPair.of(Pair.of(null, 2L)));
+
+    final Triple<Long, Long, Long> triple = Triple.of(1L, 2L, 3L);
+    assertEquals(triple, LongTriple.of(triple).toTriple());
+    assertEquals(triple.hashCode(), LongTriple.of(triple).hashCode());
+  }
+
+  @Test
+  public void testComparableMatchesBoxed() {
+    final long[][] values = {{1, 2}, {1, 3}, {0, 9}, {-1, 5}, {1, 2}};
+    for (long[] a : values) {
+      for (long[] b : values) {
+        final int boxed = Integer.signum(Pair.of((int) a[0], b[1]).compareTo(Pair.of((int) b[0], a[1])));
+        final int primitive = Integer.signum(IntLongPair.of((int) a[0], b[1]).compareTo(IntLongPair.of((int) b[0], a[1])));
+        assertEquals(boxed, primitive);
+      }
+    }
+
+    assertTrue(ObjIntPair.of(null, 5).compareTo(ObjIntPair.of("a", 0)) < 0);
+    assertTrue(LongObjPair.of(1L, "b").compareTo(LongObjPair.of(1L, "a")) > 0);
+    assertTrue(LongObjPair.of(1L, (String) null).compareTo(LongObjPair.of(1L, "a")) < 0);
+  }
+
+  @Test
+  public void testDoubleSemantics() {
+    assertEquals(DoubleDoublePair.of(Double.NaN, 0D), DoubleDoublePair.of(Double.NaN, 0D));
+    assertNotEquals(DoubleDoublePair.of(0D, 0D), DoubleDoublePair.of(-0D, 0D));
+    assertTrue(DoubleDoublePair.of(-0D, 1D).compareTo(DoubleDoublePair.of(0D, 0D)) < 0);
+    assertTrue(DoubleTriple.of(1D, 2D, Double.NaN).compareTo(DoubleTriple.of(1D, 2D, Double.POSITIVE_INFINITY)) > 0);
+  }
+
+  @Test
+  public void testHashSet() {
+    final HashSet<LongObjPair<String>> set = new HashSet<>();
+    set.add(LongObjPair.of(1L, "foo"));
+    assertTrue(set.contains(LongObjPair.of(1L, "foo")));
+  }
+
+  @Test
+  public void testToString() {
+    assertEquals("(1,2)", IntLongPair.of(1, 2L).toString());
+    assertEquals("(1.0,2.0,3.0)", DoubleTriple.of(1D, 2D, 3D).toString());
+    assertEquals("1=foo", LongObjPair.of(1L, "foo").toString("%s=%s"));
+  }
+
+}
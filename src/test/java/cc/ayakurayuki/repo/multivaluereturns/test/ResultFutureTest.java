@@ -0,0 +1,93 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Errors;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.ResultFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/08-11:12
+ */
+@RunWith(JUnit4.class)
+public class ResultFutureTest {
+
+  @Test
+  public void testChaining() {
+    final Result<Integer, Exception> result = ResultFuture.<String, Exception>supplyAsync(() -> Result.ok("21"))
+        .thenMap(Integer::parseInt)
+        .thenFlatMap(i -> ResultFuture.supplyAsync(() -> Result.ok(i * 2), ResultFuture.virtualThreadExecutor()))
+        .join();
+    assertFalse(result.isError());
+    assertEquals(Integer.valueOf(42), result.ok());
+  }
+
+  @Test
+  public void testErrorFlowsAsValue() {
+    final CompletableFuture<Result<String, Exception>> source = new CompletableFuture<>();
+    final ResultFuture<Integer, Exception> chained = ResultFuture.of(source)
+        .thenMap(String::length)
+        .thenFlatMap(i -> {
+          fail("mapper must not run on error");
+          return ResultFuture.ok(i);
+        });
+    assertFalse(chained.isDone());
+    final Result<String, Exception> err = Result.err(Errors.NOT_FOUND);
+    source.complete(err);
+
+    assertTrue(chained.isDone());
+    assertFalse(chained.toCompletableFuture().isCompletedExceptionally());
+    // the error result is passed on without being wrapped again
+    assertSame(err, chained.join());
+  }
+
+  @Test
+  public void testFrom() {
+    final Result<String, Throwable> ok = ResultFuture.from(CompletableFuture.completedFuture("a")).join();
+    assertEquals("a", ok.ok());
+
+    final IllegalStateException e = new IllegalStateException();
+    final CompletableFuture<String> failing = CompletableFuture.supplyAsync(() -> {
+      throw e;
+    });
+    final Result<String, Throwable> err = ResultFuture.from(failing).join();
+    assertSame(e, err.err());
+  }
+
+  @Test
+  public void testMapErrAndRecover() {
+    final ResultFuture<String, Exception> err = ResultFuture.err(Errors.TIMEOUT);
+    assertSame(Errors.TIMEOUT, err.mapErr(IllegalStateException::new).join().err().getCause());
+    assertEquals("timeout", err.recover(Throwable::getMessage).join().ok());
+    assertEquals("a", ResultFuture.<String, Exception>ok("a").recover(Throwable::getMessage).join().ok());
+  }
+
+  @Test
+  public void testToValueFuture() {
+    assertEquals("a", ResultFuture.<String, Exception>ok("a").toValueFuture().join());
+    try {
+      ResultFuture.<String, Exception>err(Errors.INVALID_INPUT).toValueFuture().join();
+      fail("an error must complete the value future exceptionally");
+    } catch (CompletionException e) {
+      assertSame(Errors.INVALID_INPUT, e.getCause());
+    }
+  }
+
+  @Test
+  public void testVirtualThreadExecutor() {
+    assertNotNull(ResultFuture.virtualThreadExecutor());
+    assertSame(ResultFuture.virtualThreadExecutor(), ResultFuture.virtualThreadExecutor());
+  }
+
+}
@@ -0,0 +1,157 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/07-10:24
+ */
+@RunWith(JUnit4.class)
+public class ResultTest {
+
+  @Test
+  public void testFlatMap() {
+    final Result<Integer, Exception> result = Result.<String, Exception>ok("42").flatMap(s -> Result.ok(Integer.parseInt(s)));
+    assertEquals(Integer.valueOf(42), result.ok());
+
+    final Exception e = new Exception("boom");
+    final Result<Integer, Exception> failed = Result.<String, Exception>ok("x").flatMap(s -> Result.err(e));
+    assertSame(e, failed.err());
+
+    final Result<String, Exception> err = Result.err(e);
+    assertSame(err, err.flatMap(s -> Result.ok(s.length())));
+  }
+
+  @Test
+  public void testFlatMapSubtype() {
+    final Function<String, Result<Integer, Exception>> parse = s -> Result.ok(Integer.parseInt(s));
+    final Result<Number, Exception> result = Result.<String, Exception>ok("42").flatMap(parse);
+    assertEquals(42, result.ok());
+
+    final BiFunction<String, Integer, PairResult<Integer, String, Exception>> swap = (l, r) -> PairResult.of(r, l, null);
+    final PairResult<Number, CharSequence, Exception> pair = PairResult.<String, Integer, Exception>of("abc", 1, null).flatMap(swap);
+    assertEquals(Pair.of(1, "abc"), pair.orElse(null));
+  }
+
+  @Test
+  public void testIfOkIfErr() {
+    final List<Object> seen = new ArrayList<>();
+    final Exception e = new Exception("boom");
+    Result.<String, Exception>ok("a").ifOk(seen::add).ifErr(seen::add);
+    Result.<String, Exception>err(e).ifOk(seen::add).ifErr(seen::add);
+    assertEquals(2, seen.size());
+    assertEquals("a", seen.get(0));
+    assertSame(e, seen.get(1));
+  }
+
+  @Test
+  public void testMap() {
+    final Result<Integer, Exception> result = Result.<String, Exception>ok("abc").map(String::length);
+    assertFalse(result.isError());
+    assertEquals(Integer.valueOf(3), result.ok());
+
+    final Result<String, Exception> err = Result.err(new Exception("boom"));
+    final Result<Integer, Exception> mapped = err.map(s -> {
+      fail("mapper must not run on error");
+      return 0;
+    });
+    assertSame(err, mapped);
+
+    // an error result holding a returned object must not leak it as another type
+    final Result<String, Exception> both = Result.create("abc", new Exception("boom"));
+    final Result<Integer, Exception> mappedBoth = both.map(String::length);
+    assertNotSame(both, mappedBoth);
+    assertNull(mappedBoth.ok());
+    assertSame(both.err(), mappedBoth.err());
+  }
+
+  @Test
+  public void testMapErr() {
+    final Result<String, Exception> ok = Result.ok("a");
+    assertSame(ok, ok.mapErr(IllegalStateException::new));
+
+    final Exception e = new Exception("boom");
+    final Result<String, IllegalStateException> mapped = Result.<String, Exception>err(e).mapErr(IllegalStateException::new);
+    assertTrue(mapped.isError());
+    assertSame(e, mapped.err().getCause());
+  }
+
+  @Test
+  public void testOrElse() {
+    assertEquals("a", Result.<String, Exception>ok("a").orElse("b"));
+    assertEquals("b", Result.<String, Exception>err(new Exception()).orElse("b"));
+    assertEquals("a", Result.<String, Exception>ok("a").orElseGet(() -> "b"));
+    assertEquals("b", Result.<String, Exception>err(new Exception()).orElseGet(() -> "b"));
+  }
+
+  @Test
+  public void testRecover() {
+    final Result<String, Exception> ok = Result.ok("a");
+    assertSame(ok, ok.recover(Throwable::getMessage));
+
+    final Result<String, Exception> recovered = Result.<String, Exception>err(new Exception("boom")).recover(Throwable::getMessage);
+    assertFalse(recovered.isError());
+    assertEquals("boom", recovered.ok());
+  }
+
+  @Test
+  public void testPairResultMap() {
+    final Result<String, Exception> result = PairResult.<String, Integer, Exception>of("a", 1, null).map((l, r) -> l + r);
+    assertEquals("a1", result.ok());
+
+    final Exception e = new Exception("boom");
+    assertSame(e, PairResult.<String, Integer, Exception>err(e).map((l, r) -> l + r).err());
+
+    final PairResult<String, Integer, Exception> pair = PairResult.of("abc", 1, null);
+    assertEquals(Pair.of(3, 1), pair.mapLeft(String::length).orElse(null));
+    assertEquals(Pair.of("abc", 2), pair.mapRight(r -> r + 1).orElse(null));
+
+    final PairResult<String, Integer, Exception> err = PairResult.err(e);
+    assertSame(err, err.mapLeft(String::length));
+    assertSame(err, err.mapRight(r -> r + 1));
+    assertSame(err, err.flatMap((l, r) -> PairResult.of(r, l, null)));
+    assertEquals(Pair.of(1, "abc"), pair.flatMap((l, r) -> PairResult.<Integer, String, Exception>of(r, l, null)).orElse(null));
+  }
+
+  @Test
+  public void testPairResultErrorPath() {
+    final Exception e = new Exception("boom");
+    final PairResult<String, Integer, Exception> err = PairResult.err(e);
+    final PairResult<String, Integer, Exception> ok = PairResult.of("a", 1, null);
+
+    assertSame(ok, ok.mapErr(IllegalStateException::new));
+    assertSame(e, err.mapErr(IllegalStateException::new).err().getCause());
+
+    assertSame(ok, ok.recover(x -> Pair.of("b", 2)));
+    assertEquals(Pair.of("b", 2), err.recover(x -> Pair.of("b", 2)).orElse(null));
+
+    assertEquals(Pair.of("a", 1), ok.orElse(Pair.of("b", 2)));
+    assertEquals(Pair.of("b", 2), err.orElse(Pair.of("b", 2)));
+    assertEquals(Pair.of("b", 2), err.orElseGet(() -> Pair.of("b", 2)));
+
+    final List<Object> seen = new ArrayList<>();
+    ok.ifOk((l, r) -> seen.add(l + r)).ifErr(seen::add);
+    err.ifOk((l, r) -> seen.add(l + r)).ifErr(seen::add);
+    assertEquals(2, seen.size());
+    assertEquals("a1", seen.get(0));
+    assertSame(e, seen.get(1));
+  }
+
+}
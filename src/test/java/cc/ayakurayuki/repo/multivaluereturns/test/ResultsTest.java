@@ -0,0 +1,251 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Errors;
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairList;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Results;
+import cc.ayakurayuki.repo.multivaluereturns.StacklessException;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/08-16:30
+ */
+@RunWith(JUnit4.class)
+public class ResultsTest {
+
+  private static Result<Integer, StacklessException> validate(final int i) {
+    return i % 1000 == 999 ? Result.err(Errors.of("invalid " + i)) : Result.ok(i);
+  }
+
+  private static <T> Result<T, StacklessException> slow(final T value, final long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      return Result.err(Errors.of("interrupted"));
+    }
+    return Result.ok(value);
+  }
+
+  private static <T> Result<T, StacklessException> meet(final CountDownLatch latch, final T value) {
+    latch.countDown();
+    try {
+      return latch.await(5, TimeUnit.SECONDS) ? Result.ok(value) : Result.err(Errors.TIMEOUT);
+    } catch (InterruptedException e) {
+      return Result.err(Errors.of("interrupted"));
+    }
+  }
+
+  @Test
+  public void testAll() {
+    final Result<List<Integer>, StacklessException> result = Results.all(List.of(() -> slow(1, 200), () -> slow(2, 200), () -> slow(3, 200)));
+    assertEquals(List.of(1, 2, 3), result.ok());
+
+    final Result<List<Integer>, StacklessException> failed = Results.all(List.of(
+        () -> slow(1, 10),
+        () -> Result.err(Errors.TIMEOUT),
+        () -> Result.err(Errors.NOT_FOUND)
+    ));
+    assertSame(Errors.TIMEOUT, failed.err());
+
+    try {
+      Results.<Integer, StacklessException>all(List.of(() -> {
+        throw new IllegalStateException("boom");
+      }));
+      fail("the exception of a supplier must be rethrown");
+    } catch (IllegalStateException e) {
+      assertEquals("boom", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testAllPair() {
+    // each supplier waits for the other one, so both must run at the same time
+    final CountDownLatch started = new CountDownLatch(2);
+    final PairResult<String, Integer, StacklessException> result = Results.allPair(() -> meet(started, "a"), () -> meet(started, 1));
+    assertEquals(Pair.of("a", 1), result.orElse(null));
+
+    final PairResult<String, Integer, StacklessException> failed = Results.allPair(() -> slow("a", 10), () -> Result.err(Errors.INVALID_INPUT));
+    assertSame(Errors.INVALID_INPUT, failed.err());
+  }
+
+  @Test
+  public void testAllPairFailFast() throws InterruptedException {
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final long start = System.nanoTime();
+    final PairResult<String, Integer, StacklessException> failed = Results.allPair(
+        () -> {
+          try {
+            Thread.sleep(10_000);
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+          return Result.ok("a");
+        },
+        () -> slow(1, 50).flatMap(i -> Result.err(Errors.TIMEOUT)),
+        true
+    );
+    final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertSame(Errors.TIMEOUT, failed.err());
+    assertTrue("took " + elapsed + " ms", elapsed < 5_000);
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testAllTriple() {
+    final Triple<Result<String, StacklessException>, Result<Integer, StacklessException>, Result<Long, StacklessException>> results = Results.allTriple(
+        () -> slow("a", 10),
+        () -> Result.err(Errors.NOT_FOUND),
+        () -> slow(1L, 10)
+    );
+    assertEquals("a", results.getLeft().ok());
+    assertSame(Errors.NOT_FOUND, results.getMiddle().err());
+    assertEquals(Long.valueOf(1L), results.getRight().ok());
+
+    final Triple<Result<String, StacklessException>, Result<Integer, StacklessException>, Result<Long, StacklessException>> failFast = Results.allTriple(
+        () -> slow("a", 10_000),
+        () -> Result.err(Errors.NOT_FOUND),
+        () -> slow(1L, 10_000),
+        true
+    );
+    // the cancelled suppliers hold the error of the failing one
+    assertSame(Errors.NOT_FOUND, failFast.getLeft().err());
+    assertSame(Errors.NOT_FOUND, failFast.getMiddle().err());
+    assertSame(Errors.NOT_FOUND, failFast.getRight().err());
+  }
+
+  @Test
+  public void testCounting() {
+    final LongLongPair counts = IntStream.range(0, 10_000).parallel().mapToObj(ResultsTest::validate).collect(Results.counting());
+    assertEquals(LongLongPair.of(9990, 10), counts);
+
+    final LongLongPair pairCounts = Stream.of(PairResult.of("a", 1, null), PairResult.err(Errors.TIMEOUT)).collect(Results.counting());
+    assertEquals(LongLongPair.of(1, 1), pairCounts);
+  }
+
+  @Test
+  public void testSequence() {
+    final Result<List<Integer>, StacklessException> result = Results.sequence(Stream.of(Result.ok(1), Result.ok(2), Result.ok(3)));
+    assertFalse(result.isError());
+    assertEquals(List.of(1, 2, 3), result.ok());
+
+    final Result<Integer, StacklessException> err = Result.err(Errors.NOT_FOUND);
+    final AtomicInteger pulled = new AtomicInteger();
+    final Result<List<Integer>, StacklessException> failed = Results.sequence(
+        Stream.of(Result.<Integer, StacklessException>ok(1), err, Result.<Integer, StacklessException>ok(3)).peek(r -> pulled.incrementAndGet())
+    );
+    assertSame(err, failed);
+    assertEquals(2, pulled.get());
+
+    assertTrue(Results.<Integer, StacklessException>sequence(Stream.empty()).ok().isEmpty());
+  }
+
+  @Test
+  public void testTraverse() {
+    final Result<List<Integer>, StacklessException> result = Results.traverse(IntStream.range(0, 999).boxed(), ResultsTest::validate);
+    assertEquals(999, result.ok().size());
+
+    final AtomicInteger applied = new AtomicInteger();
+    final Result<List<Integer>, StacklessException> failed = Results.traverse(IntStream.range(0, 5000).boxed(), i -> {
+      applied.incrementAndGet();
+      return validate(i);
+    });
+    assertEquals("invalid 999", failed.err().getMessage());
+    assertEquals(1000, applied.get());
+  }
+
+  @Test
+  public void testParallel() {
+    final List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+    final Result<List<Integer>, StacklessException> result = Results.traverse(
+        IntStream.range(0, 100_000).boxed().parallel(),
+        Result::ok
+    );
+    assertEquals(expected, result.ok());
+
+    for (int i = 0; i < 20; i++) {
+      final Result<List<Integer>, StacklessException> failed = Results.traverse(IntStream.range(0, 100_000).boxed().parallel(), ResultsTest::validate);
+      // the first error in encounter order always wins
+      assertEquals("invalid 999", failed.err().getMessage());
+    }
+  }
+
+  @Test
+  public void testPartitioning() {
+    final Pair<List<Integer>, List<StacklessException>> partition = IntStream.range(0, 100_000)
+        .parallel()
+        .mapToObj(ResultsTest::validate)
+        .collect(Results.partitioning());
+    assertEquals(99_900, partition.getLeft().size());
+    assertEquals(100, partition.getRight().size());
+    assertEquals(Integer.valueOf(0), partition.getLeft().get(0));
+    assertEquals("invalid 999", partition.getRight().get(0).getMessage());
+    assertEquals("invalid 99999", partition.getRight().get(99).getMessage());
+  }
+
+  @Test
+  public void testPartitioningFirstErrors() {
+    for (int i = 0; i < 20; i++) {
+      final Pair<List<Integer>, List<StacklessException>> partition = IntStream.range(0, 100_000)
+          .parallel()
+          .mapToObj(ResultsTest::validate)
+          .collect(Results.partitioning(3));
+      assertEquals(99_900, partition.getLeft().size());
+      assertEquals(3, partition.getRight().size());
+      assertEquals("invalid 999", partition.getRight().get(0).getMessage());
+      assertEquals("invalid 2999", partition.getRight().get(2).getMessage());
+    }
+    assertTrue(Stream.of(validate(999)).collect(Results.partitioning(0)).getRight().isEmpty());
+  }
+
+  @Test
+  public void testPartitioningPairs() {
+    final Stream<PairResult<String, Integer, StacklessException>> results = Stream.of(
+        PairResult.of("a", 1, null),
+        PairResult.err(Errors.NOT_FOUND),
+        PairResult.of("b", 2, null)
+    );
+    final Pair<PairList<String, Integer>, List<StacklessException>> partition = results.collect(Results.partitioningPairs());
+    assertEquals(2, partition.getLeft().size());
+    assertEquals(Pair.of("b", 2), partition.getLeft().get(1));
+    assertEquals(List.of(Errors.NOT_FOUND), partition.getRight());
+
+    final Stream<PairResult<String, Integer, StacklessException>> errors = Stream.of(PairResult.err(Errors.NOT_FOUND), PairResult.err(Errors.TIMEOUT));
+    final Pair<PairList<String, Integer>, List<StacklessException>> firstErrors = errors.collect(Results.partitioningPairs(1));
+    assertEquals(List.of(Errors.NOT_FOUND), firstErrors.getRight());
+  }
+
+  @Test
+  public void testToResultList() {
+    final Result<List<Integer>, StacklessException> result = IntStream.range(0, 999)
+        .mapToObj(ResultsTest::validate)
+        .collect(Results.toResultList());
+    assertEquals(999, result.ok().size());
+
+    final Result<List<Integer>, StacklessException> failed = IntStream.range(0, 10_000)
+        .parallel()
+        .mapToObj(ResultsTest::validate)
+        .collect(Results.toResultList());
+    assertEquals("invalid 999", failed.err().getMessage());
+  }
+
+}
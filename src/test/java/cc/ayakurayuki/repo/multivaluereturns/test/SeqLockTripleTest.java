@@ -0,0 +1,150 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.DoubleTriple;
+import cc.ayakurayuki.repo.multivaluereturns.LongTriple;
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockDoubleTriple;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockLongTriple;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockPair;
+import cc.ayakurayuki.repo.multivaluereturns.SeqLockTriple;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-22:50
+ */
+@RunWith(JUnit4.class)
+public class SeqLockTripleTest {
+
+  @Test
+  public void testConcurrentReads() throws Exception {
+    final SeqLockTriple<Long, Long, Long> triple = new SeqLockTriple<>(0L, 0L, 0L);
+    final SeqLockPair<Long, Long> pair = new SeqLockPair<>(0L, 0L);
+    final AtomicBoolean done = new AtomicBoolean();
+    final ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      final List<Future<?>> readers = new ArrayList<>();
+      for (int t = 0; t < 2; t++) {
+        readers.add(executor.submit(() -> {
+          final MutTriple<Long, Long, Long> snapshot = new MutTriple<>();
+          final MutPair<Long, Long> pairSnapshot = new MutPair<>();
+          long lastVersion = 0L;
+          while (!done.get()) {
+            // the elements of one update always go together
+            final long version = triple.readInto(snapshot);
+            assertEquals(snapshot.left * 2, (long) snapshot.middle);
+            assertEquals(-snapshot.left, (long) snapshot.right);
+            assertTrue(version >= lastVersion);
+            assertEquals(0L, version & 1L);
+            lastVersion = version;
+            pair.readInto(pairSnapshot);
+            assertEquals(pairSnapshot.left, pairSnapshot.right);
+          }
+        }));
+      }
+      for (long i = 1; i <= 200_000; i++) {
+        triple.set(i, i * 2, -i);
+        pair.set(i, i);
+      }
+      done.set(true);
+      for (final Future<?> reader : readers) {
+        reader.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(Triple.of(200_000L, 400_000L, -200_000L), triple.get());
+    assertEquals(Pair.of(200_000L, 200_000L), pair.get());
+    assertEquals(400_000L, triple.version());
+  }
+
+  @Test
+  public void testNullHolder() {
+    final SeqLockTriple<String, String, String> triple = new SeqLockTriple<>("a", "b", "c");
+    try {
+      triple.readInto(MutTriple.nullTriple());
+      fail("the shared null triple must not be written");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    assertNull(MutTriple.nullTriple().left);
+  }
+
+  @Test
+  public void testPrimitive() throws Exception {
+    final SeqLockDoubleTriple prices = new SeqLockDoubleTriple(0D, 0.5D, 0D);
+    final SeqLockLongTriple sizes = new SeqLockLongTriple(1L, 2L, 3L);
+    final AtomicBoolean done = new AtomicBoolean();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> reader = executor.submit(() -> {
+        final double[] priceSnapshot = new double[4];
+        final long[] sizeSnapshot = new long[3];
+        while (!done.get()) {
+          prices.readInto(priceSnapshot, 1);
+          assertEquals(priceSnapshot[1] + 0.5D, priceSnapshot[2], 0D);
+          assertEquals(priceSnapshot[1] * 2, priceSnapshot[3], 0D);
+          sizes.readInto(sizeSnapshot, 0);
+          assertEquals(sizeSnapshot[0] + sizeSnapshot[1], sizeSnapshot[2]);
+        }
+      });
+      for (int i = 1; i <= 100_000; i++) {
+        prices.set(i, i + 0.5D, i * 2D);
+        sizes.set(i, i, i * 2L);
+      }
+      done.set(true);
+      reader.get();
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(DoubleTriple.of(100_000D, 100_000.5D, 200_000D), prices.get());
+    assertEquals(LongTriple.of(100_000L, 100_000L, 200_000L), sizes.get());
+    assertEquals(200_000L, prices.version());
+
+    final long[] dest = {-1L, -1L, -1L};
+    try {
+      sizes.readInto(dest, 1);
+      fail("an array without room for three elements must be rejected");
+    } catch (IndexOutOfBoundsException expected) {
+      // expected
+    }
+    assertArrayEquals(new long[]{-1L, -1L, -1L}, dest);
+  }
+
+  @Test
+  public void testReadInto() {
+    final SeqLockTriple<String, Integer, Boolean> triple = new SeqLockTriple<>();
+    final MutTriple<Object, Object, Object> holder = new MutTriple<>("x", "y", "z");
+    assertEquals(0L, triple.readInto(holder));
+    assertEquals(MutTriple.of(null, null, null), holder);
+    triple.set("a", 1, true);
+    assertEquals(2L, triple.readInto(holder));
+    assertEquals(MutTriple.of("a", 1, true), holder);
+    assertEquals("(a,1,true)", triple.toString());
+
+    final SeqLockPair<String, Integer> pair = new SeqLockPair<>();
+    pair.set("b", 2);
+    pair.set("c", 3);
+    final MutPair<String, Integer> pairHolder = new MutPair<>();
+    assertEquals(4L, pair.readInto(pairHolder));
+    assertEquals(MutPair.of("c", 3), pairHolder);
+  }
+
+}
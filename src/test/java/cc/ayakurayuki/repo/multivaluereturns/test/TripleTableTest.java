@@ -0,0 +1,174 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TripleTable;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-21:45
+ */
+@RunWith(JUnit4.class)
+public class TripleTableTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    final TripleTable<Integer, Integer, Integer> table = new TripleTable<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final Future<?>[] futures = new Future[4];
+      for (int t = 0; t < futures.length; t++) {
+        final int seed = t;
+        futures[t] = executor.submit(() -> {
+          // every thread adds and removes the same small set of triples
+          final Random r = new Random(seed);
+          for (int i = 0; i < 50_000; i++) {
+            final int left = r.nextInt(8);
+            final int middle = r.nextInt(8);
+            final int right = r.nextInt(8);
+            if (r.nextBoolean()) {
+              table.add(left, middle, right);
+            } else {
+              table.remove(left, middle, right);
+            }
+            table.byLeftMiddle(left, middle).size();
+          }
+        });
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    // once quiet, every index agrees with the table
+    final Set<Triple<Integer, Integer, Integer>> all = new HashSet<>();
+    table.forEach(all::add);
+    assertEquals(all.size(), table.size());
+    for (int a = 0; a < 8; a++) {
+      final int x = a;
+      assertEquals(filter(all, t -> t.left == x), table.byLeft(a));
+      assertEquals(filter(all, t -> t.middle == x), table.byMiddle(a));
+      assertEquals(filter(all, t -> t.right == x), table.byRight(a));
+      for (int b = 0; b < 8; b++) {
+        final int y = b;
+        assertEquals(filter(all, t -> t.left == x && t.middle == y), table.byLeftMiddle(a, b));
+        assertEquals(filter(all, t -> t.left == x && t.right == y), table.byLeftRight(a, b));
+        assertEquals(filter(all, t -> t.middle == x && t.right == y), table.byMiddleRight(a, b));
+      }
+    }
+  }
+
+  @Test
+  public void testFind() {
+    final TripleTable<String, String, String> table = new TripleTable<>();
+    final Set<Triple<String, String, String>> all = new HashSet<>();
+    for (int i = 0; i < 5000; i++) {
+      final Triple<String, String, String> triple = Triple.of("s" + random.nextInt(50), "p" + random.nextInt(5), "o" + random.nextInt(50));
+      assertEquals(all.add(triple), table.add(triple));
+    }
+    assertEquals(all.size(), table.size());
+    for (int i = 0; i < 200; i++) {
+      final String left = random.nextBoolean() ? null : "s" + random.nextInt(50);
+      final String middle = random.nextBoolean() ? null : "p" + random.nextInt(5);
+      final String right = random.nextBoolean() ? null : "o" + random.nextInt(50);
+      final Set<Triple<String, String, String>> expected = filter(all, t -> (left == null || left.equals(t.left))
+          && (middle == null || middle.equals(t.middle))
+          && (right == null || right.equals(t.right)));
+      assertEquals(expected, table.find(left, middle, right));
+    }
+  }
+
+  @Test
+  public void testNull() {
+    final TripleTable<String, String, String> table = new TripleTable<>();
+    try {
+      table.add("a", null, "c");
+      fail("a null element must not be added");
+    } catch (NullPointerException expected) {
+      // expected
+    }
+    assertTrue(table.isEmpty());
+    assertTrue(table.byLeft("a").isEmpty());
+    assertFalse(table.contains(null, null, null));
+    assertFalse(table.remove(null, "b", "c"));
+  }
+
+  @Test
+  public void testRemove() {
+    final TripleTable<String, Integer, Long> table = new TripleTable<>();
+    assertTrue(table.add("a", 1, 1L));
+    assertTrue(table.add("a", 2, 1L));
+    assertFalse(table.add("a", 1, 1L));
+    final Set<Triple<String, Integer, Long>> view = table.byLeftRight("a", 1L);
+    assertEquals(2, view.size());
+
+    assertTrue(table.remove("a", 1, 1L));
+    assertFalse(table.remove("a", 1, 1L));
+    assertEquals(1, view.size());
+    assertFalse(table.contains("a", 1, 1L));
+    assertTrue(table.contains("a", 2, 1L));
+    assertTrue(table.byMiddle(1).isEmpty());
+    try {
+      view.clear();
+      fail("a view must be unmodifiable");
+    } catch (UnsupportedOperationException expected) {
+      // expected
+    }
+
+    table.clear();
+    assertTrue(table.isEmpty());
+    assertTrue(table.byLeft("a").isEmpty());
+    assertEquals("[]", table.toString());
+  }
+
+  private static <T> Set<T> filter(final Set<T> set, final Predicate<T> predicate) {
+    return set.stream().filter(predicate).collect(Collectors.toSet());
+  }
+
+  @Test
+  public void testSelfEdges() {
+    // (x,x,y) and (y,x,x) all have the same Triple hash code within a y
+    final TripleTable<Integer, Integer, Integer> table = new TripleTable<>();
+    for (int x = 0; x < 2000; x++) {
+      for (int y = 0; y < 4; y++) {
+        assertTrue(table.add(x, x, y));
+        // (x,x,x) is only added once
+        assertEquals(x != y, table.add(y, x, x));
+      }
+    }
+    assertFalse(table.add(7, 7, 1));
+    assertEquals(2000 * 4 * 2 - 4, table.size());
+    assertTrue(table.contains(1999, 1999, 3));
+    assertTrue(table.contains(3, 1999, 1999));
+    assertFalse(table.contains(1999, 3, 1999));
+    assertEquals(4, table.byLeftMiddle(1000, 1000).size());
+    assertTrue(table.byRight(2).contains(Triple.of(1000, 1000, 2)));
+    assertFalse(table.byRight(2).contains(Triple.of(1000, 2, 1000)));
+
+    for (int x = 0; x < 2000; x += 2) {
+      assertTrue(table.remove(x, x, 0));
+    }
+    assertFalse(table.contains(1000, 1000, 0));
+    assertTrue(table.contains(1001, 1001, 0));
+    assertEquals(3, table.byLeftMiddle(1000, 1000).size());
+  }
+
+}
@@ -7,8 +7,12 @@ import static org.junit.Assert.assertTrue;
 
 import cc.ayakurayuki.repo.multivaluereturns.MutTriple;
 import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -60,6 +64,31 @@ public class TripleTest {
     assertTrue(triple2.compareTo(triple1) > 0);
   }
 
+  @Test
+  public void testComparators() {
+    final List<Triple<String, Integer, String>> triples = new ArrayList<>(Arrays.asList(
+        Triple.of("B", 1, "x"),
+        Triple.of("A", 2, null),
+        Triple.of("A", 2, "y"),
+        Triple.of("A", null, "z")
+    ));
+
+    triples.sort(Triple.naturalOrder());
+    assertEquals(Arrays.asList(Triple.of("A", null, "z"), Triple.of("A", 2, null), Triple.of("A", 2, "y"), Triple.of("B", 1, "x")), triples);
+
+    triples.sort(Triple.naturalOrder(false));
+    assertEquals(Arrays.asList(Triple.of("A", 2, "y"), Triple.of("A", 2, null), Triple.of("A", null, "z"), Triple.of("B", 1, "x")), triples);
+
+    triples.sort(Triple.byMiddle());
+    assertEquals(Triple.of("A", null, "z"), triples.get(0));
+    assertEquals(Triple.of("B", 1, "x"), triples.get(1));
+
+    triples.sort(Triple.comparing(null, null, Comparator.<String>reverseOrder()));
+    assertEquals(Triple.of("A", null, "z"), triples.get(0));
+    assertEquals(Triple.of("A", 2, null), triples.get(1));
+    assertEquals(Triple.of("A", 2, "y"), triples.get(2));
+  }
+
   @Test
   public void testCompatibilityBetweenTriples() {
     final Triple<Integer, String, Boolean> triple = Triple.of(0, "foo", Boolean.TRUE);
@@ -95,6 +124,22 @@ public class TripleTest {
     assertEquals("(Key,Something,Value)", String.format("%1$s", triple));
   }
 
+  @Test
+  public void testHashCodeCached() {
+    final int[] calls = {0};
+    final Object element = new Object() {
+      @Override
+      public int hashCode() {
+        calls[0]++;
+        return 42;
+      }
+    };
+    final Triple<Object, Object, String> triple = Triple.of(element, element, "foo");
+    assertEquals("foo".hashCode(), triple.hashCode());
+    assertEquals("foo".hashCode(), triple.hashCode());
+    assertEquals(2, calls[0]);
+  }
+
   @Test
   public void testOfNonNull() {
     assertThrows(NullPointerException.class, () -> Triple.ofNonNull(null, null, null));
@@ -0,0 +1,155 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TupleFile;
+import cc.ayakurayuki.repo.multivaluereturns.TupleFile.Type;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/06/03-11:26
+ */
+@RunWith(JUnit4.class)
+public class TupleFileTest {
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("tuple-file-test");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+
+  private static void assertClosed(final TupleFile file) {
+    assertThrows(IllegalStateException.class, () -> file.getInt(0, 0));
+    assertThrows(IllegalStateException.class, () -> file.getLong(1, 0));
+    assertThrows(IllegalStateException.class, () -> file.getDouble(2, 0));
+    assertThrows(IllegalStateException.class, () -> file.getTriple(0));
+    assertThrows(IllegalStateException.class, file::verify);
+  }
+
+  @Test
+  public void testTriples() throws IOException {
+    final Path path = dir.resolve("triples.mvrt");
+    try (TupleFile.Writer writer = TupleFile.writer(path, Type.LONG, Type.LONG, Type.DOUBLE)) {
+      for (int i = 0; i < 100_000; i++) {
+        writer.putLong(i).putLong(-i).putDouble(i / 4D);
+      }
+      writer.add(Triple.of(1L, 2L, 3.5D));
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals("temporary column files are deleted", 1, files.count());
+    }
+
+    try (TupleFile file = TupleFile.open(path)) {
+      file.verify();
+      assertEquals(3, file.arity());
+      assertEquals(100_001, file.size());
+      assertEquals(Type.DOUBLE, file.type(2));
+      assertEquals(4242L, file.getLong(0, 4242));
+      assertEquals(-4242L, file.getLong(1, 4242));
+      assertEquals(1060.5D, file.getDouble(2, 4242), 0D);
+      assertEquals(Triple.of(1L, 2L, 3.5D), file.getTriple(100_000));
+      assertThrows(IndexOutOfBoundsException.class, () -> file.getLong(0, 100_001));
+      assertThrows(IllegalArgumentException.class, () -> file.getDouble(0, 0));
+    }
+  }
+
+  @Test
+  public void testPairs() throws IOException {
+    final Path path = dir.resolve("pairs.mvrt");
+    try (TupleFile.Writer writer = TupleFile.writer(path, Type.INT, Type.DOUBLE)) {
+      writer.add(Pair.of(1, 0.5D)).add(Pair.of(3, 1.5D)).putInt(5).putDouble(2.5D);
+      assertEquals(3, writer.size());
+    }
+    try (TupleFile file = TupleFile.open(path)) {
+      file.verify();
+      assertEquals(Pair.of(3, 1.5D), file.getPair(1));
+      assertEquals(5, file.getInt(0, 2));
+      assertThrows(IllegalStateException.class, () -> file.getTriple(0));
+      file.close();
+      assertThrows(IllegalStateException.class, () -> file.getInt(0, 0));
+    }
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    final Path path = dir.resolve("close.mvrt");
+    try (TupleFile.Writer writer = TupleFile.writer(path, Type.INT, Type.LONG, Type.DOUBLE)) {
+      writer.putInt(1).putLong(2L).putDouble(3.5D);
+    }
+    final TupleFile closed = TupleFile.open(path);
+    closed.close();
+    assertClosed(closed);
+    closed.close();
+    closed.closeAndUnmap();
+
+    // the explicit unmap leaves the file in the same state, without waiting for the GC
+    final TupleFile unmapped = TupleFile.open(path);
+    assertEquals(Triple.of(1, 2L, 3.5D), unmapped.getTriple(0));
+    unmapped.closeAndUnmap();
+    assertClosed(unmapped);
+    unmapped.closeAndUnmap();
+    unmapped.close();
+  }
+
+  @Test
+  public void testWriterErrors() throws IOException {
+    final Path path = dir.resolve("errors.mvrt");
+    final TupleFile.Writer writer = TupleFile.writer(path, Type.INT, Type.LONG);
+    assertThrows(IllegalStateException.class, () -> writer.putLong(1L));
+    writer.putInt(1);
+    assertThrows(IllegalStateException.class, writer::close);
+    assertThrows(IllegalArgumentException.class, () -> TupleFile.writer(path, Type.INT));
+  }
+
+  @Test
+  public void testCorruption() throws IOException {
+    final Path path = dir.resolve("corrupted.mvrt");
+    try (TupleFile.Writer writer = TupleFile.writer(path, Type.LONG, Type.LONG)) {
+      writer.putLong(1L).putLong(2L);
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[]{42}), 64);
+    }
+    try (TupleFile file = TupleFile.open(path)) {
+      final IOException e = assertThrows(IOException.class, file::verify);
+      assertTrue(e.getMessage().startsWith("Checksum mismatch in column 0"));
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[]{42}), 16);
+    }
+    assertThrows(IOException.class, () -> TupleFile.open(path));
+
+    final Path other = dir.resolve("other.bin");
+    Files.write(other, new byte[128]);
+    assertThrows(IOException.class, () -> TupleFile.open(other));
+  }
+
+}
@@ -0,0 +1,131 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.PairResult;
+import cc.ayakurayuki.repo.multivaluereturns.Result;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TupleFormat;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.Formattable;
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-18:05
+ */
+@RunWith(JUnit4.class)
+public class TupleFormatTest {
+
+  private static final String[] FORMATS = {
+      "",
+      "%s=%s",
+      "(%s, %s)",
+      "%2$s <- %1$s",
+      "%1$s %1$s %s %s",
+      "100%% of %s%n%s",
+      "%s:%d",
+      "%-6s|%5s",
+      "%S and %s",
+      "no elements",
+  };
+
+  @Test
+  public void testAppendTo() throws IOException {
+    final TupleFormat format = TupleFormat.compile("[%s,%s,%s]");
+    final StringBuilder builder = new StringBuilder("> ");
+    assertSame(builder, format.appendTo(builder, 1, null, "c"));
+    assertEquals("> [1,null,c]", builder.toString());
+
+    final StringWriter writer = new StringWriter();
+    TupleFormat.compile("%s=%s").formatTo(writer, "a", 1);
+    TupleFormat.compile("%tY").formatTo(writer, new Date(0L), null);
+    assertEquals("a=1" + String.format("%tY", new Date(0L)), writer.toString());
+  }
+
+  @Test
+  public void testFormattable() {
+    final Formattable formattable = (formatter, flags, width, precision) -> formatter.format("custom");
+    assertEquals(String.format("%s-%s", formattable, 1), TupleFormat.compile("%s-%s").format(formattable, 1));
+  }
+
+  @Test
+  public void testMissingArgument() {
+    try {
+      TupleFormat.compile("%s %s %s").format(1, 2);
+      fail("a format of three elements must not format two");
+    } catch (MissingFormatArgumentException expected) {
+      assertEquals("%s", expected.getFormatSpecifier());
+    }
+    try {
+      TupleFormat.compile("%4$s").format(1, 2, 3);
+      fail("a format must not refer past the elements");
+    } catch (MissingFormatArgumentException expected) {
+      assertEquals("%4$s", expected.getFormatSpecifier());
+    }
+    try {
+      TupleFormat.compile("%1$s %3$s").appendTo(new StringBuilder(), 1, 2);
+      fail("a format of three elements must not append two");
+    } catch (MissingFormatArgumentException expected) {
+      assertEquals(specifier("%1$s %3$s", 1, 2), expected.getFormatSpecifier());
+    }
+  }
+
+  private static String specifier(final String format, final Object... args) {
+    try {
+      String.format(format, args);
+      throw new AssertionError("String.format must reject " + format);
+    } catch (MissingFormatArgumentException e) {
+      return e.getFormatSpecifier();
+    }
+  }
+
+  @Test
+  public void testOf() {
+    assertSame(TupleFormat.of("%s->%s"), TupleFormat.of("%s->%s"));
+    assertEquals("%s->%s", TupleFormat.of("%s->%s").pattern());
+  }
+
+  @Test
+  public void testSameAsStringFormat() {
+    for (final String format : FORMATS) {
+      assertEquals(format, String.format(format, "a", 1), TupleFormat.compile(format).format("a", 1));
+      assertEquals(format, String.format(format, "a", 1, 2.5), TupleFormat.compile(format).format("a", 1, 2.5));
+      assertEquals(format, String.format(format, null, 1), TupleFormat.compile(format).format(null, 1));
+    }
+  }
+
+  @Test
+  public void testToString() {
+    final TupleFormat format = TupleFormat.compile("%s=%s");
+    assertEquals("a=1", Pair.of("a", 1).toString(format));
+    assertEquals("a=1", Pair.of("a", 1).toString("%s=%s"));
+    assertEquals("a/1/true", Triple.of("a", 1, true).toString(TupleFormat.compile("%s/%s/%s")));
+
+    assertEquals("Result(1) without error", Result.ok(1).toString());
+    assertEquals("Result(null) with error: failed", Result.err(new Exception("failed")).toString());
+    assertEquals("PairResult(a, 1) without error", PairResult.of("a", 1, null).toString());
+    assertEquals("PairResult(null, null) with error: failed", PairResult.err(new Exception("failed")).toString());
+  }
+
+  @Test
+  public void testUnknownConversion() {
+    final TupleFormat format = TupleFormat.compile("%s %q");
+    try {
+      format.format(1, 2);
+      fail("an unknown conversion must be reported as by String.format");
+    } catch (UnknownFormatConversionException expected) {
+      // expected
+    }
+  }
+
+}
@@ -0,0 +1,238 @@
+package cc.ayakurayuki.repo.multivaluereturns.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import cc.ayakurayuki.repo.multivaluereturns.DoubleIntPairList;
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPair;
+import cc.ayakurayuki.repo.multivaluereturns.LongLongPairList;
+import cc.ayakurayuki.repo.multivaluereturns.LongTripleList;
+import cc.ayakurayuki.repo.multivaluereturns.MutPair;
+import cc.ayakurayuki.repo.multivaluereturns.Pair;
+import cc.ayakurayuki.repo.multivaluereturns.Triple;
+import cc.ayakurayuki.repo.multivaluereturns.TupleSorts;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * @author Ayakura Yuki
+ * @date 2024/05/10-20:30
+ */
+@RunWith(JUnit4.class)
+public class TupleSortsTest {
+
+  /**
+   * Enough elements for the parallel path
+   */
+  private static final int SIZE = 50_000;
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testByteShortCharacter() {
+    @SuppressWarnings("unchecked")
+    final Triple<Byte, Short, Character>[] triples = new Triple[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      triples[i] = Triple.of((byte) random.nextInt(7), random.nextInt(10) == 0 ? null : (short) (random.nextInt(200) - 100), (char) random.nextInt(70000));
+    }
+    assertSortedLikeArraysSort(triples, TupleSorts::radixSort);
+  }
+
+  @Test
+  public void testComparator() {
+    final Pair<String, Integer>[] pairs = stringPairs();
+    final Comparator<Pair<String, Integer>> comparator = Comparator.comparing(p -> p.right);
+    final Pair<String, Integer>[] expected = pairs.clone();
+    Arrays.sort(expected, comparator);
+    TupleSorts.parallelSort(pairs, comparator);
+    assertSameElements(expected, pairs);
+  }
+
+  @Test
+  public void testDoubleFloat() {
+    final double[] doubles = {Double.NaN, -0.0D, 0.0D, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -1.5D, 1.5D, Double.MIN_VALUE};
+    final float[] floats = {Float.NaN, -0.0F, 0.0F, Float.NEGATIVE_INFINITY, -2.5F, 2.5F};
+    @SuppressWarnings("unchecked")
+    final Pair<Double, Float>[] pairs = new Pair[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      final Double left = random.nextInt(20) == 0 ? null : random.nextBoolean() ? doubles[random.nextInt(doubles.length)] : random.nextGaussian();
+      pairs[i] = Pair.of(left, random.nextBoolean() ? floats[random.nextInt(floats.length)] : (float) random.nextGaussian());
+    }
+    assertSortedLikeArraysSort(pairs, TupleSorts::radixSort);
+  }
+
+  @Test
+  public void testEmpty() {
+    TupleSorts.radixSort(new Pair[0]);
+    TupleSorts.parallelSort(new Triple[0]);
+    TupleSorts.radixSort(new LongLongPairList());
+    TupleSorts.sortByLong(new String[0], String::length);
+  }
+
+  @Test
+  public void testFallback() {
+    // strings cannot be sorted by radix, integers mixed with longs cannot be compared
+    assertSortedLikeArraysSort(stringPairs(), TupleSorts::radixSort);
+    @SuppressWarnings("rawtypes")
+    final Pair[] mixed = {Pair.of(1, 1L), Pair.of(1, 2)};
+    try {
+      TupleSorts.radixSort(mixed);
+      fail("integers and longs must not be compared");
+    } catch (ClassCastException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testList() {
+    final List<Pair<Long, Long>> list = new ArrayList<>(Arrays.asList(longPairs()));
+    final List<Pair<Long, Long>> expected = new ArrayList<>(list);
+    expected.sort(null);
+
+    final List<Pair<Long, Long>> parallel = new ArrayList<>(list);
+    TupleSorts.parallelSort(parallel);
+    assertEquals(expected, parallel);
+
+    final List<Pair<Long, Long>> radix = new ArrayList<>(list);
+    TupleSorts.radixSort(radix);
+    assertEquals(expected, radix);
+
+    final List<Pair<Long, Long>> byKey = new ArrayList<>(list);
+    TupleSorts.sortBy(byKey, Function.identity());
+    assertEquals(expected, byKey);
+  }
+
+  @Test
+  public void testLongs() {
+    assertSortedLikeArraysSort(longPairs(), TupleSorts::parallelSort);
+    assertSortedLikeArraysSort(longPairs(), TupleSorts::radixSort);
+  }
+
+  @Test
+  public void testMutPair() {
+    final Pair<Long, Long>[] pairs = longPairs();
+    @SuppressWarnings("unchecked")
+    final MutPair<Long, Long>[] mutPairs = new MutPair[pairs.length];
+    for (int i = 0; i < pairs.length; i++) {
+      mutPairs[i] = MutPair.of(pairs[i]);
+    }
+    assertSortedLikeArraysSort(mutPairs, TupleSorts::parallelSort);
+    assertSortedLikeArraysSort(mutPairs, TupleSorts::radixSort);
+  }
+
+  @Test
+  public void testPrimitiveLists() {
+    final LongLongPairList longs = new LongLongPairList();
+    final LongTripleList triples = new LongTripleList();
+    final DoubleIntPairList doubles = new DoubleIntPairList();
+    for (int i = 0; i < SIZE; i++) {
+      longs.add(random.nextLong() >> random.nextInt(64), random.nextInt(5) - 2);
+      triples.add(random.nextInt(3), random.nextLong(), -random.nextInt(100));
+      doubles.add(random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian(), random.nextInt());
+    }
+    // the order of Double.compare, not of the double operators
+    doubles.add(0.0D, 1);
+    doubles.add(-0.0D, 1);
+    doubles.add(Double.POSITIVE_INFINITY, 1);
+
+    final List<LongLongPair> expectedLongs = new ArrayList<>(longs);
+    expectedLongs.sort(null);
+    TupleSorts.radixSort(longs);
+    assertEquals(expectedLongs, longs);
+
+    final List<Triple<Long, Long, Long>> expectedTriples = new ArrayList<>();
+    triples.forEach(t -> expectedTriples.add(t.toTriple()));
+    expectedTriples.sort(null);
+    TupleSorts.radixSort(triples);
+    final List<Triple<Long, Long, Long>> actualTriples = new ArrayList<>();
+    triples.forEach(t -> actualTriples.add(t.toTriple()));
+    assertEquals(expectedTriples, actualTriples);
+
+    final List<Pair<Double, Integer>> expectedDoubles = new ArrayList<>();
+    doubles.forEach(p -> expectedDoubles.add(p.toPair()));
+    expectedDoubles.sort(null);
+    TupleSorts.radixSort(doubles);
+    final List<Pair<Double, Integer>> actualDoubles = new ArrayList<>();
+    doubles.forEach(p -> actualDoubles.add(p.toPair()));
+    assertEquals(expectedDoubles, actualDoubles);
+  }
+
+  @Test
+  public void testSortBy() {
+    final Pair<String, Integer>[] pairs = stringPairs();
+    final Pair<String, Integer>[] expected = pairs.clone();
+    Arrays.sort(expected, Comparator.comparing(p -> Pair.of(p.right, p.left)));
+    TupleSorts.sortBy(pairs, p -> Pair.of(p.right, p.left));
+    assertSameElements(expected, pairs);
+
+    final Pair<Long, Long>[] longs = longPairs();
+    final Pair<Long, Long>[] expectedLongs = longs.clone();
+    Arrays.sort(expectedLongs, Comparator.comparing(p -> p.right, Comparator.nullsFirst(Comparator.naturalOrder())));
+    TupleSorts.sortBy(longs, p -> p.right);
+    assertSameElements(expectedLongs, longs);
+  }
+
+  @Test
+  public void testSortByLong() {
+    final Pair<String, Integer>[] pairs = stringPairs();
+    final Pair<String, Integer>[] expected = pairs.clone();
+    Arrays.sort(expected, Comparator.comparingLong(p -> p.right - 3L));
+    TupleSorts.sortByLong(pairs, p -> p.right - 3L);
+    assertSameElements(expected, pairs);
+  }
+
+  @Test
+  public void testStrings() {
+    assertSortedLikeArraysSort(stringPairs(), TupleSorts::parallelSort);
+  }
+
+  private Pair<Long, Long>[] longPairs() {
+    @SuppressWarnings("unchecked")
+    final Pair<Long, Long>[] pairs = new Pair[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      // nulls, duplicates, negatives and values of all magnitudes
+      final Long left = random.nextInt(50) == 0 ? null : random.nextLong() >> random.nextInt(64);
+      final Long right = random.nextInt(50) == 0 ? null : (long) random.nextInt(100) - 50;
+      pairs[i] = new Pair<>(left, right);
+    }
+    return pairs;
+  }
+
+  private Pair<String, Integer>[] stringPairs() {
+    @SuppressWarnings("unchecked")
+    final Pair<String, Integer>[] pairs = new Pair[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      final String left = random.nextInt(50) == 0 ? null : Integer.toString(random.nextInt(1000), 36);
+      pairs[i] = new Pair<>(left, random.nextInt(20));
+    }
+    return pairs;
+  }
+
+  /**
+   * Checks a sort gives the very same order as the stable {@link Arrays#sort(Object[])}.
+   */
+  private static <T extends Comparable<? super T>> void assertSortedLikeArraysSort(final T[] a, final Consumer<T[]> sort) {
+    final T[] expected = a.clone();
+    Arrays.sort(expected);
+    final T[] actual = a.clone();
+    sort.accept(actual);
+    assertSameElements(expected, actual);
+  }
+
+  private static void assertSameElements(final Object[] expected, final Object[] actual) {
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertSame("at " + i, expected[i], actual[i]);
+    }
+  }
+
+}